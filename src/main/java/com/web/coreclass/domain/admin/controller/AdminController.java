@@ -1,12 +1,15 @@
 package com.web.coreclass.domain.admin.controller;
 
 import com.web.coreclass.domain.admin.dto.AdminDto;
-import com.web.coreclass.global.jwt.JwtProvider;
+import com.web.coreclass.domain.admin.service.AdminService;
+import com.web.coreclass.global.security.LoginBusyException;
+import com.web.coreclass.global.security.LoginExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,8 +24,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/admin")
 public class AdminController {
 
-    private final AuthenticationManager authenticationManager;
-    private final JwtProvider jwtProvider;
+    private final LoginExecutor loginExecutor;
+    private final AdminService adminService;
 
     /**
      * (C) Admin 로그인 (JWT 토큰 발급)
@@ -32,21 +35,63 @@ public class AdminController {
     public ResponseEntity<AdminDto.LoginResponse> login(
             @RequestBody AdminDto.LoginRequest loginRequest
     ) {
-        // 1. Spring Security의 AuthenticationManager를 사용하여 인증 시도
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+        // 1. 로그인 전용 스레드에서 AuthenticationManager로 인증 시도 (BCrypt CPU 사용 제한)
+        Authentication authentication;
+        try {
+            authentication = loginExecutor.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (LoginBusyException e) {
+            // 로그인 요청이 몰림 -> 기다리지 않고 503
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
 
         // 2. 인증 성공 시, SecurityContext에 인증 정보 저장 (선택적)
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // 3. JwtProvider를 사용하여 토큰 생성
-        String accessToken = jwtProvider.createToken(authentication);
+        // 3. Access Token + Refresh Token 발급 후 반환
+        return ResponseEntity.ok(adminService.issueTokens(authentication));
+    }
 
-        // 4. DTO에 담아 토큰 반환
-        return ResponseEntity.ok(new AdminDto.LoginResponse(accessToken));
+    /**
+     * (U) Access Token 재발급 (Refresh Token 교체)
+     */
+    @Operation(summary = "토큰 재발급", description = "Refresh Token으로 새 Access Token과 새 Refresh Token을 발급받습니다. 사용한 Refresh Token은 다시 쓸 수 없습니다.")
+    @PostMapping("/refresh")
+    public ResponseEntity<AdminDto.LoginResponse> refresh(
+            @RequestBody AdminDto.RefreshRequest refreshRequest
+    ) {
+        return ResponseEntity.ok(adminService.refresh(refreshRequest.getRefreshToken()));
+    }
+
+    /**
+     * (D) Admin 로그아웃 (이 Access Token과 Refresh Token 무효화)
+     */
+    @Operation(summary = "관리자 로그아웃", description = "지금 사용 중인 Access Token과 함께 보낸 Refresh Token을 무효화합니다.")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            Authentication authentication,
+            @RequestBody(required = false) AdminDto.RefreshRequest refreshRequest
+    ) {
+        String accessToken = authentication.getCredentials() instanceof String token ? token : null;
+        if (accessToken != null) {
+            adminService.logout(accessToken, refreshRequest == null ? null : refreshRequest.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * (D) Admin 전체 로그아웃 (이 계정으로 발급된 토큰 전부 무효화)
+     */
+    @Operation(summary = "관리자 전체 로그아웃", description = "이 계정으로 발급된 모든 JWT 토큰과 Refresh Token을 무효화합니다.")
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(Authentication authentication) {
+        adminService.revokeTokens(authentication.getName());
+        return ResponseEntity.noContent().build();
     }
 }
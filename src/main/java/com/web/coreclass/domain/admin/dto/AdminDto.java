@@ -25,7 +25,20 @@ public class AdminDto {
     @Getter
     @RequiredArgsConstructor // final 필드용 생성자
     public static class LoginResponse {
-        @Schema(description = "JWT Access Token")
+        @Schema(description = "JWT Access Token (짧은 유효 시간)")
         private final String accessToken;
+
+        @Schema(description = "Refresh Token (Access Token 재발급용, 한 번 쓰면 새 토큰으로 교체됨)")
+        private final String refreshToken;
+    }
+
+    /**
+     * (U) Access Token 재발급 / 로그아웃 요청 DTO
+     */
+    @Getter
+    @Setter
+    public static class RefreshRequest {
+        @Schema(description = "로그인(또는 직전 재발급) 때 받은 Refresh Token")
+        private String refreshToken;
     }
 }
@@ -26,6 +26,9 @@ public class Admin extends BaseEntity {
     @Column(nullable = false)
     private String role; // 역할 (e.g., "ROLE_ADMIN")
 
+    @Column(nullable = false)
+    private int tokenVersion; // 토큰 버전 (올리면 이전에 발급된 토큰은 모두 무효)
+
     public Admin(String username, String password, String role) {
         this.username = username;
         this.password = password;
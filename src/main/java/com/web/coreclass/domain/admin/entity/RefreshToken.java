@@ -0,0 +1,48 @@
+package com.web.coreclass.domain.admin.entity;
+
+import com.web.coreclass.global.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 리프레시 토큰 (원문은 저장하지 않고 SHA-256만 저장)
+ * 한 번 쓰면 새 토큰으로 교체되고(used = true), 같은 로그인에서 이어진 토큰은 familyId로 묶입니다.
+ * 이미 교체된 토큰이 다시 쓰이면 탈취로 보고 묶음 전체를 삭제합니다.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_username", columnList = "username")
+})
+@Getter
+@NoArgsConstructor
+public class RefreshToken extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username; // 관리자 아이디
+
+    @Column(name = "token_hash", unique = true, nullable = false, length = 64)
+    private String tokenHash; // 토큰 SHA-256 (hex)
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId; // 같은 로그인에서 교체되어 온 토큰 묶음
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean used; // 이미 새 토큰으로 교체됨
+
+    public RefreshToken(String username, String tokenHash, String familyId, LocalDateTime expiresAt) {
+        this.username = username;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+}
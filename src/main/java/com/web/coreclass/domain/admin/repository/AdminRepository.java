@@ -2,10 +2,24 @@ package com.web.coreclass.domain.admin.repository;
 
 import com.web.coreclass.domain.admin.entity.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface AdminRepository extends JpaRepository<Admin,Long> {
     // 사용자 이름(username)으로 Admin 계정을 찾는 메서드
     Optional<Admin> findByUsername(String username);
+
+    // 토큰 버전만 조회 (JWT 인증용 관리자 상태 캐시)
+    @Query("SELECT a.tokenVersion FROM Admin a WHERE a.username = :username")
+    Optional<Integer> findTokenVersionByUsername(@Param("username") String username);
+
+    // 토큰 버전 +1 (이 관리자에게 발급된 토큰 전부 무효화)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Admin a SET a.tokenVersion = a.tokenVersion + 1 WHERE a.username = :username")
+    int increaseTokenVersion(@Param("username") String username);
 }
@@ -3,17 +3,22 @@ package com.web.coreclass.domain.admin.service;
 import com.web.coreclass.domain.admin.entity.Admin;
 import com.web.coreclass.domain.admin.repository.AdminRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class AdminDetailService implements UserDetailsService {
+public class AdminDetailService implements UserDetailsService, UserDetailsPasswordService {
     private final AdminRepository adminRepository;
 
     /**
@@ -35,4 +40,19 @@ public class AdminDetailService implements UserDetailsService {
                 List.of(new SimpleGrantedAuthority(admin.getRole()))
         );
     }
+
+    /**
+     * 로그인 성공 후 저장된 해시의 BCrypt 비용이 지금 비용보다 낮으면 Spring Security가 호출하는 메서드
+     * @param newPassword (같은 비밀번호를 지금 비용으로 다시 해시한 값)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Admin admin = adminRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("관리자를 찾을 수 없습니다: " + user.getUsername()));
+        admin.setPassword(newPassword);
+        log.info("🔑 비밀번호 해시를 새 BCrypt 비용으로 갱신했습니다: {}", admin.getUsername());
+
+        return new User(admin.getUsername(), newPassword, user.getAuthorities());
+    }
 }
@@ -0,0 +1,69 @@
+package com.web.coreclass.domain.admin.service;
+
+import com.web.coreclass.domain.admin.dto.AdminDto;
+import com.web.coreclass.domain.admin.entity.Admin;
+import com.web.coreclass.domain.admin.repository.AdminRepository;
+import com.web.coreclass.global.jwt.JwtProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminService {
+    private final AdminRepository adminRepository;
+    private final AdminStatusCache adminStatusCache;
+    private final RefreshTokenService refreshTokenService;
+    private final JwtProvider jwtProvider;
+
+    /**
+     * 로그인 성공 후 Access Token + Refresh Token 발급
+     */
+    public AdminDto.LoginResponse issueTokens(Authentication authentication) {
+        String accessToken = jwtProvider.createToken(authentication);
+        String refreshToken = refreshTokenService.issue(authentication.getName());
+        return new AdminDto.LoginResponse(accessToken, refreshToken);
+    }
+
+    /**
+     * Refresh Token으로 재발급 (Refresh Token도 새 것으로 교체)
+     * @throws BadCredentialsException (유효하지 않은 Refresh Token, 삭제된 계정)
+     */
+    public AdminDto.LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+
+        // 권한은 DB의 현재 값으로 (재발급은 드물어서 DB 조회)
+        Admin admin = adminRepository.findByUsername(rotation.username())
+                .orElseThrow(() -> {
+                    refreshTokenService.revokeAll(rotation.username());
+                    return new BadCredentialsException("관리자를 찾을 수 없습니다: " + rotation.username());
+                });
+        String accessToken = jwtProvider.createToken(admin.getUsername(), admin.getRole());
+        return new AdminDto.LoginResponse(accessToken, rotation.refreshToken());
+    }
+
+    /**
+     * 로그아웃 (이 Access Token과, 함께 받은 Refresh Token의 로그인만 폐기)
+     */
+    public void logout(String accessToken, String refreshToken) {
+        jwtProvider.revokeToken(accessToken);
+        if (StringUtils.hasText(refreshToken)) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    /**
+     * 이 관리자에게 발급된 토큰 전부 무효화 (토큰 버전 +1, Refresh Token 전부 삭제)
+     * 이 서버는 바로, 다른 서버는 관리자 상태 캐시 TTL 안에 반영됩니다.
+     */
+    public void revokeTokens(String username) {
+        adminRepository.increaseTokenVersion(username);
+        adminStatusCache.evict(username);
+        refreshTokenService.revokeAll(username);
+        log.info("🔒 관리자 토큰 무효화: {}", username);
+    }
+}
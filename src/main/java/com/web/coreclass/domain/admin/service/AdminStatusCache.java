@@ -0,0 +1,111 @@
+package com.web.coreclass.domain.admin.service;
+
+import com.web.coreclass.domain.admin.repository.AdminRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 관리자 상태 캐시 (username -> 토큰 버전, 짧은 TTL)
+ * JWT 인증은 Claims만으로 하고, 계정 삭제/토큰 무효화 여부만 이 캐시로 확인합니다. (요청마다 DB 조회 X)
+ * - TTL이 지난 항목만 DB에서 다시 읽음 (같은 username은 동시에 만료되어도 조회 1번)
+ *   조회는 Map 잠금 밖에서 하고, 결과는 조회를 시작한 시각이 더 늦을 때만 반영 (merge)
+ *   -> 늦게 끝난 이전 조회나 evict() 전에 시작한 조회가 새 값을 덮어쓰지 않음
+ * - 없는 계정도 캐시 (MISSING) -> 삭제된 관리자의 토큰은 TTL 안에 거절
+ * - 다른 서버에서 토큰 버전을 올린 경우도 TTL 안에 반영
+ */
+@Component
+public class AdminStatusCache {
+
+    public static final int MISSING = -1; // 없는 계정의 토큰 버전
+    private static final int EVICTED = -2; // evict() 표시 (값으로 쓰지 않고, 이 시각 전에 시작한 조회를 막는 용도)
+
+    // loadedAt: DB 조회를 시작한 시각 (System.nanoTime)
+    private record Status(int tokenVersion, long loadedAt) {
+    }
+
+    private final AdminRepository adminRepository;
+    private final long ttlNanos;
+    private final Map<String, Status> statuses = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Status>> loading = new ConcurrentHashMap<>(); // 조회 중인 username
+
+    public AdminStatusCache(AdminRepository adminRepository,
+                            @Value("${jwt.admin-status-ttl:30s}") Duration ttl) {
+        this.adminRepository = adminRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 현재 토큰 버전 (TTL 안이면 캐시, 지났으면 DB 조회)
+     * @return 토큰 버전 (없는 계정이면 MISSING)
+     */
+    public int tokenVersionOf(String username) {
+        Status status = statuses.get(username);
+        if (isFresh(status)) {
+            return status.tokenVersion();
+        }
+
+        // 1. 이미 다른 요청이 조회 중이면 그 결과를 기다림
+        CompletableFuture<Status> mine = new CompletableFuture<>();
+        CompletableFuture<Status> running = loading.putIfAbsent(username, mine);
+        if (running != null) {
+            return await(running).tokenVersion();
+        }
+
+        // 2. 직접 조회 (확인과 등록 사이에 다른 요청이 먼저 끝냈을 수 있으므로 한 번 더 확인)
+        try {
+            Status current = statuses.get(username);
+            Status loaded = isFresh(current) ? current : load(username);
+            mine.complete(loaded);
+            return loaded.tokenVersion();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(username, mine);
+        }
+    }
+
+    /**
+     * DB에서 바로 다시 읽기 (토큰 발급 시 - 다른 서버에서 올린 버전을 놓치지 않도록)
+     * 조회 중인 다른 요청의 결과를 쓰지 않음 (그 조회가 버전을 올리기 전에 시작했을 수 있으므로)
+     */
+    public int reload(String username) {
+        return load(username).tokenVersion();
+    }
+
+    // 토큰 버전을 올린 뒤 호출 (이 서버에서는 바로 반영 - 이 시각 전에 시작한 조회 결과는 반영하지 않음)
+    public void evict(String username) {
+        statuses.put(username, new Status(EVICTED, System.nanoTime()));
+        loading.remove(username); // 이후 요청이 evict() 전에 시작한 조회 결과를 기다리지 않도록
+    }
+
+    // DB 조회 (Map 잠금 밖) -> 조회 시작 시각이 캐시된 값보다 늦을 때만 반영
+    private Status load(String username) {
+        long startedAt = System.nanoTime();
+        int tokenVersion = adminRepository.findTokenVersionByUsername(username).orElse(MISSING);
+        Status loaded = new Status(tokenVersion, startedAt);
+        statuses.merge(username, loaded, (old, candidate) -> old.loadedAt() - candidate.loadedAt() < 0 ? candidate : old);
+        return loaded;
+    }
+
+    private boolean isFresh(Status status) {
+        return status != null && status.tokenVersion() != EVICTED && System.nanoTime() - status.loadedAt() < ttlNanos;
+    }
+
+    private static Status await(CompletableFuture<Status> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.web.coreclass.domain.admin.service;
+
+import com.web.coreclass.domain.admin.entity.RefreshToken;
+import com.web.coreclass.domain.admin.repository.RefreshTokenRepository;
+import com.web.coreclass.global.lease.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 발급/교체/폐기
+ * 토큰은 추측할 수 없는 임의 값(256비트)이고, DB에는 SHA-256만 저장합니다.
+ * 메서드에 트랜잭션을 걸지 않음 - 재사용 감지 시 묶음 삭제가 예외와 함께 롤백되지 않도록 (저장소 메서드마다 개별 트랜잭션)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String PURGE_JOB_NAME = "refresh-token-purge";
+    private static final Duration PURGE_LEASE_TTL = Duration.ofMinutes(5);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${jwt.refresh-expiration:14d}")
+    private Duration refreshValidity;
+
+    // 교체 결과 (토큰 주인, 새 리프레시 토큰)
+    public record Rotation(String username, String refreshToken) {
+    }
+
+    /**
+     * 로그인: 새 묶음으로 발급
+     * @return 리프레시 토큰 원문 (응답으로만 전달)
+     */
+    public String issue(String username) {
+        return create(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰 교체 (쓴 토큰은 다시 쓸 수 없음)
+     * @throws BadCredentialsException (없음, 만료, 이미 교체된 토큰 - 이 경우 같은 묶음 전부 삭제)
+     */
+    public Rotation rotate(String refreshToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("유효하지 않은 리프레시 토큰입니다."));
+
+        if (!token.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new BadCredentialsException("만료된 리프레시 토큰입니다.");
+        }
+        if (refreshTokenRepository.markUsed(token.getId()) == 0) {
+            // 이미 교체된 토큰이 다시 쓰임 -> 탈취 의심, 이 로그인에서 이어진 토큰 전부 폐기
+            refreshTokenRepository.deleteByFamilyId(token.getFamilyId());
+            log.warn("🚨 이미 사용된 리프레시 토큰이 다시 사용되어 로그인을 폐기합니다: {}", token.getUsername());
+            throw new BadCredentialsException("이미 사용된 리프레시 토큰입니다.");
+        }
+        return new Rotation(token.getUsername(), create(token.getUsername(), token.getFamilyId()));
+    }
+
+    /**
+     * 로그아웃: 이 리프레시 토큰이 속한 로그인 폐기 (없는 토큰이면 무시)
+     */
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    // 관리자의 모든 로그인 폐기
+    public void revokeAll(String username) {
+        refreshTokenRepository.deleteByUsername(username);
+    }
+
+    // 매일 새벽 4시 50분: 만료된 리프레시 토큰 삭제 (서버가 여러 대여도 점유권을 얻은 한 서버만)
+    @Scheduled(cron = "0 50 4 * * *")
+    public void purgeExpired() {
+        jobLeaseService.tryAcquire(PURGE_JOB_NAME, PURGE_LEASE_TTL).ifPresent(lease -> {
+            try (lease) {
+                int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+                log.info("🧹 만료된 리프레시 토큰 {}개 삭제", deleted);
+            }
+        });
+    }
+
+    private String create(String username, String familyId) {
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        refreshTokenRepository.save(new RefreshToken(username, hash(refreshToken), familyId,
+                LocalDateTime.now().plus(refreshValidity)));
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
+}
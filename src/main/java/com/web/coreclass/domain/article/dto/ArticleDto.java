@@ -2,6 +2,7 @@ package com.web.coreclass.domain.article.dto;
 
 import com.web.coreclass.domain.article.entity.Article;
 import com.web.coreclass.domain.article.entity.ArticleCategory;
+import com.web.coreclass.global.s3.image.ImageVariant;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -87,7 +88,7 @@ public class ArticleDto {
             this.category = article.getCategory();
             this.title = article.getTitle();
             this.subTitle = article.getSubTitle();
-            this.thumbnailUrl = article.getThumbnailUrl();
+            this.thumbnailUrl = ImageVariant.THUMBNAIL.urlOf(article.getThumbnailUrl()); // 목록에는 작은 썸네일 버전 사용
             this.postedAt = article.getPostedAt();
             this.isPopup = article.isPopup();
             this.priority = article.getPriority();
@@ -2,10 +2,17 @@ package com.web.coreclass.domain.article.repository;
 
 import com.web.coreclass.domain.article.entity.Article;
 import com.web.coreclass.domain.article.entity.ArticleCategory;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
@@ -19,9 +26,20 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     List<Article> findAllByIsPopupTrueOrderByPriorityAscPostedAtDesc();
 
     // [추가] 공지사항 썸네일과 본문(Markdown) 조회
+    // (청소 스케줄러용: 한 번에 List로 올리지 않고 커서로 흘려 읽음, 읽기 전용 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
     @Query("SELECT a.thumbnailUrl FROM Article a WHERE a.thumbnailUrl IS NOT NULL")
-    List<String> findAllThumbnailUrls();
+    Stream<String> streamAllThumbnailUrls();
 
+    // (본문은 클 수 있으므로 적은 수씩 가져옴)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "50"))
     @Query("SELECT a.content FROM Article a")
-    List<String> findAllContents();
+    Stream<String> streamAllContents();
+
+    // [추가] S3 Key 이전(최상위 -> 날짜 접두사) 시 저장된 URL 교체용
+    @Modifying
+    @Query("UPDATE Article a SET a.thumbnailUrl = :newUrl WHERE a.thumbnailUrl = :oldUrl")
+    int replaceThumbnailUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    List<Article> findAllByContentContaining(String text);
 }
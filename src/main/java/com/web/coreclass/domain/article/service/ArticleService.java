@@ -4,30 +4,44 @@ import com.web.coreclass.domain.article.dto.ArticleDto;
 import com.web.coreclass.domain.article.entity.Article;
 import com.web.coreclass.domain.article.entity.ArticleCategory;
 import com.web.coreclass.domain.article.repository.ArticleRepository;
-import com.web.coreclass.global.s3.S3Uploader;
+import com.web.coreclass.global.s3.S3Keys;
+import com.web.coreclass.global.s3.StoredFileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * 트랜잭션(DB 연결 점유)은 DB 작업에만 걸고, 마크다운 변환 등 CPU 작업은 트랜잭션 밖에서 실행합니다.
+ * (변환이 오래 걸려도 커넥션 풀이 고갈되지 않도록)
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class ArticleService {
     private final ArticleRepository articleRepository;
     private final MarkdownService markdownService; // ⬅️ 마크다운 변환기 주입
-    private final S3Uploader s3Uploader;
+    private final StoredFileService storedFileService; // ⬅️ 이미지 참조 카운트 관리
+    private final TransactionTemplate transactionTemplate; // 메서드 일부만 트랜잭션으로 실행
 
     /**
      * (C) Create: 게시글 생성
      */
     public ArticleDto.ArticleDetailResponse createArticle(ArticleDto.ArticleCreateRequest request) {
         Article article = request.toEntity(); // DTO -> Entity 변환
-        Article savedArticle = articleRepository.save(article);
+        List<String> imageUrls = imageUrlsOf(article); // 본문 이미지 URL 파싱도 트랜잭션 밖에서
 
-        // 마크다운 변환 로직
+        // 저장 + 이미지 참조 카운트 증가만 한 트랜잭션으로
+        Article savedArticle = transactionTemplate.execute(status -> {
+            Article saved = articleRepository.save(article);
+            storedFileService.retainAll(imageUrls);
+            return saved;
+        });
+
+        // 마크다운 변환 로직 (커밋 후, DB 연결 반납된 상태)
         String safeHtml = markdownService.markdownToSafeHtml(savedArticle.getContent());
         // ✅ 생성된 엔티티와 변환된 HTML로 DTO를 만들어 반환
         return new ArticleDto.ArticleDetailResponse(savedArticle, safeHtml);
@@ -57,8 +71,8 @@ public class ArticleService {
     /**
      * (R) Read Detail: 게시글 상세 조회
      * (마크다운 -> HTML 변환 포함)
+     * 트랜잭션 없음: findById()만 자체 읽기 트랜잭션에서 실행되고, 변환은 DB 연결 반납 후에 실행
      */
-    @Transactional(readOnly = true)
     public ArticleDto.ArticleDetailResponse getArticleDetails(Long id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다. id=" + id));
@@ -88,9 +102,11 @@ public class ArticleService {
      * (U) Update: 게시글 수정
      * (CreateRequest DTO를 재활용, 또는 별도 UpdateRequest DTO 생성)
      */
+    @Transactional
     public void updateArticle(Long id, ArticleDto.ArticleCreateRequest request) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다. id=" + id));
+        List<String> oldImageUrls = imageUrlsOf(article);
 
         // Dirty Checking (트랜잭션 내에서 엔티티 수정)
         article.setCategory(request.getCategory());
@@ -104,21 +120,36 @@ public class ArticleService {
         article.setPopup(request.isPopup());
         article.setPriority(request.getPriority() != null ? request.getPriority() : 99);
 
+        // 바뀐 이미지만 참조 카운트 반영 (더 이상 안 쓰는 이미지는 커밋 후 삭제)
+        storedFileService.replace(oldImageUrls, imageUrlsOf(article));
+
         // @Transactional 종료 시 자동 UPDATE
     }
 
     /**
      * (D) Delete: 게시글 삭제
      */
+    @Transactional
     public void deleteArticle(Long id) {
         // 1. 조회
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다. id=" + id));
 
-        // 2. 썸네일 이미지 삭제
-        s3Uploader.deleteFile(article.getThumbnailUrl());
+        // 2. 썸네일/본문 이미지 참조 해제 (다른 곳에서 쓰지 않으면 커밋 후 S3에서 삭제)
+        storedFileService.releaseAll(imageUrlsOf(article));
 
         // 3. DB 삭제
         articleRepository.deleteById(id);
     }
+
+    // 게시글이 사용하는 이미지 URL (썸네일 + 본문 이미지)
+    // 본문 이미지는 내용 기반 Key만 포함 (기존 업로드는 다른 글에 복사해서 쓰고 있을 수 있으므로 청소 스케줄러에 맡김)
+    private List<String> imageUrlsOf(Article article) {
+        List<String> urls = new ArrayList<>();
+        urls.add(article.getThumbnailUrl());
+        S3Keys.findUrls(article.getContent()).stream()
+                .filter(url -> S3Keys.isContentAddressed(S3Keys.fromUrl(url)))
+                .forEach(urls::add);
+        return urls;
+    }
 }
@@ -4,6 +4,7 @@ import com.web.coreclass.domain.careerHistory.entity.CareerHistory;
 import com.web.coreclass.domain.careerHistory.entity.RoleType;
 import com.web.coreclass.domain.game.entity.GameType;
 import com.web.coreclass.domain.instructor.entity.Instructor;
+import com.web.coreclass.global.s3.image.ImageVariant;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -164,7 +165,7 @@ public class InstructorDto {
             this.id = instructor.getId();
             this.name = instructor.getName();
             this.nickname = instructor.getNickname();
-            this.profileImgUrl = instructor.getProfileImgUrl();
+            this.profileImgUrl = ImageVariant.THUMBNAIL.urlOf(instructor.getProfileImgUrl()); // 목록에는 작은 썸네일 버전 사용
             this.sgeaLogoImgUrl = instructor.getSgeaLogoImgUrl();
 
             this.games = instructor.getGames().stream()
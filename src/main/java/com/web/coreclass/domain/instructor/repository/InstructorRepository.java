@@ -1,12 +1,18 @@
 package com.web.coreclass.domain.instructor.repository;
 
 import com.web.coreclass.domain.instructor.entity.Instructor;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     // (R) Read: 상세 조회 시 N+1 문제를 피하기 위해
@@ -23,13 +29,30 @@ public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     List<Instructor> findAllWithGames();
 
     // [추가] 모든 강사의 프로필 이미지와 로고 URL만 조회
+    // (청소 스케줄러용: 한 번에 List로 올리지 않고 커서로 흘려 읽음, 읽기 전용 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
     @Query("SELECT i.profileImgUrl FROM Instructor i WHERE i.profileImgUrl IS NOT NULL")
-    List<String> findAllProfileImgUrls();
+    Stream<String> streamAllProfileImgUrls();
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
     @Query("SELECT i.sgeaLogoImgUrl FROM Instructor i WHERE i.sgeaLogoImgUrl IS NOT NULL")
-    List<String> findAllSgeaLogoImgUrls();
+    Stream<String> streamAllSgeaLogoImgUrls();
 
     // (CareerHistory에 있는 로고들도 가져와야 함)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
     @Query("SELECT c.logoImgUrl FROM CareerHistory c WHERE c.logoImgUrl IS NOT NULL")
-    List<String> findAllCareerLogoImgUrls();
+    Stream<String> streamAllCareerLogoImgUrls();
+
+    // [추가] S3 Key 이전(최상위 -> 날짜 접두사) 시 저장된 URL 교체용
+    @Modifying
+    @Query("UPDATE Instructor i SET i.profileImgUrl = :newUrl WHERE i.profileImgUrl = :oldUrl")
+    int replaceProfileImgUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    @Modifying
+    @Query("UPDATE Instructor i SET i.sgeaLogoImgUrl = :newUrl WHERE i.sgeaLogoImgUrl = :oldUrl")
+    int replaceSgeaLogoImgUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    @Modifying
+    @Query("UPDATE CareerHistory c SET c.logoImgUrl = :newUrl WHERE c.logoImgUrl = :oldUrl")
+    int replaceCareerLogoImgUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
 }
@@ -6,21 +6,27 @@ import com.web.coreclass.domain.instructor.dto.InstructorDto;
 import com.web.coreclass.domain.instructor.entity.Instructor;
 import com.web.coreclass.domain.instructor.entity.InstructorGame;
 import com.web.coreclass.domain.instructor.repository.InstructorRepository;
-import com.web.coreclass.global.s3.S3Uploader;
+import com.web.coreclass.global.s3.StoredFileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * 트랜잭션(DB 연결 점유)은 DB 작업에만 걸고, 엔티티/DTO 조립은 트랜잭션 밖에서 실행합니다.
+ * (조회는 연관 엔티티를 읽어야 DTO를 만들 수 있으므로 읽기 전용 트랜잭션 안에서 변환)
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class InstructorService {
 
-    private final S3Uploader s3Uploader;
+    private final StoredFileService storedFileService; // 이미지 참조 카운트 관리
     private final InstructorRepository instructorRepository;
+    private final TransactionTemplate transactionTemplate; // 메서드 일부만 트랜잭션으로 실행
 
     /**
      * (C) Create: 강사 생성
@@ -58,9 +64,14 @@ public class InstructorService {
             instructor.addGame(instructorGame);
         });
 
-        // 4. Instructor 저장 (Cascade 설정으로 하위 엔티티들 동시 저장)
-        Instructor savedInstructor = instructorRepository.save(instructor);
+        // 4. Instructor 저장 (Cascade 설정으로 하위 엔티티들 동시 저장) + 이미지 참조 카운트 증가만 한 트랜잭션으로
+        Instructor savedInstructor = transactionTemplate.execute(status -> {
+            Instructor saved = instructorRepository.save(instructor);
+            storedFileService.retainAll(imageUrlsOf(saved));
+            return saved;
+        });
 
+        // 5. DTO 변환 (커밋 후 - 방금 채운 컬렉션만 읽으므로 지연 로딩 없음)
         return new InstructorDto.InstructorDetailResponse(savedInstructor);
     }
 
@@ -97,10 +108,12 @@ public class InstructorService {
      * (U) Update: 강사 전체 정보 덮어쓰기 (PUT)
      * (orphanRemoval = true를 활용하여 기존 자식 엔티티를 삭제하고 새로 추가)
      */
+    @Transactional
     public void updateInstructor(Long id, InstructorDto.InstructorCreateRequest request) {
         // 1. 기존 강사 조회
         Instructor instructor = instructorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Instructor not found: " + id));
+        List<String> oldImageUrls = imageUrlsOf(instructor);
 
         // 2. 기본 필드 덮어쓰기 (Dirty Checking)
         instructor.setName(request.getName());
@@ -132,26 +145,33 @@ public class InstructorService {
 
             instructor.addGame(instructorGame);
         });
+
+        // 5. 바뀐 이미지만 참조 카운트 반영 (더 이상 안 쓰는 이미지는 커밋 후 삭제)
+        storedFileService.replace(oldImageUrls, imageUrlsOf(instructor));
     }
 
     /**
      * (D) Delete: 강사 삭제
      */
+    @Transactional
     public void deleteInstructor(Long id) {
         // 1. 삭제할 강사 정보를 먼저 조회 (이미지 URL을 얻기 위해)
         Instructor instructor = instructorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Instructor not found: " + id));
 
-        // 2. S3 이미지 삭제 (null 체크는 deleteFile 메서드 안에서 함)
-        s3Uploader.deleteFile(instructor.getProfileImgUrl());
-        s3Uploader.deleteFile(instructor.getSgeaLogoImgUrl());
-
-        // 3. (심화) 경력(CareerHistory)에 포함된 로고 이미지들도 삭제
-        instructor.getCareerHistories().forEach(career -> {
-            s3Uploader.deleteFile(career.getLogoImgUrl());
-        });
+        // 2. 프로필/로고/경력 로고 이미지 참조 해제 (다른 곳에서 쓰지 않으면 커밋 후 S3에서 삭제)
+        storedFileService.releaseAll(imageUrlsOf(instructor));
 
-        // 4. DB 데이터 삭제
+        // 3. DB 데이터 삭제
         instructorRepository.deleteById(id);
     }
+
+    // 강사가 사용하는 이미지 URL (프로필, SGEA 로고, 경력별 팀 로고)
+    private List<String> imageUrlsOf(Instructor instructor) {
+        List<String> urls = new ArrayList<>();
+        urls.add(instructor.getProfileImgUrl());
+        urls.add(instructor.getSgeaLogoImgUrl());
+        instructor.getCareerHistories().forEach(career -> urls.add(career.getLogoImgUrl()));
+        return urls;
+    }
 }
@@ -0,0 +1,51 @@
+package com.web.coreclass.global.config;
+
+import com.web.coreclass.global.storage.AsyncObjectStorage;
+import com.web.coreclass.global.storage.BlockingAsyncObjectStorage;
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.S3AsyncObjectStorage;
+import com.web.coreclass.global.storage.S3Guard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * 비동기 저장소(AsyncObjectStorage) 선택
+ * - storage.type=s3 + storage.s3.client=async: S3AsyncClient 사용 (응답 대기 중 스레드 사용 없음)
+ * - 그 외: 동기 저장소를 가상 스레드에서 호출
+ */
+@Configuration
+public class AsyncStorageConfig {
+
+    private static final String ASYNC_S3 = "'${storage.type:s3}' == 's3' and '${storage.s3.client:sync}' == 'async'";
+
+    // 리전/인증 정보는 spring-cloud-aws 설정(spring.cloud.aws.*)을 그대로 사용
+    @Bean
+    @ConditionalOnExpression(ASYNC_S3)
+    public S3AsyncClient s3AsyncClient(AwsRegionProvider regionProvider, AwsCredentialsProvider credentialsProvider,
+                                       @Value("${storage.s3.async-max-concurrency:200}") int maxConcurrency) {
+        return S3AsyncClient.builder()
+                .region(regionProvider.getRegion())
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(maxConcurrency))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnExpression(ASYNC_S3)
+    public AsyncObjectStorage s3AsyncObjectStorage(S3AsyncClient s3AsyncClient, S3Guard s3Guard,
+                                                   @Value("${spring.cloud.aws.s3.bucket}") String bucket) {
+        return new S3AsyncObjectStorage(s3AsyncClient, s3Guard, bucket);
+    }
+
+    @Bean
+    @ConditionalOnExpression("!(" + ASYNC_S3 + ")")
+    public AsyncObjectStorage blockingAsyncObjectStorage(ObjectStorage objectStorage) {
+        return new BlockingAsyncObjectStorage(objectStorage);
+    }
+}
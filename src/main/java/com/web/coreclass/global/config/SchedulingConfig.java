@@ -0,0 +1,24 @@
+package com.web.coreclass.global.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Slf4j
+@Configuration
+public class SchedulingConfig {
+
+    // @Scheduled 작업 + 작업 점유권(lease) 갱신용 스레드 풀
+    // (기본 스케줄러는 스레드 1개라서 청소 작업이 도는 동안 다른 작업/갱신이 실행되지 못함)
+    private static final int POOL_SIZE = 4;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(POOL_SIZE);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setErrorHandler(e -> log.error("스케줄 작업 실패", e));
+        return scheduler;
+    }
+}
@@ -1,7 +1,10 @@
 package com.web.coreclass.global.config;
 
 import com.web.coreclass.global.jwt.JwtAuthenticationFilter;
+import com.web.coreclass.global.security.AdaptiveBCryptPasswordEncoder;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,9 +13,9 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
@@ -21,6 +24,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -60,33 +64,37 @@ public class SecurityConfig {
 
                 // ⬇️ 요청별 권한 설정
                 .authorizeHttpRequests(authorize -> authorize
-                        // --- Swagger UI 접근 허용 ---
-                        .requestMatchers(
-                                "/swagger-ui.html",
-                                "/swagger-ui/**",
-                                "/api-docs/json/**",
-                                "/v3/api-docs/**"
-                        ).permitAll()
+                        // --- 비동기 응답(CompletableFuture)의 디스패치는 첫 요청에서 이미 권한 검사를 마침 ---
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
-                        // --- ⬇️ Admin 로그인 API 허용 ---
-                        .requestMatchers(HttpMethod.POST, "/api/admin/login").permitAll()
+                        // --- 공개 조회 API (공지, 강사, 이미지, 로컬 파일, health) - JWT 필터도 건너뜀 ---
+                        .requestMatchers(HttpMethod.GET, JwtAuthenticationFilter.PUBLIC_GET_PATHS).permitAll()
+
+                        // --- ⬇️ Admin 로그인 / 토큰 재발급 API 허용 ---
+                        .requestMatchers(HttpMethod.POST, "/api/admin/login", "/api/admin/refresh").permitAll()
 
                         // --- Article (공지) API 권한 설정 ---
-                        .requestMatchers(HttpMethod.GET, "/api/article").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/article/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/article").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/article/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/article/**").hasRole("ADMIN")
 
                         // --- Instructor (강사) API 권한 설정 ---
-                        .requestMatchers(HttpMethod.GET, "/api/instructor").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/instructor/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/instructor").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/instructor/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/instructor/**").hasRole("ADMIN")
 
                         // --- 이미지 업로드 API는 ADMIN 권한 필요 ---
                         .requestMatchers(HttpMethod.POST, "/api/image/upload").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/image/upload/batch").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/image/upload/stream").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/image/presign", "/api/image/presign/complete").hasRole("ADMIN")
+                        .requestMatchers("/api/media/**").hasRole("ADMIN")
+
+                        // --- 운영 지표: health는 공개(위), 나머지(metrics)는 ADMIN ---
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // --- S3 청소 관리 API는 ADMIN 권한 필요 ---
+                        .requestMatchers("/api/admin/cleanup/**").hasRole("ADMIN")
 
                         // --- 구글 폼 API 권한 설정 ---
                         .requestMatchers(HttpMethod.POST, "/api/google-form/submit").permitAll()
@@ -100,9 +108,26 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Swagger 문서(정적 파일 + API 명세 JSON)는 보안 필터 체인을 아예 거치지 않음
+     * 인증/CORS/보안 헤더가 필요 없는 공개 문서라서 안전합니다. (시작 시 ignoring 경고 로그는 의도된 것)
+     */
+    @Bean
+    public WebSecurityCustomizer webSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers(
+                "/swagger-ui.html",
+                "/swagger-ui/**",
+                "/api-docs/json/**",
+                "/v3/api-docs/**"
+        );
+    }
+
+    // BCrypt 비용은 시작 시 서버 성능에 맞춰 결정 (저장된 해시는 로그인 성공 시 새 비용으로 갱신)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${security.bcrypt.min-cost:10}") int minCost,
+                                           @Value("${security.bcrypt.max-cost:14}") int maxCost) {
+        return AdaptiveBCryptPasswordEncoder.calibrated(targetLatency, minCost, maxCost);
     }
 
     // AuthenticationManager Bean 노출 (AdminController에서 사용)
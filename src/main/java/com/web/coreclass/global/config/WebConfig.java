@@ -0,0 +1,21 @@
+package com.web.coreclass.global.config;
+
+import com.web.coreclass.global.s3.UploadLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UploadLimitInterceptor uploadLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 서버를 거쳐 저장소로 올라가는 업로드 API만 (Presigned URL 업로드는 서버를 거치지 않음)
+        registry.addInterceptor(uploadLimitInterceptor)
+                .addPathPatterns("/api/image/upload", "/api/image/upload/batch", "/api/image/upload/stream");
+    }
+}
@@ -5,19 +5,46 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    /**
+     * 누구나 조회할 수 있는 GET 경로 (SecurityConfig에서 permitAll)
+     * 인증 정보를 쓰지 않으므로 토큰이 있어도 꺼내거나 검증하지 않습니다.
+     */
+    public static final String[] PUBLIC_GET_PATHS = {
+            "/api/article/**",    // 공지 목록/상세
+            "/api/instructor/**", // 강사 목록/상세
+            "/img/**",            // 이미지 프록시 (디스크 캐시)
+            "/files/**",          // 로컬 저장소 파일 (storage.type=local)
+            "/actuator/health"
+    };
+
+    private static final RequestMatcher PUBLIC_GET = new OrRequestMatcher(Arrays.stream(PUBLIC_GET_PATHS)
+            .map(path -> (RequestMatcher) PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, path))
+            .toList());
+
     private final JwtProvider jwtProvider;
 
+    // 공개 조회 요청은 이 필터를 건너뜀 (익명 사용자로 처리)
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PUBLIC_GET.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -28,17 +55,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 1. Request Header에서 토큰 추출
         String token = jwtProvider.resolveToken(request);
 
-        // 2. 토큰이 존재하고, 유효성 검사를 통과한 경우
-        if (StringUtils.hasText(token) && jwtProvider.validateToken(token)) {
-
-            // 3. 토큰에서 인증(Authentication) 객체 조회
-            Authentication authentication = jwtProvider.getAuthentication(token);
+        // 2. 토큰이 존재하면 검증 + 인증(Authentication) 객체 조회 (서명 검증은 한 번만)
+        if (StringUtils.hasText(token)) {
+            Authentication authentication = jwtProvider.authenticate(token);
 
-            // 4. SecurityContext에 인증 정보 저장
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // 3. 유효한 토큰이면 SecurityContext에 인증 정보 저장
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
-        // 5. 다음 필터로 요청 전달
+        // 4. 다음 필터로 요청 전달
         filterChain.doFilter(request, response);
     }
 }
@@ -1,7 +1,7 @@
 package com.web.coreclass.global.jwt;
 
 
-import com.web.coreclass.domain.admin.service.AdminDetailService;
+import com.web.coreclass.domain.admin.service.AdminStatusCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -13,20 +13,26 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtProvider {
-    // AdminDetailService 주입 (DB에서 사용자 정보 로드)
-    private final AdminDetailService adminDetailService;
+    // 관리자 상태 캐시 (계정 삭제/토큰 무효화 확인 - 요청마다 DB 조회하지 않음)
+    private final AdminStatusCache adminStatusCache;
+    // 로그아웃한 토큰 목록 (Bloom 필터에 없으면 DB 조회 없이 통과)
+    private final TokenRevocationList tokenRevocationList;
 
     // application.properties에서 시크릿 키와 만료 시간 주입
     @Value("${jwt.secret}")
@@ -35,19 +41,27 @@ public class JwtProvider {
     @Value("${jwt.expiration-ms}")
     private long tokenValidityInMilliseconds;
 
+    @Value("${jwt.verified-cache-size:1000}")
+    private int verifiedCacheSize;
+
     private SecretKey key; // JWT 서명에 사용할 키
+    private JwtParser parser; // 서명 검증용 파서 (불변 객체라 모든 요청이 함께 사용)
+    private VerifiedTokenCache verifiedTokenCache; // 검증된 토큰 캐시 (토큰 해시 -> Claims)
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String AUTHORIZATION_SCHEME = "Bearer ";
     private static final String ROLES_CLAIM = "roles"; // 토큰에 권한 정보를 저장할 클레임 이름
+    private static final String VERSION_CLAIM = "ver"; // 토큰 버전 (Admin.tokenVersion과 다르면 무효화된 토큰)
 
     /**
-     * (1) 빈(Bean) 생성 후, 시크릿 키를 SecretKey 객체로 변환
+     * (1) 빈(Bean) 생성 후, 시크릿 키를 SecretKey 객체로 변환하고 파서/캐시 준비
      */
     @PostConstruct
     public void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secretString);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
     }
 
     /**
@@ -60,15 +74,27 @@ public class JwtProvider {
         String roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
+        return createToken(authentication.getName(), roles);
+    }
+
+    /**
+     * (2) 토큰 생성 (리프레시 토큰으로 재발급할 때도 사용)
+     * @param roles (쉼표로 구분한 권한 목록)
+     */
+    public String createToken(String username, String roles) {
+        // 2. 현재 토큰 버전 (로그인/재발급은 드물기 때문에 캐시가 아닌 DB에서 바로 읽음)
+        int tokenVersion = adminStatusCache.reload(username);
 
-        // 2. 토큰 만료 시간 설정
+        // 3. 토큰 만료 시간 설정
         long now = (new Date()).getTime();
         Date validity = new Date(now + this.tokenValidityInMilliseconds);
 
-        // 3. JWT 생성
+        // 4. JWT 생성
         return Jwts.builder()
-                .subject(authentication.getName()) // 사용자 이름(username)
+                .id(UUID.randomUUID().toString()) // 토큰 ID (로그아웃 시 이 값으로 무효화)
+                .subject(username) // 사용자 이름(username)
                 .claim(ROLES_CLAIM, roles) // 권한 정보
+                .claim(VERSION_CLAIM, tokenVersion) // 토큰 버전
                 .issuedAt(new Date()) // 발급 시간
                 .expiration(validity) // 만료 시간
                 .signWith(key, SignatureAlgorithm.HS512) // 서명 (알고리즘, 키)
@@ -89,14 +115,70 @@ public class JwtProvider {
     }
 
     /**
-     * (4) 토큰 유효성 검증
-     * @return boolean (유효하면 true, 아니면 false)
+     * (4) 토큰 검증 + 인증(Authentication) 객체 조회
+     * 서명 검증(HS512)은 토큰당 한 번만 하고, 검증된 Claims는 토큰 만료 시각까지 캐시에서 꺼내 씁니다.
+     * 권한은 서명된 roles 클레임을 그대로 사용하고, 계정 상태는 관리자 상태 캐시로만 확인합니다. (DB 조회 X)
+     * @return Authentication (유효하지 않거나 무효화된 토큰이면 null)
      */
-    public boolean validateToken(String token) {
+    public Authentication authenticate(String token) {
+        Claims claims = verify(token);
+        if (claims == null) {
+            return null;
+        }
+        String username = claims.getSubject();
+
+        // 1. 토큰 버전 확인 (삭제된 계정, 무효화된 토큰 거절 / 버전이 없는 이전 토큰은 0)
+        Integer tokenVersion = claims.get(VERSION_CLAIM, Integer.class);
+        if (adminStatusCache.tokenVersionOf(username) != (tokenVersion == null ? 0 : tokenVersion)) {
+            log.info("무효화된 JWT 토큰입니다.");
+            return null;
+        }
+
+        // 2. 로그아웃한 토큰 거절 (대부분 Bloom 필터에서 끝나고, 걸린 경우만 DB 확인)
+        if (claims.getId() != null && tokenRevocationList.isRevoked(claims.getId())) {
+            log.info("로그아웃된 JWT 토큰입니다.");
+            return null;
+        }
+
+        // 3. Claims -> Authentication 객체(UsernamePasswordAuthenticationToken) 생성
+        List<GrantedAuthority> authorities = Arrays.stream(StringUtils.commaDelimitedListToStringArray(claims.get(ROLES_CLAIM, String.class)))
+                .filter(StringUtils::hasText)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(
+                new User(username, "", authorities), // 비밀번호는 토큰 인증에 쓰지 않음
+                token,
+                authorities // 권한 목록
+        );
+    }
+
+    /**
+     * (5) 토큰 무효화 (로그아웃 - 만료 시각 전이라도 이후 요청 거절)
+     */
+    public void revokeToken(String token) {
+        Claims claims = verify(token);
+        if (claims != null && claims.getId() != null) {
+            tokenRevocationList.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+
+    /**
+     * (6) 토큰 파싱 (서명 + 만료 검증) - 캐시에 있으면 파싱 생략
+     * @return Claims (유효하지 않으면 null)
+     */
+    private Claims verify(String token) {
+        String tokenHash = VerifiedTokenCache.hash(token);
+        long now = System.currentTimeMillis();
+        Claims cached = verifiedTokenCache.get(tokenHash, now);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            // 토큰 파싱 (서명 검증 포함)
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokenCache.put(tokenHash, claims, claims.getExpiration().getTime());
+            }
+            return claims;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("잘못된 JWT 서명입니다.");
         } catch (ExpiredJwtException e) {
@@ -106,31 +188,6 @@ public class JwtProvider {
         } catch (IllegalArgumentException e) {
             log.info("JWT 토큰이 잘못되었습니다.");
         }
-        return false;
-    }
-
-    /**
-     * (5) 토큰에서 인증(Authentication) 객체 조회
-     * @param token (유효성이 검증된 토큰)
-     * @return Authentication (Spring Security가 사용할 인증 객체)
-     */
-    public Authentication getAuthentication(String token) {
-        // 1. 토큰에서 Claims(정보) 추출
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        // 2. 토큰의 subject(username)을 사용하여 DB에서 UserDetails 조회
-        String username = claims.getSubject();
-        UserDetails userDetails = adminDetailService.loadUserByUsername(username);
-
-        // 3. UserDetails -> Authentication 객체(UsernamePasswordAuthenticationToken) 생성
-        return new UsernamePasswordAuthenticationToken(
-                userDetails,
-                token,
-                userDetails.getAuthorities() // 권한 목록
-        );
+        return null;
     }
 }
@@ -0,0 +1,71 @@
+package com.web.coreclass.global.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 무효화된 토큰 ID(jti) Bloom 필터
+ * - mightContain() = false: 확실히 무효화되지 않은 토큰 (대부분의 요청 - DB 조회 없이 통과)
+ * - mightContain() = true: 무효화되었거나 오탐 -> DB로 확인 (오탐률은 expectedInsertions개를 넣었을 때 falsePositiveRate)
+ * 비트 배열은 AtomicLongArray라서 추가/조회에 잠금이 없고, 해시는 문자열을 직접 읽어서 계산하므로 조회 시 객체를 만들지 않습니다.
+ * 삭제는 지원하지 않으므로 만료된 항목은 필터를 새로 만들어서 정리합니다. (TokenRevocationList.rebuild)
+ */
+public class RevocationBloomFilter {
+
+    private static final long SEED_1 = 0xcbf29ce484222325L;
+    private static final long SEED_2 = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    public RevocationBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        // 비트 수 m = -n ln(p) / (ln 2)^2, 해시 수 k = m/n ln 2
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(String tokenId) {
+        long h1 = hash(tokenId, SEED_1);
+        long h2 = hash(tokenId, SEED_2) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            long mask = 1L << index; // 하위 6비트만 사용됨
+            bits.getAndAccumulate((int) (index >>> 6), mask, (word, bit) -> word | bit);
+        }
+    }
+
+    public boolean mightContain(String tokenId) {
+        long h1 = hash(tokenId, SEED_1);
+        long h2 = hash(tokenId, SEED_2) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return bitSize / 8;
+    }
+
+    // 64비트 해시 (FNV-1a + murmur3 마무리 섞기)
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
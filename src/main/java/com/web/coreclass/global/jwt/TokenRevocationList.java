@@ -0,0 +1,130 @@
+package com.web.coreclass.global.jwt;
+
+import com.web.coreclass.global.jwt.entity.RevokedToken;
+import com.web.coreclass.global.jwt.repository.RevokedTokenRepository;
+import com.web.coreclass.global.lease.JobLeaseService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 무효화된 Access Token 목록 (DB + 메모리 Bloom 필터)
+ * - 요청마다: Bloom 필터에 없으면 바로 통과 (DB 조회 없음), 있을 수도 있으면 DB로 확인
+ * - 시작 시: 아직 만료되지 않은 기록으로 필터 구성
+ * - 주기적으로: 다른 서버에서 추가된 기록을 필터에 반영 (jwt.revocation.sync-interval-ms)
+ *   id는 저장 순서대로 받지만 커밋은 순서가 바뀔 수 있으므로 (먼저 id를 받은 트랜잭션이 늦게 커밋)
+ *   마지막으로 읽은 id 아래 SYNC_RESCAN_IDS개 구간도 다시 읽음 (필터에 같은 ID를 다시 넣어도 결과는 같음)
+ * - 매일: 만료된 기록 삭제 후 필터를 새로 만듦 (Bloom 필터는 삭제가 안 되므로)
+ *   삭제는 점유권을 얻은 한 서버만, 필터 재구성은 서버마다 (필터는 각 서버 메모리)
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long SYNC_RESCAN_IDS = 1000; // 동기화 때마다 다시 읽는 마지막 id 아래 구간
+    private static final String PURGE_JOB_NAME = "revoked-token-purge";
+    private static final Duration PURGE_LEASE_TTL = Duration.ofMinutes(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JobLeaseService jobLeaseService;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Object lock = new Object();
+    private volatile RevocationBloomFilter filter;
+    private long lastSyncedId; // 이 id까지 필터에 반영됨 (lock 안에서만 접근)
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               JobLeaseService jobLeaseService,
+                               @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                               @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * 아직 만료되지 않은 기록으로 필터를 새로 만들어 교체
+     */
+    @PostConstruct
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        long count = revokedTokenRepository.countByExpiresAtAfter(now);
+        // 예상 개수를 넘으면 오탐률이 올라가므로 여유 있게
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter((int) Math.max(expectedInsertions, count * 2), falsePositiveRate);
+        long lastId = load(rebuilt, 0, now);
+        synchronized (lock) {
+            filter = rebuilt;
+            lastSyncedId = lastId;
+        }
+        sync(); // 구성하는 동안 추가된 기록
+        log.info("🧱 토큰 무효화 필터 구성 완료: {}개 ({}KB)", count, rebuilt.sizeInBytes() / 1024);
+    }
+
+    // 다른 서버에서 추가된 기록 반영
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}", initialDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void sync() {
+        synchronized (lock) {
+            long lastId = load(filter, Math.max(0, lastSyncedId - SYNC_RESCAN_IDS), LocalDateTime.now());
+            lastSyncedId = Math.max(lastSyncedId, lastId);
+        }
+    }
+
+    // 매일 새벽 4시 45분: 만료된 기록 삭제 후 필터 재구성
+    @Scheduled(cron = "0 45 4 * * *")
+    public void purgeExpired() {
+        jobLeaseService.tryAcquire(PURGE_JOB_NAME, PURGE_LEASE_TTL).ifPresent(lease -> {
+            try (lease) {
+                int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+                log.info("🧹 만료된 토큰 무효화 기록 {}개 삭제", deleted);
+            }
+        });
+        rebuild(); // 만료 전 기록만 읽으므로 삭제를 다른 서버가 했거나 아직 안 했어도 같은 결과
+    }
+
+    /**
+     * 토큰 무효화 (로그아웃)
+     * @param expiresAt (토큰 만료 시각 - 이후에는 기록을 지워도 됨)
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (isRevoked(tokenId)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+        synchronized (lock) {
+            filter.put(tokenId);
+        }
+    }
+
+    /**
+     * @return 무효화된 토큰이면 true (Bloom 필터에 없으면 DB 조회 없이 false)
+     */
+    public boolean isRevoked(String tokenId) {
+        return filter.mightContain(tokenId) && revokedTokenRepository.existsByTokenId(tokenId);
+    }
+
+    // afterId 다음 기록을 필터에 추가 @return 마지막으로 읽은 id
+    private long load(RevocationBloomFilter target, long afterId, LocalDateTime now) {
+        List<RevokedToken> batch;
+        do {
+            batch = revokedTokenRepository.findActive(afterId, now, PageRequest.of(0, BATCH_SIZE));
+            for (RevokedToken revokedToken : batch) {
+                target.put(revokedToken.getTokenId());
+                afterId = revokedToken.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return afterId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.web.coreclass.global.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 서명 검증을 마친 토큰 캐시 (토큰 SHA-256 -> Claims, 토큰 만료 시각까지)
+ * 관리자가 짧은 시간에 API를 여러 번 호출해도 HS512 서명 검증/파싱은 토큰당 한 번만 합니다.
+ * - Key는 토큰 원문이 아닌 SHA-256 (토큰이 한 글자라도 다르면 캐시에 없음 -> 다시 검증)
+ * - 크기 제한: 가득 차면 가장 오래 사용하지 않은 토큰부터 삭제 (LRU)
+ */
+class VerifiedTokenCache {
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Entry> entries;
+
+    VerifiedTokenCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return Claims (없거나 만료되었으면 null)
+     */
+    Claims get(String tokenHash, long now) {
+        synchronized (lock) {
+            Entry entry = entries.get(tokenHash);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= now) {
+                entries.remove(tokenHash);
+                return null;
+            }
+            return entry.claims();
+        }
+    }
+
+    void put(String tokenHash, Claims claims, long expiresAt) {
+        synchronized (lock) {
+            entries.put(tokenHash, new Entry(claims, expiresAt));
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.web.coreclass.global.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 무효화된(로그아웃한) Access Token
+ * 토큰 원문이 아닌 ID(jti)만 저장하고, 토큰이 만료된 뒤에는 지워도 됩니다. (만료된 토큰은 어차피 거절됨)
+ */
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires", columnList = "expires_at"))
+@Getter
+@NoArgsConstructor
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", unique = true, nullable = false, length = 36)
+    private String tokenId; // JWT ID (jti)
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 토큰 만료 시각
+
+    public RevokedToken(String tokenId, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.web.coreclass.global.jwt.repository;
+
+import com.web.coreclass.global.jwt.entity.RevokedToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    long countByExpiresAtAfter(LocalDateTime now);
+
+    // Bloom 필터 구성용: 아직 만료되지 않은 항목 (id 순, afterId 다음부터)
+    @Query("SELECT r FROM RevokedToken r WHERE r.id > :afterId AND r.expiresAt > :now ORDER BY r.id")
+    List<RevokedToken> findActive(@Param("afterId") long afterId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 만료된 토큰 기록 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,113 @@
+package com.web.coreclass.global.lease;
+
+import com.web.coreclass.global.lease.repository.JobLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 스케줄 작업 점유권 관리 (job_lease 테이블)
+ * 사용 예:
+ * <pre>
+ * try (JobLeaseService.Lease lease = jobLeaseService.tryAcquire("job", ttl).orElseThrow()) {
+ *     ... lease.isHeld()가 false가 되면 작업 중단
+ * }
+ * </pre>
+ * 서버 간 시계 차이는 TTL보다 충분히 작아야 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TaskScheduler taskScheduler;
+
+    // 이 서버(프로세스) 식별자 - 같은 호스트에서 재시작해도 다른 값
+    private final String owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * 점유권 획득 시도 (다른 서버가 가지고 있으면 바로 empty 반환)
+     * 획득하면 TTL의 1/3마다 자동으로 연장되고, close() 시 반납됩니다.
+     */
+    public Optional<Lease> tryAcquire(String jobName, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean acquired = jobLeaseRepository.tryAcquire(jobName, owner, now, now.plus(ttl)) > 0
+                || jobLeaseRepository.insertIfAbsent(jobName, owner, now, now.plus(ttl)) > 0;
+        if (!acquired) {
+            log.info("🔒 [{}] 다른 서버가 실행 중이라 건너뜁니다.", jobName);
+            return Optional.empty();
+        }
+        log.info("🔑 [{}] 점유권 획득 (owner={})", jobName, owner);
+        return Optional.of(new Lease(jobName, ttl));
+    }
+
+    public class Lease implements AutoCloseable {
+
+        private final String jobName;
+        private final Duration ttl;
+        private final ScheduledFuture<?> heartbeat;
+        private volatile LocalDateTime expiresAt;
+        private volatile boolean lost;
+
+        private Lease(String jobName, Duration ttl) {
+            this.jobName = jobName;
+            this.ttl = ttl;
+            this.expiresAt = LocalDateTime.now().plus(ttl);
+            Duration interval = ttl.dividedBy(3);
+            this.heartbeat = taskScheduler.scheduleAtFixedRate(this::renew, Instant.now().plus(interval), interval);
+        }
+
+        /**
+         * 아직 점유 중인지 (연장 실패가 이어져 만료되었거나 다른 서버가 가져갔으면 false)
+         * 긴 작업은 중간중간 확인하고 false면 멈춰야 합니다.
+         */
+        public boolean isHeld() {
+            return !lost && LocalDateTime.now().isBefore(expiresAt);
+        }
+
+        private void renew() {
+            LocalDateTime newExpiresAt = LocalDateTime.now().plus(ttl);
+            try {
+                if (jobLeaseRepository.renew(jobName, owner, newExpiresAt) > 0) {
+                    expiresAt = newExpiresAt;
+                } else {
+                    log.warn("⚠️ [{}] 점유권을 잃었습니다. (다른 서버가 가져감)", jobName);
+                    lost = true;
+                    heartbeat.cancel(false);
+                }
+            } catch (Exception e) {
+                // 일시적인 DB 오류면 다음 주기에 다시 시도 (그동안 만료되면 isHeld()가 false)
+                log.warn("[{}] 점유권 연장 실패", jobName, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            heartbeat.cancel(false);
+            if (!lost) {
+                jobLeaseRepository.release(jobName, owner, LocalDateTime.now());
+                lost = true;
+                log.info("🔓 [{}] 점유권 반납", jobName);
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.web.coreclass.global.lease.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄 작업 점유권 (서버가 여러 대여도 작업별로 한 서버만 실행)
+ * 점유한 서버는 실행 중에 expiresAt을 주기적으로 연장(heartbeat)하고,
+ * 서버가 죽어서 연장이 멈추면 expiresAt이 지난 뒤 다른 서버가 가져갈 수 있습니다.
+ */
+@Entity
+@Table(name = "job_lease")
+@Getter
+@NoArgsConstructor
+public class JobLease {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String owner; // 점유한 서버 (호스트명:프로세스 식별자)
+
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public JobLease(String jobName, String owner, LocalDateTime acquiredAt, LocalDateTime expiresAt) {
+        this.jobName = jobName;
+        this.owner = owner;
+        this.acquiredAt = acquiredAt;
+        this.expiresAt = expiresAt;
+    }
+}
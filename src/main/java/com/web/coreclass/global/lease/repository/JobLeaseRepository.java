@@ -0,0 +1,43 @@
+package com.web.coreclass.global.lease.repository;
+
+import com.web.coreclass.global.lease.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 조건부 UPDATE 한 번으로 점유/연장/반납 (영향받은 행이 1이면 성공 -> 여러 서버가 동시에 시도해도 한 곳만 성공)
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // 처음 실행되는 작업이면 행 생성 (이미 있으면 아무것도 하지 않고 0 -> 동시에 생성해도 한 서버만 1)
+    // save()는 @Id가 정해진 엔티티를 merge하므로, 먼저 생긴 다른 서버의 행을 덮어쓸 수 있어서 쓰지 않음
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_lease (job_name, owner, acquired_at, expires_at) " +
+            "VALUES (:jobName, :owner, :now, :expiresAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName, @Param("owner") String owner,
+                       @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 만료된 점유권 가져오기
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.acquiredAt = :now, l.expiresAt = :expiresAt " +
+            "WHERE l.jobName = :jobName AND l.expiresAt <= :now")
+    int tryAcquire(@Param("jobName") String jobName, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 내가 가진 점유권 연장 (heartbeat)
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :expiresAt WHERE l.jobName = :jobName AND l.owner = :owner")
+    int renew(@Param("jobName") String jobName, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 작업이 끝나면 바로 만료시켜서 반납
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now WHERE l.jobName = :jobName AND l.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,66 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.DiskLruCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 삭제된 파일을 이 서버의 이미지 프록시 캐시에서 비움
+ * - 캐시에 있는 이미지는 업로드 기록을 다시 조회하지 않고 내려주므로 (ImageProxyController),
+ *   다른 서버(청소, 삭제 대기열)에서 삭제 표시한 파일을 주기적으로 읽어서 캐시에서 지웁니다. (image-cache.invalidate-interval-ms)
+ * - deletedAt은 커밋보다 먼저 정해지므로 마지막 확인 시각보다 RESCAN만큼 앞에서부터 다시 읽음 (여러 번 지워도 결과는 같음)
+ * - 디스크 캐시는 재시작해도 남으므로, 시작 후 첫 확인은 STARTUP_LOOKBACK 동안 삭제된 파일까지 읽음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageCacheInvalidator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Duration RESCAN = Duration.ofMinutes(5);
+    private static final Duration STARTUP_LOOKBACK = Duration.ofDays(7);
+
+    private final StoredFileRepository storedFileRepository;
+    private final DiskLruCache diskLruCache;
+
+    private LocalDateTime syncedAt = LocalDateTime.now().minus(STARTUP_LOOKBACK).plus(RESCAN); // sync() 안에서만 접근
+
+    @Scheduled(fixedDelayString = "${image-cache.invalidate-interval-ms:30000}")
+    public synchronized void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = syncedAt.minus(RESCAN);
+        long afterId = 0;
+        int evicted = 0;
+        List<StoredFile> batch;
+        do {
+            batch = storedFileRepository.findDeletedSince(afterId, since, PageRequest.of(0, BATCH_SIZE));
+            for (StoredFile file : batch) {
+                evict(file.getFileKey());
+                afterId = file.getId();
+                evicted++;
+            }
+        } while (batch.size() == BATCH_SIZE);
+        syncedAt = now;
+        log.debug("🧽 이미지 캐시 무효화: 삭제된 파일 {}개 확인", evicted);
+    }
+
+    // 원본 + 리사이즈 버전
+    private void evict(String key) {
+        diskLruCache.evict(key);
+        if (ImageVariant.supports(key)) {
+            for (ImageVariant variant : ImageVariant.values()) {
+                diskLruCache.evict(variant.keyOf(key));
+            }
+        }
+    }
+}
@@ -1,28 +1,68 @@
 package com.web.coreclass.global.s3;
 
 import com.web.coreclass.global.s3.S3Uploader;
+import com.web.coreclass.global.s3.dto.ImageDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Image Upload", description = "이미지 업로드 API")
 @RestController
 @RequestMapping("/api/image")
 @RequiredArgsConstructor
 public class ImageController {
     private final S3Uploader s3Uploader;
+    private final PresignedUploadService presignedUploadService;
+
+    public static final String CONTENT_SHA256_HEADER = "X-Content-SHA256";
 
     @Operation(summary = "이미지 업로드", description = "이미지 파일을 업로드하고 URL을 반환받습니다.")
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> uploadImage(@RequestPart("file") MultipartFile file) {
-        String imageUrl = s3Uploader.upload(file);
+    public CompletableFuture<ResponseEntity<String>> uploadImage(@RequestPart("file") MultipartFile file) {
+        // 업로드가 끝날 때까지 요청 스레드를 잡고 있지 않음 (완료되면 비동기 디스패치로 응답)
+        return s3Uploader.uploadAsync(file).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "이미지 다중 업로드", description = "여러 이미지 파일을 동시에 업로드하고 요청 순서대로 URL(또는 실패 사유)을 반환받습니다.")
+    @PostMapping(value = "/upload/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<List<ImageDto.UploadResult>>> uploadImages(@RequestPart("files") List<MultipartFile> files) {
+        return s3Uploader.uploadAllAsync(files).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "이미지 스트리밍 업로드", description = "요청 본문(이미지 바이트)을 서버에 모으지 않고 받는 대로 저장소로 올립니다. "
+            + "Content-Type(이미지 형식), Content-Length, " + CONTENT_SHA256_HEADER + "(내용의 SHA-256, hex) 헤더가 필요합니다.")
+    @PostMapping(value = "/upload/stream", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE, "image/webp"})
+    public ResponseEntity<String> uploadImageStream(@RequestHeader(CONTENT_SHA256_HEADER) String sha256,
+                                                    HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        String imageUrl = s3Uploader.uploadStream(request.getInputStream(), request.getContentLengthLong(),
+                contentType.getType() + "/" + contentType.getSubtype(), sha256);
         return ResponseEntity.ok(imageUrl);
     }
+
+    @Operation(summary = "직접 업로드 URL 발급", description = "브라우저가 S3로 이미지를 직접 PUT 할 수 있는 5분짜리 Presigned URL을 발급합니다. (크기/형식/SHA-256이 서명에 포함됨)")
+    @PostMapping("/presign")
+    public ResponseEntity<ImageDto.PresignResponse> presign(@RequestBody ImageDto.PresignRequest request) {
+        return ResponseEntity.ok(presignedUploadService.presign(request));
+    }
+
+    @Operation(summary = "직접 업로드 완료", description = "S3 직접 업로드가 끝난 파일을 등록하고 URL을 반환받습니다.")
+    @PostMapping("/presign/complete")
+    public ResponseEntity<String> completePresignedUpload(@RequestBody ImageDto.PresignCompleteRequest request) {
+        return ResponseEntity.ok(presignedUploadService.complete(request));
+    }
 }
@@ -0,0 +1,145 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.DiskLruCache;
+import com.web.coreclass.global.storage.FileRange;
+import com.web.coreclass.global.storage.ObjectNotFoundException;
+import com.web.coreclass.global.storage.ObjectTooLargeException;
+import com.web.coreclass.global.storage.StorageUnavailableException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이미지 프록시 (S3 앞단의 로컬 디스크 캐시)
+ * [GET] /img/{key} (예: /img/2026/10/19/9f86...0a08_thumb.png)
+ * 게임 로고, 강사 사진, 썸네일처럼 자주 보이는 이미지를 매번 S3에서 받지 않고 서버 디스크에서 내려줍니다.
+ * - Key는 내용 기반이라 바뀌지 않음 -> 1년 immutable 캐시 + ETag(내용의 SHA-256)로 If-None-Match(304) 지원
+ * - Range 요청 지원 (206)
+ * - 캐시에 없는 Key는 업로드 기록에 있는 파일만 받아옴 (없는 Key로 S3 요청을 반복하지 않도록)
+ * - 캐시된 Key는 기록을 다시 확인하지 않음 -> 삭제된 파일은 삭제한 서버에서 바로, 다른 서버는 ImageCacheInvalidator가 주기적으로 비움
+ * - 이미지 확장자 Key만, image-cache.max-object-size 이하만 내려줌 (그 밖은 404)
+ * - S3 장애 중에는 캐시에 없는 이미지만 503 (S3Guard 타임아웃/서킷 OPEN)
+ */
+@Tag(name = "Image Proxy", description = "이미지 프록시 API (디스크 캐시)")
+@RestController
+@RequiredArgsConstructor
+public class ImageProxyController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final DiskLruCache diskLruCache;
+    private final StoredFileRepository storedFileRepository;
+
+    @Operation(summary = "이미지 조회", description = "저장소의 이미지를 디스크 캐시를 거쳐 내려받습니다. (Range, If-None-Match 지원)")
+    @GetMapping("/" + S3Keys.IMAGE_PROXY_PATH + "**")
+    public void image(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 1. 요청 경로 -> Key (한글 파일명 등은 디코딩)
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = UriUtils.decode(path.substring(S3Keys.IMAGE_PROXY_PATH.length() + 1), StandardCharsets.UTF_8);
+        if (!isImage(key) || (!diskLruCache.contains(key) && !isRegistered(key))) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // 2. 캐시에서 가져오기 (없으면 저장소에서 한 번만 받아옴)
+        DiskLruCache.Entry entry;
+        try {
+            entry = diskLruCache.get(key);
+        } catch (ObjectNotFoundException | ObjectTooLargeException e) {
+            // 상한(image-cache.max-object-size)을 넘는 파일은 프록시로 내려주지 않음
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        } catch (StorageUnavailableException e) {
+            // S3 장애: 기다리지 않고 바로 503 (캐시된 이미지는 계속 내려줌)
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        // 3. 캐시 헤더 (브라우저가 가진 버전과 같으면 본문 없이 304)
+        String etag = "\"" + entry.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        // 4. 보낼 구간 결정 후 FileChannel.transferTo로 전송
+        FileRange range = FileRange.resolve(request, response, entry.getSize());
+        if (range == null) {
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        if (range.count() == 0) {
+            return;
+        }
+        try (FileChannel channel = open(key, entry)) {
+            range.transfer(channel, response.getOutputStream());
+        }
+    }
+
+    // 확장자가 이미지인 Key만 (영상/문서 등 큰 파일은 프록시를 거치지 않고 저장소 URL로)
+    private static boolean isImage(String key) {
+        return !key.isEmpty() && MediaTypeFactory.getMediaType(key)
+                .filter(mediaType -> "image".equals(mediaType.getType()))
+                .isPresent();
+    }
+
+    // 업로드 기록에 있는 (삭제되지 않은) 파일인지 - 리사이즈 버전은 원본 기준
+    private boolean isRegistered(String key) {
+        if (S3CleanupService.FIXED_FILES.contains(key)) {
+            return true;
+        }
+        String originalKey = ImageVariant.originalKeyOf(key);
+        return !storedFileRepository.findActiveKeys(List.of(originalKey != null ? originalKey : key)).isEmpty();
+    }
+
+    // 캐시 파일 열기 (조회 직후 다른 요청 때문에 밀려났으면 다시 받아옴)
+    private FileChannel open(String key, DiskLruCache.Entry entry) throws IOException {
+        try {
+            return FileChannel.open(entry.getPath(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return FileChannel.open(diskLruCache.get(key).getPath(), StandardOpenOption.READ);
+        }
+    }
+
+    // If-None-Match: "*" 또는 ETag 목록 중 하나라도 같으면 (약한 비교)
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
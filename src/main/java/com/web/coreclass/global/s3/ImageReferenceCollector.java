@@ -0,0 +1,60 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.domain.article.repository.ArticleRepository;
+import com.web.coreclass.domain.instructor.repository.InstructorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.stream.Stream;
+
+/**
+ * DB에서 참조 중인 S3 Key 수집 (청소 스케줄러용)
+ * 모든 URL/본문을 List로 한 번에 올리지 않고, 커서로 한 행씩 읽어서 바로 sink로 넘깁니다.
+ * (게시글/본문이 아무리 많아도 이 단계의 메모리 사용량은 일정)
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageReferenceCollector {
+
+    private final InstructorRepository instructorRepository;
+    private final ArticleRepository articleRepository;
+
+    /**
+     * 참조 중인 파일명(Key)을 하나씩 sink에 전달
+     * (Stream은 트랜잭션 안에서만 읽을 수 있으므로 읽기 전용 트랜잭션으로 감쌈)
+     */
+    @Transactional(readOnly = true)
+    public void collect(Consumer<String> sink) {
+        // (1) 강사 관련 이미지
+        forEachKey(instructorRepository.streamAllProfileImgUrls(), sink);
+        forEachKey(instructorRepository.streamAllSgeaLogoImgUrls(), sink);
+        forEachKey(instructorRepository.streamAllCareerLogoImgUrls(), sink);
+
+        // (2) 공지사항 관련 이미지 (썸네일)
+        forEachKey(articleRepository.streamAllThumbnailUrls(), sink);
+
+        // (3) 공지사항 본문(Markdown)에 포함된 이미지 파싱 (Matcher 하나를 본문마다 reset해서 재사용)
+        Matcher urlMatcher = S3Keys.newUrlMatcher();
+        try (Stream<String> contents = articleRepository.streamAllContents()) {
+            contents.forEach(content -> {
+                if (content == null) {
+                    return;
+                }
+                urlMatcher.reset(content);
+                while (urlMatcher.find()) {
+                    sink.accept(S3Keys.fromUrl(urlMatcher.group()));
+                }
+            });
+        }
+    }
+
+    // URL -> 파일명(Key) 변환 후 전달 (Stream은 다 읽으면 닫아서 커서 반환)
+    private void forEachKey(Stream<String> urls, Consumer<String> sink) {
+        try (urls) {
+            urls.forEach(url -> sink.accept(S3Keys.fromUrl(url)));
+        }
+    }
+}
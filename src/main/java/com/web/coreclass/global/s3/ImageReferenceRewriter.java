@@ -0,0 +1,57 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.domain.article.entity.Article;
+import com.web.coreclass.domain.article.repository.ArticleRepository;
+import com.web.coreclass.domain.instructor.repository.InstructorRepository;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * DB에 저장된 이미지 URL 교체 (S3 Key 이전용)
+ * 강사 이미지, 경력 로고, 공지사항 썸네일/본문, stored_file Key를 한 트랜잭션에서 바꿉니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageReferenceRewriter {
+
+    private final ArticleRepository articleRepository;
+    private final InstructorRepository instructorRepository;
+    private final StoredFileRepository storedFileRepository;
+
+    /**
+     * @param oldUrls (같은 파일을 가리키는 기존 URL들 - 인코딩 형태가 다를 수 있음)
+     * @return int (변경된 행 수)
+     */
+    @Transactional
+    public int rewrite(String oldKey, String newKey, Collection<String> oldUrls, String newUrl) {
+        int rows = 0;
+        for (String oldUrl : oldUrls) {
+            rows += instructorRepository.replaceProfileImgUrl(oldUrl, newUrl);
+            rows += instructorRepository.replaceSgeaLogoImgUrl(oldUrl, newUrl);
+            rows += instructorRepository.replaceCareerLogoImgUrl(oldUrl, newUrl);
+            rows += articleRepository.replaceThumbnailUrl(oldUrl, newUrl);
+
+            // 본문(Markdown)은 문자열 치환 (변경 감지로 저장)
+            for (Article article : articleRepository.findAllByContentContaining(oldUrl)) {
+                article.setContent(article.getContent().replace(oldUrl, newUrl));
+                rows++;
+            }
+        }
+
+        // 업로드 기록: 기존 기록(참조 카운트 포함)은 새 Key로 옮기고,
+        // 기존 Key는 참조 없는 파일로 다시 기록 -> 유예 시간이 지나면 청소(SWEEP) 때 삭제
+        // (기존 Key는 sha256 없이 기록해서 중복 업로드 시 재사용되지 않도록 함)
+        int renamed = storedFileRepository.renameKey(oldKey, newKey);
+        if (renamed == 0) {
+            String sha256 = S3Keys.isContentAddressed(newKey) ? S3Keys.sha256Of(newKey) : null;
+            storedFileRepository.save(new StoredFile(newKey, sha256));
+        }
+        storedFileRepository.save(new StoredFile(oldKey, null));
+        return rows + renamed;
+    }
+}
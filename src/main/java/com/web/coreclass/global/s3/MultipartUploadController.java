@@ -0,0 +1,59 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.dto.MultipartUploadDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@Tag(name = "Media Upload", description = "큰 파일(영상, 고해상도 배너) 멀티파트 업로드 API")
+@RestController
+@RequestMapping("/api/media/multipart")
+@RequiredArgsConstructor
+public class MultipartUploadController {
+
+    public static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+
+    private final MultipartUploadService multipartUploadService;
+
+    @Operation(summary = "멀티파트 업로드 시작", description = "파일 크기/형식/SHA-256을 보내고 업로드 ID를 발급받습니다. (같은 파일이 이미 있으면 바로 완료)")
+    @PostMapping
+    public ResponseEntity<MultipartUploadDto.Progress> start(@RequestBody MultipartUploadDto.StartRequest request) {
+        return ResponseEntity.ok(multipartUploadService.start(request));
+    }
+
+    @Operation(summary = "파일 본문 전송", description = "파일 내용을 " + UPLOAD_OFFSET_HEADER + " 위치부터 끝까지 요청 본문으로 보냅니다. "
+            + "연결이 끊기면 진행 상황의 nextOffset부터 다시 보내면 이어서 올라갑니다.")
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<MultipartUploadDto.Progress> upload(@PathVariable String uploadId,
+                                                              @RequestHeader(value = UPLOAD_OFFSET_HEADER, defaultValue = "0") long offset,
+                                                              HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(multipartUploadService.receive(uploadId, offset, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    @Operation(summary = "진행 상황 조회", description = "올라간 크기와 이어 올릴 위치(nextOffset), 완료되면 파일 URL을 반환합니다.")
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<MultipartUploadDto.Progress> progress(@PathVariable String uploadId) {
+        return ResponseEntity.ok(multipartUploadService.progress(uploadId));
+    }
+
+    @Operation(summary = "업로드 취소", description = "올라간 조각을 삭제하고 업로드를 취소합니다.")
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable String uploadId) {
+        multipartUploadService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
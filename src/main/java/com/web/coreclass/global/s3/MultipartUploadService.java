@@ -0,0 +1,405 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.dto.MultipartUploadDto;
+import com.web.coreclass.global.s3.entity.MultipartUpload;
+import com.web.coreclass.global.s3.entity.MultipartUploadPart;
+import com.web.coreclass.global.s3.entity.MultipartUploadStatus;
+import com.web.coreclass.global.s3.repository.MultipartUploadPartRepository;
+import com.web.coreclass.global.s3.repository.MultipartUploadRepository;
+import com.web.coreclass.global.storage.ChecksumMismatchException;
+import com.web.coreclass.global.storage.ObjectStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 큰 파일(영상, 고해상도 배너) 멀티파트 업로드
+ * (1) 시작: 크기/형식/SHA-256을 받아 저장소에 멀티파트 업로드를 만들고 업로드 ID 발급
+ * (2) 본문 받기: 요청 본문을 조각 크기만큼 읽어서 조각별로 병렬 업로드 (실패한 조각은 몇 번 다시 시도)
+ *     연결이 끊기면 올라간 조각은 기록에 남고, 진행 상황의 nextOffset부터 다시 보내면 이어서 올림
+ * (3) 완료: 서버가 받은 내용의 SHA-256이 시작할 때 받은 값과 같으면 조각을 합쳐서 등록
+ *     처음부터 한 요청으로 받았으면 받으면서 계산하고, 이어 올렸으면 합친 파일을 다시 읽어서 계산
+ *     조각은 임시 Key(S3Keys.multipartStaging)에 합치고, 확인이 끝난 뒤에 내용 기반 Key로 복사
+ *     (같은 내용을 다른 업로드가 먼저 올렸어도 확인 전 내용으로 덮어쓰거나 지우지 않음)
+ *     (계산 상태를 서버 메모리에 두지 않으므로 재시작 후나 다른 서버에서도 이어 올릴 수 있음)
+ * 같은 업로드의 본문은 한 번에 한 요청만 받음 (DB 조건부 UPDATE로 점유)
+ * 저장소로 올리는 중인 조각은 서버 전체에서 media.max-parallel-parts개까지
+ * (요청마다 받는 중인 조각 1개는 별도 - 느린 클라이언트가 받는 동안 자리를 잡고 있지 않도록 다 받은 뒤에 자리를 얻음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MultipartUploadService {
+
+    // 받는 형식 (Content-Type -> 확장자)
+    private static final Map<String, String> MEDIA_TYPES = Map.of(
+            "video/mp4", "mp4",
+            "video/webm", "webm",
+            "video/quicktime", "mov",
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp"
+    );
+    private static final int MAX_PART_ATTEMPTS = 3;   // 조각별 시도 횟수
+    private static final long RETRY_BACKOFF_MS = 500; // 재시도 대기 (시도마다 2배)
+    private static final long EXPIRE_AFTER_HOURS = 24; // 이 시간이 지나도 끝나지 않은 업로드는 취소
+    private static final long RECEIVE_LEASE_MINUTES = 5; // 본문 받기 점유 시간 (조각을 받을 때마다 연장)
+
+    private final ObjectStorage objectStorage;
+    private final S3Uploader s3Uploader;
+    private final MultipartUploadRepository multipartUploadRepository;
+    private final MultipartUploadPartRepository multipartUploadPartRepository;
+
+    @Value("${media.max-file-size:5GB}")
+    private DataSize maxFileSize;
+
+    @Value("${media.part-size:8MB}")
+    private DataSize partSize;
+
+    @Value("${media.max-parallel-parts:8}")
+    private int maxParallelParts;
+
+    private Semaphore partBuffers; // 저장소로 올리는 중인 조각 수 제한 (서버 전체)
+    private final ExecutorService partWorker = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void init() {
+        if (partSize.toBytes() < ObjectStorage.MIN_PART_SIZE) {
+            throw new IllegalStateException("media.part-size는 5MB 이상이어야 합니다.");
+        }
+        partBuffers = new Semaphore(maxParallelParts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partWorker.shutdown();
+    }
+
+    /**
+     * (1) 멀티파트 업로드 시작
+     * 같은 내용의 파일이 이미 있으면 업로드 없이 바로 완료 상태를 돌려줍니다.
+     */
+    public MultipartUploadDto.Progress start(MultipartUploadDto.StartRequest request) {
+        // 1. 형식/크기/해시 검증
+        String contentType = request.getContentType() == null ? null : request.getContentType().toLowerCase(Locale.ROOT);
+        String extension = contentType == null ? null : MEDIA_TYPES.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다: " + request.getContentType());
+        }
+        long length = request.getContentLength();
+        if (length <= 0 || length > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("파일 크기는 1byte 이상 " + maxFileSize.toMegabytes() + "MB 이하여야 합니다.");
+        }
+        if (request.getSha256() == null || !request.getSha256().matches("[0-9a-fA-F]{64}")) {
+            throw new IllegalArgumentException("SHA-256 값이 올바르지 않습니다.");
+        }
+        String sha256 = request.getSha256().toLowerCase(Locale.ROOT);
+
+        // 2. 내용 기반 Key (같은 파일이 이미 있으면 업로드 생략)
+        String key = s3Uploader.resolveKey(HexFormat.of().parseHex(sha256), extension);
+        if (s3Uploader.exists(key)) {
+            s3Uploader.registerMultipartUpload(key, length, contentType);
+            return new MultipartUploadDto.Progress(null, key, MultipartUploadStatus.COMPLETED, length, length, length, s3Uploader.getUrl(key));
+        }
+
+        // 3. 저장소에 멀티파트 업로드 생성 (조각 개수가 한도를 넘지 않도록 큰 파일은 조각 크기를 늘림)
+        long size = Math.max(partSize.toBytes(), (length + ObjectStorage.MAX_PARTS - 1) / ObjectStorage.MAX_PARTS);
+        String uploadId = UUID.randomUUID().toString();
+        String storageUploadId = objectStorage.createMultipartUpload(S3Keys.multipartStaging(uploadId, key), contentType);
+        MultipartUpload upload = multipartUploadRepository.save(new MultipartUpload(
+                uploadId, key, storageUploadId, sha256, contentType, length, size));
+
+        log.info("🎬 멀티파트 업로드 시작: {} ({}byte, 조각 {}개)", key, length, upload.partCount());
+        return progress(upload, List.of());
+    }
+
+    /**
+     * (2) 본문 받기 (offset부터 파일 끝까지)
+     * 연결이 끊기면 그때까지 다 받은 조각은 끝까지 올리고 진행 상황을 돌려줍니다.
+     * 모든 조각이 올라가면 SHA-256을 확인하고 완료합니다.
+     * @param offset (처음이면 0, 이어 올리면 진행 상황의 nextOffset)
+     */
+    public MultipartUploadDto.Progress receive(String uploadId, long offset, InputStream in, long contentLength) {
+        MultipartUpload upload = find(uploadId);
+        if (upload.getStatus() == MultipartUploadStatus.COMPLETED) {
+            return progress(uploadId);
+        }
+        if (upload.getStatus() != MultipartUploadStatus.IN_PROGRESS) {
+            throw new IllegalStateException("취소된 업로드입니다: " + uploadId);
+        }
+        String receiver = UUID.randomUUID().toString();
+        if (multipartUploadRepository.claimReceive(uploadId, MultipartUploadStatus.IN_PROGRESS, receiver,
+                LocalDateTime.now(), receiveLeaseUntil()) == 0) {
+            throw new IllegalStateException("이미 이 업로드의 본문을 받고 있습니다: " + uploadId);
+        }
+        try {
+            // 1. 올라간 조각 확인 -> 이어 올릴 위치 검증
+            List<MultipartUploadPart> parts = multipartUploadPartRepository.findAllByUploadIdOrderByPartNumber(uploadId);
+            long nextOffset = nextOffset(upload, parts);
+            if (offset < 0 || offset % upload.getPartSize() != 0 || offset > nextOffset) {
+                throw new IllegalArgumentException("이어 올릴 위치가 올바르지 않습니다. (이어 올릴 위치: " + nextOffset + ")");
+            }
+            if (contentLength >= 0 && offset + contentLength != upload.getTotalSize()) {
+                throw new IllegalArgumentException("요청 본문은 " + offset + "부터 파일 끝까지여야 합니다.");
+            }
+            int firstPart = (int) (offset / upload.getPartSize()) + 1;
+            // 처음부터 받으면 받으면서 SHA-256 계산 (이어 올리면 완료 후 합친 파일로 계산)
+            MessageDigest digest = firstPart == 1 ? newSha256() : null;
+            // 다시 보내는 구간의 조각은 새로 받은 내용으로 올림 (저장된 내용과 SHA-256 계산 내용이 항상 같도록)
+            multipartUploadPartRepository.deleteFrom(uploadId, firstPart);
+
+            // 2. 조각 크기만큼 읽어서 워커로 넘김 (읽는 동안 앞 조각은 병렬로 업로드)
+            List<Future<?>> pending = new ArrayList<>();
+            boolean disconnected = false;
+            for (int partNumber = firstPart; partNumber <= upload.partCount(); partNumber++) {
+                int size = (int) upload.sizeOfPart(partNumber);
+                byte[] data = readPart(in, size);
+                if (data == null) {
+                    disconnected = true;
+                    break;
+                }
+                if (digest != null) {
+                    digest.update(data);
+                }
+                if (multipartUploadRepository.extendReceive(uploadId, receiver, receiveLeaseUntil()) == 0) {
+                    throw new IllegalStateException("점유 시간이 지나 다른 요청이 이 업로드를 받고 있습니다: " + uploadId);
+                }
+                // 다 받은 조각만 자리를 얻어서 워커로 (워커가 모두 바쁘면 다음 조각을 받지 않고 대기 -> 받는 속도 조절)
+                partBuffers.acquire();
+                int number = partNumber;
+                pending.add(partWorker.submit(() -> {
+                    try {
+                        uploadPart(upload, number, data);
+                        return null;
+                    } finally {
+                        partBuffers.release();
+                    }
+                }));
+            }
+
+            // 3. 올리는 중인 조각 대기 (연결이 끊겨도 이미 받은 조각은 끝까지 올림)
+            Exception failure = null;
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw new IllegalStateException("조각 업로드에 실패했습니다. 진행 상황을 조회해서 이어 올려주세요.", failure.getCause());
+            }
+            if (disconnected) {
+                log.info("⏸️ 멀티파트 업로드 연결 끊김: {} (이어 올리기 대기)", upload.getFileKey());
+                return progress(uploadId);
+            }
+
+            // 4. 모든 조각 완료 -> SHA-256 확인 후 합치기
+            return complete(upload, digest == null ? null : digest.digest());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("멀티파트 업로드가 중단되었습니다.", e);
+        } finally {
+            multipartUploadRepository.releaseReceive(uploadId, receiver);
+        }
+    }
+
+    /**
+     * 진행 상황 조회
+     */
+    public MultipartUploadDto.Progress progress(String uploadId) {
+        MultipartUpload upload = find(uploadId);
+        return progress(upload, multipartUploadPartRepository.findAllByUploadIdOrderByPartNumber(uploadId));
+    }
+
+    /**
+     * 업로드 취소 (저장소에 올라간 조각 삭제)
+     */
+    public void abort(String uploadId) {
+        abort(find(uploadId));
+    }
+
+    /**
+     * 하루가 지나도 끝나지 않은 업로드 취소 (스케줄러)
+     * @return 취소한 개수
+     */
+    public int abortExpired() {
+        List<MultipartUpload> expired = multipartUploadRepository.findAllByStatusAndCreatedAtBefore(
+                MultipartUploadStatus.IN_PROGRESS, LocalDateTime.now().minusHours(EXPIRE_AFTER_HOURS));
+        int aborted = 0;
+        for (MultipartUpload upload : expired) {
+            try {
+                abort(upload);
+                aborted++;
+            } catch (RuntimeException e) {
+                log.warn("만료된 멀티파트 업로드 취소 실패: {}", upload.getFileKey(), e);
+            }
+        }
+        if (aborted > 0) {
+            log.info("🧹 만료된 멀티파트 업로드 {}개 취소", aborted);
+        }
+        return aborted;
+    }
+
+    // 조각 업로드 (실패하면 잠시 기다렸다가 다시 시도, 같은 번호로 다시 올리면 저장소가 덮어씀)
+    private void uploadPart(MultipartUpload upload, int partNumber, byte[] data) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String etag = objectStorage.uploadPart(stagingKey(upload), upload.getStorageUploadId(), partNumber, data);
+                multipartUploadPartRepository.save(new MultipartUploadPart(upload.getId(), partNumber, etag, data.length));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_PART_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("조각 업로드 실패 ({}/{}), 다시 시도: {} #{} - {}", attempt, MAX_PART_ATTEMPTS,
+                        upload.getFileKey(), partNumber, e.getMessage());
+                Thread.sleep(RETRY_BACKOFF_MS << (attempt - 1));
+            }
+        }
+    }
+
+    /**
+     * SHA-256 확인 -> 조각 합치기(임시 Key) -> 내용 기반 Key로 복사 -> 업로드 기록
+     * @param streamedSha256 (처음부터 한 요청으로 받으며 계산한 값, 이어 올렸으면 null -> 합친 파일을 다시 읽어서 확인)
+     */
+    private MultipartUploadDto.Progress complete(MultipartUpload upload, byte[] streamedSha256) {
+        if (streamedSha256 != null && !HexFormat.of().formatHex(streamedSha256).equals(upload.getSha256())) {
+            abort(upload);
+            throw new ChecksumMismatchException(upload.getFileKey());
+        }
+        SortedMap<Integer, String> etags = new TreeMap<>();
+        for (MultipartUploadPart part : multipartUploadPartRepository.findAllByUploadIdOrderByPartNumber(upload.getId())) {
+            etags.put(part.getPartNumber(), part.getEtag());
+        }
+        if (etags.size() != upload.partCount()) {
+            throw new IllegalStateException("올라가지 않은 조각이 있습니다. 진행 상황을 조회해서 이어 올려주세요.");
+        }
+        String stagingKey = stagingKey(upload);
+        objectStorage.completeMultipartUpload(stagingKey, upload.getStorageUploadId(), etags);
+        if (streamedSha256 == null && !HexFormat.of().formatHex(sha256Of(stagingKey)).equals(upload.getSha256())) {
+            // 이미 합쳐졌으므로 저장소 멀티파트 취소 대신 임시 파일 삭제 (내용 기반 Key의 파일은 건드리지 않음)
+            objectStorage.delete(stagingKey);
+            multipartUploadRepository.changeStatus(upload.getId(), MultipartUploadStatus.IN_PROGRESS,
+                    MultipartUploadStatus.ABORTED, LocalDateTime.now());
+            multipartUploadPartRepository.deleteAllByUploadId(upload.getId());
+            throw new ChecksumMismatchException(upload.getFileKey());
+        }
+        // 확인된 내용만 내용 기반 Key로 (같은 내용이 이미 있으면 같은 내용으로 덮어씀)
+        objectStorage.copy(stagingKey, upload.getFileKey());
+        objectStorage.delete(stagingKey);
+        multipartUploadRepository.changeStatus(upload.getId(), MultipartUploadStatus.IN_PROGRESS,
+                MultipartUploadStatus.COMPLETED, LocalDateTime.now());
+        multipartUploadPartRepository.deleteAllByUploadId(upload.getId());
+        s3Uploader.registerMultipartUpload(upload.getFileKey(), upload.getTotalSize(), upload.getContentType());
+
+        log.info("✅ 멀티파트 업로드 완료: {}", upload.getFileKey());
+        long size = upload.getTotalSize();
+        return new MultipartUploadDto.Progress(upload.getId(), upload.getFileKey(), MultipartUploadStatus.COMPLETED,
+                size, size, size, s3Uploader.getUrl(upload.getFileKey()));
+    }
+
+    private void abort(MultipartUpload upload) {
+        if (multipartUploadRepository.changeStatus(upload.getId(), MultipartUploadStatus.IN_PROGRESS,
+                MultipartUploadStatus.ABORTED, LocalDateTime.now()) == 0) {
+            return; // 이미 완료/취소됨
+        }
+        objectStorage.abortMultipartUpload(stagingKey(upload), upload.getStorageUploadId());
+        multipartUploadPartRepository.deleteAllByUploadId(upload.getId());
+        log.info("🗑️ 멀티파트 업로드 취소: {}", upload.getFileKey());
+    }
+
+    private MultipartUpload find(String uploadId) {
+        return multipartUploadRepository.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 업로드입니다: " + uploadId));
+    }
+
+    private MultipartUploadDto.Progress progress(MultipartUpload upload, List<MultipartUploadPart> parts) {
+        long size = upload.getTotalSize();
+        if (upload.getStatus() == MultipartUploadStatus.COMPLETED) {
+            return new MultipartUploadDto.Progress(upload.getId(), upload.getFileKey(), upload.getStatus(),
+                    size, size, size, s3Uploader.getUrl(upload.getFileKey()));
+        }
+        long uploadedBytes = parts.stream().mapToLong(MultipartUploadPart::getSize).sum();
+        return new MultipartUploadDto.Progress(upload.getId(), upload.getFileKey(), upload.getStatus(),
+                size, uploadedBytes, nextOffset(upload, parts), null);
+    }
+
+    // 1번부터 빠짐없이 올라간 조각 다음 위치
+    private static long nextOffset(MultipartUpload upload, List<MultipartUploadPart> parts) {
+        int contiguous = 0;
+        for (MultipartUploadPart part : parts) { // 번호 순
+            if (part.getPartNumber() != contiguous + 1) {
+                break;
+            }
+            contiguous++;
+        }
+        return Math.min(contiguous * upload.getPartSize(), upload.getTotalSize());
+    }
+
+    // 조각을 올리고 합치는 임시 Key
+    private static String stagingKey(MultipartUpload upload) {
+        return S3Keys.multipartStaging(upload.getId(), upload.getFileKey());
+    }
+
+    private static LocalDateTime receiveLeaseUntil() {
+        return LocalDateTime.now().plusMinutes(RECEIVE_LEASE_MINUTES);
+    }
+
+    // 저장소에 있는 파일을 끝까지 읽으며 SHA-256 계산 (메모리에 모두 올리지 않음)
+    private byte[] sha256Of(String key) {
+        MessageDigest digest = newSha256();
+        try (InputStream in = new DigestInputStream(objectStorage.get(key), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("합친 파일을 읽을 수 없습니다: " + key, e);
+        }
+        return digest.digest();
+    }
+
+    // 조각 크기만큼 읽기 (그 전에 본문이 끝나거나 연결이 끊기면 null)
+    private static byte[] readPart(InputStream in, int size) {
+        try {
+            byte[] data = in.readNBytes(size);
+            return data.length == size ? data : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
+}
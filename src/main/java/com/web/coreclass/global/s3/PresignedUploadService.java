@@ -0,0 +1,138 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.dto.ImageDto;
+import com.web.coreclass.global.s3.image.ImageFormat;
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.S3ObjectStorage;
+import com.web.coreclass.global.storage.StoredObject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 브라우저 -> S3 직접 업로드 (Presigned PUT URL)
+ * 이미지 바이트가 애플리케이션 서버(Tomcat, multipart 버퍼)를 거치지 않습니다.
+ * 1. presign: 크기/형식/체크섬이 서명에 포함된 짧은 수명의 PUT URL 발급
+ * 2. complete: S3에 실제로 올라온 파일을 확인하고 등록 (크기/형식 + 앞 12byte 매직 바이트, 참조 카운트, 리사이즈 버전)
+ * S3 저장소(storage.type=s3)에서만 사용할 수 있습니다. (로컬 저장소는 multipart 업로드 사용)
+ * 올라온 원본은 Key(= 원본의 SHA-256)와 일치해야 하므로 서버가 메타데이터를 지워 덮어쓰지 않습니다. (S3Uploader.registerDirectUpload)
+ * 원본의 메타데이터 제거가 필요하면 클라이언트가 지운 뒤 해시하거나 폼 업로드(S3Uploader.upload - 제거 후 해시)를 사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PresignedUploadService {
+
+    private static final Duration EXPIRATION = Duration.ofMinutes(5);
+
+    private final S3Presigner s3Presigner;
+    private final ObjectStorage objectStorage;
+    private final S3Uploader s3Uploader;
+
+    @Value("${spring.cloud.aws.s3.bucket}")
+    private String bucket;
+
+    // multipart 업로드와 같은 파일 크기 제한 사용
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
+
+    /**
+     * (1) Presigned PUT URL 발급
+     */
+    public ImageDto.PresignResponse presign(ImageDto.PresignRequest request) {
+        if (!(objectStorage instanceof S3ObjectStorage)) {
+            throw new IllegalStateException("Presigned URL 업로드는 S3 저장소에서만 사용할 수 있습니다.");
+        }
+
+        // 1. 형식/크기/해시 검증
+        ImageFormat format = ImageFormat.fromContentType(request.getContentType());
+        if (format == null) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다: " + request.getContentType());
+        }
+        if (request.getContentLength() <= 0 || request.getContentLength() > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("파일 크기는 1byte 이상 " + maxFileSize.toMegabytes() + "MB 이하여야 합니다.");
+        }
+        if (request.getSha256() == null || !request.getSha256().matches("[0-9a-fA-F]{64}")) {
+            throw new IllegalArgumentException("SHA-256 값이 올바르지 않습니다.");
+        }
+        byte[] sha256 = HexFormat.of().parseHex(request.getSha256());
+
+        // 2. 내용 기반 Key (같은 파일이 이미 있으면 업로드 생략)
+        String key = s3Uploader.resolveKey(sha256, format.getExtension());
+        if (s3Uploader.exists(key)) {
+            return new ImageDto.PresignResponse(key, true, null, Map.of(), null);
+        }
+
+        // 3. Content-Type, Content-Length, SHA-256 체크섬을 서명에 포함
+        // (다른 크기/형식/내용으로 PUT 하면 S3가 거부 -> Key와 내용이 항상 일치)
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(format.getContentType())
+                .contentLength(request.getContentLength())
+                .checksumSHA256(Base64.getEncoder().encodeToString(sha256))
+                .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(EXPIRATION)
+                .putObjectRequest(putRequest)
+                .build());
+
+        // 4. 브라우저가 붙여야 할 헤더 (host는 브라우저가 자동으로 붙이므로 제외)
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        return new ImageDto.PresignResponse(key, false, presigned.url().toString(), headers, presigned.expiration());
+    }
+
+    /**
+     * (2) 직접 업로드 완료 처리
+     * @return String (DB에 저장할 이미지 URL)
+     */
+    public String complete(ImageDto.PresignCompleteRequest request) {
+        String key = request.getKey();
+        if (!S3Keys.isContentAddressed(key)) {
+            throw new IllegalArgumentException("올바르지 않은 Key입니다: " + key);
+        }
+
+        // 1. S3에 실제로 올라왔는지 확인 (HEAD)
+        StoredObject head = objectStorage.head(key)
+                .orElseThrow(() -> new IllegalArgumentException("업로드된 파일을 찾을 수 없습니다: " + key));
+
+        // 2. 서명 조건을 우회한 파일이면 삭제 (방어 코드)
+        ImageFormat format = ImageFormat.fromContentType(head.getContentType());
+        if (format == null || !key.endsWith("." + format.getExtension()) || head.getSize() > maxFileSize.toBytes()) {
+            log.warn("조건에 맞지 않는 직접 업로드 파일 삭제: {} ({}, {}byte)", key, head.getContentType(), head.getSize());
+            objectStorage.delete(key);
+            throw new IllegalArgumentException("허용되지 않는 파일입니다: " + key);
+        }
+
+        // 3. 실제 내용이 선언한 형식인지 앞부분(매직 바이트)만 받아서 확인 (Content-Type만 맞춘 다른 파일 방지)
+        ImageFormat actual = ImageFormat.detect(objectStorage.getFirstBytes(key, ImageFormat.MAGIC_BYTES));
+        if (actual != format) {
+            log.warn("선언한 형식과 내용이 다른 직접 업로드 파일 삭제: {} ({} -> {})", key, format, actual);
+            objectStorage.delete(key);
+            throw new IllegalArgumentException("파일 내용이 " + format.getContentType() + " 형식이 아닙니다: " + key);
+        }
+
+        // 4. 업로드 기록 + (이미지면) 워커에서 후처리
+        s3Uploader.registerDirectUpload(key, format, head.getSize());
+        return s3Uploader.getUrl(key);
+    }
+}
@@ -0,0 +1,175 @@
+package com.web.coreclass.global.s3;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import com.web.coreclass.global.storage.AsyncObjectStorage;
+import com.web.coreclass.global.storage.ObjectStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3 다건 삭제 (DeleteObjects)
+ * Key를 최대 1,000개씩 묶어 한 번의 요청으로 삭제하고, 실패한 Key는 응답에서 개별로 수집합니다.
+ * - 동시에 진행 중인 삭제 요청은 MAX_IN_FLIGHT개까지 (초과 시 add()가 대기 -> 목록 조회 속도도 함께 조절)
+ * - 요청 시작 간격을 MIN_INTERVAL_MILLIS 이상으로 유지해 S3의 초당 DELETE 제한(접두사당 3,500건) 아래로 보냄
+ * (실제 삭제는 AsyncObjectStorage.deleteAll - 요청을 보내고 응답은 Future로 받아서, 응답을 기다리는 스레드가 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3BatchDeleter {
+
+    // DeleteObjects 한 번에 보낼 수 있는 최대 Key 개수 (S3 제한)
+    public static final int MAX_KEYS_PER_REQUEST = ObjectStorage.MAX_KEYS;
+
+    // 동시에 진행 중인 DeleteObjects 요청 상한
+    private static final int MAX_IN_FLIGHT = 4;
+
+    // 요청 시작 간 최소 간격 (1,000개 / 0.3초 ≈ 초당 3,300건)
+    private static final long MIN_INTERVAL_MILLIS = 300;
+
+    private final AsyncObjectStorage asyncObjectStorage;
+
+    /**
+     * 삭제 세션 시작 (한 번의 청소 작업 동안 사용)
+     * 중간 저장이 필요하면 drain()으로, 끝나면 finish()로 남은 Key를 보내고 결과를 받습니다.
+     */
+    public Session open() {
+        return new Session();
+    }
+
+    public class Session implements AutoCloseable {
+
+        private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        private final List<String> pending = new ArrayList<>(MAX_KEYS_PER_REQUEST);
+        private final Queue<String> deletedKeys = new ConcurrentLinkedQueue<>();
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+        private long lastRequestAt;
+
+        private Session() {
+        }
+
+        // 삭제할 Key 추가 (1,000개가 모이면 바로 전송)
+        public void add(String key) {
+            pending.add(key);
+            if (pending.size() >= MAX_KEYS_PER_REQUEST) {
+                flush();
+            }
+        }
+
+        /**
+         * 남은 Key 전송 후, 진행 중인 모든 요청이 끝날 때까지 대기
+         * @return Result (직전 drain() 이후에 끝난 요청들의 결과)
+         */
+        public Result drain() {
+            flush();
+            try {
+                // 모든 자리를 차지할 수 있다 = 진행 중인 요청이 없다
+                inFlight.acquire(MAX_IN_FLIGHT);
+                inFlight.release(MAX_IN_FLIGHT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("S3 다건 삭제가 중단되었습니다.", e);
+            }
+
+            // 진행 중인 요청이 없으므로 지금까지의 결과를 꺼내고 비워도 안전
+            List<String> deleted = new ArrayList<>(deletedKeys);
+            deletedKeys.clear();
+            Map<String, String> failed = Map.copyOf(failures);
+            failures.clear();
+            return new Result(deleted, failed);
+        }
+
+        // 남은 Key 전송 후 결과 반환하고 세션 종료
+        public Result finish() {
+            return drain();
+        }
+
+        // 진행 중인 요청이 끝날 때까지 대기 (결과는 버림, 모으던 Key는 보내지 않음)
+        @Override
+        public void close() {
+            inFlight.acquireUninterruptibly(MAX_IN_FLIGHT);
+            inFlight.release(MAX_IN_FLIGHT);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<String> keys = List.copyOf(pending);
+            pending.clear();
+
+            try {
+                // 1. 동시 요청 개수 제한 (자리가 날 때까지 대기)
+                inFlight.acquire();
+
+                // 2. 요청 간 최소 간격 유지
+                long waitMillis = lastRequestAt + MIN_INTERVAL_MILLIS - System.currentTimeMillis();
+                if (waitMillis > 0) {
+                    TimeUnit.MILLISECONDS.sleep(waitMillis);
+                }
+                lastRequestAt = System.currentTimeMillis();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("S3 다건 삭제가 중단되었습니다.", e);
+            }
+
+            // 3. 요청만 보내고 결과는 응답이 오면 기록 (기록이 끝나야 자리 반납)
+            CompletableFuture<Map<String, String>> request;
+            try {
+                request = asyncObjectStorage.deleteAll(keys);
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            request.whenComplete((failedKeys, e) -> {
+                try {
+                    record(keys, failedKeys, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void record(List<String> keys, Map<String, String> failedKeys, Throwable e) {
+            if (e != null) {
+                // 요청 자체가 실패하면 묶음 전체를 실패로 기록 (다음 청소 때 다시 시도됨)
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error("S3 다건 삭제 요청 실패 ({}개)", keys.size(), cause);
+                String reason = String.valueOf(cause.getMessage());
+                keys.forEach(key -> failures.put(key, reason));
+                return;
+            }
+
+            // 결과에는 실패한 Key만 담김
+            failedKeys.forEach((key, reason) -> log.warn("삭제 실패: {} ({})", key, reason));
+            failures.putAll(failedKeys);
+            for (String key : keys) {
+                if (!failedKeys.containsKey(key)) {
+                    deletedKeys.add(key);
+                }
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        private final List<String> deletedKeys;
+        private final Map<String, String> failures; // Key -> 실패 사유
+
+        public int getDeletedCount() {
+            return deletedKeys.size();
+        }
+    }
+}
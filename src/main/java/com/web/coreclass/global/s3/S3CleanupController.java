@@ -0,0 +1,83 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.dto.CleanupDto;
+import com.web.coreclass.global.s3.entity.CleanupKeyResult;
+import com.web.coreclass.global.s3.entity.CleanupKind;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "S3 Cleanup", description = "S3 고아 파일 청소 관리 API (관리자 전용)")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/cleanup")
+public class S3CleanupController {
+
+    private final S3CleanupService s3CleanupService;
+    private final S3KeyMigrationService s3KeyMigrationService;
+
+    /**
+     * 청소 수동 실행
+     * [POST] /api/admin/cleanup/runs?kind=SWEEP&dryRun=true
+     */
+    @Operation(summary = "청소 실행", description = "S3 고아 파일 청소를 시작합니다. kind=SWEEP은 업로드 기록에서 고아 파일을 찾아 삭제하고, kind=RECONCILE은 S3 목록 전체와 업로드 기록을 비교해서 보정합니다. dryRun=true면 삭제/보정하지 않고 대상만 기록합니다. 중단된 실행이 있으면 이어서 진행합니다.")
+    @PostMapping("/runs")
+    public ResponseEntity<CleanupDto.RunResponse> startRun(
+            @RequestParam(defaultValue = "SWEEP") CleanupKind kind,
+            @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        return ResponseEntity.accepted().body(s3CleanupService.start(kind, dryRun));
+    }
+
+    /**
+     * 기존 Key(버킷 최상위) -> 날짜 접두사 Key 이전
+     * [POST] /api/admin/cleanup/key-migration?limit=100&dryRun=true
+     */
+    @Operation(summary = "Key 이전", description = "사용 중인 최상위 파일을 날짜 접두사(yyyy/MM/dd/) 아래로 복사하고 DB의 URL을 교체합니다. 기존 파일은 유예 시간(24시간)이 지난 뒤 청소 때 삭제됩니다. hasMore가 false가 될 때까지 반복 호출합니다.")
+    @PostMapping("/key-migration")
+    public ResponseEntity<CleanupDto.KeyMigrationResponse> migrateKeys(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        return ResponseEntity.ok(s3KeyMigrationService.migrate(limit, dryRun));
+    }
+
+    /**
+     * 최근 실행 목록 (최대 20개)
+     * [GET] /api/admin/cleanup/runs
+     */
+    @Operation(summary = "청소 실행 목록", description = "최근 청소 실행 20개의 결과와 단계별 소요 시간을 조회합니다.")
+    @GetMapping("/runs")
+    public ResponseEntity<List<CleanupDto.RunResponse>> getRuns() {
+        return ResponseEntity.ok(s3CleanupService.getRuns());
+    }
+
+    /**
+     * 실행 결과 상세 (진행 중이면 마지막 저장 시점까지)
+     * [GET] /api/admin/cleanup/runs/{id}
+     */
+    @Operation(summary = "청소 실행 상세", description = "청소 실행 1건의 진행 상황, 개수, 단계별 소요 시간을 조회합니다.")
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<CleanupDto.RunResponse> getRun(@PathVariable Long id) {
+        return ResponseEntity.ok(s3CleanupService.getRun(id));
+    }
+
+    /**
+     * 실행별 Key 목록
+     * [GET] /api/admin/cleanup/runs/{id}/keys?result=CANDIDATE&page=0&size=100
+     */
+    @Operation(summary = "청소 대상/삭제 Key 조회", description = "삭제된 Key(DELETED), 실패한 Key(FAILED), dry-run 삭제 대상(CANDIDATE)을 페이지 단위로 조회합니다.")
+    @GetMapping("/runs/{id}/keys")
+    public ResponseEntity<List<CleanupDto.KeyResponse>> getRunKeys(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "DELETED") CleanupKeyResult result,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(s3CleanupService.getRunKeys(id, result, page, size));
+    }
+}
@@ -0,0 +1,484 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.domain.game.entity.GameType;
+import com.web.coreclass.global.lease.JobLeaseService;
+import com.web.coreclass.global.s3.dto.CleanupDto;
+import com.web.coreclass.global.s3.entity.CleanupKeyResult;
+import com.web.coreclass.global.s3.entity.CleanupKind;
+import com.web.coreclass.global.s3.entity.CleanupRun;
+import com.web.coreclass.global.s3.entity.CleanupRunKey;
+import com.web.coreclass.global.s3.entity.CleanupStatus;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.repository.CleanupRunKeyRepository;
+import com.web.coreclass.global.s3.repository.CleanupRunRepository;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import com.web.coreclass.global.storage.ObjectListing;
+import com.web.coreclass.global.storage.AsyncObjectStorage;
+import com.web.coreclass.global.storage.DiskLruCache;
+import com.web.coreclass.global.storage.StoredObject;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3 고아 파일 청소
+ * - SWEEP (매일): 업로드 기록(stored_file) 중 참조 카운트가 0이고 유예 시간이 지난 파일을
+ *   DB에서 수집한 '사용 중인 Key'와 비교해서 삭제 (S3 목록 조회 없음 -> 버킷 크기와 무관하게 DB 조회만)
+ * - RECONCILE (매주): S3 목록 전체를 조회해서 업로드 기록과 어긋난 부분 보정
+ *   (기록 없는 파일 추가, S3에 없는 파일 삭제 표시, 원본 없는 리사이즈 버전 삭제, 남은 참조 카운트 초기화)
+ * 진행 상황(처리 위치, 개수, 삭제된 Key)은 CHECKPOINT_PAGES 페이지마다 DB에 저장되고,
+ * 중간에 종료된 실행은 다음 실행 때 저장된 위치부터 이어서 진행합니다.
+ * 서버가 여러 대여도 job_lease 점유권을 가진 한 서버만 실행합니다. (SWEEP/RECONCILE도 동시에 실행되지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class S3CleanupService {
+
+    // 몇 페이지(페이지당 최대 1,000개)마다 진행 상황을 저장할지
+    private static final int CHECKPOINT_PAGES = 10;
+
+    // 업로드 기록 조회 페이지 크기 (S3 목록 페이지와 같게)
+    private static final int PAGE_SIZE = 1000;
+
+    // 업로드 직후 아직 DB에 저장되지 않은 파일을 지우지 않기 위한 유예 시간
+    private static final long GRACE_HOURS = 24;
+
+    // 작업 점유권 (서버가 여러 대여도 한 서버만 청소)
+    private static final String JOB_NAME = "s3-cleanup";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    public static final Set<String> FIXED_FILES = Set.of(
+            "overwatch2_logo.png",  // 예시 1: 기본 프로필 이미지
+            "valorant_logo.png"    // 예시 2: 고정 배너 이미지
+    );
+
+    private final AsyncObjectStorage asyncObjectStorage; // 파일 저장소 (정합성 점검의 목록 조회용, 다음 페이지를 미리 요청)
+    private final S3BatchDeleter s3BatchDeleter; // 다건 삭제용
+    private final ImageReferenceCollector imageReferenceCollector;
+    private final StoredFileRepository storedFileRepository;
+    private final CleanupRunRepository cleanupRunRepository;
+    private final CleanupRunKeyRepository cleanupRunKeyRepository;
+    private final JobLeaseService jobLeaseService;
+    private final DiskLruCache diskLruCache; // 이미지 프록시 캐시 (삭제한 파일은 이 서버 캐시에서도 지움, 다른 서버는 ImageCacheInvalidator)
+
+    /**
+     * 청소 실행 (호출한 스레드에서 끝날 때까지 실행, 스케줄러용)
+     */
+    public CleanupRun run(CleanupKind kind, boolean dryRun) {
+        try (JobLeaseService.Lease lease = acquire()) {
+            return execute(prepare(kind, dryRun), lease);
+        }
+    }
+
+    /**
+     * 청소 시작 (별도 스레드에서 실행, 관리자 API용)
+     * @return CleanupDto.RunResponse (시작된 실행 정보 - 진행 상황은 getRun()으로 조회)
+     */
+    public CleanupDto.RunResponse start(CleanupKind kind, boolean dryRun) {
+        JobLeaseService.Lease lease = acquire();
+        CleanupRun run;
+        try {
+            run = prepare(kind, dryRun);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        Thread.ofVirtual().name("s3-cleanup-" + run.getId()).start(() -> {
+            try (lease) {
+                execute(run, lease);
+            }
+        });
+        return new CleanupDto.RunResponse(run);
+    }
+
+    public List<CleanupDto.RunResponse> getRuns() {
+        return cleanupRunRepository.findTop20ByOrderByIdDesc().stream()
+                .map(CleanupDto.RunResponse::new)
+                .toList();
+    }
+
+    public CleanupDto.RunResponse getRun(Long id) {
+        return cleanupRunRepository.findById(id)
+                .map(CleanupDto.RunResponse::new)
+                .orElseThrow(() -> new IllegalArgumentException("청소 실행 기록을 찾을 수 없습니다. id=" + id));
+    }
+
+    public List<CleanupDto.KeyResponse> getRunKeys(Long id, CleanupKeyResult result, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, 1000), Sort.by("id"));
+        return cleanupRunKeyRepository.findAllByRunIdAndResult(id, result, pageRequest).stream()
+                .map(CleanupDto.KeyResponse::new)
+                .toList();
+    }
+
+    // 점유권 획득 (이 서버 또는 다른 서버에서 이미 실행 중이면 예외)
+    private JobLeaseService.Lease acquire() {
+        return jobLeaseService.tryAcquire(JOB_NAME, LEASE_TTL)
+                .orElseThrow(() -> new IllegalStateException("S3 청소가 이미 실행 중입니다."));
+    }
+
+    // 중간에 멈춘 실행이 있으면 이어서, 없으면 새로 시작
+    private CleanupRun prepare(CleanupKind kind, boolean dryRun) {
+        CleanupRun run = cleanupRunRepository.findFirstByKindAndStatusAndDryRunOrderByIdDesc(kind, CleanupStatus.RUNNING, dryRun)
+                .orElseGet(() -> new CleanupRun(kind, dryRun));
+        if (run.getId() != null) {
+            log.info("⏯️ 중단된 청소(id={})를 이어서 진행합니다. (확인한 파일 {}개)", run.getId(), run.getScannedCount());
+        }
+        run.begin();
+        return cleanupRunRepository.save(run);
+    }
+
+    private CleanupRun execute(CleanupRun run, JobLeaseService.Lease lease) {
+        log.info("🧹 [S3 고아 파일 청소] 시작합니다... (id={}, {}, dryRun={})", run.getId(), run.getKind(), run.isDryRun());
+        try {
+            // 1. DB에 등록된 '사용 중인' 이미지 파일명 다 모으기
+            LocalDateTime collectedAt = LocalDateTime.now();
+            long startedAt = System.nanoTime();
+            SortedKeySet validKeys = collectValidKeys();
+            run.addCollectMillis(elapsedMillis(startedAt));
+            log.info("✅ DB에서 확인된 사용 중인 파일 개수: {}개 ({}KB)", validKeys.size(), validKeys.sizeInBytes() / 1024);
+
+            // 2. 업로드 기록(또는 S3 목록)과 비교 + 삭제
+            startedAt = System.nanoTime();
+            boolean finished = run.getKind() == CleanupKind.RECONCILE
+                    ? reconcile(run, validKeys, collectedAt, lease)
+                    : sweep(run, validKeys, lease);
+            run.addScanMillis(elapsedMillis(startedAt));
+
+            if (!finished) {
+                // 점유권을 잃음 -> 저장된 위치까지만 처리하고 멈춤 (RUNNING으로 남겨서 다음에 이어서 진행)
+                log.warn("⏸️ [S3 고아 파일 청소] 점유권을 잃어 중단합니다. (id={}, 확인한 파일 {}개)", run.getId(), run.getScannedCount());
+                return cleanupRunRepository.save(run);
+            }
+            run.complete();
+            log.info("✨ [S3 고아 파일 청소] 완료. 고아 파일 {}개 중 {}개 삭제됨, {}개 실패, 기록 보정 {}개. (수집 {}ms, 비교/삭제 {}ms)",
+                    run.getOrphanCount(), run.getDeletedCount(), run.getFailedCount(), run.getDriftCount(),
+                    run.getCollectMillis(), run.getScanMillis());
+        } catch (Exception e) {
+            log.error("S3 청소 실패 (id={})", run.getId(), e);
+            run.fail(e.getMessage());
+        }
+        return cleanupRunRepository.save(run);
+    }
+
+    private SortedKeySet collectValidKeys() {
+        // (HashSet 대신 정렬된 바이트 배열에 저장 -> Key 1개당 객체를 만들지 않음)
+        SortedKeySet.Builder validFileNames = SortedKeySet.builder();
+
+        // 고정 파일들은 무조건 '사용 중'으로 처리해서 보호
+        FIXED_FILES.forEach(validFileNames::add);
+
+        // (1)~(3) 강사 이미지, 공지사항 썸네일, 공지사항 본문(Markdown) 속 이미지
+        // (커서로 한 행씩 읽어서 바로 추가 -> List로 한 번에 올리지 않음)
+        imageReferenceCollector.collect(validFileNames::add);
+
+        // (4) Enum(GameType)에 하드코딩된 이미지도 보호해야 함!
+        for (GameType game : GameType.values()) {
+            validFileNames.add(S3Keys.fromUrl(game.getLogoUrl()));
+        }
+
+        return validFileNames.build();
+    }
+
+    /**
+     * SWEEP: 업로드 기록에서 고아 파일 찾기 + 삭제
+     * 후보 = 삭제되지 않았고, 참조 카운트가 0이고, 마지막 업로드 후 유예 시간이 지난 기록 (id 순으로 페이지 조회)
+     * 그중 실제로 참조 중인 Key(validKeys)는 카운트가 어긋났어도 지우지 않음
+     * 삭제 전에 후보마다 조건부 삭제 표시(markDeletedIfUnused)로 다시 확인 -> 그사이 다시 업로드/참조된 파일은 건너뜀
+     * @return boolean (끝까지 확인했으면 true, 점유권을 잃어 중간에 멈췄으면 false)
+     */
+    private boolean sweep(CleanupRun run, SortedKeySet validKeys, JobLeaseService.Lease lease) {
+        LocalDateTime before = LocalDateTime.now().minusHours(GRACE_HOURS);
+        long afterId = run.getContinuationToken() != null ? Long.parseLong(run.getContinuationToken()) : 0;
+
+        // 다음 저장 전까지 쌓이는 값
+        long scanned = 0;
+        List<String> orphans = new ArrayList<>();
+        int pages = 0;
+
+        try (S3BatchDeleter.Session deleter = s3BatchDeleter.open()) {
+            List<StoredFile> page;
+            do {
+                page = storedFileRepository.findSweepCandidates(afterId, before, PageRequest.of(0, PAGE_SIZE));
+                for (StoredFile file : page) {
+                    scanned++;
+                    String key = file.getFileKey();
+                    if (isInUse(validKeys, key)) {
+                        continue;
+                    }
+                    if (!run.isDryRun()) {
+                        // 조회한 뒤에 다시 업로드/참조되었을 수 있으므로 조건부로 삭제 표시 -> 1일 때만 S3에서 삭제
+                        if (storedFileRepository.markDeletedIfUnused(key, before, LocalDateTime.now()) == 0) {
+                            continue;
+                        }
+                        addWithVariants(deleter, key);
+                    }
+                    orphans.add(key);
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+
+                // N페이지마다(또는 마지막 페이지에서) 진행 상황 저장
+                boolean last = page.size() < PAGE_SIZE;
+                if (++pages % CHECKPOINT_PAGES == 0 || last) {
+                    S3BatchDeleter.Result result = checkpoint(run, deleter, last ? null : String.valueOf(afterId), scanned, orphans);
+
+                    // S3에서 지우지 못한 파일은 삭제 표시를 되돌림 (다음 청소 때 다시 시도)
+                    if (!run.isDryRun()) {
+                        List<String> failed = orphans.stream().filter(key -> result.getFailures().containsKey(key)).toList();
+                        if (!failed.isEmpty()) {
+                            storedFileRepository.unmarkDeleted(failed);
+                        }
+                    }
+                    scanned = 0;
+                    orphans.clear();
+
+                    if (!last && !lease.isHeld()) {
+                        return false;
+                    }
+                }
+            } while (page.size() == PAGE_SIZE);
+        }
+        return true;
+    }
+
+    /**
+     * RECONCILE: S3 목록 전체와 업로드 기록 비교 (드물게 실행 - 목록 조회는 요청 수만큼 과금)
+     * 목록을 끝까지 조회한 경우에만 "S3에 없는 파일" 삭제 표시 (중간에 멈추면 판단할 수 없음)
+     * @return boolean (끝까지 조회했으면 true, 점유권을 잃어 중간에 멈췄으면 false)
+     */
+    private boolean reconcile(CleanupRun run, SortedKeySet validKeys, LocalDateTime collectedAt, JobLeaseService.Lease lease) {
+        try (S3BatchDeleter.Session deleter = s3BatchDeleter.open()) {
+            if (!listBucket(run, validKeys, deleter, lease)) {
+                return false;
+            }
+        }
+
+        // (C) 이번 점검에서 목록에 보이지 않은 기록 = S3에 없는 파일
+        if (!run.isDryRun()) {
+            int missing = storedFileRepository.markMissing(run.getStartedAt(), LocalDateTime.now());
+            if (missing > 0) {
+                log.warn("⚠️ S3에 없는 파일 {}개를 삭제 표시했습니다.", missing);
+            }
+            run.addDrift(missing);
+        }
+
+        // (D) 참조되지 않는데 남아 있는 참조 카운트
+        run.addDrift(resetStaleRefCounts(run, validKeys, collectedAt));
+        cleanupRunRepository.save(run);
+        return true;
+    }
+
+    /**
+     * 버킷 전체를 페이지 단위로 조회하면서 비교 (현재 페이지를 처리하는 동안 다음 페이지를 미리 조회)
+     * (A) 기록이 없는 파일(기존 Key 등) -> 기록 추가 (참조되지 않으면 다음 SWEEP 때 삭제)
+     * (B) 원본 기록이 없는 리사이즈 버전 -> 삭제
+     */
+    private boolean listBucket(CleanupRun run, SortedKeySet validKeys, S3BatchDeleter.Session deleter,
+                               JobLeaseService.Lease lease) {
+        ObjectListing result;
+
+        // 다음 저장 전까지 쌓이는 값
+        long scanned = 0;
+        List<String> orphans = new ArrayList<>();
+        int pages = 0;
+
+        CompletableFuture<ObjectListing> nextPage = listAsync(run.getContinuationToken()); // 이어서 진행하면 저장된 위치부터
+        do {
+            result = nextPage.join();
+
+            // 다음 페이지가 있으면 미리 요청
+            if (result.isTruncated()) {
+                nextPage = listAsync(result.getNextContinuationToken());
+            }
+
+            List<StoredObject> originals = new ArrayList<>();
+            List<StoredObject> variants = new ArrayList<>();
+            for (StoredObject object : result.getObjects()) {
+                scanned++;
+                if (FIXED_FILES.contains(object.getKey())) {
+                    continue;
+                }
+                if (ImageVariant.originalKeyOf(object.getKey()) != null) {
+                    variants.add(object);
+                } else {
+                    originals.add(object);
+                }
+            }
+            run.addDrift(registerMissing(run, originals));
+            orphans.addAll(findOrphanVariants(run, validKeys, originals, variants, deleter));
+
+            // N페이지마다(또는 마지막 페이지에서) 진행 상황 저장
+            if (++pages % CHECKPOINT_PAGES == 0 || !result.isTruncated()) {
+                checkpoint(run, deleter, result.getNextContinuationToken(), scanned, orphans);
+                scanned = 0;
+                orphans.clear();
+
+                // 다른 서버가 가져갔으면 여기서 멈춤 (미리 요청한 다음 페이지는 버림)
+                if (result.isTruncated() && !lease.isHeld()) {
+                    return false;
+                }
+            }
+        } while (result.isTruncated());
+        return true;
+    }
+
+    // (A) 기록이 없는 파일 추가 + 목록에 보인 시각 기록
+    private int registerMissing(CleanupRun run, List<StoredObject> objects) {
+        if (objects.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = objects.stream().map(StoredObject::getKey).toList();
+        Set<String> known = new HashSet<>(storedFileRepository.findExistingKeys(keys));
+
+        int registered = 0;
+        for (StoredObject object : objects) {
+            String key = object.getKey();
+            if (known.contains(key)) {
+                continue;
+            }
+            registered++;
+            if (!run.isDryRun()) {
+                String sha256 = S3Keys.isContentAddressed(key) ? S3Keys.sha256Of(key) : null;
+                LocalDateTime uploadedAt = LocalDateTime.ofInstant(object.getLastModified(), ZoneId.systemDefault());
+                storedFileRepository.save(new StoredFile(key, sha256, object.getSize(), null, uploadedAt));
+            }
+        }
+        if (!run.isDryRun()) {
+            storedFileRepository.markSeen(keys, LocalDateTime.now());
+        }
+        if (registered > 0) {
+            log.info("📝 업로드 기록이 없는 파일 {}개를 추가했습니다.", registered);
+        }
+        return registered;
+    }
+
+    // (B) 원본이 S3에 없는 리사이즈 버전 (원본이 같은 페이지에 있거나, 기록이 남아 있으면 보호)
+    private List<String> findOrphanVariants(CleanupRun run, SortedKeySet validKeys, List<StoredObject> originals,
+                                            List<StoredObject> variants, S3BatchDeleter.Session deleter) {
+        if (variants.isEmpty()) {
+            return List.of();
+        }
+        Set<String> originalKeys = new HashSet<>();
+        variants.forEach(variant -> originalKeys.add(ImageVariant.originalKeyOf(variant.getKey())));
+        Set<String> existing = new HashSet<>(storedFileRepository.findActiveKeys(originalKeys));
+        originals.forEach(original -> existing.add(original.getKey()));
+
+        List<String> orphans = new ArrayList<>();
+        for (StoredObject variant : variants) {
+            String originalKey = ImageVariant.originalKeyOf(variant.getKey());
+            if (existing.contains(originalKey) || validKeys.contains(originalKey) || !isOlderThan24Hours(variant.getLastModified())) {
+                continue;
+            }
+            orphans.add(variant.getKey());
+            if (!run.isDryRun()) {
+                deleter.add(variant.getKey());
+            }
+        }
+        return orphans;
+    }
+
+    // (D) 참조 카운트가 남아 있지만 실제로는 어디에서도 참조하지 않는 파일 -> 카운트 초기화
+    private int resetStaleRefCounts(CleanupRun run, SortedKeySet validKeys, LocalDateTime collectedAt) {
+        int reset = 0;
+        long afterId = 0;
+        List<StoredFile> page;
+        do {
+            page = storedFileRepository.findRetained(afterId, PageRequest.of(0, PAGE_SIZE));
+            List<String> stale = page.stream()
+                    .map(StoredFile::getFileKey)
+                    .filter(key -> !validKeys.contains(key))
+                    .toList();
+            if (!stale.isEmpty()) {
+                reset += run.isDryRun() ? stale.size() : storedFileRepository.resetRefCounts(stale, collectedAt);
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        if (reset > 0) {
+            log.warn("⚠️ 참조되지 않는 파일 {}개의 참조 카운트를 초기화했습니다.", reset);
+        }
+        return reset;
+    }
+
+    /**
+     * 진행 상황 저장
+     * 저장 전에 진행 중인 삭제 요청이 모두 끝나길 기다리므로, 저장된 위치 이전의 고아 파일은 모두 처리된 상태
+     * (마지막 페이지면 token이 null -> 이어서 실행하면 처음부터 다시 확인하지만, 삭제는 반복해도 안전)
+     */
+    private S3BatchDeleter.Result checkpoint(CleanupRun run, S3BatchDeleter.Session deleter,
+                                             String nextToken, long scanned, List<String> orphans) {
+        long startedAt = System.nanoTime();
+        S3BatchDeleter.Result deleteResult = deleter.drain();
+        long deleteWaitMillis = elapsedMillis(startedAt);
+
+        List<CleanupRunKey> keys = new ArrayList<>();
+        if (run.isDryRun()) {
+            orphans.forEach(key -> keys.add(new CleanupRunKey(run.getId(), key, CleanupKeyResult.CANDIDATE, null)));
+        } else {
+            deleteResult.getDeletedKeys().forEach(key -> keys.add(new CleanupRunKey(run.getId(), key, CleanupKeyResult.DELETED, null)));
+            deleteResult.getFailures().forEach((key, reason) -> keys.add(new CleanupRunKey(run.getId(), key, CleanupKeyResult.FAILED, reason)));
+        }
+        cleanupRunKeyRepository.saveAll(keys);
+        deleteResult.getDeletedKeys().forEach(diskLruCache::evict);
+
+        run.checkpoint(nextToken, scanned, orphans.size(),
+                deleteResult.getDeletedCount(), deleteResult.getFailures().size(), deleteWaitMillis);
+        cleanupRunRepository.save(run);
+        return deleteResult;
+    }
+
+    // 목록 조회 요청 (응답은 Future로 받음 -> 현재 페이지를 처리하는 동안 다음 페이지 응답 대기)
+    private CompletableFuture<ObjectListing> listAsync(String continuationToken) {
+        return asyncObjectStorage.list(null, null, continuationToken);
+    }
+
+    // --- Helper Methods ---
+
+    // 원본 + 리사이즈 버전(썸네일 등)을 함께 삭제 요청
+    private void addWithVariants(S3BatchDeleter.Session deleter, String key) {
+        deleter.add(key);
+        if (ImageVariant.supports(key)) {
+            for (ImageVariant variant : ImageVariant.values()) {
+                deleter.add(variant.keyOf(key));
+            }
+        }
+    }
+
+    // 사용 중인 파일인지 확인
+    // (5) 사용 중인 이미지의 리사이즈 버전(썸네일 등)도 함께 보호 (원본 Key가 사용 중이면 보호)
+    private boolean isInUse(SortedKeySet validKeys, String key) {
+        if (validKeys.contains(key)) {
+            return true;
+        }
+        String originalKey = ImageVariant.originalKeyOf(key);
+        return originalKey != null && validKeys.contains(originalKey);
+    }
+
+    // 24시간 지났는지 확인
+    private boolean isOlderThan24Hours(Instant lastModified) {
+        return lastModified.isBefore(Instant.now().minus(GRACE_HOURS, ChronoUnit.HOURS));
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
@@ -0,0 +1,210 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.entity.S3DeleteOutbox;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.repository.S3DeleteOutboxRepository;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.DiskLruCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * S3 파일 삭제 예약 + 처리 (transactional outbox)
+ * 1. enqueue(): URL을 지우는 트랜잭션 안에서 삭제 예약만 저장 (S3 요청 없음)
+ * 2. 커밋되면 워커(가상 스레드)가 예약을 최대 1,000개씩 묶어 S3에서 삭제 (DeleteObjects)
+ *    (그 사이 같은 파일이 다시 업로드/참조되었으면 삭제하지 않고 예약만 정리)
+ * 3. 실패한 예약은 지수 백오프로 다시 시도 (1분 주기로 확인, MAX_ATTEMPTS회까지)
+ * 워커는 트랜잭션 없이 짧은 쿼리만 실행하므로, S3 요청 중에는 DB 연결을 잡고 있지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class S3DeleteOutboxService {
+
+    // 재시도 한도 (넘으면 로그만 남기고 중단 -> 남은 파일은 정합성 점검/청소에서 다시 처리됨)
+    private static final int MAX_ATTEMPTS = 10;
+
+    // 재시도 간격: 30초, 1분, 2분, ... 최대 1시간
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    // 가져간 예약을 이 시간 안에 처리하지 못하면 (서버 종료 등) 다른 워커가 다시 가져감
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    private final S3DeleteOutboxRepository s3DeleteOutboxRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final S3BatchDeleter s3BatchDeleter;
+    private final DiskLruCache diskLruCache; // 이미지 프록시 캐시 (삭제된 파일은 이 서버 캐시에서도 지움)
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
+    /**
+     * S3 파일 삭제 예약 (호출한 트랜잭션에 참여 - 롤백되면 예약도 취소)
+     * 업로드 기록에도 같은 트랜잭션에서 삭제 표시합니다.
+     * @param key (S3 Key - 리사이즈 버전은 함께 삭제됨)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String key) {
+        s3DeleteOutboxRepository.save(new S3DeleteOutbox(key));
+        storedFileRepository.markDeleted(List.of(key), LocalDateTime.now());
+
+        // 커밋된 뒤에 워커 실행 (여러 번 요청되어도 워커는 한 스레드만 실행됨)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+    }
+
+    // 재시도 시각이 된 예약 처리 (다른 서버에서 커밋된 예약, 종료된 서버가 남긴 예약 포함)
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void retryDue() {
+        drain();
+    }
+
+    // 워커 실행 요청 (이미 실행 중이면 그 워커가 끝나기 전에 한 번 더 확인)
+    private void wakeUp() {
+        wakeUpRequested.set(true);
+        Thread.ofVirtual().name("s3-delete-outbox").start(this::drain);
+    }
+
+    /**
+     * 지금 처리할 수 있는 예약을 모두 처리 (한 서버 안에서는 한 스레드만 실행)
+     */
+    void drain() {
+        do {
+            if (!draining.compareAndSet(false, true)) {
+                return; // 실행 중인 워커가 wakeUpRequested를 보고 다시 확인함
+            }
+            try {
+                wakeUpRequested.set(false);
+                int processed;
+                do {
+                    processed = processBatch();
+                } while (processed > 0);
+            } catch (Exception e) {
+                log.error("S3 삭제 예약 처리 실패 (다음 주기에 다시 시도)", e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+        } while (wakeUpRequested.get());
+    }
+
+    // 예약 1묶음 처리 (리사이즈 버전 포함 최대 1,000개 Key = DeleteObjects 1번)
+    private int processBatch() {
+        // 1. 처리할 예약 가져오기 (다른 서버와 겹치지 않도록 claim_token으로 표시)
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = s3DeleteOutboxRepository.findReadyIds(now, MAX_ATTEMPTS,
+                PageRequest.of(0, S3BatchDeleter.MAX_KEYS_PER_REQUEST / (ImageVariant.values().length + 1)));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String token = UUID.randomUUID().toString();
+        s3DeleteOutboxRepository.claim(ids, token, now, now.plus(CLAIM_TIMEOUT));
+        List<S3DeleteOutbox> batch = s3DeleteOutboxRepository.findAllByClaimToken(token);
+        if (batch.isEmpty()) {
+            return ids.size(); // 다른 서버가 먼저 가져감 -> 다음 묶음 확인
+        }
+
+        // 2. 예약 뒤에 다시 쓰이게 된 파일은 S3에서 지우지 않고 예약만 정리
+        //    (내용 기반 Key라 같은 파일을 다시 올리거나 다시 참조하면 같은 Key를 씀)
+        List<S3DeleteOutbox> revived = revivedOf(batch);
+        if (!revived.isEmpty()) {
+            revived.forEach(entry -> log.info("♻️ 다시 쓰이는 파일이라 삭제 예약 취소: {}", entry.getFileKey()));
+            s3DeleteOutboxRepository.deleteAllDone(revived.stream().map(S3DeleteOutbox::getId).toList());
+            batch = batch.stream().filter(entry -> !revived.contains(entry)).toList();
+            if (batch.isEmpty()) {
+                return revived.size();
+            }
+        }
+
+        // 3. S3에서 삭제 (리사이즈 버전 포함, 트랜잭션 밖)
+        Map<String, S3DeleteOutbox> owners = new HashMap<>();
+        S3BatchDeleter.Result result;
+        try (S3BatchDeleter.Session deleter = s3BatchDeleter.open()) {
+            for (S3DeleteOutbox entry : batch) {
+                for (String key : keysOf(entry.getFileKey())) {
+                    owners.put(key, entry);
+                    deleter.add(key);
+                }
+            }
+            result = deleter.finish();
+        }
+
+        // 4. 결과 반영: 원본/리사이즈 버전 중 하나라도 실패한 예약은 나중에 다시 시도
+        Map<Long, String> failed = new HashMap<>();
+        result.getFailures().forEach((key, reason) -> failed.putIfAbsent(owners.get(key).getId(), key + " " + reason));
+        result.getDeletedKeys().forEach(diskLruCache::evict);
+
+        List<Long> done = new ArrayList<>();
+        for (S3DeleteOutbox entry : batch) {
+            String reason = failed.get(entry.getId());
+            if (reason == null) {
+                done.add(entry.getId());
+            } else {
+                retryLater(entry, reason);
+            }
+        }
+        if (!done.isEmpty()) {
+            s3DeleteOutboxRepository.deleteAllDone(done);
+        }
+        log.info("🗑️ S3 삭제 예약 {}개 처리 (실패 {}개)", batch.size(), failed.size());
+        return batch.size() + revived.size();
+    }
+
+    // 업로드 기록 기준으로 더 이상 삭제 대상이 아닌 예약 (기록이 없는 기존 Key는 그대로 삭제)
+    private List<S3DeleteOutbox> revivedOf(List<S3DeleteOutbox> batch) {
+        Set<String> revivedKeys = new HashSet<>(storedFileRepository.findRevivedKeys(
+                batch.stream().map(S3DeleteOutbox::getFileKey).toList()));
+        if (revivedKeys.isEmpty()) {
+            return List.of();
+        }
+        return batch.stream().filter(entry -> revivedKeys.contains(entry.getFileKey())).toList();
+    }
+
+    private void retryLater(S3DeleteOutbox entry, String reason) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+            log.error("S3 삭제를 {}번 실패해서 포기합니다: {} ({})", attempts, entry.getFileKey(), reason);
+        }
+        Duration backoff = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        String error = reason.length() > 500 ? reason.substring(0, 500) : reason;
+        s3DeleteOutboxRepository.retryLater(entry.getId(), LocalDateTime.now().plus(backoff), error);
+    }
+
+    // 원본 + 리사이즈 버전 Key
+    private static List<String> keysOf(String key) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        if (ImageVariant.supports(key)) {
+            for (ImageVariant variant : ImageVariant.values()) {
+                keys.add(variant.keyOf(key));
+            }
+        }
+        return keys;
+    }
+}
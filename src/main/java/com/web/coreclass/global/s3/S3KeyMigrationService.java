@@ -0,0 +1,115 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.lease.JobLeaseService;
+import com.web.coreclass.global.s3.dto.CleanupDto;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.storage.ObjectListing;
+import com.web.coreclass.global.storage.ObjectNotFoundException;
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.StoredObject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 기존 Key(버킷 최상위) -> 날짜 접두사 Key 이전
+ * 1. 사용 중인 최상위 파일을 "업로드 날짜(lastModified)/기존 Key"로 복사 (리사이즈 버전 포함)
+ * 2. DB에 저장된 URL을 새 URL로 교체
+ * 3. 기존 파일은 참조 없는 파일로 업로드 기록에 남겨서, 유예 시간(24시간)이 지난 뒤 청소 때 삭제됨
+ *    (교체되지 않은 참조가 남아 있으면 청소에서도 보호되므로 안전)
+ * 한 번에 limit개까지 처리하며, 남은 파일이 없을 때까지 여러 번 호출합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class S3KeyMigrationService {
+
+    private static final String JOB_NAME = "s3-key-migration";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+    private static final int MAX_LIMIT = 1000;
+
+    private final ObjectStorage objectStorage;
+    private final S3Uploader s3Uploader;
+    private final ImageReferenceCollector imageReferenceCollector;
+    private final ImageReferenceRewriter imageReferenceRewriter;
+    private final JobLeaseService jobLeaseService;
+
+    /**
+     * @param limit (이번 호출에서 옮길 최대 파일 수)
+     * @param dryRun (true면 옮길 대상만 반환)
+     */
+    public CleanupDto.KeyMigrationResponse migrate(int limit, boolean dryRun) {
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        try (JobLeaseService.Lease lease = jobLeaseService.tryAcquire(JOB_NAME, LEASE_TTL)
+                .orElseThrow(() -> new IllegalStateException("Key 이전 작업이 이미 실행 중입니다."))) {
+
+            // 1. DB에서 사용 중인 Key (사용하지 않는 파일은 옮기지 않고 청소에 맡김)
+            SortedKeySet.Builder builder = SortedKeySet.builder();
+            imageReferenceCollector.collect(builder::add);
+            SortedKeySet referenced = builder.build();
+
+            // 2. 최상위 파일만 조회 (이미 날짜 접두사 아래 있는 파일 제외)
+            List<String> moves = new ArrayList<>();
+            ObjectListing result;
+            String continuationToken = null;
+            do {
+                result = objectStorage.list(null, "/", continuationToken);
+                for (StoredObject object : result.getObjects()) {
+                    String key = object.getKey();
+
+                    // 고정 파일, 리사이즈 버전(원본과 함께 옮김), 사용하지 않는 파일은 건너뜀
+                    if (S3CleanupService.FIXED_FILES.contains(key)
+                            || ImageVariant.originalKeyOf(key) != null
+                            || !referenced.contains(key)) {
+                        continue;
+                    }
+
+                    String newKey = S3Keys.datePrefix(object.getLastModified()) + key;
+                    if (!dryRun) {
+                        migrateKey(key, newKey);
+                    }
+                    moves.add(key + " -> " + newKey);
+                    if (moves.size() >= max) {
+                        break;
+                    }
+                }
+                continuationToken = result.getNextContinuationToken();
+            } while (result.isTruncated() && moves.size() < max && lease.isHeld());
+
+            log.info("📦 [S3 Key 이전] {}개 {} (dryRun={})", moves.size(), dryRun ? "대상" : "완료", dryRun);
+            return new CleanupDto.KeyMigrationResponse(moves.size(), moves.size() >= max || result.isTruncated(), moves);
+        }
+    }
+
+    private void migrateKey(String key, String newKey) {
+        // 1. 복사 (리사이즈 버전이 있는 이미지면 함께)
+        copy(key, newKey);
+        if (ImageVariant.supports(key)) {
+            for (ImageVariant variant : ImageVariant.values()) {
+                try {
+                    copy(variant.keyOf(key), variant.keyOf(newKey));
+                } catch (ObjectNotFoundException e) {
+                    // 리사이즈 버전이 없는 이미지 (생성 실패 등) -> 원본만 옮김
+                }
+            }
+        }
+
+        // 2. DB URL 교체 (인코딩된 URL과 인코딩되지 않은 URL 모두)
+        String oldUrl = s3Uploader.getUrl(key);
+        Set<String> oldUrls = new LinkedHashSet<>();
+        oldUrls.add(oldUrl);
+        oldUrls.add(oldUrl.substring(0, oldUrl.indexOf('/', oldUrl.indexOf("://") + 3) + 1) + key);
+        int rows = imageReferenceRewriter.rewrite(key, newKey, oldUrls, s3Uploader.getUrl(newKey));
+        log.info("📦 {} -> {} (DB {}건 변경)", key, newKey, rows);
+    }
+
+    private void copy(String sourceKey, String destinationKey) {
+        objectStorage.copy(sourceKey, destinationKey);
+    }
+}
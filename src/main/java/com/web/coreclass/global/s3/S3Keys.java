@@ -0,0 +1,169 @@
+package com.web.coreclass.global.s3;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * S3 Key / URL 관련 규칙 모음
+ * - 새 업로드는 업로드 날짜(UTC) 접두사 + 내용의 SHA-256 값으로 Key를 만듭니다. (예: "2026/10/19/9f86d0...0a08.png")
+ *   같은 파일을 여러 번 올려도 S3에는 하나만 저장됩니다. (처음 올린 날짜의 Key를 재사용)
+ *   날짜 접두사 덕분에 청소 작업은 버킷 전체가 아니라 특정 날짜 접두사만 조회하면 되고,
+ *   접두사 뒤가 해시값이라 S3가 요청량에 따라 파티션을 나누기도 쉽습니다.
+ * - 기존 업로드(버킷 최상위의 "uuid_원본파일명", "SHA-256.확장자")는 그대로 두고 읽을 수 있으며,
+ *   S3KeyMigrationService로 날짜 접두사 아래로 옮길 수 있습니다.
+ */
+public final class S3Keys {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("(\\d{4}/\\d{2}/\\d{2}/)?[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final DateTimeFormatter DATE_PREFIX = DateTimeFormatter.ofPattern("yyyy/MM/dd/");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    // 마크다운/HTML 본문 속 URL 패턴: 간단하게 https로 시작해서 공백, 괄호, 따옴표 전까지
+    // (로컬 저장소 URL은 http일 수 있으므로 함께 인식)
+    private static final Pattern URL_IN_TEXT = Pattern.compile("https?://[^\\s)\"]+");
+
+    /**
+     * 로컬 저장소(LocalObjectStorage) 파일 URL의 경로 접두사 (예: "http://localhost:8080/files/2026/10/19/abc.png")
+     * S3 Key는 날짜 접두사나 파일명으로 시작하므로 이 접두사와 겹치지 않습니다.
+     */
+    public static final String LOCAL_FILES_PATH = "files/";
+
+    /**
+     * 이미지 프록시(ImageProxyController) URL의 경로 접두사 (예: "https://api.../img/2026/10/19/abc.png")
+     */
+    public static final String IMAGE_PROXY_PATH = "img/";
+
+    private S3Keys() {
+    }
+
+    /**
+     * SHA-256 + 확장자로 Key 생성
+     * @param extension (없거나 이상한 값이면 확장자 없이 생성)
+     */
+    public static String contentAddressed(byte[] sha256, String extension) {
+        String hash = HexFormat.of().formatHex(sha256);
+        if (extension == null) {
+            return hash;
+        }
+        String normalized = extension.toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(normalized).matches() ? hash + "." + normalized : hash;
+    }
+
+    /**
+     * 날짜 접두사 (예: 2026-10-19 -> "2026/10/19/")
+     */
+    public static String datePrefix(LocalDate date) {
+        return DATE_PREFIX.format(date);
+    }
+
+    /**
+     * S3 lastModified -> 날짜 접두사 (UTC 기준)
+     */
+    public static String datePrefix(Instant instant) {
+        return datePrefix(LocalDate.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    /**
+     * 오늘(UTC) 날짜 접두사 + SHA-256 + 확장자로 Key 생성
+     */
+    public static String datePartitioned(byte[] sha256, String extension) {
+        return datePrefix(LocalDate.now(ZoneOffset.UTC)) + contentAddressed(sha256, extension);
+    }
+
+    /**
+     * Key에서 마지막 경로(파일명)만 추출 (예: "2026/10/19/abc.png" -> "abc.png")
+     */
+    public static String fileName(String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * 멀티파트 업로드를 합칠 임시 Key (예: "multipart/3f2a1b2c-...-444455556666.mp4")
+     * SHA-256을 확인하기 전의 내용이 내용 기반 Key에 쓰이지 않도록 여기서 합친 뒤 복사합니다.
+     * @param fileKey (완료되면 저장될 Key - 확장자를 그대로 사용)
+     */
+    public static String multipartStaging(String uploadId, String fileKey) {
+        String fileName = fileName(fileKey);
+        int dot = fileName.lastIndexOf('.');
+        return "multipart/" + uploadId + (dot < 0 ? "" : fileName.substring(dot));
+    }
+
+    /**
+     * 내용 기반 Key에서 SHA-256 값(hex) 추출
+     */
+    public static String sha256Of(String key) {
+        return fileName(key).substring(0, 64);
+    }
+
+    /**
+     * 내용 기반(SHA-256) Key인지 확인 (참조 카운트 관리 대상, 날짜 접두사 유무 상관없음)
+     */
+    public static boolean isContentAddressed(String key) {
+        return key != null && CONTENT_ADDRESSED.matcher(key).matches();
+    }
+
+    /**
+     * 전체 URL에서 Key(호스트 뒤의 경로 전체) 추출
+     * 예: "https://bucket.s3.../uuid_image.png" -> "uuid_image.png"
+     *     "https://bucket.s3.../2026/10/19/abc.png" -> "2026/10/19/abc.png"
+     *     "http://localhost:8080/files/2026/10/19/abc.png" -> "2026/10/19/abc.png" (로컬 저장소)
+     *     "https://api.../img/2026/10/19/abc.png" -> "2026/10/19/abc.png" (이미지 프록시)
+     * 한글 파일명 등을 대비해 디코딩합니다.
+     */
+    public static String fromUrl(String url) {
+        if (url == null || url.isEmpty()) {
+            return "";
+        }
+        int schemeEnd = url.indexOf("://");
+        int pathStart = url.indexOf('/', schemeEnd < 0 ? 0 : schemeEnd + 3);
+        if (pathStart < 0) {
+            return "";
+        }
+        int pathEnd = url.length();
+        for (char c : new char[]{'?', '#'}) {
+            int index = url.indexOf(c, pathStart);
+            if (index >= 0 && index < pathEnd) {
+                pathEnd = index;
+            }
+        }
+        String path = url.substring(pathStart + 1, pathEnd);
+        if (path.startsWith(LOCAL_FILES_PATH)) {
+            path = path.substring(LOCAL_FILES_PATH.length());
+        } else if (path.startsWith(IMAGE_PROXY_PATH)) {
+            path = path.substring(IMAGE_PROXY_PATH.length());
+        }
+        return URLDecoder.decode(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 본문 URL 추출용 Matcher (reset(text)으로 재사용 -> 본문마다 새로 만들지 않음)
+     */
+    public static Matcher newUrlMatcher() {
+        return URL_IN_TEXT.matcher("");
+    }
+
+    /**
+     * 본문(마크다운)에 포함된 http(s) URL 목록 추출
+     */
+    public static List<String> findUrls(String text) {
+        List<String> urls = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return urls;
+        }
+        Matcher matcher = URL_IN_TEXT.matcher(text);
+        while (matcher.find()) {
+            urls.add(matcher.group());
+        }
+        return urls;
+    }
+}
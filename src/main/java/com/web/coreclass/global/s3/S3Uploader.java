@@ -1,70 +1,332 @@
 package com.web.coreclass.global.s3;
 
-import io.awspring.cloud.s3.S3Template;
+import com.web.coreclass.global.s3.dto.ImageDto;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.image.ImageFormat;
+import com.web.coreclass.global.s3.image.ImageProcessor;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.image.ImageWorkerBusyException;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.AsyncObjectStorage;
+import com.web.coreclass.global.storage.ObjectStorage;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
+// 파일 업로드/등록 (삭제는 S3DeleteOutboxService - 트랜잭션이 커밋된 뒤에만 지우도록 예약 후 처리)
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class S3Uploader {
 
-    private final S3Template s3Template;
+    private final ObjectStorage objectStorage; // 파일 저장소 (S3 또는 로컬 디스크)
+    private final ImageProcessor imageProcessor;
+    private final StoredFileRepository storedFileRepository;
 
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucket;
+    private final AsyncObjectStorage asyncObjectStorage; // 업로드 PUT/HEAD (S3 비동기 클라이언트 또는 가상 스레드)
+
+    // 다중 업로드 시 동시에 S3로 나가는 PUT 개수 상한
+    private static final int MAX_CONCURRENT_UPLOADS = 8;
+
+    // 파일 읽기/해시/DB 조회처럼 블로킹되는 업로드 단계용 (저장소 응답 대기는 AsyncObjectStorage가 담당)
+    private final ExecutorService uploadWorker = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
 
     public String upload(MultipartFile file) {
+        try {
+            return uploadAsync(file).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 업로드 (비동기)
+     * 1) 파일 읽기 + 포맷 판별 + SHA-256 + Key 결정 (DB) -> 가상 스레드
+     * 2) 같은 Key 확인(HEAD) -> 없으면 PUT -> AsyncObjectStorage (S3 비동기 클라이언트면 응답 대기 중 점유하는 스레드 없음)
+     * 3) 업로드 기록 (DB) -> 가상 스레드
+     * @return CompletableFuture (업로드된 파일의 URL)
+     */
+    public CompletableFuture<String> uploadAsync(MultipartFile file) {
+        return CompletableFuture.supplyAsync(() -> prepare(file), uploadWorker)
+                .thenCompose(upload -> asyncObjectStorage.exists(upload.key)
+                        .thenComposeAsync(exists -> exists ? CompletableFuture.completedFuture(upload) : store(upload), uploadWorker))
+                .thenApplyAsync(upload -> {
+                    recordUpload(upload.key, upload.sha256, upload.size, upload.contentType);
+                    return getUrl(upload.key);
+                }, uploadWorker);
+    }
+
+    // 1. 확장자/Content-Type 대신 매직 바이트로 실제 포맷 판별 -> 내용 기반 Key (예: 2026/10/19/9f86d0...0a08.gif)
+    private PreparedUpload prepare(MultipartFile file) {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("빈 파일은 업로드할 수 없습니다.");
         }
-
         try {
-            // 1. 파일 이름 중복 방지를 위해 UUID 사용 (예: uuid_originalName.png)
-            String originalFileName = file.getOriginalFilename();
-            String uuidFileName = UUID.randomUUID() + "_" + originalFileName;
+            byte[] head;
+            try (InputStream in = file.getInputStream()) {
+                head = in.readNBytes(ImageFormat.MAGIC_BYTES);
+            }
+            ImageFormat format = ImageFormat.detect(head);
+            String extension = format != null ? format.getExtension() : StringUtils.getFilenameExtension(file.getOriginalFilename());
+            String contentType = format != null ? format.getContentType() : file.getContentType();
+
+            // Key는 실제로 저장하는 내용 기준 -> 어느 경로든 "저장된 내용의 SHA-256 = Key"
+            if (format != null && format.isResizable()) {
+                // JPEG/PNG는 메타데이터 제거 후 해시 (제거는 결정적이라 같은 사진을 다시 올리면 같은 Key -> 업로드 생략)
+                byte[] stripped = imageProcessor.stripMetadata(file.getBytes(), format);
+                byte[] sha256 = newSha256().digest(stripped);
+                return new PreparedUpload(resolveKey(sha256, extension), sha256, format, contentType, file, stripped);
+            }
+            // 가공하지 않는 파일(GIF/WebP/문서 등)은 메모리에 올리지 않고 해시만 계산 (PUT도 스트림으로)
+            MessageDigest digest = newSha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            byte[] sha256 = digest.digest();
+            return new PreparedUpload(resolveKey(sha256, extension), sha256, format, contentType, file, null);
+        } catch (IOException e) {
+            throw new RuntimeException("이미지 업로드 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 2. 저장소에 없는 파일만 PUT (JPEG/PNG는 메타데이터를 지운 내용, 리사이즈 버전은 워커에서 생성/업로드)
+    private CompletableFuture<PreparedUpload> store(PreparedUpload upload) {
+        if (upload.data == null) {
+            // 업로드 임시 파일을 저장소로 흘려보냄 (계산해 둔 SHA-256과 받은 내용이 다르면 저장소가 거부)
+            return CompletableFuture.supplyAsync(() -> {
+                try (InputStream in = upload.file.getInputStream()) {
+                    objectStorage.put(upload.key, in, upload.size, upload.contentType, upload.sha256);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("업로드 파일을 읽을 수 없습니다.", e);
+                }
+                return upload;
+            }, uploadWorker);
+        }
+        return asyncObjectStorage.put(upload.key, upload.data, upload.contentType).thenApply(ignored -> {
+            // 리사이즈 버전 Key는 원본 Key에서 파생 (예: .../9f86...0a08.jpg -> .../9f86...0a08_thumb.jpg)
+            imageProcessor.createVariantsAsync(upload.data, upload.format, (variant, bytes) ->
+                    objectStorage.put(variant.keyOf(upload.key), bytes, upload.contentType));
+            return upload;
+        });
+    }
+
+    // Key 결정까지 끝난 업로드 파일 (data는 JPEG/PNG만 - 메타데이터를 지운, 실제로 저장할 내용)
+    private static class PreparedUpload {
+        private final String key;
+        private final byte[] sha256;
+        private final ImageFormat format; // 이미지가 아니면 null
+        private final String contentType;
+        private final MultipartFile file;
+        private final byte[] data; // 가공하지 않는 파일이면 null (file에서 스트림으로 읽음)
+        private final long size;
+
+        private PreparedUpload(String key, byte[] sha256, ImageFormat format, String contentType, MultipartFile file, byte[] data) {
+            this.key = key;
+            this.sha256 = sha256;
+            this.format = format;
+            this.contentType = contentType;
+            this.file = file;
+            this.data = data;
+            this.size = data != null ? data.length : file.getSize();
+        }
+    }
+
+    /**
+     * 요청 본문을 받는 대로 저장소로 흘려보내는 업로드 (메모리/임시 파일에 모으지 않음)
+     * Key가 내용 기반이라 본문을 다 읽기 전에 정해야 하므로 SHA-256은 클라이언트가 미리 계산해서 보냅니다.
+     * 저장소가 받은 내용과 SHA-256을 비교해서 다르면 저장하지 않습니다. (ChecksumMismatchException)
+     * JPEG/PNG의 리사이즈 버전 생성은 Presigned 업로드와 같이 워커에서 처리합니다. (원본은 보낸 그대로 저장)
+     * @param sha256Hex (내용의 SHA-256, hex 64자)
+     */
+    public String uploadStream(InputStream in, long contentLength, String contentType, String sha256Hex) {
+        // 1. 형식/크기/해시 검증
+        ImageFormat format = ImageFormat.fromContentType(contentType);
+        if (format == null) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다: " + contentType);
+        }
+        if (contentLength <= 0 || contentLength > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("파일 크기는 1byte 이상 " + maxFileSize.toMegabytes() + "MB 이하여야 합니다.");
+        }
+        if (sha256Hex == null || !sha256Hex.matches("[0-9a-fA-F]{64}")) {
+            throw new IllegalArgumentException("SHA-256 값이 올바르지 않습니다.");
+        }
+        byte[] sha256 = HexFormat.of().parseHex(sha256Hex);
 
-            // 2. S3에 업로드 (InputStream 사용)
-            s3Template.upload(bucket, uuidFileName, file.getInputStream());
+        // 2. 내용 기반 Key (같은 내용이 이미 있으면 본문을 읽지 않고 PUT 생략)
+        String key = resolveKey(sha256, format.getExtension());
+        if (!exists(key)) {
+            // 3. 앞 12byte만 미리 읽어서(mark/reset) 실제 내용이 선언한 형식인지 확인한 뒤 PUT
+            BufferedInputStream body = new BufferedInputStream(in, ImageFormat.MAGIC_BYTES);
+            ImageFormat actual = ImageFormat.detect(peek(body, ImageFormat.MAGIC_BYTES));
+            if (actual != format) {
+                throw new IllegalArgumentException("파일 내용이 " + format.getContentType() + " 형식이 아닙니다.");
+            }
+            objectStorage.put(key, body, contentLength, format.getContentType(), sha256);
+        }
 
-            // 3. 업로드된 파일의 접근 가능한 URL 반환
-            return s3Template.download(bucket, uuidFileName).getURL().toString();
+        // 4. 업로드 기록 + (JPEG/PNG) 리사이즈 요청
+        registerDirectUpload(key, format, contentLength);
+        return getUrl(key);
+    }
 
+    // 스트림 앞부분을 읽고 되돌림 (이후 PUT은 처음부터 다시 읽음)
+    private static byte[] peek(BufferedInputStream in, int length) {
+        try {
+            in.mark(length);
+            byte[] head = in.readNBytes(length);
+            in.reset();
+            return head;
         } catch (IOException e) {
-            throw new RuntimeException("이미지 업로드 중 오류가 발생했습니다.", e);
+            throw new UncheckedIOException("업로드 본문을 읽을 수 없습니다.", e);
         }
     }
 
     /**
-     * S3 파일 삭제 메서드
-     * @param fileUrl (DB에 저장된 전체 URL)
+     * 내용 기반 Key 결정
+     * 같은 내용이 이미 저장되어 있으면 (다른 날짜 접두사여도) 그 Key를 재사용하고,
+     * 처음 올리는 내용이면 오늘 날짜 접두사 아래에 새 Key를 만듭니다.
      */
-    public void deleteFile(String fileUrl) {
-        if (fileUrl == null || fileUrl.isEmpty()) {
+    String resolveKey(byte[] sha256, String extension) {
+        String fileName = S3Keys.contentAddressed(sha256, extension);
+        return storedFileRepository.findFileKeysBySha256(HexFormat.of().formatHex(sha256)).stream()
+                .filter(key -> S3Keys.fileName(key).equals(fileName))
+                .findFirst()
+                .orElseGet(() -> S3Keys.datePartitioned(sha256, extension));
+    }
+
+    // 업로드 기록 (중복 업로드면 "방금 업로드됨" 시각만 갱신 -> 저장 전에 청소되지 않도록)
+    private void recordUpload(String key, byte[] sha256, long size, String contentType) {
+        LocalDateTime now = LocalDateTime.now();
+        if (storedFileRepository.touch(key, now) > 0) {
             return;
         }
         try {
-            // 1. 전체 URL에서 파일명(Key)만 추출 (예: "https://.../uuid_image.png" -> "uuid_image.png")
-            // split("/")을 해서 마지막 부분만 가져옵니다.
-            String[] urlParts = fileUrl.split("/");
-            String fileName = urlParts[urlParts.length - 1];
+            storedFileRepository.save(new StoredFile(key, HexFormat.of().formatHex(sha256), size, contentType, now));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 파일을 동시에 올린 다른 요청이 먼저 기록함
+            storedFileRepository.touch(key, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 브라우저가 Presigned URL로 S3에 직접 올린 파일 등록 (uploadStream도 같음)
+     * JPEG/PNG는 워커에서 내려받아 리사이즈 버전 생성 (요청 스레드와 무관)
+     * 원본은 바꾸지 않습니다: Key가 클라이언트가 계산한 SHA-256(원본)이라, 메타데이터를 지운 내용으로 덮어쓰면
+     * Key와 내용이 달라지고 같은 원본의 재업로드도 중복으로 인식되지 않습니다.
+     * (원본의 EXIF/GPS 제거가 필요하면 서버가 지운 뒤 해시하는 폼 업로드(upload)를 쓰거나 클라이언트에서 지운 뒤 해시 - 리사이즈 버전에는 남지 않음)
+     * @throws ImageWorkerBusyException (워커 대기열이 가득 참 - 기록은 남으므로 같은 요청을 다시 보내면 후처리됨)
+     */
+    void registerDirectUpload(String key, ImageFormat format, long size) {
+        recordUpload(key, HexFormat.of().parseHex(S3Keys.sha256Of(key)), size, format.getContentType());
+        if (!format.isResizable()) {
+            return;
+        }
+        imageProcessor.execute(() -> {
+            // 같은 파일이 이미 처리되었으면 생략
+            if (exists(ImageVariant.THUMBNAIL.keyOf(key))) {
+                return;
+            }
+            // 리사이즈 버전은 원본에서 파생된 별도 Key -> 메타데이터를 지운 내용으로 생성 (디코딩 실패 시에도 EXIF가 남지 않도록)
+            byte[] stripped;
+            try {
+                stripped = imageProcessor.stripMetadata(objectStorage.getBytes(key), format);
+            } catch (IllegalArgumentException e) {
+                // 메타데이터를 지울 수 없는 파일은 리사이즈 버전을 만들지 않음 (지우지 않은 내용을 다른 Key로 퍼뜨리지 않도록)
+                log.warn("⚠️ 리사이즈 생략 (메타데이터 제거 실패): {}", key);
+                return;
+            }
+            imageProcessor.createVariants(stripped, format).forEach((variant, bytes) ->
+                    objectStorage.put(variant.keyOf(key), bytes, format.getContentType()));
+        });
+    }
+
+    // 멀티파트 업로드(MultipartUploadService)로 완료된 파일 등록 (큰 파일이라 가공 없이 기록만)
+    void registerMultipartUpload(String key, long size, String contentType) {
+        recordUpload(key, HexFormat.of().parseHex(S3Keys.sha256Of(key)), size, contentType);
+    }
+
+    // 저장소에 같은 Key가 이미 있는지 확인 (HEAD)
+    boolean exists(String key) {
+        return objectStorage.exists(key);
+    }
 
-            // 2. 한글 파일명 등을 대비해 디코딩
-            String decodedFileName = URLDecoder.decode(fileName, StandardCharsets.UTF_8);
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
 
-            // 3. S3에서 삭제
-            s3Template.deleteObject(bucket, decodedFileName);
+    /**
+     * 여러 파일을 동시에 업로드 (Semaphore로 동시 업로드 개수 제한)
+     * 일부 파일이 실패해도 나머지는 계속 업로드하고, 결과는 요청 순서대로 반환합니다.
+     * @param files (업로드할 파일 목록)
+     * @return CompletableFuture (파일별 URL 또는 실패 사유)
+     */
+    public CompletableFuture<List<ImageDto.UploadResult>> uploadAllAsync(List<MultipartFile> files) {
+        Semaphore permits = new Semaphore(MAX_CONCURRENT_UPLOADS);
 
-        } catch (Exception e) {
-            // 삭제 실패해도 에러를 던지지 않고 로그만 남김 (DB 트랜잭션 롤백 방지)
-            // 필요하면 @Slf4j 붙이고 log.error("S3 삭제 실패", e);
-            System.err.println("S3 파일 삭제 실패: " + e.getMessage());
+        // 1. 자리가 날 때까지 가상 스레드에서 대기 -> 업로드 -> 끝나면 (성공/실패 모두) 자리 반납
+        List<CompletableFuture<String>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(CompletableFuture.runAsync(permits::acquireUninterruptibly, uploadWorker)
+                    .thenCompose(ignored -> uploadAsync(file)
+                            .whenComplete((url, e) -> permits.release())));
         }
+
+        // 2. 모두 끝나면 요청 순서대로 결과 수집
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).handle((ignored, error) -> {
+            List<ImageDto.UploadResult> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                String fileName = files.get(i).getOriginalFilename();
+                try {
+                    results.add(ImageDto.UploadResult.success(i, fileName, futures.get(i).join()));
+                } catch (CompletionException e) {
+                    results.add(ImageDto.UploadResult.failure(i, fileName, e.getCause().getMessage()));
+                }
+            }
+            return results;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadWorker.shutdown();
+    }
+
+    /**
+     * Key -> 공개 URL 변환 (네트워크 호출 없음)
+     * @param key (S3 파일명)
+     */
+    public String getUrl(String key) {
+        return objectStorage.urlOf(key);
     }
-}
\ No newline at end of file
+}
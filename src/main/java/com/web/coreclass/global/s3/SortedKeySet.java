@@ -0,0 +1,143 @@
+package com.web.coreclass.global.s3;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 메모리를 적게 쓰는 읽기 전용 문자열 Set (청소 스케줄러의 "사용 중인 Key" 목록용)
+ * 모든 Key를 UTF-8 바이트로 정렬/중복 제거해서 byte[] 하나에 이어 붙이고, 시작 위치만 int[]로 저장합니다.
+ * - 메모리: Key 1개당 (UTF-8 길이 + 4)byte (HashSet은 String/Node 객체 때문에 Key 1개당 약 100byte 이상)
+ * - 조회: 이진 탐색 O(log n)
+ */
+public final class SortedKeySet {
+
+    private final byte[] data;    // 정렬된 Key들의 UTF-8 바이트를 이어 붙인 배열
+    private final int[] offsets;  // i번째 Key = data[offsets[i], offsets[i + 1])
+
+    private SortedKeySet(byte[] data, int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean contains(String key) {
+        if (key == null) {
+            return false;
+        }
+        byte[] target = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Arrays.compareUnsigned(data, offsets[mid], offsets[mid + 1], target, 0, target.length);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    // 실제 데이터가 차지하는 대략적인 바이트 수 (배열 헤더 제외)
+    public long sizeInBytes() {
+        return data.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    /**
+     * Key를 모으는 동안에도 String 객체를 들고 있지 않도록 바이트 배열에 바로 이어 붙입니다.
+     * build() 시 한 번만 정렬하고 중복을 제거합니다.
+     */
+    public static final class Builder {
+
+        private byte[] buffer = new byte[1024];
+        private int[] starts = new int[64];
+        private int length;
+        private int count;
+
+        private Builder() {
+        }
+
+        public Builder add(String key) {
+            if (key == null || key.isEmpty()) {
+                return this;
+            }
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            if (length + bytes.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + bytes.length));
+            }
+            if (count + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            starts[count++] = length;
+            length += bytes.length;
+            starts[count] = length; // 마지막 Key의 끝 위치
+            return this;
+        }
+
+        public SortedKeySet build() {
+            // 1. Key 번호(index)를 바이트 순서로 정렬
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, new int[count], 0, count);
+
+            // 2. 정렬된 순서대로 이어 붙이면서 중복 제거
+            byte[] data = new byte[length];
+            int[] offsets = new int[count + 1];
+            int size = 0;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                int index = order[i];
+                if (i > 0 && compare(order[i - 1], index) == 0) {
+                    continue;
+                }
+                int keyLength = starts[index + 1] - starts[index];
+                System.arraycopy(buffer, starts[index], data, position, keyLength);
+                offsets[size++] = position;
+                position += keyLength;
+            }
+            offsets[size] = position;
+
+            return new SortedKeySet(Arrays.copyOf(data, position), Arrays.copyOf(offsets, size + 1));
+        }
+
+        private int compare(int a, int b) {
+            return Arrays.compareUnsigned(buffer, starts[a], starts[a + 1], buffer, starts[b], starts[b + 1]);
+        }
+
+        // int[] 정렬 (Integer[]로 박싱하지 않기 위해 직접 구현)
+        private void mergeSort(int[] array, int[] temp, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(array, temp, from, mid);
+            mergeSort(array, temp, mid, to);
+            if (compare(array[mid - 1], array[mid]) <= 0) {
+                return; // 이미 정렬된 상태
+            }
+            System.arraycopy(array, from, temp, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && compare(temp[left], temp[right]) <= 0)) {
+                    array[i] = temp[left++];
+                } else {
+                    array[i] = temp[right++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.web.coreclass.global.s3;
+
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.ObjectStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * S3 파일 참조 카운트 관리
+ * URL을 DB에 저장/수정/삭제하는 서비스(Article, Instructor)가 호출합니다.
+ * - 내용 기반 Key: 참조 카운트를 올리고 내리며, 0이 되면 S3 삭제 예약
+ *   (업로드 기록이 있고, URL이 우리 저장소 주소일 때만 - 외부 CDN 등 경로만 같은 URL로는 지우지 않음)
+ * - 기존 Key(uuid_원본파일명, GameType 로고 등): 여러 곳에서 같이 쓸 수 있고 기록도 없으므로 여기서는 지우지 않음
+ *   (청소 작업이 사용 중인 Key/고정 파일과 비교해서 정리)
+ * S3 삭제는 트랜잭션이 커밋된 뒤 S3DeleteOutboxService 워커가 처리합니다. (롤백되면 삭제되지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StoredFileService {
+
+    // 업로드 직후 아직 DB에 저장되지 않은 파일을 지우지 않기 위한 유예 시간
+    private static final long GRACE_HOURS = 24;
+
+    private final StoredFileRepository storedFileRepository;
+    private final S3DeleteOutboxService s3DeleteOutboxService;
+    private final ObjectStorage objectStorage; // 저장소 URL 확인용
+
+    /**
+     * (C) 새로 저장된 URL들의 참조 카운트 증가
+     */
+    public void retainAll(Collection<String> urls) {
+        replace(List.of(), urls);
+    }
+
+    /**
+     * (D) 더 이상 쓰이지 않는 URL들의 참조 카운트 감소
+     */
+    public void releaseAll(Collection<String> urls) {
+        replace(urls, List.of());
+    }
+
+    /**
+     * (U) 수정 전/후 URL 목록을 비교해서 달라진 만큼만 반영
+     * (수정 전후 모두 같은 URL을 쓰면 카운트 변화 없음 -> 삭제되지 않음)
+     */
+    public void replace(Collection<String> oldUrls, Collection<String> newUrls) {
+        Map<String, Integer> delta = new HashMap<>();
+        newUrls.stream().filter(this::hasText).forEach(url -> delta.merge(url, 1, Integer::sum));
+        oldUrls.stream().filter(this::hasText).forEach(url -> delta.merge(url, -1, Integer::sum));
+
+        delta.forEach((url, count) -> {
+            if (count > 0) {
+                retain(url, count);
+            } else if (count < 0) {
+                release(url, -count);
+            }
+        });
+    }
+
+    private void retain(String url, int count) {
+        String key = S3Keys.fromUrl(url);
+        if (!S3Keys.isContentAddressed(key)) {
+            return; // 기존 Key, 외부 URL은 카운트 대상 아님
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (storedFileRepository.increaseRefCount(key, count, now) == 0) {
+            // 업로드 기록이 없는 Key (직접 입력한 URL 등) -> 기록을 만들고 다시 증가
+            storedFileRepository.saveAndFlush(new StoredFile(key, S3Keys.sha256Of(key)));
+            storedFileRepository.increaseRefCount(key, count, now);
+        }
+    }
+
+    private void release(String url, int count) {
+        String key = S3Keys.fromUrl(url);
+        if (!S3Keys.isContentAddressed(key)) {
+            return; // 기존 Key, 외부 URL은 청소 작업에 맡김
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (storedFileRepository.decreaseRefCount(key, count, now) == 0) {
+            return; // 업로드 기록 없음
+        }
+
+        // 마지막 참조가 사라졌고, 최근에 누가 같은 파일을 다시 올리지 않았으면 삭제
+        // (동시에 다른 트랜잭션이 참조를 늘렸으면 조건에 맞지 않아 삭제하지 않음)
+        if (!isStorageUrl(url, key)) {
+            return; // 외부 URL (카운트만 내리고, 남은 파일은 청소 작업이 사용 중인 Key와 비교해서 정리)
+        }
+        LocalDateTime graceLimit = now.minusHours(GRACE_HOURS);
+        if (storedFileRepository.markDeletedIfUnused(key, graceLimit, now) == 1) {
+            log.info("🗑️ 참조가 없는 파일 삭제: {}", key);
+            s3DeleteOutboxService.enqueue(key); // 기록은 남기고 삭제 표시
+        }
+    }
+
+    // 우리 저장소(S3 버킷 / 로컬 저장소)의 URL인지 (쿼리/프래그먼트 제외하고 저장소가 만드는 URL과 같은지)
+    private boolean isStorageUrl(String url, String key) {
+        int end = url.length();
+        for (char c : new char[]{'?', '#'}) {
+            int index = url.indexOf(c);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return url.substring(0, end).equals(objectStorage.urlOf(key));
+    }
+
+    private boolean hasText(String url) {
+        return url != null && !url.isEmpty();
+    }
+}
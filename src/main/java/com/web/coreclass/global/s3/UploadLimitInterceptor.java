@@ -0,0 +1,81 @@
+package com.web.coreclass.global.s3;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 업로드 요청 동시 처리량 제한 (서버 전체 기준)
+ * 처리 중인 업로드 요청 본문의 합계가 upload.max-in-flight를 넘지 않도록 요청 크기(Content-Length)만큼 자리를 잡고,
+ * 자리가 없으면 본문을 읽기 전에 바로 503으로 돌려보냅니다. (여러 관리자가 동시에 올려도 힙/임시 디렉터리가 넘치지 않도록)
+ * - Content-Length가 없는 요청(chunked)은 멀티파트 최대 요청 크기만큼 자리를 잡음
+ * - 한 요청이 전체 한도보다 크면 413
+ * (multipart는 spring.servlet.multipart.resolve-lazily=true라서 이 검사가 끝난 뒤에 파싱됨)
+ * 비동기 응답이면 afterCompletion은 업로드가 끝난 뒤의 비동기 디스패치에서 호출되므로, 자리는 업로드 완료까지 유지됩니다.
+ */
+@Slf4j
+@Component
+public class UploadLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMITS_ATTRIBUTE = UploadLimitInterceptor.class.getName() + ".permits";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Semaphore inFlightBytes;
+    private final int capacity;
+    private final int unknownLengthReservation;
+
+    public UploadLimitInterceptor(@Value("${upload.max-in-flight:100MB}") DataSize maxInFlight,
+                                  @Value("${spring.servlet.multipart.max-request-size:50MB}") DataSize maxRequestSize) {
+        // Semaphore 허가 개수는 int라서 한도는 2GB 미만
+        this.capacity = Math.toIntExact(maxInFlight.toBytes());
+        this.unknownLengthReservation = (int) Math.min(maxRequestSize.toBytes(), capacity);
+        this.inFlightBytes = new Semaphore(capacity);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // 비동기 응답(CompletableFuture)의 두 번째 디스패치 -> 처음 잡은 자리를 그대로 사용
+        if (request.getAttribute(PERMITS_ATTRIBUTE) != null) {
+            return true;
+        }
+        long contentLength = request.getContentLengthLong();
+        long reserved = contentLength >= 0 ? contentLength : unknownLengthReservation;
+        if (reserved > capacity) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "업로드 크기가 너무 큽니다.");
+            return false;
+        }
+        int permits = (int) reserved;
+        if (!inFlightBytes.tryAcquire(permits)) {
+            log.warn("⚠️ 업로드 한도 초과로 거절: 요청 {}byte, 남은 자리 {}byte", reserved, inFlightBytes.availablePermits());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "업로드 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            return false;
+        }
+        request.setAttribute(PERMITS_ATTRIBUTE, permits);
+        return true;
+    }
+
+    // 요청 처리가 끝나면 (성공/실패 모두) 자리 반납
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permits = request.getAttribute(PERMITS_ATTRIBUTE);
+        if (permits != null) {
+            request.removeAttribute(PERMITS_ATTRIBUTE);
+            inFlightBytes.release((Integer) permits);
+        }
+    }
+
+    // 남은 자리 (byte)
+    public int availableBytes() {
+        return inFlightBytes.availablePermits();
+    }
+}
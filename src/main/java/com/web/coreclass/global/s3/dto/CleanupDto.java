@@ -0,0 +1,102 @@
+package com.web.coreclass.global.s3.dto;
+
+import com.web.coreclass.global.s3.entity.CleanupKeyResult;
+import com.web.coreclass.global.s3.entity.CleanupKind;
+import com.web.coreclass.global.s3.entity.CleanupRun;
+import com.web.coreclass.global.s3.entity.CleanupRunKey;
+import com.web.coreclass.global.s3.entity.CleanupStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CleanupDto {
+
+    /**
+     * 청소 실행 결과 (진행 중이면 마지막 저장 시점까지의 값)
+     */
+    @Getter
+    public static class RunResponse {
+        private final Long id;
+        private final CleanupKind kind;
+        private final CleanupStatus status;
+        private final boolean dryRun;
+        private final long scannedCount;
+        private final long orphanCount;
+        private final long deletedCount;
+        private final long failedCount;
+        private final long driftCount; // 정합성 점검에서 보정한 기록 수
+        private final int attempts;
+        private final String errorMessage;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime checkpointAt;
+        private final LocalDateTime finishedAt;
+        private final Timings timings;
+
+        public RunResponse(CleanupRun run) {
+            this.id = run.getId();
+            this.kind = run.getKind();
+            this.status = run.getStatus();
+            this.dryRun = run.isDryRun();
+            this.scannedCount = run.getScannedCount();
+            this.orphanCount = run.getOrphanCount();
+            this.deletedCount = run.getDeletedCount();
+            this.failedCount = run.getFailedCount();
+            this.driftCount = run.getDriftCount();
+            this.attempts = run.getAttempts();
+            this.errorMessage = run.getErrorMessage();
+            this.startedAt = run.getStartedAt();
+            this.checkpointAt = run.getCheckpointAt();
+            this.finishedAt = run.getFinishedAt();
+            this.timings = new Timings(run);
+        }
+    }
+
+    /**
+     * 단계별 소요 시간 (ms)
+     */
+    @Getter
+    public static class Timings {
+        private final long collectMillis;     // DB에서 사용 중인 Key 수집
+        private final long scanMillis;        // 업로드 기록(또는 S3 목록) 비교 + 삭제
+        private final long deleteWaitMillis;  // 그중 삭제 요청 완료를 기다린 시간
+
+        public Timings(CleanupRun run) {
+            this.collectMillis = run.getCollectMillis();
+            this.scanMillis = run.getScanMillis();
+            this.deleteWaitMillis = run.getDeleteWaitMillis();
+        }
+    }
+
+    /**
+     * 기존 Key -> 날짜 접두사 Key 이전 결과
+     */
+    @Getter
+    public static class KeyMigrationResponse {
+        private final int count;
+        private final boolean hasMore; // 아직 옮길 파일이 남았을 수 있음 (다시 호출)
+        private final List<String> moves; // "기존 Key -> 새 Key"
+
+        public KeyMigrationResponse(int count, boolean hasMore, List<String> moves) {
+            this.count = count;
+            this.hasMore = hasMore;
+            this.moves = moves;
+        }
+    }
+
+    /**
+     * 실행별 Key 기록 (삭제됨 / 실패 / dry-run 삭제 대상)
+     */
+    @Getter
+    public static class KeyResponse {
+        private final String fileKey;
+        private final CleanupKeyResult result;
+        private final String reason;
+
+        public KeyResponse(CleanupRunKey key) {
+            this.fileKey = key.getFileKey();
+            this.result = key.getResult();
+            this.reason = key.getReason();
+        }
+    }
+}
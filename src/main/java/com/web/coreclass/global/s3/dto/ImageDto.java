@@ -0,0 +1,95 @@
+package com.web.coreclass.global.s3.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class ImageDto {
+    /**
+     * (R) 다중 업로드 결과 DTO (파일 1개당 1개, 요청 순서 유지)
+     * 성공 시 url, 실패 시 error 가 채워집니다.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class UploadResult {
+        @Schema(description = "요청 내 파일 순서 (0부터 시작)", example = "0")
+        private final int index;
+
+        @Schema(description = "원본 파일명", example = "team_logo.png")
+        private final String fileName;
+
+        @Schema(description = "업로드된 이미지 URL (실패 시 null)")
+        private final String url;
+
+        @Schema(description = "실패 사유 (성공 시 null)")
+        private final String error;
+
+        public static UploadResult success(int index, String fileName, String url) {
+            return new UploadResult(index, fileName, url, null);
+        }
+
+        public static UploadResult failure(int index, String fileName, String error) {
+            return new UploadResult(index, fileName, null, error);
+        }
+    }
+
+    /**
+     * (C) Presigned URL 발급 요청 DTO
+     * 브라우저에서 파일의 SHA-256을 계산해서 보내면, 같은 파일은 S3에 한 번만 저장됩니다.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class PresignRequest {
+        @Schema(description = "이미지 Content-Type", example = "image/png")
+        private String contentType;
+
+        @Schema(description = "파일 크기 (byte)", example = "204800")
+        private long contentLength;
+
+        @Schema(description = "파일 내용의 SHA-256 (hex 64자리)", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+        private String sha256;
+    }
+
+    /**
+     * (R) Presigned URL 발급 응답 DTO
+     * uploadUrl로 headers를 그대로 붙여 PUT 한 뒤, key로 완료 API를 호출합니다.
+     * (alreadyUploaded = true 이면 PUT 없이 바로 완료 API 호출)
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class PresignResponse {
+        @Schema(description = "S3 Key (완료 API에 전달)")
+        private final String key;
+
+        @Schema(description = "같은 파일이 이미 저장되어 있는지 여부")
+        private final boolean alreadyUploaded;
+
+        @Schema(description = "PUT 요청을 보낼 Presigned URL (alreadyUploaded면 null)")
+        private final String uploadUrl;
+
+        @Schema(description = "PUT 요청에 반드시 포함해야 하는 헤더 (Content-Type, Content-Length, 체크섬)")
+        private final Map<String, String> headers;
+
+        @Schema(description = "Presigned URL 만료 시각")
+        private final Instant expiresAt;
+    }
+
+    /**
+     * (C) 직접 업로드 완료 요청 DTO
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class PresignCompleteRequest {
+        @Schema(description = "발급 응답으로 받은 S3 Key")
+        private String key;
+    }
+}
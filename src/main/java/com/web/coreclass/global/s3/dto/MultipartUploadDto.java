@@ -0,0 +1,58 @@
+package com.web.coreclass.global.s3.dto;
+
+import com.web.coreclass.global.s3.entity.MultipartUploadStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+public class MultipartUploadDto {
+    /**
+     * (C) 멀티파트 업로드 시작 요청 DTO
+     * 파일 전체의 SHA-256으로 Key를 정하므로 (같은 파일은 한 번만 저장) 브라우저에서 미리 계산해서 보냅니다.
+     */
+    @Getter
+    @Setter
+    @ToString
+    public static class StartRequest {
+        @Schema(description = "파일 Content-Type", example = "video/mp4")
+        private String contentType;
+
+        @Schema(description = "파일 크기 (byte)", example = "734003200")
+        private long contentLength;
+
+        @Schema(description = "파일 내용의 SHA-256 (hex 64자리)", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+        private String sha256;
+    }
+
+    /**
+     * (R) 멀티파트 업로드 진행 상황 DTO
+     * 연결이 끊기면 nextOffset부터 파일 끝까지를 다시 보내면 됩니다.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class Progress {
+        @Schema(description = "업로드 ID (같은 파일이 이미 저장되어 있었으면 null)")
+        private final String uploadId;
+
+        @Schema(description = "S3 Key")
+        private final String key;
+
+        @Schema(description = "상태 (IN_PROGRESS / COMPLETED / ABORTED)")
+        private final MultipartUploadStatus status;
+
+        @Schema(description = "파일 크기 (byte)")
+        private final long totalSize;
+
+        @Schema(description = "저장소에 올라간 크기 (byte)")
+        private final long uploadedBytes;
+
+        @Schema(description = "이어 올릴 위치 (이 위치부터 파일 끝까지 보냄, 완료되면 totalSize)")
+        private final long nextOffset;
+
+        @Schema(description = "파일 URL (완료 전에는 null)")
+        private final String url;
+    }
+}
@@ -0,0 +1,7 @@
+package com.web.coreclass.global.s3.entity;
+
+public enum CleanupKeyResult {
+    DELETED,   // 삭제됨
+    FAILED,    // 삭제 실패 (다음 청소 때 다시 시도)
+    CANDIDATE  // 삭제 대상 (dry-run이라 삭제하지 않음)
+}
@@ -0,0 +1,6 @@
+package com.web.coreclass.global.s3.entity;
+
+public enum CleanupKind {
+    SWEEP,      // 매일: 업로드 기록(stored_file)에서 참조되지 않는 파일을 찾아 삭제 (S3 목록 조회 없음)
+    RECONCILE   // 매주: S3 목록과 업로드 기록을 비교해서 어긋난 부분 보정
+}
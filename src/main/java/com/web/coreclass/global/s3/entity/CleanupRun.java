@@ -0,0 +1,104 @@
+package com.web.coreclass.global.s3.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 고아 파일 청소 1회 실행 기록 (진행 상황 저장용)
+ * 처리 위치(continuationToken)를 주기적으로 저장해서, 중간에 프로세스가 종료되면
+ * 다음 실행 때 처음부터가 아니라 저장된 위치부터 이어서 진행합니다.
+ */
+@Entity
+@Table(name = "s3_cleanup_run")
+@Getter
+@NoArgsConstructor
+public class CleanupRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CleanupStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private CleanupKind kind; // 매일 청소(SWEEP) / 정합성 점검(RECONCILE)
+
+    @Column(name = "dry_run", nullable = false)
+    private boolean dryRun; // true: 삭제/보정하지 않고 대상만 기록
+
+    @Column(name = "continuation_token", length = 1024)
+    private String continuationToken; // 다음에 처리할 위치 (SWEEP: 마지막으로 확인한 stored_file id, RECONCILE: S3 목록 페이지, null이면 처음부터)
+
+    private long scannedCount;  // 확인한 파일 수 (SWEEP: 업로드 기록, RECONCILE: S3 파일)
+    private long orphanCount;   // 고아 파일 수 (삭제 대상)
+    private long deletedCount;
+    private long failedCount;
+    private long driftCount;    // 정합성 점검에서 보정한 기록 수 (누락 기록 추가 + S3에 없는 파일 + 남은 참조 카운트)
+
+    // 단계별 소요 시간 (이어서 실행하면 누적)
+    private long collectMillis;     // 1. DB에서 사용 중인 Key 수집
+    private long scanMillis;        // 2. 업로드 기록(또는 S3 목록) 비교
+    private long deleteWaitMillis;  // 2-1. 그중 삭제 요청 완료를 기다린 시간
+
+    private int attempts; // 실행(이어서 실행 포함) 횟수
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime checkpointAt;
+    private LocalDateTime finishedAt;
+
+    public CleanupRun(CleanupKind kind, boolean dryRun) {
+        this.status = CleanupStatus.RUNNING;
+        this.kind = kind;
+        this.dryRun = dryRun;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // 실행 시작 (새 실행 또는 이어서 실행)
+    public void begin() {
+        this.attempts++;
+        this.status = CleanupStatus.RUNNING;
+        this.errorMessage = null;
+    }
+
+    public void addCollectMillis(long millis) {
+        this.collectMillis += millis;
+    }
+
+    public void addScanMillis(long millis) {
+        this.scanMillis += millis;
+    }
+
+    // 중간 저장: 여기까지 처리했고, 다음에는 continuationToken부터 진행
+    public void checkpoint(String continuationToken, long scanned, long orphans, long deleted, long failed, long deleteWaitMillis) {
+        this.continuationToken = continuationToken;
+        this.scannedCount += scanned;
+        this.orphanCount += orphans;
+        this.deletedCount += deleted;
+        this.failedCount += failed;
+        this.deleteWaitMillis += deleteWaitMillis;
+        this.checkpointAt = LocalDateTime.now();
+    }
+
+    public void addDrift(long count) {
+        this.driftCount += count;
+    }
+
+    public void complete() {
+        this.status = CleanupStatus.COMPLETED;
+        this.continuationToken = null;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String errorMessage) {
+        this.status = CleanupStatus.FAILED;
+        this.errorMessage = errorMessage != null && errorMessage.length() > 500 ? errorMessage.substring(0, 500) : errorMessage;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
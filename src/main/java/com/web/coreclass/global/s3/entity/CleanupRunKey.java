@@ -0,0 +1,38 @@
+package com.web.coreclass.global.s3.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 청소 실행별 삭제된(또는 dry-run 삭제 대상) Key 기록
+ */
+@Entity
+@Table(name = "s3_cleanup_run_key", indexes = @Index(name = "idx_cleanup_run_key_run", columnList = "run_id, result"))
+@Getter
+@NoArgsConstructor
+public class CleanupRunKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "file_key", nullable = false, length = 1024)
+    private String fileKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CleanupKeyResult result;
+
+    @Column(length = 500)
+    private String reason; // 실패 사유
+
+    public CleanupRunKey(Long runId, String fileKey, CleanupKeyResult result, String reason) {
+        this.runId = runId;
+        this.fileKey = fileKey;
+        this.result = result;
+        this.reason = reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason;
+    }
+}
@@ -0,0 +1,7 @@
+package com.web.coreclass.global.s3.entity;
+
+public enum CleanupStatus {
+    RUNNING,   // 실행 중 (프로세스가 중간에 종료되면 이 상태로 남음 -> 다음 실행 때 이어서 진행)
+    COMPLETED,
+    FAILED
+}
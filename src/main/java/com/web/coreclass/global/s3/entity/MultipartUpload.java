@@ -0,0 +1,71 @@
+package com.web.coreclass.global.s3.entity;
+
+import com.web.coreclass.global.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 큰 파일(영상, 고해상도 배너) 멀티파트 업로드 진행 상황 (업로드 1개 = 1행)
+ * 올라간 조각은 MultipartUploadPart에 기록되어, 연결이 끊겨도 마지막으로 이어진 조각 다음부터 다시 올릴 수 있습니다.
+ */
+@Entity
+@Table(name = "multipart_upload", indexes = @Index(name = "idx_multipart_upload_status", columnList = "status, created_at"))
+@Getter
+@NoArgsConstructor
+public class MultipartUpload extends BaseEntity {
+    @Id
+    @Column(length = 36)
+    private String id; // 업로드 ID (UUID, 진행 상황 조회/이어 올리기에 사용)
+
+    @Column(name = "file_key", nullable = false)
+    private String fileKey; // 완료되면 저장될 Key (내용 기반)
+
+    @Column(name = "storage_upload_id", nullable = false, length = 1024)
+    private String storageUploadId; // 저장소(S3)의 멀티파트 업로드 ID
+
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256; // 관리자가 보낸 파일 전체의 SHA-256 (완료 전에 서버가 계산한 값과 비교)
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "part_size", nullable = false)
+    private long partSize; // 조각 크기 (마지막 조각만 더 작음)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MultipartUploadStatus status;
+
+    @Column(length = 36)
+    private String receiver; // 지금 본문을 받고 있는 요청 (서버가 여러 대여도 한 요청만 받도록 DB에서 점유)
+
+    @Column(name = "receiving_until")
+    private LocalDateTime receivingUntil; // 점유 만료 시각 (받던 서버가 죽어도 이 시각이 지나면 다른 요청이 이어 받음)
+
+    public MultipartUpload(String id, String fileKey, String storageUploadId, String sha256,
+                           String contentType, long totalSize, long partSize) {
+        this.id = id;
+        this.fileKey = fileKey;
+        this.storageUploadId = storageUploadId;
+        this.sha256 = sha256;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+        this.partSize = partSize;
+        this.status = MultipartUploadStatus.IN_PROGRESS;
+    }
+
+    public int partCount() {
+        return (int) ((totalSize + partSize - 1) / partSize);
+    }
+
+    // 조각 크기 (마지막 조각은 남은 크기)
+    public long sizeOfPart(int partNumber) {
+        return Math.min(partSize, totalSize - (partNumber - 1) * partSize);
+    }
+}
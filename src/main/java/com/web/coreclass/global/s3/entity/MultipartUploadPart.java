@@ -0,0 +1,38 @@
+package com.web.coreclass.global.s3.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 저장소에 올라간 멀티파트 업로드 조각 (완료 요청에 ETag가 필요)
+ */
+@Entity
+@Table(name = "multipart_upload_part", uniqueConstraints = @UniqueConstraint(
+        name = "uk_multipart_upload_part", columnNames = {"upload_id", "part_number"}))
+@Getter
+@NoArgsConstructor
+public class MultipartUploadPart {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, length = 36)
+    private String uploadId;
+
+    @Column(name = "part_number", nullable = false)
+    private int partNumber; // 1부터 시작
+
+    @Column(nullable = false, length = 200)
+    private String etag;
+
+    @Column(name = "part_size", nullable = false)
+    private long size;
+
+    public MultipartUploadPart(String uploadId, int partNumber, String etag, long size) {
+        this.uploadId = uploadId;
+        this.partNumber = partNumber;
+        this.etag = etag;
+        this.size = size;
+    }
+}
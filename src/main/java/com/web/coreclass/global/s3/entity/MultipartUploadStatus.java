@@ -0,0 +1,7 @@
+package com.web.coreclass.global.s3.entity;
+
+public enum MultipartUploadStatus {
+    IN_PROGRESS, // 조각 업로드 중 (중간에 끊기면 이 상태로 남음 -> 이어 올리기 가능)
+    COMPLETED,
+    ABORTED      // 취소됨 (관리자 취소, SHA-256 불일치, 만료)
+}
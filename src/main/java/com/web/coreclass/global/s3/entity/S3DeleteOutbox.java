@@ -0,0 +1,46 @@
+package com.web.coreclass.global.s3.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 삭제 예약 (outbox)
+ * URL을 지우는 트랜잭션 안에서 함께 저장되고, 커밋된 뒤 워커가 S3에서 삭제하고 행을 지웁니다.
+ * (트랜잭션이 롤백되면 예약도 함께 사라지므로 S3 파일도 남음)
+ */
+@Entity
+@Table(name = "s3_delete_outbox", indexes = @Index(name = "idx_s3_delete_outbox_next", columnList = "next_attempt_at"))
+@Getter
+@NoArgsConstructor
+public class S3DeleteOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_key", nullable = false, length = 1024)
+    private String fileKey; // 삭제할 S3 Key (리사이즈 버전은 워커가 함께 삭제)
+
+    @Column(nullable = false)
+    private int attempts; // 실패한 횟수
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt; // 이 시각 이후에 (다시) 시도
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken; // 처리 중인 워커 (서버가 여러 대여도 같은 행을 동시에 처리하지 않도록)
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public S3DeleteOutbox(String fileKey) {
+        this.fileKey = fileKey;
+        this.attempts = 0;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
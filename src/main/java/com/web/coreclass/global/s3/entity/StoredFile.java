@@ -0,0 +1,70 @@
+package com.web.coreclass.global.s3.entity;
+
+import com.web.coreclass.global.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 업로드 기록 (버킷에 올린 파일 1개 = 1행)
+ * - 내용 기반(SHA-256) Key는 참조 카운트도 관리 (같은 로고를 여러 경력에 쓰면 S3 파일은 1개, refCount는 사용 중인 곳의 개수)
+ * - 기존 Key(uuid_원본파일명)는 정합성 점검 때 S3 목록에서 채워짐 (sha256 없음)
+ * 청소 스케줄러는 버킷 목록 대신 이 테이블에서 삭제 대상을 찾습니다.
+ * 리사이즈 버전(_thumb 등)은 원본 행 하나로 함께 관리합니다.
+ */
+@Entity
+@Table(name = "stored_file", indexes = {
+        @Index(name = "idx_stored_file_sha256", columnList = "sha256"),
+        @Index(name = "idx_stored_file_sweep", columnList = "deleted, ref_count, last_uploaded_at"),
+        @Index(name = "idx_stored_file_deleted_at", columnList = "deleted_at")
+})
+@Getter
+@NoArgsConstructor
+public class StoredFile extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_key", unique = true, nullable = false)
+    private String fileKey; // S3 Key (예: "2026/10/19/9f86d0...0a08.png")
+
+    @Column(name = "sha256", length = 64)
+    private String sha256; // 기존 Key는 null
+
+    @Column(name = "file_size")
+    private Long size; // 업로드 시 크기 (byte, 알 수 없으면 null)
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount; // DB에 저장된 URL 중 이 파일을 가리키는 개수 (기존 Key는 항상 0)
+
+    @Column(name = "last_uploaded_at", nullable = false)
+    private LocalDateTime lastUploadedAt; // 마지막 업로드(중복 업로드 포함) 시각 - 저장 전 삭제 방지용
+
+    @Column(nullable = false)
+    private boolean deleted; // S3에서 삭제됨 (같은 내용을 다시 올리면 false로 돌아옴)
+
+    private LocalDateTime deletedAt;
+
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt; // 정합성 점검에서 S3 목록에 마지막으로 보인 시각
+
+    public StoredFile(String fileKey, String sha256) {
+        this(fileKey, sha256, null, null, LocalDateTime.now());
+    }
+
+    public StoredFile(String fileKey, String sha256, Long size, String contentType, LocalDateTime uploadedAt) {
+        this.fileKey = fileKey;
+        this.sha256 = sha256;
+        this.size = size;
+        this.contentType = contentType;
+        this.refCount = 0;
+        this.lastUploadedAt = uploadedAt;
+    }
+
+    // 참조 카운트는 StoredFileRepository.increaseRefCount/decreaseRefCount로만 변경 (동시 수정 시 값 유실 방지)
+}
@@ -0,0 +1,67 @@
+package com.web.coreclass.global.s3.image;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드된 파일의 실제 포맷 (확장자/Content-Type이 아닌 파일 앞부분의 매직 바이트로 판별)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageFormat {
+    JPEG("jpg", "image/jpeg", true),
+    PNG("png", "image/png", true),
+    GIF("gif", "image/gif", false),
+    WEBP("webp", "image/webp", false);
+
+    // 포맷 판별에 필요한 앞부분 길이 (WEBP의 "WEBP"가 8~11번째 바이트)
+    public static final int MAGIC_BYTES = 12;
+
+    private final String extension;   // 저장 시 사용할 확장자
+    private final String contentType; // S3에 저장할 Content-Type
+    private final boolean resizable;  // JDK(ImageIO)만으로 리사이즈/재인코딩 가능한 포맷인지
+
+    /**
+     * 파일 앞부분(매직 바이트)으로 포맷 판별
+     * @param data (파일 전체 또는 앞부분 최소 MAGIC_BYTES바이트)
+     * @return ImageFormat (이미지가 아니거나 알 수 없는 포맷이면 null)
+     */
+    public static ImageFormat detect(byte[] data) {
+        if (data == null || data.length < MAGIC_BYTES) {
+            return null;
+        }
+        // JPEG: FF D8 FF
+        if ((data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        // PNG: 89 50 4E 47 0D 0A 1A 0A
+        if ((data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G'
+                && data[4] == 0x0D && data[5] == 0x0A && data[6] == 0x1A && data[7] == 0x0A) {
+            return PNG;
+        }
+        // GIF: "GIF87a" / "GIF89a"
+        if (data[0] == 'G' && data[1] == 'I' && data[2] == 'F' && data[3] == '8'
+                && (data[4] == '7' || data[4] == '9') && data[5] == 'a') {
+            return GIF;
+        }
+        // WEBP: "RIFF" ???? "WEBP"
+        if (data[0] == 'R' && data[1] == 'I' && data[2] == 'F' && data[3] == 'F'
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return WEBP;
+        }
+        return null;
+    }
+
+    /**
+     * Content-Type으로 포맷 찾기 (Presigned URL 발급 시 사용)
+     * @return ImageFormat (지원하지 않는 형식이면 null)
+     */
+    public static ImageFormat fromContentType(String contentType) {
+        for (ImageFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,409 @@
+package com.web.coreclass.global.s3.image;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 업로드 이미지 가공 (JDK만 사용)
+ * 1. 메타데이터(EXIF/GPS, XMP, IPTC, 텍스트 청크) 제거 - 픽셀은 건드리지 않는 무손실 처리
+ * 2. 리사이즈 버전(ImageVariant) 생성 - 별도의 제한된 워커 스레드에서 처리
+ */
+@Slf4j
+@Component
+public class ImageProcessor {
+
+    private static final int WORKER_THREADS = 2;     // 리사이즈 동시 처리 개수 (CPU/메모리 보호)
+    private static final int WORKER_QUEUE_SIZE = 32; // 대기열이 가득 차면 거절 (호출 스레드에서 디코딩하지 않음)
+    private static final float JPEG_QUALITY = 0.85f;
+    // 디코딩할 최대 픽셀 수 (작은 파일이 거대한 해상도를 선언하는 "픽셀 폭탄" 방지, 4천만 = 약 160MB ARGB)
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ExecutorService variantWorker = new ThreadPoolExecutor(
+            WORKER_THREADS, WORKER_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(WORKER_QUEUE_SIZE),
+            namedThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    @PreDestroy
+    public void shutdown() {
+        variantWorker.shutdown();
+    }
+
+    /**
+     * (1) 메타데이터 제거
+     * JPEG: APP1(EXIF/XMP), APP13(IPTC), COM 등 제거 (JFIF, ICC, Adobe 세그먼트는 색 재현에 필요해서 유지)
+     *       단, 회전 정보(Orientation)는 사진이 눕지 않도록 최소한의 EXIF로 다시 넣어줍니다.
+     * PNG : tEXt, zTXt, iTXt, tIME, eXIf 청크 제거
+     * @throws IllegalArgumentException (구조가 깨져서 메타데이터를 확실히 지울 수 없는 파일 - 원본을 그대로 저장하지 않도록 거절)
+     */
+    public byte[] stripMetadata(byte[] data, ImageFormat format) {
+        try {
+            return switch (format) {
+                case JPEG -> stripJpeg(data);
+                case PNG -> stripPng(data);
+                default -> data;
+            };
+        } catch (RuntimeException e) {
+            // 구조가 깨진 파일은 어디에 EXIF/GPS가 숨어 있는지 알 수 없으므로 업로드 자체를 거절
+            log.warn("이미지 메타데이터 제거 실패 ({}), 업로드를 거절합니다.", format, e);
+            throw new IllegalArgumentException("이미지 파일 구조가 올바르지 않습니다.", e);
+        }
+    }
+
+    /**
+     * (2) 리사이즈 버전 생성을 워커에 맡김 (결과는 sink로 전달)
+     * 디코딩에 실패하면 메타데이터가 제거된 원본을 모든 버전에 그대로 사용해서 URL이 깨지지 않게 합니다.
+     * @param strippedData (메타데이터가 제거된 원본)
+     * @param sink (버전별 결과를 저장할 콜백, 예: S3 업로드)
+     */
+    public void createVariantsAsync(byte[] strippedData, ImageFormat format, BiConsumer<ImageVariant, byte[]> sink) {
+        try {
+            variantWorker.execute(() -> deliver(createVariants(strippedData, format), sink));
+        } catch (RejectedExecutionException e) {
+            // 워커가 밀려 있음: 호출 스레드(요청/S3 응답 스레드)에서 디코딩하지 않고 원본을 모든 버전에 사용
+            log.warn("이미지 워커 대기열이 가득 차서 리사이즈를 생략합니다 ({}), 원본을 모든 버전에 사용합니다.", format);
+            Thread.ofVirtual().name("image-variant-fallback").start(() -> deliver(originalVariants(strippedData), sink));
+        }
+    }
+
+    /**
+     * 임의 작업을 이미지 워커에서 실행 (예: S3에 직접 업로드된 이미지 후처리)
+     * @throws ImageWorkerBusyException (대기열이 가득 참 - 잠시 후 다시 시도)
+     */
+    public void execute(Runnable task) {
+        try {
+            variantWorker.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("이미지 워커 대기열이 가득 차서 후처리 요청을 거절합니다.");
+            throw new ImageWorkerBusyException("이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private void deliver(Map<ImageVariant, byte[]> variants, BiConsumer<ImageVariant, byte[]> sink) {
+        variants.forEach((variant, bytes) -> {
+            try {
+                sink.accept(variant, bytes);
+            } catch (RuntimeException e) {
+                log.error("이미지 리사이즈 버전 저장 실패: {}", variant, e);
+            }
+        });
+    }
+
+    // 리사이즈하지 못한 경우 모든 버전에 원본을 그대로 사용 (URL이 깨지지 않도록)
+    private static Map<ImageVariant, byte[]> originalVariants(byte[] data) {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            variants.put(variant, data);
+        }
+        return variants;
+    }
+
+    /**
+     * 리사이즈 버전 생성 (동기)
+     */
+    public Map<ImageVariant, byte[]> createVariants(byte[] strippedData, ImageFormat format) {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        try {
+            BufferedImage source = decode(strippedData, format);
+            BufferedImage oriented = applyOrientation(source, format == ImageFormat.JPEG ? readJpegOrientation(strippedData) : 1);
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage resized = resize(oriented, variant.getMaxWidth(), format);
+                variants.put(variant, encode(resized, format));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 리사이즈 실패 ({}), 원본을 모든 버전에 사용합니다.", format, e);
+            return originalVariants(strippedData);
+        }
+        return variants;
+    }
+
+    // --- Helper Methods (Resize) ---
+
+    // 헤더의 가로/세로부터 읽어서 MAX_PIXELS를 넘으면 픽셀을 디코딩하지 않고 실패
+    private BufferedImage decode(byte[] data, ImageFormat format) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("ImageIO가 읽을 수 없는 이미지입니다: " + format);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new IOException("픽셀 수가 너무 많습니다: " + reader.getWidth(0) + "x" + reader.getHeight(0));
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 비율 유지 축소 (한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 여러 단계로 축소)
+    private BufferedImage resize(BufferedImage source, int maxWidth, ImageFormat format) {
+        int imageType = format == ImageFormat.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, imageType);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    // EXIF Orientation(1~8) 값대로 픽셀을 실제로 회전/반전
+    private BufferedImage applyOrientation(BufferedImage source, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        boolean swap = orientation >= 5; // 5~8은 가로/세로가 바뀜
+
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { t.translate(w, 0); t.scale(-1, 1); }             // 좌우 반전
+            case 3 -> { t.translate(w, h); t.rotate(Math.PI); }          // 180도
+            case 4 -> { t.translate(0, h); t.scale(1, -1); }             // 상하 반전
+            case 5 -> { t.rotate(-Math.PI / 2); t.scale(-1, 1); }        // transpose
+            case 6 -> { t.translate(h, 0); t.rotate(Math.PI / 2); }      // 시계 방향 90도
+            case 7 -> { t.translate(h, w); t.scale(-1, -1); t.rotate(-Math.PI / 2); t.scale(-1, 1); } // transverse
+            case 8 -> { t.translate(0, w); t.rotate(3 * Math.PI / 2); }  // 반시계 방향 90도
+            default -> { }
+        }
+
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage rotated = new BufferedImage(swap ? h : w, swap ? w : h, type);
+        Graphics2D g = rotated.createGraphics();
+        g.drawImage(source, t, null);
+        g.dispose();
+        return rotated;
+    }
+
+    private byte[] encode(BufferedImage image, ImageFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format == ImageFormat.PNG) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        // JPEG은 품질을 지정해서 저장 (ImageIO 기본값 0.75는 로고 글자가 뭉개짐)
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // --- Helper Methods (JPEG) ---
+
+    private byte[] stripJpeg(byte[] data) {
+        int orientation = readJpegOrientation(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(0xFF);
+        out.write(0xD8); // SOI
+
+        boolean orientationWritten = orientation <= 1;
+        int pos = 2;
+        while (pos + 4 <= data.length) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                throw new IllegalStateException("JPEG 세그먼트 구조가 올바르지 않습니다. pos=" + pos);
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xFF) { // 패딩 바이트
+                pos++;
+                continue;
+            }
+            if (marker == 0xDA) { // SOS: 이후는 압축 데이터이므로 그대로 복사
+                if (!orientationWritten) {
+                    writeOrientationSegment(out, orientation);
+                }
+                out.write(data, pos, data.length - pos);
+                return out.toByteArray();
+            }
+            int segmentLength = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            int segmentEnd = pos + 2 + segmentLength;
+            if (segmentLength < 2 || segmentEnd > data.length) {
+                throw new IllegalStateException("JPEG 세그먼트 길이가 파일 크기를 넘습니다. pos=" + pos);
+            }
+
+            // JFIF(APP0) 바로 뒤에 회전 정보 EXIF를 넣어야 하므로, APP0가 아니면 먼저 써줌
+            if (!orientationWritten && marker != 0xE0) {
+                writeOrientationSegment(out, orientation);
+                orientationWritten = true;
+            }
+            if (keepJpegSegment(marker)) {
+                out.write(data, pos, segmentEnd - pos);
+            }
+            pos = segmentEnd;
+        }
+        throw new IllegalStateException("JPEG SOS 세그먼트를 찾을 수 없습니다.");
+    }
+
+    // 유지할 세그먼트: APP0(JFIF), APP2(ICC 색 프로파일), APP14(Adobe 색 변환), APPn/COM이 아닌 모든 세그먼트
+    private boolean keepJpegSegment(int marker) {
+        if (marker == 0xFE) { // COM
+            return false;
+        }
+        if (marker >= 0xE0 && marker <= 0xEF) {
+            return marker == 0xE0 || marker == 0xE2 || marker == 0xEE;
+        }
+        return true;
+    }
+
+    // EXIF(APP1)에서 Orientation(0x0112) 값 읽기 (없으면 1)
+    private int readJpegOrientation(byte[] data) {
+        int pos = 2;
+        while (pos + 4 <= data.length && (data[pos] & 0xFF) == 0xFF) {
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xDA) {
+                break;
+            }
+            int segmentLength = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            int body = pos + 4;
+            if (marker == 0xE1 && segmentLength >= 16 && body + 6 <= data.length
+                    && data[body] == 'E' && data[body + 1] == 'x' && data[body + 2] == 'i' && data[body + 3] == 'f') {
+                return readTiffOrientation(data, body + 6, Math.min(data.length, pos + 2 + segmentLength));
+            }
+            pos += 2 + segmentLength;
+        }
+        return 1;
+    }
+
+    // 위치 계산은 long으로 (IFD offset은 4byte 부호 없는 값이라 int로 바꾸면 음수가 될 수 있음), 범위를 벗어나면 1
+    private int readTiffOrientation(byte[] data, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = data[tiff] == 'I';
+        long ifd = tiff + readUnsigned(data, tiff + 4, 4, littleEndian);
+        if (ifd + 2 > end) {
+            return 1;
+        }
+        long entries = readUnsigned(data, (int) ifd, 2, littleEndian);
+        for (long i = 0; i < entries; i++) {
+            long entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readUnsigned(data, (int) entry, 2, littleEndian) == 0x0112) {
+                long orientation = readUnsigned(data, (int) entry + 8, 2, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? (int) orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private long readUnsigned(byte[] data, int offset, int length, boolean littleEndian) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int b = data[offset + (littleEndian ? length - 1 - i : i)] & 0xFF;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    // Orientation 태그 하나만 들어있는 최소 EXIF(APP1) 세그먼트 작성 (Big Endian)
+    private void writeOrientationSegment(ByteArrayOutputStream out, int orientation) {
+        byte[] segment = {
+                (byte) 0xFF, (byte) 0xE1, 0x00, 0x22,       // APP1, 길이 34
+                'E', 'x', 'i', 'f', 0x00, 0x00,             // Exif 헤더
+                'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08, // TIFF 헤더 (IFD0 offset = 8)
+                0x00, 0x01,                                 // 엔트리 1개
+                0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, // Orientation, SHORT, count 1
+                0x00, (byte) orientation, 0x00, 0x00,        // 값
+                0x00, 0x00, 0x00, 0x00                      // 다음 IFD 없음
+        };
+        out.write(segment, 0, segment.length);
+    }
+
+    // --- Helper Methods (PNG) ---
+
+    private byte[] stripPng(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        out.write(data, 0, 8); // 시그니처
+
+        int pos = 8;
+        while (pos + 12 <= data.length) {
+            long length = readUnsigned(data, pos, 4, false);
+            long chunkEnd = pos + 12L + length; // length(4) + type(4) + data + crc(4), int로 계산하면 넘칠 수 있음
+            if (chunkEnd > data.length) {
+                throw new IllegalStateException("PNG 청크 길이가 파일 크기를 넘습니다. pos=" + pos);
+            }
+            String type = new String(data, pos + 4, 4, StandardCharsets.US_ASCII);
+            if (!isPngMetadataChunk(type)) {
+                out.write(data, pos, (int) chunkEnd - pos);
+            }
+            if (type.equals("IEND")) {
+                break;
+            }
+            pos = (int) chunkEnd;
+        }
+        return out.toByteArray();
+    }
+
+    private boolean isPngMetadataChunk(String type) {
+        return switch (type) {
+            case "tEXt", "zTXt", "iTXt", "tIME", "eXIf" -> true;
+            default -> false;
+        };
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
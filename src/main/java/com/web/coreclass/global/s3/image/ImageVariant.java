@@ -0,0 +1,74 @@
+package com.web.coreclass.global.s3.image;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 이미지의 리사이즈 버전 (원본 Key에서 파생된 Key로 저장)
+ * 예: "9f86...0a08.jpg" -> "9f86...0a08_thumb.jpg"
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    THUMBNAIL("thumb", 320),  // 목록 썸네일
+    CARD("card", 960),        // 카드/배너
+    FULL("full", 1920);       // 상세 화면용 (원본 해상도 상한)
+
+    private final String suffix;
+    private final int maxWidth; // 이 너비를 넘으면 비율을 유지하며 축소 (확대는 하지 않음)
+
+    // 리사이즈 버전을 가진 원본 파일명 패턴 (파이프라인을 거친 이미지만 해당)
+    // SHA-256.확장자 (내용 기반 Key) 또는 UUID.확장자 (내용 기반 Key 도입 전)
+    private static final Pattern VARIANT_SOURCE = Pattern.compile(
+            "([0-9a-f]{64}|[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12})\\.(jpg|png)");
+
+    /**
+     * 해당 Key(또는 URL)가 리사이즈 버전을 가진 원본인지 확인
+     * (파이프라인 도입 전 업로드된 파일, 외부 URL, GIF 등은 false)
+     */
+    public static boolean supports(String keyOrUrl) {
+        if (keyOrUrl == null || keyOrUrl.isEmpty()) {
+            return false;
+        }
+        String fileName = keyOrUrl.substring(keyOrUrl.lastIndexOf('/') + 1);
+        return VARIANT_SOURCE.matcher(fileName).matches();
+    }
+
+    /**
+     * 원본 Key(또는 URL) -> 이 버전의 Key(또는 URL)
+     * 예: ".../uuid.png" -> ".../uuid_thumb.png"
+     */
+    public String keyOf(String originalKey) {
+        int dot = originalKey.lastIndexOf('.');
+        return originalKey.substring(0, dot) + "_" + suffix + originalKey.substring(dot);
+    }
+
+    /**
+     * 리사이즈 버전 Key -> 원본 Key (리사이즈 버전 Key가 아니면 null)
+     * 예: "uuid_thumb.png" -> "uuid.png"
+     */
+    public static String originalKeyOf(String variantKey) {
+        int dot = variantKey.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String base = variantKey.substring(0, dot);
+        for (ImageVariant variant : values()) {
+            String marker = "_" + variant.suffix;
+            if (base.endsWith(marker)) {
+                String originalKey = base.substring(0, base.length() - marker.length()) + variantKey.substring(dot);
+                return supports(originalKey) ? originalKey : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * DTO용: 리사이즈 버전이 있는 이미지면 이 버전의 URL을, 아니면 원래 URL을 그대로 반환
+     */
+    public String urlOf(String originalUrl) {
+        return supports(originalUrl) ? keyOf(originalUrl) : originalUrl;
+    }
+}
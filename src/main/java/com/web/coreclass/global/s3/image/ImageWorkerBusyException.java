@@ -0,0 +1,16 @@
+package com.web.coreclass.global.s3.image;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 이미지 워커가 바쁨 (리사이즈 대기열이 가득 참)
+ * 잠시 후 다시 시도하면 되는 실패라서 503으로 응답합니다. (같은 요청을 다시 보내도 안전)
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImageWorkerBusyException extends IllegalStateException {
+
+    public ImageWorkerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.web.coreclass.global.s3.repository;
+
+import com.web.coreclass.global.s3.entity.CleanupKeyResult;
+import com.web.coreclass.global.s3.entity.CleanupRunKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CleanupRunKeyRepository extends JpaRepository<CleanupRunKey, Long> {
+
+    Page<CleanupRunKey> findAllByRunIdAndResult(Long runId, CleanupKeyResult result, Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package com.web.coreclass.global.s3.repository;
+
+import com.web.coreclass.global.s3.entity.CleanupKind;
+import com.web.coreclass.global.s3.entity.CleanupRun;
+import com.web.coreclass.global.s3.entity.CleanupStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CleanupRunRepository extends JpaRepository<CleanupRun, Long> {
+
+    // 중간에 멈춘 실행 찾기 (이어서 진행용)
+    Optional<CleanupRun> findFirstByKindAndStatusAndDryRunOrderByIdDesc(CleanupKind kind, CleanupStatus status, boolean dryRun);
+
+    // 관리자 화면용: 최근 실행 목록
+    List<CleanupRun> findTop20ByOrderByIdDesc();
+}
@@ -0,0 +1,27 @@
+package com.web.coreclass.global.s3.repository;
+
+import com.web.coreclass.global.s3.entity.MultipartUploadPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface MultipartUploadPartRepository extends JpaRepository<MultipartUploadPart, Long> {
+
+    List<MultipartUploadPart> findAllByUploadIdOrderByPartNumber(String uploadId);
+
+    // 이어 올리기: fromPartNumber번부터는 다시 받으므로 기록 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MultipartUploadPart p WHERE p.uploadId = :uploadId AND p.partNumber >= :fromPartNumber")
+    int deleteFrom(@Param("uploadId") String uploadId, @Param("fromPartNumber") int fromPartNumber);
+
+    // 완료/취소된 업로드의 조각 기록 정리
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MultipartUploadPart p WHERE p.uploadId = :uploadId")
+    int deleteAllByUploadId(@Param("uploadId") String uploadId);
+}
@@ -0,0 +1,48 @@
+package com.web.coreclass.global.s3.repository;
+
+import com.web.coreclass.global.s3.entity.MultipartUpload;
+import com.web.coreclass.global.s3.entity.MultipartUploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 업로드 API는 트랜잭션 밖이므로 변경 쿼리마다 자체 트랜잭션 사용 (조각 업로드 중에는 DB 연결을 잡지 않음)
+public interface MultipartUploadRepository extends JpaRepository<MultipartUpload, String> {
+
+    // 상태 변경 (from 상태일 때만 -> 완료/취소가 동시에 일어나도 한 번만 반영)
+    @Transactional
+    @Modifying
+    @Query("UPDATE MultipartUpload u SET u.status = :to, u.updatedAt = :now WHERE u.id = :id AND u.status = :from")
+    int changeStatus(@Param("id") String id, @Param("from") MultipartUploadStatus from,
+                     @Param("to") MultipartUploadStatus to, @Param("now") LocalDateTime now);
+
+    // 본문 받기 점유 (받는 요청이 없거나 점유 시간이 지났을 때만 -> 같은 업로드를 동시에 받지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE MultipartUpload u SET u.receiver = :receiver, u.receivingUntil = :until " +
+            "WHERE u.id = :id AND u.status = :status AND (u.receiver IS NULL OR u.receivingUntil < :now)")
+    int claimReceive(@Param("id") String id, @Param("status") MultipartUploadStatus status, @Param("receiver") String receiver,
+                     @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // 점유 연장 (조각을 받을 때마다, 아직 내가 점유하고 있을 때만)
+    @Transactional
+    @Modifying
+    @Query("UPDATE MultipartUpload u SET u.receivingUntil = :until WHERE u.id = :id AND u.receiver = :receiver")
+    int extendReceive(@Param("id") String id, @Param("receiver") String receiver, @Param("until") LocalDateTime until);
+
+    // 점유 해제
+    @Transactional
+    @Modifying
+    @Query("UPDATE MultipartUpload u SET u.receiver = NULL, u.receivingUntil = NULL WHERE u.id = :id AND u.receiver = :receiver")
+    int releaseReceive(@Param("id") String id, @Param("receiver") String receiver);
+
+    // 만료 대상: before 이전에 시작해서 아직 끝나지 않은 업로드
+    @Query("SELECT u FROM MultipartUpload u WHERE u.status = :status AND u.createdAt < :before")
+    List<MultipartUpload> findAllByStatusAndCreatedAtBefore(@Param("status") MultipartUploadStatus status,
+                                                           @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,44 @@
+package com.web.coreclass.global.s3.repository;
+
+import com.web.coreclass.global.s3.entity.S3DeleteOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// 워커는 트랜잭션 밖에서 호출하므로 변경 쿼리마다 자체 트랜잭션 사용 (S3 요청 중에는 DB 연결을 잡지 않음)
+public interface S3DeleteOutboxRepository extends JpaRepository<S3DeleteOutbox, Long> {
+
+    // 지금 시도할 수 있는 예약 (재시도 한도를 넘긴 예약 제외)
+    @Query("SELECT o.id FROM S3DeleteOutbox o WHERE o.nextAttemptAt <= :now AND o.attempts < :maxAttempts ORDER BY o.id")
+    List<Long> findReadyIds(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    // 처리 시작 표시 (아직 아무도 가져가지 않은 행만 -> lockedUntil까지 다른 워커가 가져가지 못함)
+    @Transactional
+    @Modifying
+    @Query("UPDATE S3DeleteOutbox o SET o.claimToken = :token, o.nextAttemptAt = :lockedUntil"
+            + " WHERE o.id IN :ids AND o.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    List<S3DeleteOutbox> findAllByClaimToken(String claimToken);
+
+    // 삭제 완료
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM S3DeleteOutbox o WHERE o.id IN :ids")
+    int deleteAllDone(@Param("ids") Collection<Long> ids);
+
+    // 삭제 실패 -> nextAttemptAt 이후에 다시 시도
+    @Transactional
+    @Modifying
+    @Query("UPDATE S3DeleteOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt,"
+            + " o.lastError = :error, o.claimToken = null WHERE o.id = :id")
+    int retryLater(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+}
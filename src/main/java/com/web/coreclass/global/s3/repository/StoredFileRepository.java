@@ -0,0 +1,115 @@
+package com.web.coreclass.global.s3.repository;
+
+import com.web.coreclass.global.s3.entity.StoredFile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+
+    Optional<StoredFile> findByFileKey(String fileKey);
+
+    // 같은 내용의 파일이 이미 저장된 Key (업로드 날짜가 달라도 기존 Key 재사용)
+    @Query("SELECT f.fileKey FROM StoredFile f WHERE f.sha256 = :sha256")
+    List<String> findFileKeysBySha256(@Param("sha256") String sha256);
+
+    // 중복 업로드 시 "방금 업로드됨" 시각만 갱신 (업로드 API는 트랜잭션 밖이므로 자체 트랜잭션 사용)
+    // 삭제된 파일을 다시 올린 경우면 삭제 표시도 해제
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.lastUploadedAt = :now, f.deleted = false, f.deletedAt = null WHERE f.fileKey = :fileKey")
+    int touch(@Param("fileKey") String fileKey, @Param("now") LocalDateTime now);
+
+    // S3에서 삭제한 파일 표시 (기록은 남김)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.deleted = true, f.deletedAt = :now WHERE f.fileKey IN :fileKeys")
+    int markDeleted(@Param("fileKeys") Collection<String> fileKeys, @Param("now") LocalDateTime now);
+
+    // 참조 카운트 증가/감소는 DB에서 한 번에 (읽고 쓰는 사이에 다른 트랜잭션이 바꾼 값을 덮어쓰지 않도록)
+    // 벌크 UPDATE는 @LastModifiedDate가 적용되지 않으므로 updatedAt도 직접 갱신 (resetRefCounts 기준 시각)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount + :count, f.updatedAt = :now WHERE f.fileKey = :fileKey")
+    int increaseRefCount(@Param("fileKey") String fileKey, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = GREATEST(f.refCount - :count, 0), f.updatedAt = :now WHERE f.fileKey = :fileKey")
+    int decreaseRefCount(@Param("fileKey") String fileKey, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    // 참조가 0이고 유예 시간이 지난 파일만 삭제 표시 (조건 확인과 표시를 한 번에 -> 1이면 이 트랜잭션이 삭제 담당)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.deleted = true, f.deletedAt = :now WHERE f.fileKey = :fileKey"
+            + " AND f.refCount = 0 AND f.deleted = false AND f.lastUploadedAt < :graceLimit")
+    int markDeletedIfUnused(@Param("fileKey") String fileKey, @Param("graceLimit") LocalDateTime graceLimit,
+                            @Param("now") LocalDateTime now);
+
+    // 삭제 표시 되돌리기 (청소에서 S3 삭제에 실패한 파일 -> 다음 청소 때 다시 후보)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.deleted = false, f.deletedAt = null WHERE f.fileKey IN :fileKeys AND f.deleted = true")
+    int unmarkDeleted(@Param("fileKeys") Collection<String> fileKeys);
+
+    // 삭제 예약 뒤에 다시 쓰이게 된 Key (같은 내용이 다시 업로드되어 삭제 표시가 풀렸거나, 참조가 다시 생김)
+    @Query("SELECT f.fileKey FROM StoredFile f WHERE f.fileKey IN :fileKeys AND (f.deleted = false OR f.refCount > 0)")
+    List<String> findRevivedKeys(@Param("fileKeys") Collection<String> fileKeys);
+
+    // 청소 스케줄러용: 참조 카운트가 0이고 유예 시간이 지난 파일 (id 순, afterId 다음부터)
+    @Query("SELECT f FROM StoredFile f WHERE f.id > :afterId AND f.deleted = false AND f.refCount = 0"
+            + " AND f.lastUploadedAt < :before ORDER BY f.id")
+    List<StoredFile> findSweepCandidates(@Param("afterId") long afterId, @Param("before") LocalDateTime before, Pageable pageable);
+
+    // 이미지 캐시 무효화용: since 이후 삭제 표시된 파일 (id 순, afterId 다음부터)
+    @Query("SELECT f FROM StoredFile f WHERE f.id > :afterId AND f.deleted = true AND f.deletedAt > :since ORDER BY f.id")
+    List<StoredFile> findDeletedSince(@Param("afterId") long afterId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    // --- 정합성 점검용 ---
+
+    // 기록이 있는 Key (삭제 표시된 것 포함)
+    @Query("SELECT f.fileKey FROM StoredFile f WHERE f.fileKey IN :fileKeys")
+    List<String> findExistingKeys(@Param("fileKeys") Collection<String> fileKeys);
+
+    // 삭제되지 않은 Key
+    @Query("SELECT f.fileKey FROM StoredFile f WHERE f.fileKey IN :fileKeys AND f.deleted = false")
+    List<String> findActiveKeys(@Param("fileKeys") Collection<String> fileKeys);
+
+    // S3 목록에 보인 파일 표시 (삭제 표시된 파일이 아직 남아 있으면 해제 -> 다음 청소 때 다시 판단)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.lastSeenAt = :now, f.deleted = false, f.deletedAt = null WHERE f.fileKey IN :fileKeys")
+    int markSeen(@Param("fileKeys") Collection<String> fileKeys, @Param("now") LocalDateTime now);
+
+    // 점검 시작(since) 이후 목록에 한 번도 보이지 않은 파일 = S3에 없는 파일 -> 삭제 표시
+    // (점검 도중에 업로드된 파일은 목록에 없을 수 있으므로 제외)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.deleted = true, f.deletedAt = :now WHERE f.deleted = false"
+            + " AND (f.lastSeenAt IS NULL OR f.lastSeenAt < :since) AND f.lastUploadedAt < :since")
+    int markMissing(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    // 참조 카운트가 남아 있는 파일 (실제 참조와 비교용, id 순, afterId 다음부터)
+    @Query("SELECT f FROM StoredFile f WHERE f.id > :afterId AND f.refCount > 0 AND f.deleted = false ORDER BY f.id")
+    List<StoredFile> findRetained(@Param("afterId") long afterId, Pageable pageable);
+
+    // 실제로는 참조되지 않는데 카운트가 남은 파일 -> 0으로 (다음 청소 때 삭제 대상)
+    // (참조 수집(before) 이후에 카운트가 바뀐 파일은 수집 결과에 없을 수 있으므로 제외)
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = 0 WHERE f.fileKey IN :fileKeys AND f.updatedAt < :before")
+    int resetRefCounts(@Param("fileKeys") Collection<String> fileKeys, @Param("before") LocalDateTime before);
+
+    // Key 이전(최상위 -> 날짜 접두사)
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.fileKey = :newKey WHERE f.fileKey = :oldKey")
+    int renameKey(@Param("oldKey") String oldKey, @Param("newKey") String newKey);
+}
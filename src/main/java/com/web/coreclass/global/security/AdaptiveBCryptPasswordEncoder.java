@@ -0,0 +1,73 @@
+package com.web.coreclass.global.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 서버 성능에 맞춘 비용(cost)의 BCrypt
+ * - 시작 시 최소 비용으로 해시를 여러 번 만들어 중앙값을 재고, 목표 시간 안에 끝나는 가장 큰 비용을 고름 (비용 +1 = 시간 2배)
+ * - 저장된 해시의 비용이 지금 비용보다 낮을 때만 upgradeEncoding() = true
+ *   -> 로그인 성공 시 DaoAuthenticationProvider가 새 비용으로 다시 해시해서 저장 (AdminDetailService.updatePassword)
+ *   (재시작마다 측정값이 흔들려도 이미 강한 해시를 약하게 바꾸지 않음 - 비용은 올라가기만 함)
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // 비용 보정 시 측정 횟수 (중앙값 사용)
+    private static final int CALIBRATION_SAMPLES = 5;
+
+    private final int cost;
+
+    public AdaptiveBCryptPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    /**
+     * @param targetLatency (해시 1번에 쓸 시간 목표)
+     * @param minCost (이보다 낮추지 않음 - 보안 하한)
+     * @param maxCost (이보다 높이지 않음)
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrated(Duration targetLatency, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration"); // 워밍업 (JIT)
+
+        // 한 번만 재면 GC/다른 작업에 따라 크게 흔들리므로 여러 번 재서 중앙값 사용
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long minCostNanos = Math.max(1, samples[samples.length / 2]);
+
+        int cost = minCost;
+        while (cost < maxCost && minCostNanos << (cost + 1 - minCost) <= targetLatency.toNanos()) {
+            cost++;
+        }
+        log.info("🔐 BCrypt 비용 {} (비용 {}: {}ms, 목표 {}ms)",
+                cost, minCost, Duration.ofNanos(minCostNanos).toMillis(), targetLatency.toMillis());
+        return new AdaptiveBCryptPasswordEncoder(cost);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // "$2a$10$..." 형식 (비용은 4~5번째 글자) - 지금 비용보다 낮을 때만 다시 해시 (높은 비용은 그대로 둠)
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.web.coreclass.global.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 로그인 요청이 너무 많음 (비밀번호 확인 대기열이 가득 참)
+ * 잠시 후 다시 시도하면 되는 실패라서 503으로 응답합니다.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LoginBusyException extends IllegalStateException {
+
+    public LoginBusyException(String message) {
+        super(message);
+    }
+}
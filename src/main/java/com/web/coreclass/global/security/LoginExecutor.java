@@ -0,0 +1,74 @@
+package com.web.coreclass.global.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 비밀번호 확인(BCrypt) 전용 스레드 풀
+ * BCrypt는 일부러 CPU를 많이 쓰므로, 로그인 요청이 몰려도 공개 조회 API가 쓸 CPU가 남도록 분리합니다.
+ * - 스레드 수 = CPU 코어 수 x security.login.cpu-fraction (최소 1개) -> 로그인이 쓰는 CPU 상한
+ * - 대기열이 가득 차면 기다리지 않고 바로 실패 (LoginBusyException -> 503)
+ * 요청 스레드는 결과를 기다리기만 하고, 인증 실패(AuthenticationException)는 그대로 던집니다.
+ */
+@Slf4j
+@Component
+public class LoginExecutor {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+
+    public LoginExecutor(AuthenticationManager authenticationManager,
+                         @Value("${security.login.cpu-fraction:0.25}") double cpuFraction,
+                         @Value("${security.login.queue-capacity:16}") int queueCapacity) {
+        this.authenticationManager = authenticationManager;
+        int threads = Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * cpuFraction));
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("login-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("🔐 로그인 비밀번호 확인 스레드 {}개 (대기열 {}개)", threads, queueCapacity);
+    }
+
+    /**
+     * @return Authentication (인증 성공)
+     * @throws LoginBusyException (대기열이 가득 참)
+     */
+    public Authentication authenticate(Authentication request) {
+        Future<Authentication> future;
+        try {
+            future = executor.submit(() -> authenticationManager.authenticate(request));
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ 로그인 요청이 너무 많아 거절합니다. (대기 {}개)", executor.getQueue().size());
+            throw new LoginBusyException("로그인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause; // 인증 실패 등
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginBusyException("로그인 처리 중 중단되었습니다.");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,29 @@
+package com.web.coreclass.global.storage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 파일 저장소 비동기 버전 (업로드/삭제/목록 요청을 보내고 결과는 CompletableFuture로 받음)
+ * 응답을 기다리는 동안 호출한 스레드를 잡고 있지 않으므로, 요청을 여러 개 동시에 보내고 조합할 때 사용합니다.
+ * - storage.s3.client=async: S3AsyncObjectStorage (AWS SDK S3AsyncClient, 응답 대기 중 스레드 사용 없음)
+ * - 그 외 (기본값): BlockingAsyncObjectStorage (ObjectStorage를 가상 스레드에서 호출)
+ * 동작(예외 포함)은 ObjectStorage와 같고, 예외는 Future의 실패로 전달됩니다.
+ */
+public interface AsyncObjectStorage {
+
+    CompletableFuture<Void> put(String key, byte[] data, String contentType);
+
+    CompletableFuture<Boolean> exists(String key);
+
+    CompletableFuture<Void> delete(String key);
+
+    /**
+     * 다건 삭제 (MAX_KEYS개씩 나눠서 동시에 요청)
+     * @return Map (실패한 Key -> 실패 사유, 모두 성공하면 빈 Map)
+     */
+    CompletableFuture<Map<String, String>> deleteAll(List<String> keys);
+
+    CompletableFuture<ObjectListing> list(String prefix, String delimiter, String continuationToken);
+}
@@ -0,0 +1,51 @@
+package com.web.coreclass.global.storage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ObjectStorage(동기)를 가상 스레드에서 호출하는 비동기 저장소 (로컬 저장소 / 동기 S3 클라이언트 사용 시)
+ * 요청마다 가상 스레드 하나가 응답을 기다리지만, 플랫폼 스레드는 잡고 있지 않습니다.
+ */
+public class BlockingAsyncObjectStorage implements AsyncObjectStorage, AutoCloseable {
+
+    private final ObjectStorage objectStorage;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BlockingAsyncObjectStorage(ObjectStorage objectStorage) {
+        this.objectStorage = objectStorage;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] data, String contentType) {
+        return CompletableFuture.runAsync(() -> objectStorage.put(key, data, contentType), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String key) {
+        return CompletableFuture.supplyAsync(() -> objectStorage.exists(key), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return CompletableFuture.runAsync(() -> objectStorage.delete(key), executor);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> deleteAll(List<String> keys) {
+        return CompletableFuture.supplyAsync(() -> objectStorage.deleteAll(keys), executor);
+    }
+
+    @Override
+    public CompletableFuture<ObjectListing> list(String prefix, String delimiter, String continuationToken) {
+        return CompletableFuture.supplyAsync(() -> objectStorage.list(prefix, delimiter, continuationToken), executor);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.web.coreclass.global.storage;
+
+/**
+ * 저장하려는 내용의 SHA-256이 요청한 값과 다름 (저장되지 않음)
+ */
+public class ChecksumMismatchException extends IllegalArgumentException {
+
+    public ChecksumMismatchException(String key) {
+        super("SHA-256 값이 파일 내용과 다릅니다: " + key);
+    }
+}
@@ -0,0 +1,304 @@
+package com.web.coreclass.global.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 저장소 파일의 로컬 디스크 캐시 (크기 제한 + LRU)
+ * 이미지 프록시(/img/**)가 같은 파일을 매번 S3에서 받아오지 않도록 디스크에 보관합니다.
+ * - 전체 크기가 image-cache.max-size를 넘으면 가장 오래 사용하지 않은 파일부터 삭제
+ * - 같은 Key를 동시에 요청해도 저장소에서는 한 번만 받아옴 (나머지 요청은 그 결과를 기다림)
+ * - 저장소에서 스트림으로 받아 디스크에 바로 씀 (image-cache.max-object-size를 넘는 파일은 받다가 중단)
+ * - 파일 이름은 "SHA-256(Key)_SHA-256(내용)" -> 서버를 다시 시작해도 디렉터리를 읽어서 목록 복원
+ * 저장소에서 파일이 바뀌거나 삭제되면 evict()로 지웁니다. (이 서버의 캐시만 해당)
+ */
+@Slf4j
+@Component
+public class DiskLruCache {
+
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}_[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectStorage objectStorage;
+    private final Path dir;
+    private final long maxBytes;
+    private final long maxObjectBytes; // 파일 1개 상한 (넘으면 캐시하지 않고 ObjectTooLargeException)
+
+    // SHA-256(Key) -> 캐시 파일 (접근 순서 유지 = LRU, lock으로 보호)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Object lock = new Object();
+    private long totalBytes;
+
+    // 받아오는 중인 Key (같은 Key의 동시 요청은 이 결과를 기다림)
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    public DiskLruCache(ObjectStorage objectStorage,
+                        @Value("${image-cache.dir:./image-cache}") String dir,
+                        @Value("${image-cache.max-size:1GB}") DataSize maxSize,
+                        @Value("${image-cache.max-object-size:20MB}") DataSize maxObjectSize) {
+        this.objectStorage = objectStorage;
+        this.dir = Path.of(dir).toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+        this.maxObjectBytes = maxObjectSize.toBytes();
+        restore();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final Path path;
+        private final long size;
+        private final String sha256; // 내용의 SHA-256 (ETag로 사용)
+    }
+
+    /**
+     * 캐시된 파일 반환 (없으면 저장소에서 받아와서 저장)
+     * @throws ObjectNotFoundException (저장소에 없는 파일)
+     * @throws ObjectTooLargeException (파일 1개 상한을 넘는 파일)
+     */
+    public Entry get(String key) {
+        String id = idOf(key);
+        Entry cached = lookup(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 1. 이미 받아오는 중이면 그 결과를 기다림
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = loading.putIfAbsent(id, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        // 2. 직접 받아옴 (확인과 등록 사이에 다른 요청이 먼저 끝냈을 수 있으므로 한 번 더 확인)
+        try {
+            Entry entry = lookup(id);
+            if (entry == null) {
+                entry = load(key, id);
+            }
+            mine.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, mine);
+        }
+    }
+
+    /**
+     * 이미 캐시되어 있는지 (저장소 요청 없음)
+     */
+    public boolean contains(String key) {
+        return lookup(idOf(key)) != null;
+    }
+
+    /**
+     * 캐시에서 삭제 (저장소의 파일이 바뀌었거나 삭제된 경우)
+     */
+    public void evict(String key) {
+        Entry removed;
+        synchronized (lock) {
+            removed = entries.remove(idOf(key));
+            if (removed != null) {
+                totalBytes -= removed.size;
+            }
+        }
+        if (removed != null) {
+            deleteQuietly(removed.path);
+        }
+    }
+
+    public long totalBytes() {
+        synchronized (lock) {
+            return totalBytes;
+        }
+    }
+
+    private Entry lookup(String id) {
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(id); // 접근 순서 갱신
+        }
+        if (entry != null && !Files.exists(entry.path)) {
+            // 디스크에서 직접 지워진 경우 -> 다시 받아옴
+            synchronized (lock) {
+                if (entries.remove(id, entry)) {
+                    totalBytes -= entry.size;
+                }
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    // 저장소에서 스트림으로 받아서 SHA-256을 계산하며 임시 파일에 쓴 뒤 이름 바꾸기
+    // (파일 전체를 메모리에 올리지 않고, 쓰는 도중의 파일을 읽지 않도록)
+    private Entry load(String key, String id) {
+        MessageDigest digest = newSha256();
+        Path temp = dir.resolve("." + UUID.randomUUID() + ".tmp");
+        long size = 0;
+        try {
+            try (InputStream in = new DigestInputStream(objectStorage.get(key), digest);
+                 OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxObjectBytes) {
+                        throw new ObjectTooLargeException(key, maxObjectBytes); // 상한을 넘는 순간 중단 (나머지는 받지 않음)
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("이미지 캐시에 저장하지 못했습니다: " + key, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        Path path = dir.resolve(id + "_" + sha256);
+        try {
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("이미지 캐시에 저장하지 못했습니다: " + key, e);
+        }
+
+        Entry entry = new Entry(path, size, sha256);
+        add(id, entry);
+        return entry;
+    }
+
+    // 목록에 추가하고, 크기 제한을 넘으면 가장 오래 사용하지 않은 파일부터 삭제 (방금 추가한 파일은 남김)
+    private void add(String id, Entry entry) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (lock) {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                totalBytes -= previous.size;
+                if (!previous.path.equals(entry.path)) {
+                    evicted.add(previous.path);
+                }
+            }
+            totalBytes += entry.size;
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && entries.size() > 1 && eldest.hasNext()) {
+                Entry victim = eldest.next().getValue();
+                if (victim == entry) {
+                    continue;
+                }
+                eldest.remove();
+                totalBytes -= victim.size;
+                evicted.add(victim.path);
+            }
+        }
+        // 파일 삭제는 lock 밖에서 (전송 중인 요청은 열어둔 파일을 끝까지 읽음)
+        evicted.forEach(DiskLruCache::deleteQuietly);
+    }
+
+    // 서버 시작 시 디렉터리에 남아 있는 캐시 파일로 목록 복원 (수정 시각 순 = 받아온 순서)
+    private void restore() {
+        try {
+            Files.createDirectories(dir);
+            List<Path> files;
+            try (Stream<Path> paths = Files.list(dir)) {
+                files = paths.toList();
+            }
+            List<Path> cached = new ArrayList<>();
+            for (Path file : files) {
+                if (FILE_NAME.matcher(file.getFileName().toString()).matches()) {
+                    cached.add(file);
+                } else {
+                    deleteQuietly(file); // 쓰다 만 임시 파일 등
+                }
+            }
+            cached.sort(Comparator.comparing(DiskLruCache::lastModified));
+            for (Path file : cached) {
+                String[] parts = file.getFileName().toString().split("_");
+                add(parts[0], new Entry(file, Files.size(file), parts[1]));
+            }
+            log.info("🗂️ 이미지 캐시: {} ({}개, {}byte / 최대 {}byte)", dir, entries.size(), totalBytes, maxBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 캐시 디렉터리를 읽을 수 없습니다: " + dir, e);
+        }
+    }
+
+    private static String idOf(String key) {
+        return HexFormat.of().formatHex(newSha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("이미지 캐시 파일 삭제 실패: {}", path, e);
+        }
+    }
+}
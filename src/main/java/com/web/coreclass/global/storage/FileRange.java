@@ -0,0 +1,99 @@
+package com.web.coreclass.global.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * 파일 응답에서 보낼 구간 (Range 요청 처리)
+ * - Range가 없거나 여러 구간(multipart/byteranges)이면 전체 (200)
+ * - 한 구간이면 그 부분만 (206 + Content-Range)
+ * - 형식이 틀렸거나 파일 범위를 벗어나면 416
+ */
+public final class FileRange {
+
+    private final long start;
+    private final long end; // 포함
+
+    private FileRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * 요청의 Range 헤더로 구간 결정 + 상태/길이 헤더 설정
+     * @return FileRange (416을 보냈으면 null -> 본문 없이 끝내면 됨)
+     */
+    public static FileRange resolve(HttpServletRequest request, HttpServletResponse response, long length) {
+        FileRange range = new FileRange(0, length - 1);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    // 시작이 파일 끝 이후면 416, 끝은 파일 마지막 바이트로 자름 (bytes=100- 이 10byte 파일에 오는 경우 등)
+                    long start = ranges.get(0).getRangeStart(length);
+                    long end = Math.min(ranges.get(0).getRangeEnd(length), length - 1);
+                    if (start < 0 || start >= length || start > end) {
+                        return notSatisfiable(response, length);
+                    }
+                    range = new FileRange(start, end);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start + "-" + range.end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                return notSatisfiable(response, length);
+            }
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentLengthLong(range.count());
+        return range;
+    }
+
+    // 416 + 전체 길이 (클라이언트가 올바른 구간으로 다시 요청할 수 있도록)
+    private static FileRange notSatisfiable(HttpServletResponse response, long length) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return null;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    // 끝 위치 (포함하지 않음)
+    public long endExclusive() {
+        return end + 1;
+    }
+
+    public long count() {
+        return end - start + 1;
+    }
+
+    /**
+     * 구간을 FileChannel.transferTo로 전송
+     * (대상이 소켓 채널이 아니면 JDK가 내부 버퍼로 나눠서 복사)
+     */
+    public void transfer(FileChannel channel, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = start;
+        long remaining = count();
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                break; // 그 사이 파일이 잘렸음
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.web.coreclass.global.storage;
+
+import com.web.coreclass.global.s3.S3Keys;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * 로컬 저장소 파일 내려받기 (storage.type=local일 때만 등록)
+ * [GET] /files/{key} (예: /files/2026/10/19/9f86...0a08.png)
+ * - Range 요청 지원 (bytes=0-1023 형식 한 구간, 206 Partial Content)
+ * - Tomcat이 sendfile을 지원하면 파일 경로만 넘겨서 커널이 바로 소켓으로 보냄 (사용자 공간 복사 없음)
+ * - 지원하지 않으면 FileChannel.transferTo로 응답 스트림에 씀
+ */
+@RestController
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalFileController {
+
+    // Tomcat sendfile 요청 속성 (org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalObjectStorage localObjectStorage;
+
+    @GetMapping("/" + S3Keys.LOCAL_FILES_PATH + "**")
+    public void download(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 1. 요청 경로 -> Key (한글 파일명 등은 디코딩)
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = UriUtils.decode(path.substring(S3Keys.LOCAL_FILES_PATH.length() + 1), StandardCharsets.UTF_8);
+
+        Optional<StoredObject> object;
+        try {
+            object = localObjectStorage.head(key);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        if (object.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // 2. 보낼 구간 결정 (Range가 없으면 전체)
+        FileRange range = FileRange.resolve(request, response, object.get().getSize());
+        if (range == null) {
+            return;
+        }
+        response.setContentType(object.get().getContentType());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, object.get().getLastModified().toEpochMilli());
+        if (range.count() == 0) {
+            return;
+        }
+
+        // 3. 파일 내용 전송
+        Path file = localObjectStorage.pathOf(key);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // (A) sendfile: 응답을 마친 뒤 Tomcat이 파일 -> 소켓으로 직접 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.endExclusive());
+            return;
+        }
+
+        // (B) FileChannel.transferTo
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            range.transfer(channel, response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.web.coreclass.global.storage;
+
+import com.web.coreclass.global.s3.S3Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 디스크 저장소 (storage.type=local)
+ * 네트워크 없이 빠르게 동작해서 개발, 서버 한 대 배포, 벤치마크에 사용합니다.
+ * - Key의 '/'는 그대로 하위 디렉터리 (예: root/2026/10/19/9f86...0a08.png)
+ * - 저장은 임시 파일에 FileChannel로 쓴 뒤 이름만 바꿔서, 쓰는 도중의 파일이 조회/목록에 보이지 않음
+ * - 파일은 LocalFileController(/files/**)가 내려줌 (Range 요청 지원)
+ * - Content-Type은 따로 저장하지 않고 확장자로 판단
+ * - 멀티파트 업로드 조각은 root/.multipart/{업로드 ID}/{조각 번호}에 두었다가 완료 시 하나로 합침
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    // 쓰는 중인 임시 파일 접미사 (임시 파일은 '.'으로 시작 -> 목록 조회에서 제외)
+    private static final String TEMP_SUFFIX = ".uploading";
+
+    // 멀티파트 업로드 조각 디렉터리 ('.'으로 시작 -> Key로 접근할 수 없고 목록 조회에서 제외)
+    private static final String MULTIPART_DIR = ".multipart";
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalObjectStorage(@Value("${storage.local.root:./local-storage}") String root,
+                              @Value("${storage.local.base-url:http://localhost:8080}") String baseUrl) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("로컬 저장소 디렉터리를 만들 수 없습니다: " + this.root, e);
+        }
+        log.info("📁 로컬 저장소 사용: {}", this.root);
+    }
+
+    @Override
+    public void put(String key, InputStream in, long contentLength, String contentType, byte[] sha256) {
+        Path target = pathOf(key);
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+
+            // 1. 임시 파일에 쓰기 (스트림 -> FileChannel, contentLength만큼, 체크섬 확인이 필요하면 쓰면서 계산)
+            MessageDigest digest = sha256 != null ? newSha256() : null;
+            InputStream body = digest != null ? new DigestInputStream(in, digest) : in;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(body)) {
+                long written = 0;
+                while (written < contentLength) {
+                    long n = channel.transferFrom(source, written, contentLength - written);
+                    if (n <= 0) {
+                        break;
+                    }
+                    written += n;
+                }
+                if (written != contentLength) {
+                    throw new IOException("파일 길이가 맞지 않습니다: " + written + " / " + contentLength);
+                }
+            }
+            if (digest != null && !MessageDigest.isEqual(digest.digest(), sha256)) {
+                deleteQuietly(temp);
+                throw new ChecksumMismatchException(key);
+            }
+
+            // 2. 이름 바꾸기 (같은 디렉터리 안이라 원자적으로 교체)
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("로컬 저장소에 저장하지 못했습니다: " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> head(String key) {
+        Path path = pathOf(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredObject(key, attributes.size(), contentTypeOf(key),
+                    attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String key) {
+        try {
+            return Files.readAllBytes(pathOf(key));
+        } catch (NoSuchFileException e) {
+            throw new ObjectNotFoundException(key, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] getFirstBytes(String key, int length) {
+        try (InputStream in = Files.newInputStream(pathOf(key))) {
+            return in.readNBytes(length);
+        } catch (NoSuchFileException e) {
+            throw new ObjectNotFoundException(key, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+        try {
+            return Files.newInputStream(pathOf(key));
+        } catch (NoSuchFileException e) {
+            throw new ObjectNotFoundException(key, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        Path source = pathOf(sourceKey);
+        Path target = pathOf(targetKey);
+        if (!Files.isRegularFile(source)) {
+            throw new ObjectNotFoundException(sourceKey);
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("로컬 저장소에서 복사하지 못했습니다: " + sourceKey, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("로컬 저장소에서 삭제하지 못했습니다: " + key, e);
+        }
+    }
+
+    @Override
+    public Map<String, String> deleteAll(List<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        for (String key : keys) {
+            try {
+                delete(key);
+            } catch (RuntimeException e) {
+                failures.put(key, String.valueOf(e.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 디렉터리를 훑어서 Key 오름차순으로 MAX_KEYS개씩 반환
+     * continuationToken은 이전 페이지의 마지막 Key (S3처럼 그 다음 Key부터 조회)
+     * 매 페이지마다 디렉터리를 다시 훑으므로 파일이 아주 많은 경우에는 S3 저장소를 사용하세요.
+     */
+    @Override
+    public ObjectListing list(String prefix, String delimiter, String continuationToken) {
+        String keyPrefix = prefix == null ? "" : prefix;
+        boolean flat = "/".equals(delimiter);
+
+        // prefix의 마지막 '/'까지는 디렉터리 -> 그 아래만 훑음
+        Path start = root.resolve(keyPrefix.substring(0, keyPrefix.lastIndexOf('/') + 1)).normalize();
+        if (!start.startsWith(root) || !Files.isDirectory(start)) {
+            return new ObjectListing(List.of(), null);
+        }
+
+        List<String> keys;
+        try (Stream<Path> paths = flat ? Files.list(start) : Files.walk(start)) {
+            keys = paths.filter(Files::isRegularFile)
+                    .map(this::keyOf)
+                    .filter(key -> key.startsWith(keyPrefix) && !isTemporary(key))
+                    .filter(key -> !flat || key.indexOf('/', keyPrefix.length()) < 0)
+                    .filter(key -> continuationToken == null || key.compareTo(continuationToken) > 0)
+                    .sorted()
+                    .limit(MAX_KEYS + 1L)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // 한 개 더 읽어서 다음 페이지가 있는지 판단
+        boolean truncated = keys.size() > MAX_KEYS;
+        List<String> page = truncated ? keys.subList(0, MAX_KEYS) : keys;
+        List<StoredObject> objects = new ArrayList<>(page.size());
+        for (String key : page) {
+            head(key).ifPresent(object -> objects.add(new StoredObject(key, object.getSize(), null, object.getLastModified())));
+        }
+        return new ObjectListing(objects, truncated ? page.get(page.size() - 1) : null);
+    }
+
+    /**
+     * Key -> 공개 URL (예: "http://localhost:8080/files/2026/10/19/abc.png")
+     */
+    @Override
+    public String urlOf(String key) {
+        return baseUrl + "/" + S3Keys.LOCAL_FILES_PATH + UriUtils.encodePath(key, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        pathOf(key); // Key 검증
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(partsDirOf(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("멀티파트 업로드를 시작하지 못했습니다: " + key, e);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data) {
+        Path dir = partsDirOf(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new IllegalStateException("없는 멀티파트 업로드입니다: " + uploadId);
+        }
+        Path temp = dir.resolve("." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.write(temp, data, StandardOpenOption.CREATE_NEW);
+            Files.move(temp, dir.resolve(Integer.toString(partNumber)), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("조각을 저장하지 못했습니다: " + key + " #" + partNumber, e);
+        }
+        return HexFormat.of().formatHex(newSha256().digest(data));
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, SortedMap<Integer, String> etags) {
+        Path dir = partsDirOf(uploadId);
+        Path target = pathOf(key);
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+
+            // 1. 조각을 번호 순서대로 임시 파일 뒤에 이어 붙임 (FileChannel.transferTo)
+            int expected = 1;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                for (int partNumber : etags.keySet()) {
+                    if (partNumber != expected++) {
+                        throw new IllegalArgumentException("빠진 조각이 있습니다: #" + (expected - 1));
+                    }
+                    try (FileChannel part = FileChannel.open(dir.resolve(Integer.toString(partNumber)), StandardOpenOption.READ)) {
+                        long position = 0;
+                        long size = part.size();
+                        while (position < size) {
+                            position += part.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+
+            // 2. 이름 바꾸기 + 조각 삭제
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            deleteDirectory(dir);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("멀티파트 업로드를 완료하지 못했습니다: " + key, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            deleteDirectory(partsDirOf(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("멀티파트 업로드를 취소하지 못했습니다: " + key, e);
+        }
+    }
+
+    // 업로드 ID는 createMultipartUpload가 만든 UUID만 허용 (경로 조작 방지)
+    private Path partsDirOf(String uploadId) {
+        try {
+            return root.resolve(MULTIPART_DIR).resolve(UUID.fromString(uploadId).toString());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("올바르지 않은 업로드 ID입니다: " + uploadId);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Key -> 실제 파일 경로
+     * 저장소 디렉터리 밖을 가리키는 Key("../", 절대 경로 등)와 숨김 파일 이름은 거부합니다.
+     */
+    public Path pathOf(String key) {
+        if (key == null || key.isEmpty() || key.startsWith("/") || key.contains("\\")) {
+            throw new IllegalArgumentException("올바르지 않은 Key입니다: " + key);
+        }
+        for (String segment : key.split("/", -1)) {
+            if (segment.isEmpty() || segment.startsWith(".")) {
+                throw new IllegalArgumentException("올바르지 않은 Key입니다: " + key);
+            }
+        }
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("올바르지 않은 Key입니다: " + key);
+        }
+        return path;
+    }
+
+    // 확장자로 Content-Type 판단 (모르는 확장자면 application/octet-stream)
+    public String contentTypeOf(String key) {
+        return MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
+
+    private String keyOf(Path path) {
+        return root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    // 임시 파일 또는 '.'으로 시작하는 디렉터리(멀티파트 조각 등) 아래 파일
+    private static boolean isTemporary(String key) {
+        return key.startsWith(".") || key.contains("/.");
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", path, e);
+        }
+    }
+}
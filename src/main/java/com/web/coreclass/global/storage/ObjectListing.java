@@ -0,0 +1,20 @@
+package com.web.coreclass.global.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 목록 조회 1페이지
+ */
+@Getter
+@RequiredArgsConstructor
+public class ObjectListing {
+    private final List<StoredObject> objects;
+    private final String nextContinuationToken; // 마지막 페이지면 null
+
+    public boolean isTruncated() {
+        return nextContinuationToken != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.web.coreclass.global.storage;
+
+/**
+ * 저장소에 파일이 없음 (S3의 NoSuchKey, 로컬의 NoSuchFile에 해당)
+ */
+public class ObjectNotFoundException extends RuntimeException {
+
+    public ObjectNotFoundException(String key) {
+        super("파일을 찾을 수 없습니다: " + key);
+    }
+
+    public ObjectNotFoundException(String key, Throwable cause) {
+        super("파일을 찾을 수 없습니다: " + key, cause);
+    }
+}
@@ -0,0 +1,125 @@
+package com.web.coreclass.global.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * 파일 저장소 (업로드/조회/삭제/목록)
+ * 업로드, 청소, Key 이전 작업은 이 인터페이스만 사용하고, 실제 저장 위치는 설정으로 고릅니다.
+ * - storage.type=s3 (기본값): S3ObjectStorage
+ * - storage.type=local: LocalObjectStorage (로컬 디스크, 개발/단일 서버/벤치마크용)
+ * Key 규칙(S3Keys)은 두 저장소가 같습니다. ("2026/10/19/9f86...0a08.png"처럼 '/'로 구분)
+ */
+public interface ObjectStorage {
+
+    // 목록 조회 1페이지 / 다건 삭제 1번에 처리하는 최대 Key 개수 (S3 제한과 같게 맞춤)
+    int MAX_KEYS = 1000;
+
+    /**
+     * 파일 저장 (같은 Key가 있으면 덮어씀)
+     * @param contentLength (스트림 길이 - 미리 알려줘서 저장소가 전체를 버퍼링하지 않도록 함)
+     * @param sha256 (null이 아니면 받은 내용과 비교 - 다르면 저장하지 않고 ChecksumMismatchException)
+     */
+    void put(String key, InputStream in, long contentLength, String contentType, byte[] sha256);
+
+    default void put(String key, InputStream in, long contentLength, String contentType) {
+        put(key, in, contentLength, contentType, null);
+    }
+
+    default void put(String key, byte[] data, String contentType) {
+        put(key, new ByteArrayInputStream(data), data.length, contentType);
+    }
+
+    /**
+     * 파일 정보 조회 (없으면 Optional.empty())
+     */
+    Optional<StoredObject> head(String key);
+
+    default boolean exists(String key) {
+        return head(key).isPresent();
+    }
+
+    /**
+     * 파일 내용 전체 조회
+     * @throws ObjectNotFoundException (파일이 없는 경우)
+     */
+    byte[] getBytes(String key);
+
+    /**
+     * 파일 앞부분만 조회 (Range 요청 - 나머지는 받지 않음)
+     * @return 앞에서부터 최대 length byte (파일이 더 짧으면 파일 전체)
+     * @throws ObjectNotFoundException (파일이 없는 경우)
+     */
+    byte[] getFirstBytes(String key, int length);
+
+    /**
+     * 파일 내용을 스트림으로 조회 (전체를 메모리에 올리지 않음 - 다 읽은 뒤 닫아야 함)
+     * @throws ObjectNotFoundException (파일이 없는 경우)
+     */
+    InputStream get(String key);
+
+    /**
+     * 같은 저장소 안에서 복사 (같은 Key가 있으면 덮어씀)
+     * @throws ObjectNotFoundException (원본이 없는 경우)
+     */
+    void copy(String sourceKey, String targetKey);
+
+    /**
+     * 파일 삭제 (없는 파일이어도 성공)
+     */
+    void delete(String key);
+
+    /**
+     * 다건 삭제 (MAX_KEYS개씩 나눠서 처리)
+     * Key별 실패는 결과로 돌려주고, 요청 자체가 실패하면 예외를 던집니다.
+     * @return Map (실패한 Key -> 실패 사유, 모두 성공하면 빈 Map)
+     */
+    Map<String, String> deleteAll(List<String> keys);
+
+    /**
+     * 목록 조회 (Key 오름차순, 한 번에 최대 MAX_KEYS개)
+     * @param prefix (null이면 전체)
+     * @param delimiter ("/"면 prefix 바로 아래 파일만 - 하위 경로는 결과에 포함하지 않음, null이면 하위 경로까지 모두)
+     * @param continuationToken (이전 페이지의 nextContinuationToken, 첫 페이지면 null)
+     */
+    ObjectListing list(String prefix, String delimiter, String continuationToken);
+
+    /**
+     * Key -> 공개 URL (네트워크 호출 없이 생성)
+     */
+    String urlOf(String key);
+
+    // --- 멀티파트 업로드 (큰 파일을 조각으로 나눠서 올린 뒤 하나로 합침) ---
+
+    // 조각 최소 크기 (마지막 조각 제외) / 최대 조각 개수 (S3 제한과 같게 맞춤)
+    long MIN_PART_SIZE = 5L * 1024 * 1024;
+    int MAX_PARTS = 10_000;
+
+    /**
+     * 멀티파트 업로드 시작
+     * @return 저장소의 업로드 ID (조각 업로드/완료/취소에 사용)
+     */
+    String createMultipartUpload(String key, String contentType);
+
+    /**
+     * 조각 업로드 (같은 번호로 다시 올리면 덮어씀 -> 재시도 가능)
+     * @param partNumber (1부터 시작)
+     * @return ETag (완료 요청에 필요)
+     */
+    String uploadPart(String key, String uploadId, int partNumber, byte[] data);
+
+    /**
+     * 조각을 번호 순서대로 합쳐서 Key에 저장 (완료 전에는 조회/목록에 보이지 않음)
+     * @param etags (조각 번호 -> uploadPart가 돌려준 ETag, 1번부터 빠짐없이)
+     */
+    void completeMultipartUpload(String key, String uploadId, SortedMap<Integer, String> etags);
+
+    /**
+     * 멀티파트 업로드 취소 (올린 조각 삭제, 이미 취소/완료된 업로드여도 성공)
+     */
+    void abortMultipartUpload(String key, String uploadId);
+}
@@ -0,0 +1,11 @@
+package com.web.coreclass.global.storage;
+
+/**
+ * 파일이 허용한 크기보다 큼 (이미지 캐시에 받아오다가 상한을 넘은 경우)
+ */
+public class ObjectTooLargeException extends RuntimeException {
+
+    public ObjectTooLargeException(String key, long maxBytes) {
+        super("파일이 너무 큽니다 (최대 " + maxBytes + "byte): " + key);
+    }
+}
@@ -0,0 +1,122 @@
+package com.web.coreclass.global.storage;
+
+import com.web.coreclass.global.storage.S3Guard.CallType;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.web.coreclass.global.storage.ObjectStorage.MAX_KEYS;
+
+/**
+ * S3 비동기 저장소 (storage.s3.client=async)
+ * AWS SDK S3AsyncClient(Netty)로 요청을 보내고, 응답은 이벤트 루프 스레드에서 Future로 전달됩니다.
+ * (응답을 기다리는 동안 스레드를 잡고 있지 않음 -> 동시 요청이 많아도 스레드 수가 늘지 않음)
+ * 모든 호출은 S3Guard의 타임아웃/서킷 브레이커를 거칩니다. (벌크헤드는 기다리는 스레드가 없으므로 제외)
+ * Future의 후속 작업(thenApply 등)은 이벤트 루프 스레드에서 실행될 수 있으므로, 오래 걸리는 작업은 *Async로 다른 실행기에 넘겨주세요.
+ */
+public class S3AsyncObjectStorage implements AsyncObjectStorage {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final S3Guard s3Guard; // 타임아웃 + 서킷 브레이커
+    private final String bucket;
+
+    public S3AsyncObjectStorage(S3AsyncClient s3AsyncClient, S3Guard s3Guard, String bucket) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.s3Guard = s3Guard;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] data, String contentType) {
+        return s3Guard.callAsync(CallType.UPLOAD, timeout -> s3AsyncClient.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength((long) data.length)
+                        .overrideConfiguration(timeout)
+                        .build(), AsyncRequestBody.fromBytes(data)))
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String key) {
+        return s3Guard.callAsync(CallType.METADATA, timeout ->
+                        s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build()))
+                .handle((response, e) -> {
+                    if (e == null) {
+                        return true;
+                    }
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof NoSuchKeyException) {
+                        return false;
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return s3Guard.callAsync(CallType.METADATA, timeout ->
+                        s3AsyncClient.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build()))
+                .thenApply(response -> null);
+    }
+
+    // MAX_KEYS개씩 나눈 DeleteObjects 요청을 동시에 보내고 실패한 Key를 모음 (quiet 모드)
+    @Override
+    public CompletableFuture<Map<String, String>> deleteAll(List<String> keys) {
+        List<CompletableFuture<List<S3Error>>> requests = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_KEYS) {
+            List<ObjectIdentifier> objects = keys.subList(from, Math.min(from + MAX_KEYS, keys.size())).stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            requests.add(s3Guard.callAsync(CallType.METADATA, timeout -> s3AsyncClient.deleteObjects(DeleteObjectsRequest.builder()
+                            .bucket(bucket)
+                            .delete(Delete.builder().objects(objects).quiet(true).build())
+                            .overrideConfiguration(timeout)
+                            .build()))
+                    .thenApply(response -> response.errors()));
+        }
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    Map<String, String> failures = new HashMap<>();
+                    for (CompletableFuture<List<S3Error>> request : requests) {
+                        for (S3Error error : request.join()) {
+                            failures.put(error.key(), error.code() + ": " + error.message());
+                        }
+                    }
+                    return failures;
+                });
+    }
+
+    @Override
+    public CompletableFuture<ObjectListing> list(String prefix, String delimiter, String continuationToken) {
+        return s3Guard.callAsync(CallType.METADATA, timeout -> s3AsyncClient.listObjectsV2(ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .delimiter(delimiter)
+                        .continuationToken(continuationToken)
+                        .maxKeys(MAX_KEYS)
+                        .overrideConfiguration(timeout)
+                        .build()))
+                .thenApply(response -> new ObjectListing(
+                        response.contents().stream()
+                                .map(object -> new StoredObject(object.key(), object.size(), null, object.lastModified()))
+                                .toList(),
+                        Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null));
+    }
+}
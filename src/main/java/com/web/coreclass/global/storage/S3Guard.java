@@ -0,0 +1,252 @@
+package com.web.coreclass.global.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * S3 호출 보호 (S3가 느리거나 장애일 때 요청 스레드가 S3 응답을 무한정 기다리지 않도록)
+ * - 타임아웃: 호출 종류별 상한 (SDK의 apiCallTimeout - 재시도 포함, 넘으면 HTTP 요청을 끊음)
+ * - 벌크헤드: 동시에 S3 응답을 기다리는 스레드 수 상한 (자리가 없으면 잠깐 기다린 뒤 실패)
+ *   비동기 클라이언트는 기다리는 스레드가 없으므로 제외 (동시 요청 수는 storage.s3.async-max-concurrency로 제한)
+ * - 서킷 브레이커: 연속 실패가 기준 횟수에 닿으면 일정 시간 S3를 호출하지 않고 바로 실패 (OPEN)
+ *   시간이 지나면 시험 요청 1개만 보냄 (HALF_OPEN) -> 성공하면 CLOSED, 실패하면 다시 OPEN
+ * 실패로 세는 것은 타임아웃/연결 오류와 5xx/스로틀링 응답뿐입니다. (NoSuchKey 같은 4xx는 S3가 정상 응답한 것)
+ * 업로드 본문을 클라이언트에게서 받지 못한 경우(UploadBodyReadException)는 S3 상태를 알 수 없으므로 성공/실패 어느 쪽으로도 세지 않습니다.
+ * 실패/거절은 StorageUnavailableException으로 던지고, 상태는 Micrometer 지표로 내보냅니다. (s3.circuit.state 등)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Guard implements MeterBinder {
+
+    public enum CallType {
+        METADATA, // HEAD, DELETE, LIST, 멀티파트 시작/취소
+        DOWNLOAD, // GET
+        UPLOAD    // PUT, COPY, 조각 업로드, 멀티파트 완료 (클라이언트가 보내는 속도에 맞춰 흘려보내는 업로드 포함)
+    }
+
+    // 지표 값은 ordinal (0: CLOSED, 1: HALF_OPEN, 2: OPEN)
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final Map<CallType, AwsRequestOverrideConfiguration> timeouts = new EnumMap<>(CallType.class);
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public S3Guard(@Value("${storage.s3.timeout.metadata:3s}") Duration metadataTimeout,
+                   @Value("${storage.s3.timeout.download:10s}") Duration downloadTimeout,
+                   @Value("${storage.s3.timeout.upload:2m}") Duration uploadTimeout,
+                   @Value("${storage.s3.bulkhead.max-concurrent:50}") int maxConcurrent,
+                   @Value("${storage.s3.bulkhead.max-wait:100ms}") Duration maxWait,
+                   @Value("${storage.s3.circuit.failure-threshold:5}") int failureThreshold,
+                   @Value("${storage.s3.circuit.open-duration:30s}") Duration openDuration) {
+        timeouts.put(CallType.METADATA, timeout(metadataTimeout));
+        timeouts.put(CallType.DOWNLOAD, timeout(downloadTimeout));
+        timeouts.put(CallType.UPLOAD, timeout(uploadTimeout));
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 동기 호출 (벌크헤드 + 서킷 브레이커 + 타임아웃)
+     * @param call (받은 타임아웃 설정을 요청의 overrideConfiguration에 넣어서 S3 호출)
+     * @throws StorageUnavailableException (타임아웃, 연결 실패, 5xx, 동시 요청 한도 초과, 서킷 OPEN)
+     */
+    public <T> T call(CallType type, Function<AwsRequestOverrideConfiguration, T> call) {
+        acquireBulkhead();
+        try {
+            enter();
+            try {
+                T result = call.apply(timeouts.get(type));
+                onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                throw onError(e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public void run(CallType type, Consumer<AwsRequestOverrideConfiguration> call) {
+        call(type, timeout -> {
+            call.accept(timeout);
+            return null;
+        });
+    }
+
+    /**
+     * 비동기 호출 (서킷 브레이커 + 타임아웃, 실패는 Future의 실패로 전달)
+     */
+    public <T> CompletableFuture<T> callAsync(CallType type, Function<AwsRequestOverrideConfiguration, CompletableFuture<T>> call) {
+        CompletableFuture<T> future;
+        try {
+            enter();
+            future = call.apply(timeouts.get(type));
+        } catch (StorageUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(onError(e));
+        }
+        return future.handle((result, e) -> {
+            if (e == null) {
+                onSuccess();
+                return result;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            throw new CompletionException(cause instanceof RuntimeException runtime ? onError(runtime) : cause);
+        });
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("s3.circuit.state", state, s -> s.get().ordinal())
+                .description("S3 서킷 상태 (0: CLOSED, 1: HALF_OPEN, 2: OPEN)")
+                .register(registry);
+        Gauge.builder("s3.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("S3 동시 호출 남은 자리")
+                .register(registry);
+        counter(registry, "success", succeeded);
+        counter(registry, "failure", failed);
+        counter(registry, "timeout", timedOut);
+        counter(registry, "rejected", rejected);
+    }
+
+    private static void counter(MeterRegistry registry, String result, AtomicLong count) {
+        FunctionCounter.builder("s3.calls", count, AtomicLong::get)
+                .description("S3 호출 결과 (rejected: 서킷 OPEN 또는 동시 호출 한도 초과로 보내지 않음)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // 동시 호출 자리 잡기 (서킷이 열려 있으면 기다리지 않고 바로 실패)
+    private void acquireBulkhead() {
+        if (state.get() == State.OPEN && System.nanoTime() - openedAt < openNanos) {
+            throw reject("S3 장애로 요청을 보내지 않습니다. (서킷 OPEN)");
+        }
+        try {
+            if (!bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject("S3 동시 요청이 너무 많습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("S3 요청 대기 중 중단되었습니다.");
+        }
+    }
+
+    // 서킷 상태 확인 (OPEN 시간이 지났으면 이 요청이 시험 요청이 됨)
+    private void enter() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            log.info("🔄 S3 서킷 HALF_OPEN: 시험 요청을 보냅니다.");
+            return;
+        }
+        throw reject("S3 장애로 요청을 보내지 않습니다. (서킷 " + current + ")");
+    }
+
+    private StorageUnavailableException reject(String message) {
+        rejected.incrementAndGet();
+        return new StorageUnavailableException(message);
+    }
+
+    private void onSuccess() {
+        succeeded.incrementAndGet();
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("✅ S3 서킷 CLOSED: S3 응답이 정상으로 돌아왔습니다.");
+        }
+    }
+
+    // S3 장애로 볼 실패면 횟수를 세고 StorageUnavailableException으로 감쌈 (그 외 예외는 그대로)
+    private RuntimeException onError(RuntimeException e) {
+        if (e instanceof UploadBodyReadException) {
+            onClientFault();
+            return e;
+        }
+        if (!isFailure(e)) {
+            onSuccess();
+            return e;
+        }
+        if (e instanceof ApiCallTimeoutException || e instanceof ApiCallAttemptTimeoutException) {
+            timedOut.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+        return new StorageUnavailableException("S3 요청이 실패했습니다: " + e.getMessage(), e);
+    }
+
+    // 시험 요청(HALF_OPEN)이었다면 결과를 알 수 없으므로 다음 요청이 다시 시험 요청이 되도록 되돌림
+    private void onClientFault() {
+        if (state.get() == State.HALF_OPEN) {
+            openedAt = System.nanoTime() - openNanos;
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime(); // 상태보다 먼저 (OPEN을 본 요청이 이전 시각으로 판단하지 않도록)
+        State previous = state.getAndSet(State.OPEN);
+        consecutiveFailures.set(0);
+        if (previous != State.OPEN) {
+            log.warn("🚨 S3 서킷 OPEN: {}초 동안 S3 요청을 보내지 않습니다.", Duration.ofNanos(openNanos).toSeconds());
+        }
+    }
+
+    private static boolean isFailure(RuntimeException e) {
+        if (e instanceof SdkClientException) {
+            return true; // 타임아웃, 연결 실패
+        }
+        return e instanceof SdkServiceException service && (service.statusCode() >= 500 || service.isThrottlingException());
+    }
+
+    private static AwsRequestOverrideConfiguration timeout(Duration timeout) {
+        return AwsRequestOverrideConfiguration.builder().apiCallTimeout(timeout).build();
+    }
+}
@@ -0,0 +1,353 @@
+package com.web.coreclass.global.storage;
+
+import com.web.coreclass.global.storage.S3Guard.CallType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * S3 저장소 (기본값)
+ * 모든 S3 호출은 S3Guard를 거칩니다. (호출 종류별 타임아웃 + 동시 호출 상한 + 서킷 브레이커)
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+@RequiredArgsConstructor
+public class S3ObjectStorage implements ObjectStorage {
+
+    private final S3Client s3Client; // AWS SDK Client
+    private final S3Guard s3Guard;
+
+    @Value("${spring.cloud.aws.s3.bucket}")
+    private String bucket;
+
+    // S3 PUT (Content-Type / Content-Length를 함께 넘겨서 SDK가 버퍼링하지 않도록 함)
+    @Override
+    public void put(String key, InputStream in, long contentLength, String contentType, byte[] sha256) {
+        PutObjectRequest.Builder request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength);
+        if (sha256 != null) {
+            // 체크섬이 다르면 S3가 저장하지 않고 거부 (BadDigest)
+            request.checksumSHA256(Base64.getEncoder().encodeToString(sha256));
+        }
+        // 본문을 읽는 쪽(클라이언트)의 실패/지연은 S3 장애와 구분 (서킷 브레이커에 세지 않음)
+        ClientBodyInputStream body = new ClientBodyInputStream(in);
+        long start = System.nanoTime();
+        try {
+            s3Guard.run(CallType.UPLOAD, timeout -> {
+                try {
+                    s3Client.putObject(request.overrideConfiguration(timeout).build(), RequestBody.fromInputStream(body, contentLength));
+                } catch (RuntimeException e) {
+                    IOException clientFault = body.clientFault(System.nanoTime() - start, contentLength);
+                    if (clientFault != null) {
+                        throw new UploadBodyReadException(key, clientFault);
+                    }
+                    throw e;
+                }
+            });
+        } catch (S3Exception e) {
+            if (sha256 != null && e.awsErrorDetails() != null && "BadDigest".equals(e.awsErrorDetails().errorCode())) {
+                throw new ChecksumMismatchException(key);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] data, String contentType) {
+        s3Guard.run(CallType.UPLOAD, timeout -> s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength((long) data.length)
+                .overrideConfiguration(timeout)
+                .build(), RequestBody.fromBytes(data)));
+    }
+
+    @Override
+    public Optional<StoredObject> head(String key) {
+        try {
+            HeadObjectResponse head = s3Guard.call(CallType.METADATA, timeout ->
+                    s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build()));
+            return Optional.of(new StoredObject(key, head.contentLength(), head.contentType(), head.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Guard.run(CallType.METADATA, timeout ->
+                    s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build()));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String key) {
+        try {
+            return s3Guard.call(CallType.DOWNLOAD, timeout ->
+                    s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build())).asByteArray();
+        } catch (NoSuchKeyException e) {
+            throw new ObjectNotFoundException(key, e);
+        }
+    }
+
+    @Override
+    public byte[] getFirstBytes(String key, int length) {
+        try {
+            return s3Guard.call(CallType.DOWNLOAD, timeout -> s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range("bytes=0-" + (length - 1))
+                    .overrideConfiguration(timeout)
+                    .build())).asByteArray();
+        } catch (NoSuchKeyException e) {
+            throw new ObjectNotFoundException(key, e);
+        } catch (S3Exception e) {
+            // 빈 파일은 어떤 구간도 없으므로 416 (InvalidRange)
+            if (e.statusCode() == 416) {
+                return new byte[0];
+            }
+            throw e;
+        }
+    }
+
+    // 응답 헤더를 받을 때까지만 S3Guard 타임아웃/벌크헤드 적용 (본문은 호출한 쪽이 읽는 속도대로)
+    @Override
+    public InputStream get(String key) {
+        try {
+            return s3Guard.call(CallType.DOWNLOAD, timeout ->
+                    s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build()));
+        } catch (NoSuchKeyException e) {
+            throw new ObjectNotFoundException(key, e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        try {
+            s3Guard.run(CallType.UPLOAD, timeout -> s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucket)
+                    .sourceKey(sourceKey)
+                    .destinationBucket(bucket)
+                    .destinationKey(targetKey)
+                    .overrideConfiguration(timeout)
+                    .build()));
+        } catch (S3Exception e) {
+            // 원본이 없으면 CopyObject는 404 (NoSuchKey)
+            if (e.statusCode() == 404) {
+                throw new ObjectNotFoundException(sourceKey, e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Guard.run(CallType.METADATA, timeout ->
+                s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).overrideConfiguration(timeout).build()));
+    }
+
+    // DeleteObjects (quiet 모드: 응답에는 실패한 Key만 담김)
+    @Override
+    public Map<String, String> deleteAll(List<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += MAX_KEYS) {
+            List<ObjectIdentifier> objects = keys.subList(from, Math.min(from + MAX_KEYS, keys.size())).stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            DeleteObjectsResponse response = s3Guard.call(CallType.METADATA, timeout -> s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucket)
+                    .delete(Delete.builder().objects(objects).quiet(true).build())
+                    .overrideConfiguration(timeout)
+                    .build()));
+            for (S3Error error : response.errors()) {
+                failures.put(error.key(), error.code() + ": " + error.message());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public ObjectListing list(String prefix, String delimiter, String continuationToken) {
+        ListObjectsV2Response response = s3Guard.call(CallType.METADATA, timeout -> s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .delimiter(delimiter)
+                .continuationToken(continuationToken)
+                .maxKeys(MAX_KEYS)
+                .overrideConfiguration(timeout)
+                .build()));
+        List<StoredObject> objects = response.contents().stream()
+                .map(object -> new StoredObject(object.key(), object.size(), null, object.lastModified()))
+                .toList();
+        return new ObjectListing(objects, Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null);
+    }
+
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        return s3Guard.call(CallType.METADATA, timeout -> s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .overrideConfiguration(timeout)
+                .build())).uploadId();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, byte[] data) {
+        return s3Guard.call(CallType.UPLOAD, timeout -> s3Client.uploadPart(UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) data.length)
+                .overrideConfiguration(timeout)
+                .build(), RequestBody.fromBytes(data))).eTag();
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, SortedMap<Integer, String> etags) {
+        List<CompletedPart> parts = etags.entrySet().stream()
+                .map(entry -> CompletedPart.builder().partNumber(entry.getKey()).eTag(entry.getValue()).build())
+                .toList();
+        s3Guard.run(CallType.UPLOAD, timeout -> s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .overrideConfiguration(timeout)
+                .build()));
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3Guard.run(CallType.METADATA, timeout -> s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .overrideConfiguration(timeout)
+                    .build()));
+        } catch (NoSuchUploadException e) {
+            // 이미 취소/완료됨
+        }
+    }
+
+    /**
+     * S3 Key -> 공개 URL 변환
+     * (S3Utilities는 네트워크 호출 없이 리전 설정과 Key로 URL을 만들고, 한글 파일명 등은 퍼센트 인코딩합니다)
+     */
+    @Override
+    public String urlOf(String key) {
+        return s3Client.utilities()
+                .getUrl(GetUrlRequest.builder().bucket(bucket).key(key).build())
+                .toString();
+    }
+
+    /**
+     * 업로드 본문 스트림 (읽기 실패와 읽기에 걸린 시간을 기록)
+     * PUT이 실패했을 때 원인이 클라이언트 쪽인지 판단하는 데 사용합니다.
+     */
+    private static class ClientBodyInputStream extends FilterInputStream {
+
+        private volatile IOException failure;
+        private volatile long readNanos;
+        private volatile long bytesRead;
+
+        private ClientBodyInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            try {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead++;
+                }
+                return b;
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    bytesRead += n;
+                }
+                return n;
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+
+        /**
+         * 클라이언트 쪽 실패면 원인 반환 (아니면 null)
+         * 1. 본문 읽기 중 IOException (연결 끊김 등)
+         * 2. 본문을 다 받지 못했고, 걸린 시간 대부분을 클라이언트가 보내기를 기다림 (느린 업로드로 타임아웃)
+         */
+        private IOException clientFault(long elapsedNanos, long contentLength) {
+            if (failure != null) {
+                return failure;
+            }
+            if (bytesRead < contentLength && readNanos * 2 >= elapsedNanos) {
+                return new IOException("업로드 본문이 너무 느립니다. (" + bytesRead + "/" + contentLength + " bytes)");
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.web.coreclass.global.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 저장소가 응답하지 않음 (타임아웃, 연결 실패, 5xx, 동시 요청 한도 초과, 서킷 OPEN)
+ * 잠시 후 다시 시도하면 될 수 있는 실패라서 컨트롤러까지 올라가면 503으로 응답합니다.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StorageUnavailableException extends IllegalStateException {
+
+    public StorageUnavailableException(String message) {
+        super(message);
+    }
+
+    public StorageUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
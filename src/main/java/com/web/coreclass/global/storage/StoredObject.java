@@ -0,0 +1,18 @@
+package com.web.coreclass.global.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 저장소의 파일 정보 (HEAD / 목록 조회 결과)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StoredObject {
+    private final String key;
+    private final long size;
+    private final String contentType; // 목록 조회 결과에는 없음 (null)
+    private final Instant lastModified;
+}
@@ -0,0 +1,15 @@
+package com.web.coreclass.global.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 업로드 본문(클라이언트가 보내는 스트림)을 끝까지 읽지 못함 (연결 끊김, 너무 느린 업로드)
+ * 저장소 장애가 아니므로 S3Guard의 서킷 브레이커 실패로 세지 않습니다.
+ */
+public class UploadBodyReadException extends UncheckedIOException {
+
+    public UploadBodyReadException(String key, IOException cause) {
+        super("업로드 본문을 끝까지 받지 못했습니다: " + key, cause);
+    }
+}
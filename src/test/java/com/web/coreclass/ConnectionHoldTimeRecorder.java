@@ -0,0 +1,79 @@
+package com.web.coreclass;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테스트용: DB 연결을 빌린 시점부터 반납(close)할 때까지의 시간 기록
+ * DataSource를 감싸서 getConnection() ~ close() 사이 시간을 모읍니다.
+ * 사용 예: @Import(ConnectionHoldTimeRecorder.class) 후 reset() -> 요청 -> maxHoldMillis()
+ */
+@TestConfiguration
+public class ConnectionHoldTimeRecorder {
+
+    private final Queue<Long> holdNanos = new ConcurrentLinkedQueue<>();
+
+    @Bean
+    public static BeanPostProcessor connectionHoldTimeDataSourceWrapper(ConnectionHoldTimeRecorder recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? recorder.wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    public void reset() {
+        holdNanos.clear();
+    }
+
+    // 기록된 연결 점유 시간 (ms, 반납된 연결만)
+    public List<Long> holdMillis() {
+        return holdNanos.stream().map(TimeUnit.NANOSECONDS::toMillis).toList();
+    }
+
+    public long maxHoldMillis() {
+        return holdMillis().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    private DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return record(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return record(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection record(Connection connection) {
+        long borrowedAt = System.nanoTime();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && !connection.isClosed()) {
+                        holdNanos.add(System.nanoTime() - borrowedAt);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
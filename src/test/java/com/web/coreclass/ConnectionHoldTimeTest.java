@@ -0,0 +1,161 @@
+package com.web.coreclass;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.coreclass.domain.article.repository.ArticleRepository;
+import com.web.coreclass.domain.article.service.MarkdownService;
+import com.web.coreclass.domain.instructor.repository.InstructorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 DB 연결 점유 시간 측정
+ * 마크다운 변환을 일부러 느리게(RENDER_MILLIS) 만들고, 그동안 DB 연결을 잡고 있지 않은지 확인합니다.
+ * (트랜잭션 안에서 변환하면 점유 시간 >= RENDER_MILLIS)
+ * 강사 생성/수정/삭제는 느린 단계가 없으므로, 요청 1건이 연결을 1번만 짧게 빌리는지 확인합니다.
+ * 실제 DB에 저장하므로 @Transactional 없이 실행하고, 만든 데이터는 끝나고 지웁니다.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ConnectionHoldTimeRecorder.class)
+class ConnectionHoldTimeTest {
+
+    private static final long RENDER_MILLIS = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConnectionHoldTimeRecorder recorder;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private MarkdownService markdownService;
+
+    private final List<Long> createdArticleIds = new ArrayList<>();
+    private final List<Long> createdInstructorIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        articleRepository.deleteAllById(createdArticleIds);
+        instructorRepository.deleteAllById(createdInstructorIds); // 삭제 요청이 실패한 경우만 남아 있음
+    }
+
+    @Test
+    @DisplayName("연결 점유 시간: 게시글 생성/상세 조회는 마크다운 변환 중에 DB 연결을 잡고 있지 않는다")
+    @WithMockUser(roles = "ADMIN")
+    void articleEndpointsTest() throws Exception {
+        // Given: 변환에 RENDER_MILLIS가 걸리는 마크다운 변환기
+        given(markdownService.markdownToSafeHtml(any())).willAnswer(invocation -> {
+            Thread.sleep(RENDER_MILLIS);
+            return "<p>본문</p>";
+        });
+        String body = """
+                {"category": "NEWS", "title": "연결 점유 시간 측정", "content": "# 본문", "postedAt": "2026-10-19"}
+                """;
+
+        // When 1: [POST] /api/article
+        String response = measure("POST /api/article", post("/api/article")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+        JsonNode created = objectMapper.readTree(response);
+        Long id = created.get("id").asLong();
+        createdArticleIds.add(id);
+        long createHoldMillis = recorder.maxHoldMillis();
+
+        // When 2: [GET] /api/article/{id}
+        measure("GET /api/article/{id}", get("/api/article/" + id));
+        long detailHoldMillis = recorder.maxHoldMillis();
+
+        // Then: 두 요청 모두 변환 시간보다 짧게 연결을 점유
+        assertThat(createHoldMillis).isLessThan(RENDER_MILLIS);
+        assertThat(detailHoldMillis).isLessThan(RENDER_MILLIS);
+    }
+
+    @Test
+    @DisplayName("연결 점유 시간: 강사 생성/수정/삭제는 요청마다 DB 연결을 1번만 짧게 빌린다 (엔티티/DTO 조립은 연결 밖)")
+    @WithMockUser(roles = "ADMIN")
+    void instructorEndpointsTest() throws Exception {
+        // Given: 이미지 URL 없이 경력/게임만 있는 강사 (S3 삭제 예약이 생기지 않도록)
+        String createBody = """
+                {"name": "연결 점유 시간", "nickname": "hold", "content": "소개",
+                 "careers": [{"period": "2018-2020", "teamName": "Team A", "roleType": "PLAYER"}],
+                 "gameNames": ["Valorant"]}
+                """;
+        String updateBody = """
+                {"name": "연결 점유 시간 (수정)", "nickname": "hold", "content": "수정한 소개",
+                 "careers": [{"period": "2021-2023", "teamName": "Team B", "roleType": "COACH"}],
+                 "gameNames": ["Overwatch 2", "Valorant"]}
+                """;
+
+        // When 1: [POST] /api/instructor
+        String response = measure("POST /api/instructor", post("/api/instructor")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createBody));
+        Long id = objectMapper.readTree(response).get("id").asLong();
+        createdInstructorIds.add(id);
+        List<Long> createHoldMillis = recorder.holdMillis();
+
+        // When 2: [PUT] /api/instructor/{id}
+        measure("PUT /api/instructor/{id}", put("/api/instructor/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateBody));
+        List<Long> updateHoldMillis = recorder.holdMillis();
+
+        // When 3: [DELETE] /api/instructor/{id}
+        measure("DELETE /api/instructor/{id}", delete("/api/instructor/" + id));
+        List<Long> deleteHoldMillis = recorder.holdMillis();
+
+        // Then: 세 요청 모두 트랜잭션 1개 = 연결 1번, 점유 시간은 변환 기준(RENDER_MILLIS)보다 짧음
+        for (List<Long> holdMillis : List.of(createHoldMillis, updateHoldMillis, deleteHoldMillis)) {
+            assertThat(holdMillis).hasSize(1);
+            assertThat(holdMillis.get(0)).isLessThan(RENDER_MILLIS);
+        }
+        assertThat(instructorRepository.existsById(id)).isFalse();
+    }
+
+    // 요청 1건 실행 후 연결 점유 시간 출력
+    private String measure(String endpoint, RequestBuilder request) throws Exception {
+        recorder.reset();
+        long startedAt = System.currentTimeMillis();
+        String response = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        log.info("⏱️ {} - 응답 {}ms, DB 연결 점유 {}ms (연결 {}회: {})", endpoint,
+                System.currentTimeMillis() - startedAt, recorder.maxHoldMillis(),
+                recorder.holdMillis().size(), recorder.holdMillis());
+        return response;
+    }
+}
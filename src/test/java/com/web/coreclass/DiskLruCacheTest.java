@@ -0,0 +1,247 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.ImageCacheInvalidator;
+import com.web.coreclass.global.s3.ImageProxyController;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.DiskLruCache;
+import com.web.coreclass.global.storage.LocalObjectStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 💡 원본 저장소는 임시 디렉터리의 로컬 저장소를 spy로 감싸서, 원본 요청 횟수를 셉니다.
+class DiskLruCacheTest {
+
+    @TempDir
+    Path storageRoot;
+
+    @TempDir
+    Path cacheDir;
+
+    private LocalObjectStorage origin;
+
+    @BeforeEach
+    void setUp() {
+        origin = spy(new LocalObjectStorage(storageRoot.toString(), "http://localhost:8080"));
+    }
+
+    @Test
+    @DisplayName("동시 요청: 같은 Key를 동시에 요청해도 원본은 한 번만 받아온다")
+    void singleFlightTest() throws Exception {
+        // Given: 원본 조회에 100ms가 걸리는 저장소
+        origin.put("2026/10/19/logo.png", new byte[]{1, 2, 3}, "image/png");
+        doAnswer(invocation -> {
+            Thread.sleep(100);
+            return invocation.callRealMethod();
+        }).when(origin).get(anyString());
+        DiskLruCache cache = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+
+        // When: 20개 요청이 동시에 시작
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<DiskLruCache.Entry>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("2026/10/19/logo.png");
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then: 원본 요청 1번, 모두 같은 캐시 파일
+        verify(origin, times(1)).get("2026/10/19/logo.png");
+        Set<Path> paths = ConcurrentHashMap.newKeySet();
+        for (Future<DiskLruCache.Entry> result : results) {
+            paths.add(result.get().getPath());
+        }
+        assertThat(paths).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("LRU: 크기 제한을 넘으면 가장 오래 사용하지 않은 파일부터 지우고, 다시 시작해도 캐시를 이어서 쓴다")
+    void evictionTest() {
+        // Given: 10byte 파일 3개, 캐시는 25byte까지
+        for (String key : List.of("a.png", "b.png", "c.png")) {
+            origin.put(key, new byte[10], "image/png");
+        }
+        DiskLruCache cache = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofBytes(25), DataSize.ofMegabytes(1));
+
+        // When: a, b를 받은 뒤 a를 다시 사용하고 c를 받음
+        cache.get("a.png");
+        cache.get("b.png");
+        cache.get("a.png");
+        cache.get("c.png");
+
+        // Then: 가장 오래 사용하지 않은 b만 삭제
+        assertThat(cache.contains("a.png")).isTrue();
+        assertThat(cache.contains("b.png")).isFalse();
+        assertThat(cache.contains("c.png")).isTrue();
+        assertThat(cache.totalBytes()).isEqualTo(20);
+        verify(origin, times(1)).get("a.png");
+
+        // 서버 재시작: 디렉터리에서 목록 복원 -> 원본 요청 없음
+        DiskLruCache restarted = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofBytes(25), DataSize.ofMegabytes(1));
+        restarted.get("c.png");
+        assertThat(restarted.totalBytes()).isEqualTo(20);
+        verify(origin, times(1)).get("c.png");
+    }
+
+    @Test
+    @DisplayName("이미지 프록시: immutable 캐시 헤더 + ETag, If-None-Match는 304, Range는 206, 기록에 없는 Key는 404")
+    void proxyTest() throws Exception {
+        // Given
+        String key = "2026/10/19/" + "a".repeat(64) + ".png";
+        origin.put(key, "0123456789".getBytes(StandardCharsets.UTF_8), "image/png");
+        StoredFileRepository storedFileRepository = mock(StoredFileRepository.class);
+        when(storedFileRepository.findActiveKeys(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).contains(key) ? List.of(key) : List.of());
+        DiskLruCache cache = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, storedFileRepository)).build();
+
+        // When & Then 1: 전체
+        String etag = mockMvc.perform(get("/img/" + key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().string("0123456789"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        // When & Then 2: 같은 ETag -> 304
+        mockMvc.perform(get("/img/" + key).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        // When & Then 3: 구간
+        mockMvc.perform(get("/img/" + key).header(HttpHeaders.RANGE, "bytes=7-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+
+        // When & Then 4: 기록에 없는 Key는 원본을 조회하지 않고 404
+        mockMvc.perform(get("/img/2026/10/19/unknown.png"))
+                .andExpect(status().isNotFound());
+        verify(origin, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("이미지 프록시: 파일 길이를 벗어난 Range는 416 + 전체 길이, 끝만 넘으면 마지막 바이트까지 206")
+    void proxyRangeNotSatisfiableTest() throws Exception {
+        // Given: 10byte 이미지
+        String key = "2026/10/19/" + "b".repeat(64) + ".png";
+        origin.put(key, "0123456789".getBytes(StandardCharsets.UTF_8), "image/png");
+        StoredFileRepository storedFileRepository = mock(StoredFileRepository.class);
+        when(storedFileRepository.findActiveKeys(anyCollection())).thenReturn(List.of(key));
+        DiskLruCache cache = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, storedFileRepository)).build();
+
+        // When & Then 1: 시작이 파일 끝 이후 -> 416, 본문 없음
+        mockMvc.perform(get("/img/" + key).header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/img/" + key).header(HttpHeaders.RANGE, "bytes=10-20"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+
+        // When & Then 2: 끝만 넘으면 잘라서 206
+        mockMvc.perform(get("/img/" + key).header(HttpHeaders.RANGE, "bytes=8-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-9/10"))
+                .andExpect(content().string("89"));
+    }
+
+    @Test
+    @DisplayName("이미지 프록시: 이미지가 아닌 Key와 파일 1개 상한을 넘는 파일은 캐시하지 않고 404 (원본을 메모리에 올리지 않음)")
+    void proxyLimitTest() throws Exception {
+        // Given: 상한 1KB, 2KB 이미지 / 기록에 있는 영상
+        String large = "2026/10/19/" + "c".repeat(64) + ".png";
+        String video = "2026/10/19/" + "d".repeat(64) + ".mp4";
+        origin.put(large, new byte[2048], "image/png");
+        origin.put(video, new byte[10], "video/mp4");
+        StoredFileRepository storedFileRepository = mock(StoredFileRepository.class);
+        when(storedFileRepository.findActiveKeys(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        DiskLruCache cache = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, storedFileRepository)).build();
+
+        // When & Then
+        mockMvc.perform(get("/img/" + large)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/img/" + video)).andExpect(status().isNotFound());
+
+        // 큰 파일은 스트림으로 받다가 중단, 임시 파일도 남기지 않음 / 영상은 원본 요청 없음
+        assertThat(cache.contains(large)).isFalse();
+        assertThat(cache.totalBytes()).isZero();
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertThat(files).isEmpty();
+        }
+        verify(origin, never()).getBytes(anyString());
+        verify(origin, never()).get(video);
+    }
+
+    @Test
+    @DisplayName("캐시 무효화: 다른 서버에서 삭제 표시된 파일은 캐시에서 지워지고, 이후 요청은 기록을 다시 확인해서 404")
+    void invalidateDeletedTest() throws Exception {
+        // Given: 캐시된 이미지 (리사이즈 버전 포함)
+        String key = "2026/10/19/" + "e".repeat(64) + ".png";
+        String thumbnail = ImageVariant.THUMBNAIL.keyOf(key);
+        origin.put(key, new byte[]{1, 2, 3}, "image/png");
+        origin.put(thumbnail, new byte[]{1}, "image/png");
+        StoredFileRepository storedFileRepository = mock(StoredFileRepository.class);
+        when(storedFileRepository.findActiveKeys(anyCollection())).thenReturn(List.of(key));
+        DiskLruCache cache = new DiskLruCache(origin, cacheDir.toString(), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, storedFileRepository)).build();
+        mockMvc.perform(get("/img/" + key)).andExpect(status().isOk());
+        mockMvc.perform(get("/img/" + thumbnail)).andExpect(status().isOk());
+
+        // When: 다른 서버가 삭제 (이 서버 캐시는 그대로) -> 주기적인 무효화 실행
+        StoredFile deleted = new StoredFile(key, "e".repeat(64));
+        ReflectionTestUtils.setField(deleted, "id", 1L);
+        when(storedFileRepository.findActiveKeys(anyCollection())).thenReturn(List.of());
+        when(storedFileRepository.findDeletedSince(anyLong(), any(), any())).thenReturn(List.of(deleted));
+        new ImageCacheInvalidator(storedFileRepository, cache).sync();
+
+        // Then
+        assertThat(cache.contains(key)).isFalse();
+        assertThat(cache.contains(thumbnail)).isFalse();
+        mockMvc.perform(get("/img/" + key)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,189 @@
+package com.web.coreclass;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 장애를 흉내 낼 수 있는 로컬 S3 (HTTP)
+ * 실제 SDK 클라이언트로 요청하므로 SDK 타임아웃/오류 응답 처리까지 그대로 확인할 수 있습니다.
+ * path-style 요청(/버킷/Key)의 PUT/GET/HEAD/DELETE만 구현합니다.
+ * - latency(): 모든 응답을 지정한 시간만큼 늦춤 (S3가 느려진 상황)
+ * - failWith(): 모든 요청에 지정한 상태 코드로 오류 응답 (5xx 장애)
+ */
+class FaultyS3Server implements AutoCloseable {
+
+    static final String BUCKET = "test-bucket";
+
+    private final HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int errorStatus; // 0이면 정상 응답
+
+    FaultyS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * 이 서버로 요청하는 S3Client (재시도 없음 - 요청 횟수를 정확히 세기 위해)
+     */
+    S3Client client() {
+        return S3Client.builder()
+                .endpointOverride(URI.create("http://127.0.0.1:" + server.getAddress().getPort()))
+                .forcePathStyle(true)
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClientBuilder(ApacheHttpClient.builder())
+                .overrideConfiguration(configuration -> configuration.retryPolicy(RetryPolicy.none()))
+                .build();
+    }
+
+    void latency(Duration latency) {
+        this.latency = latency;
+    }
+
+    void failWith(int status) {
+        this.errorStatus = status;
+    }
+
+    // 정상으로 복구
+    void heal() {
+        this.latency = Duration.ZERO;
+        this.errorStatus = 0;
+    }
+
+    int requestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        if (isAwsChunked(exchange)) {
+            body = decodeAwsChunked(body);
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return;
+        }
+        if (errorStatus != 0) {
+            sendError(exchange, errorStatus, errorStatus == 503 ? "SlowDown" : "InternalError");
+            return;
+        }
+
+        String key = exchange.getRequestURI().getPath().substring(BUCKET.length() + 2);
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                objects.put(key, body);
+                exchange.getResponseHeaders().add("ETag", "\"" + HexFormat.of().formatHex(md5(body)) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                byte[] data = objects.get(key);
+                if (data == null) {
+                    sendError(exchange, 404, "NoSuchKey");
+                    return;
+                }
+                exchange.sendResponseHeaders(200, data.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(data);
+                }
+            }
+            case "HEAD" -> exchange.sendResponseHeaders(objects.containsKey(key) ? 200 : 404, -1);
+            case "DELETE" -> {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> sendError(exchange, 405, "MethodNotAllowed");
+        }
+        exchange.close();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String code) throws IOException {
+        byte[] xml = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, xml.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(xml);
+        }
+        exchange.close();
+    }
+
+    // http 엔드포인트면 SDK가 PUT 본문을 서명 청크(aws-chunked)로 보냅니다. 실제 S3처럼 풀어서 저장/ETag 계산
+    private static boolean isAwsChunked(HttpExchange exchange) {
+        String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        return contentSha256 != null && contentSha256.startsWith("STREAMING-");
+    }
+
+    // "크기(16진수);chunk-signature=...\r\n 데이터 \r\n" 반복, 크기 0 청크에서 끝
+    private static byte[] decodeAwsChunked(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        int pos = 0;
+        while (pos < body.length) {
+            int lineEnd = indexOfCrlf(body, pos);
+            String header = new String(body, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            int dataStart = lineEnd + 2;
+            out.write(body, dataStart, size);
+            pos = dataStart + size + 2;
+        }
+        return out.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] data, int from) {
+        for (int i = from; i < data.length - 1; i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("aws-chunked 청크 헤더가 끝나지 않았습니다.");
+    }
+
+    private static byte[] md5(byte[] data) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.web.coreclass;
 
 import com.web.coreclass.domain.admin.repository.AdminRepository;
 import com.web.coreclass.global.s3.ImageController;
+import com.web.coreclass.global.s3.PresignedUploadService;
 import com.web.coreclass.global.config.SecurityConfig; // ⬅️ 실제 설정 가져오기
 import com.web.coreclass.global.jwt.JwtAuthenticationFilter;
 import com.web.coreclass.global.jwt.JwtProvider;
 import com.web.coreclass.global.s3.S3Uploader;
+import com.web.coreclass.global.s3.dto.ImageDto;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,12 +19,21 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ImageController.class)
@@ -36,6 +47,9 @@ class ImageControllerTest {
     @MockBean
     private S3Uploader s3Uploader;
 
+    @MockBean
+    private PresignedUploadService presignedUploadService;
+
     // 💡 핵심 2: 필터가 동작할 때 필요한 '재료'만 가짜로 넣어줍니다.
     @MockBean
     private JwtProvider jwtProvider;
@@ -62,15 +76,66 @@ class ImageControllerTest {
         );
 
         // Mocking: s3Uploader가 호출되면 가짜 URL 반환
-        given(s3Uploader.upload(any())).willReturn("https://fake-s3-url.com/test.png");
+        given(s3Uploader.uploadAsync(any())).willReturn(CompletableFuture.completedFuture("https://fake-s3-url.com/test.png"));
 
-        // When & Then
-        mockMvc.perform(multipart("/api/image/upload")
+        // When & Then (비동기 응답 -> asyncDispatch로 결과 확인)
+        MvcResult result = mockMvc.perform(multipart("/api/image/upload")
                         .file(fakeFile))
                 // 💡 핵심 3: .with(csrf()) 제거 (SecurityConfig에서 이미 껐으므로 불필요)
                 // 💡 핵심 4: .contentType(...) 절대 금지 (자동 설정을 방해함)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().string("https://fake-s3-url.com/test.png"))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("이미지 다중 업로드 테스트: 요청 순서대로 URL과 파일별 실패 사유를 반환한다")
+    @WithMockUser(roles = "ADMIN")
+    void uploadImagesBatchTest() throws Exception {
+        // Given: 가짜 파일 2개 생성 (두 번째 파일은 실패했다고 가정)
+        MockMultipartFile first = new MockMultipartFile(
+                "files", "logo1.png", MediaType.IMAGE_PNG_VALUE, "logo1".getBytes());
+        MockMultipartFile second = new MockMultipartFile(
+                "files", "logo2.png", MediaType.IMAGE_PNG_VALUE, "logo2".getBytes());
+
+        given(s3Uploader.uploadAllAsync(any())).willReturn(CompletableFuture.completedFuture(List.of(
+                ImageDto.UploadResult.success(0, "logo1.png", "https://fake-s3-url.com/logo1.png"),
+                ImageDto.UploadResult.failure(1, "logo2.png", "업로드 실패")
+        )));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(multipart("/api/image/upload/batch")
+                        .file(first)
+                        .file(second))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].url").value("https://fake-s3-url.com/logo1.png"))
+                .andExpect(jsonPath("$[1].url").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("업로드 실패"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("이미지 스트리밍 업로드 테스트: 요청 본문을 길이/형식/SHA-256과 함께 그대로 넘긴다")
+    @WithMockUser(roles = "ADMIN")
+    void uploadImageStreamTest() throws Exception {
+        // Given
+        String sha256 = "a".repeat(64);
+        given(s3Uploader.uploadStream(any(), eq(10L), eq("image/png"), eq(sha256)))
+                .willReturn("https://fake-s3-url.com/stream.png");
+
+        // When & Then (Content-Type의 charset 같은 파라미터는 떼고 넘김)
+        mockMvc.perform(post("/api/image/upload/stream")
+                        .contentType("image/png;charset=UTF-8")
+                        .header(ImageController.CONTENT_SHA256_HEADER, sha256)
+                        .content("0123456789".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("https://fake-s3-url.com/stream.png"))
+                .andDo(print());
+    }
+}
@@ -0,0 +1,217 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.image.ImageFormat;
+import com.web.coreclass.global.s3.image.ImageProcessor;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import com.web.coreclass.global.s3.image.ImageWorkerBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 💡 스프링 컨텍스트 없이 ImageProcessor만 직접 생성해서 테스트합니다.
+class ImageProcessorTest {
+
+    private final ImageProcessor imageProcessor = new ImageProcessor();
+
+    @AfterEach
+    void tearDown() {
+        imageProcessor.shutdown();
+    }
+
+    @Test
+    @DisplayName("포맷 판별: 확장자가 아닌 매직 바이트로 JPEG/PNG를 구분한다")
+    void detectFormatTest() throws Exception {
+        assertThat(ImageFormat.detect(createJpeg(10, 10))).isEqualTo(ImageFormat.JPEG);
+        assertThat(ImageFormat.detect(createPng(10, 10))).isEqualTo(ImageFormat.PNG);
+        assertThat(ImageFormat.detect("not an image file".getBytes())).isNull();
+    }
+
+    @Test
+    @DisplayName("메타데이터 제거: GPS 등이 담긴 EXIF는 지우고 회전 정보(Orientation)만 남긴다")
+    void stripJpegMetadataTest() throws Exception {
+        // Given: Orientation(6) + 더미 GPS 문자열이 들어있는 EXIF를 붙인 JPEG
+        byte[] jpeg = createJpeg(40, 20);
+        byte[] withExif = insertAfterSoi(jpeg, exifSegment(6, "GPS-SECRET"));
+
+        // When
+        byte[] stripped = imageProcessor.stripMetadata(withExif, ImageFormat.JPEG);
+
+        // Then: 민감 정보는 사라지고, 이미지는 여전히 읽을 수 있어야 함
+        assertThat(new String(stripped, StandardCharsets.ISO_8859_1)).doesNotContain("GPS-SECRET");
+        assertThat(ImageIO.read(new ByteArrayInputStream(stripped))).isNotNull();
+
+        // 회전 정보가 반영되어 리사이즈 버전은 세로 이미지(20x40)가 되어야 함
+        Map<ImageVariant, byte[]> variants = imageProcessor.createVariants(stripped, ImageFormat.JPEG);
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.THUMBNAIL)));
+        assertThat(thumbnail.getWidth()).isEqualTo(20);
+        assertThat(thumbnail.getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("메타데이터 제거: EXIF의 IFD offset이 범위를 벗어나면 회전 정보 없음(1)으로 보고 EXIF는 지운다")
+    void stripJpegBadIfdOffsetTest() throws Exception {
+        // Given: IFD offset = 0xFFFFFFF0 (int로 바꾸면 음수)
+        byte[] segment = exifSegment(6, "GPS-SECRET");
+        ByteBuffer.wrap(segment, 4 + 6 + 4, 4).putInt(0xFFFFFFF0); // APP1 헤더(4) + "Exif\0\0"(6) + "MM\0*"(4) 다음
+        byte[] withExif = insertAfterSoi(createJpeg(40, 20), segment);
+
+        // When
+        byte[] stripped = imageProcessor.stripMetadata(withExif, ImageFormat.JPEG);
+
+        // Then: 회전하지 않은 그대로(40x20), 민감 정보 없음
+        assertThat(new String(stripped, StandardCharsets.ISO_8859_1)).doesNotContain("GPS-SECRET");
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(
+                imageProcessor.createVariants(stripped, ImageFormat.JPEG).get(ImageVariant.THUMBNAIL)));
+        assertThat(thumbnail.getWidth()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("메타데이터 제거: 구조가 깨진 파일은 원본을 그대로 돌려주지 않고 거절한다")
+    void stripMalformedTest() throws Exception {
+        // Given: 첫 청크(IHDR) 길이를 0x7FFFFFF8로 바꾼 PNG (pos + 12 + length가 int 범위를 넘음), 중간에 잘린 JPEG
+        byte[] png = createPng(10, 10);
+        ByteBuffer.wrap(png, 8, 4).putInt(0x7FFFFFF8);
+        byte[] jpeg = insertAfterSoi(createJpeg(10, 10), exifSegment(1, "GPS-SECRET"));
+        byte[] truncated = Arrays.copyOf(jpeg, 20);
+
+        // When & Then
+        assertThatThrownBy(() -> imageProcessor.stripMetadata(png, ImageFormat.PNG))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> imageProcessor.stripMetadata(truncated, ImageFormat.JPEG))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("리사이즈: 버전별 최대 너비를 넘지 않고 비율을 유지한다")
+    void createVariantsTest() throws Exception {
+        byte[] png = createPng(2000, 1000);
+
+        Map<ImageVariant, byte[]> variants = imageProcessor.createVariants(png, ImageFormat.PNG);
+
+        assertThat(variants).containsOnlyKeys(ImageVariant.values());
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(variants.get(variant)));
+            int expectedWidth = Math.min(variant.getMaxWidth(), 2000);
+            assertThat(image.getWidth()).isEqualTo(expectedWidth);
+            assertThat(image.getHeight()).isEqualTo(expectedWidth / 2);
+        }
+    }
+
+    @Test
+    @DisplayName("픽셀 폭탄: 헤더의 해상도가 상한을 넘으면 디코딩하지 않고 원본을 모든 버전에 사용한다")
+    void pixelLimitTest() throws Exception {
+        // Given: 10x10 PNG의 IHDR만 50000x50000으로 바꾼 파일 (디코딩하면 약 10GB)
+        byte[] png = createPng(10, 10);
+        ByteBuffer.wrap(png, 16, 8).putInt(50_000).putInt(50_000); // 시그니처(8) + 길이(4) + "IHDR"(4) 다음
+
+        // When
+        long start = System.nanoTime();
+        Map<ImageVariant, byte[]> variants = imageProcessor.createVariants(png, ImageFormat.PNG);
+
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(variants).containsOnlyKeys(ImageVariant.values());
+        assertThat(variants.values()).allSatisfy(bytes -> assertThat(bytes).isSameAs(png));
+    }
+
+    @Test
+    @DisplayName("워커 대기열이 가득 차면: 호출 스레드에서 디코딩하지 않고 원본을 모든 버전에 넘기며, 후처리 요청은 ImageWorkerBusyException")
+    void workerSaturatedTest() throws Exception {
+        // Given: 워커 스레드 2개 + 대기열 32개를 끝나지 않는 작업으로 채움
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2 + 32; i++) {
+            imageProcessor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        byte[] png = createPng(2000, 1000);
+        Map<ImageVariant, byte[]> delivered = new ConcurrentHashMap<>();
+        Set<Thread> sinkThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(ImageVariant.values().length);
+
+        // When
+        imageProcessor.createVariantsAsync(png, ImageFormat.PNG, (variant, bytes) -> {
+            delivered.put(variant, bytes);
+            sinkThreads.add(Thread.currentThread());
+            done.countDown();
+        });
+
+        // Then: 다른 스레드에서 원본 그대로 전달, 후처리 요청은 거절
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(delivered).containsOnlyKeys(ImageVariant.values());
+        assertThat(delivered.values()).allSatisfy(bytes -> assertThat(bytes).isSameAs(png));
+        assertThat(sinkThreads).doesNotContain(Thread.currentThread());
+        assertThatThrownBy(() -> imageProcessor.execute(() -> { }))
+                .isInstanceOf(ImageWorkerBusyException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("썸네일 URL: 파이프라인을 거친 이미지만 썸네일 URL로 바꾸고, 기존 URL은 그대로 둔다")
+    void variantUrlTest() {
+        String processed = "https://bucket.s3.ap-northeast-2.amazonaws.com/3f2a1b2c-1111-2222-3333-444455556666.jpg";
+        String legacy = "https://bucket.s3.ap-northeast-2.amazonaws.com/3f2a1b2c-1111-2222-3333-444455556666_logo.png";
+
+        assertThat(ImageVariant.THUMBNAIL.urlOf(processed))
+                .isEqualTo("https://bucket.s3.ap-northeast-2.amazonaws.com/3f2a1b2c-1111-2222-3333-444455556666_thumb.jpg");
+        assertThat(ImageVariant.THUMBNAIL.urlOf(legacy)).isEqualTo(legacy);
+        assertThat(ImageVariant.THUMBNAIL.urlOf(null)).isNull();
+    }
+
+    // --- Helper Methods ---
+
+    private byte[] createJpeg(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", out);
+        return out.toByteArray();
+    }
+
+    private byte[] createPng(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+
+    // Orientation 엔트리 + 뒤에 임의 문자열(민감 정보 흉내)을 붙인 Big Endian EXIF(APP1) 세그먼트
+    private byte[] exifSegment(int orientation, String secret) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(new byte[]{'E', 'x', 'i', 'f', 0, 0, 'M', 'M', 0, 0x2A, 0, 0, 0, 8, 0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0, 0, 0, 0, 0});
+        body.writeBytes(secret.getBytes());
+
+        int length = body.size() + 2;
+        ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        segment.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+        segment.writeBytes(body.toByteArray());
+        return segment.toByteArray();
+    }
+
+    private byte[] insertAfterSoi(byte[] jpeg, byte[] segment) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.writeBytes(segment);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
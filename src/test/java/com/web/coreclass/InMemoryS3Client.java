@@ -0,0 +1,258 @@
+package com.web.coreclass;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Utilities;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 메모리에 저장하는 가짜 S3Client (저장소 공통 테스트용)
+ * S3ObjectStorage가 쓰는 요청만 구현하고, 나머지는 S3Client 기본 구현대로 UnsupportedOperationException을 던집니다.
+ */
+class InMemoryS3Client implements S3Client {
+
+    private record StoredBytes(byte[] data, String contentType, Instant lastModified) {
+    }
+
+    private record PendingUpload(String key, String contentType, Map<Integer, byte[]> parts) {
+    }
+
+    private final NavigableMap<String, StoredBytes> objects = new ConcurrentSkipListMap<>();
+    private final Map<String, PendingUpload> uploads = new ConcurrentHashMap<>();
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+        byte[] data;
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            data = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 체크섬이 있으면 S3처럼 비교해서 다르면 저장하지 않음
+        if (request.checksumSHA256() != null && !request.checksumSHA256().equals(sha256Base64(data))) {
+            throw (S3Exception) S3Exception.builder()
+                    .statusCode(400)
+                    .awsErrorDetails(AwsErrorDetails.builder().errorCode("BadDigest").errorMessage("checksum mismatch").build())
+                    .build();
+        }
+        objects.put(request.key(), new StoredBytes(data, request.contentType(), Instant.now()));
+        return PutObjectResponse.builder().build();
+    }
+
+    private static String sha256Base64(byte[] data) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        StoredBytes stored = find(request.key());
+        return HeadObjectResponse.builder()
+                .contentLength((long) stored.data().length)
+                .contentType(stored.contentType())
+                .lastModified(stored.lastModified())
+                .build();
+    }
+
+    @Override
+    public ResponseBytes<GetObjectResponse> getObjectAsBytes(GetObjectRequest request) {
+        byte[] data = find(request.key()).data();
+        if (request.range() != null) { // "bytes=시작-끝"만 지원
+            String[] range = request.range().substring("bytes=".length()).split("-");
+            int start = Integer.parseInt(range[0]);
+            int end = Math.min(Integer.parseInt(range[1]), data.length - 1);
+            data = Arrays.copyOfRange(data, Math.min(start, data.length), end + 1);
+        }
+        return ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), data);
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        byte[] data = find(request.key()).data();
+        return new ResponseInputStream<>(GetObjectResponse.builder().contentLength((long) data.length).build(),
+                AbortableInputStream.create(new ByteArrayInputStream(data)));
+    }
+
+    @Override
+    public CopyObjectResponse copyObject(CopyObjectRequest request) {
+        StoredBytes source = find(request.sourceKey());
+        objects.put(request.destinationKey(), new StoredBytes(source.data(), source.contentType(), Instant.now()));
+        return CopyObjectResponse.builder().build();
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        objects.remove(request.key());
+        return DeleteObjectResponse.builder().build();
+    }
+
+    @Override
+    public DeleteObjectsResponse deleteObjects(DeleteObjectsRequest request) {
+        for (ObjectIdentifier object : request.delete().objects()) {
+            objects.remove(object.key());
+        }
+        return DeleteObjectsResponse.builder().build();
+    }
+
+    // S3와 같은 규칙: Key 오름차순, continuationToken(이전 페이지 마지막 Key) 다음부터, delimiter 아래 하위 경로 제외
+    @Override
+    public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+        String prefix = request.prefix() == null ? "" : request.prefix();
+        int maxKeys = request.maxKeys() == null ? 1000 : request.maxKeys();
+        Map<String, StoredBytes> candidates = request.continuationToken() == null
+                ? objects.tailMap(prefix, true)
+                : objects.tailMap(request.continuationToken(), false);
+
+        List<S3Object> contents = new ArrayList<>();
+        boolean truncated = false;
+        for (Map.Entry<String, StoredBytes> entry : candidates.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (request.delimiter() != null && key.indexOf(request.delimiter(), prefix.length()) >= 0) {
+                continue;
+            }
+            if (contents.size() == maxKeys) {
+                truncated = true;
+                break;
+            }
+            contents.add(S3Object.builder()
+                    .key(key)
+                    .size((long) entry.getValue().data().length)
+                    .lastModified(entry.getValue().lastModified())
+                    .build());
+        }
+        return ListObjectsV2Response.builder()
+                .contents(contents)
+                .isTruncated(truncated)
+                .nextContinuationToken(truncated ? contents.get(contents.size() - 1).key() : null)
+                .build();
+    }
+
+    @Override
+    public S3Utilities utilities() {
+        return S3Utilities.builder().region(Region.AP_NORTHEAST_2).build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new PendingUpload(request.key(), request.contentType(), new ConcurrentHashMap<>()));
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+        PendingUpload upload = findUpload(request.uploadId());
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            byte[] data = in.readAllBytes();
+            upload.parts().put(request.partNumber(), data);
+            return UploadPartResponse.builder().eTag("\"" + sha256Base64(data) + "\"").build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        PendingUpload upload = findUpload(request.uploadId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            byte[] data = upload.parts().get(part.partNumber());
+            if (data == null || !part.eTag().equals("\"" + sha256Base64(data) + "\"")) {
+                throw (S3Exception) S3Exception.builder().statusCode(400)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("InvalidPart").build()).build();
+            }
+            out.writeBytes(data);
+        }
+        uploads.remove(request.uploadId());
+        objects.put(upload.key(), new StoredBytes(out.toByteArray(), upload.contentType(), Instant.now()));
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        findUpload(request.uploadId());
+        uploads.remove(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    private PendingUpload findUpload(String uploadId) {
+        PendingUpload upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw NoSuchUploadException.builder().statusCode(404).message("The specified upload does not exist.").build();
+        }
+        return upload;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private StoredBytes find(String key) {
+        StoredBytes stored = objects.get(key);
+        if (stored == null) {
+            throw NoSuchKeyException.builder().statusCode(404).message("The specified key does not exist.").build();
+        }
+        return stored;
+    }
+}
@@ -1,10 +1,14 @@
 package com.web.coreclass;
 
 import com.web.coreclass.domain.careerHistory.entity.RoleType;
+import com.web.coreclass.domain.game.entity.GameType;
 import com.web.coreclass.domain.instructor.dto.InstructorDto;
 import com.web.coreclass.domain.instructor.entity.Instructor;
 import com.web.coreclass.domain.instructor.repository.InstructorRepository;
 import com.web.coreclass.domain.instructor.service.InstructorService;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.repository.S3DeleteOutboxRepository;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +31,12 @@ public class InstructorServiceTest {
     @Autowired
     private InstructorRepository instructorRepository;
 
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private S3DeleteOutboxRepository s3DeleteOutboxRepository;
+
     @Autowired
     private EntityManager em; // 영속성 컨텍스트 관리 (캐시 비우기용)
 
@@ -325,6 +335,80 @@ public class InstructorServiceTest {
 
         log.info("===== ✅ 강사 수정(U) 테스트 통과 =====");
     }
-}
 
+    @Test
+    @DisplayName("이미지 참조 카운트: 같은 로고를 여러 경력에 써도 S3 파일은 하나, 수정 시 바뀐 만큼만 반영된다.")
+    void storedFileRefCountTest() {
+        // --- Given (준비) ---
+        log.info("===== 🏁 이미지 참조 카운트 테스트 시작 =====");
+        String sharedLogoKey = "a".repeat(64) + ".png"; // 내용 기반 Key (SHA-256.확장자)
+        String sharedLogoUrl = "https://test-bucket.s3.ap-northeast-2.amazonaws.com/" + sharedLogoKey;
+
+        var request = new InstructorDto.InstructorCreateRequest();
+        request.setName("서재원");
+        request.setNickname("Rexi");
+        request.setProfileImgUrl(sharedLogoUrl);
+        request.setSgeaLogoImgUrl(sharedLogoUrl);
+        request.setContent("메이저 리그 출신...");
+        request.setCareers(List.of());
+        request.setGameNames(List.of("Valorant"));
+
+        // --- When 1: 생성 (프로필 + SGEA 로고 = 2곳에서 사용) ---
+        Long instructorId = instructorService.createInstructor(request).getId();
+        em.flush();
+        em.clear();
 
+        // --- Then 1 ---
+        StoredFile storedFile = storedFileRepository.findByFileKey(sharedLogoKey)
+                .orElseThrow(() -> new AssertionError("참조 카운트가 기록되지 않았습니다."));
+        assertThat(storedFile.getRefCount()).isEqualTo(2);
+
+        // --- When 2: 수정 (SGEA 로고 제거 -> 1곳에서 사용) ---
+        request.setSgeaLogoImgUrl(null);
+        instructorService.updateInstructor(instructorId, request);
+        em.flush();
+        em.clear();
+
+        // --- Then 2 ---
+        assertThat(storedFileRepository.findByFileKey(sharedLogoKey).orElseThrow().getRefCount()).isEqualTo(1);
+        log.info("===== ✅ 이미지 참조 카운트 테스트 통과 =====");
+    }
+
+    @Test
+    @DisplayName("이미지 참조 해제: 기존 Key(uuid_), GameType 로고, 외부 URL은 수정으로 빠져도 S3 삭제 예약하지 않는다.")
+    void releaseSharedUrlTest() {
+        // --- Given: 다른 강사와 같이 쓰는 기존 Key, 게임 로고, 경로만 같은 외부 CDN URL ---
+        String sharedOldUrl = "https://test-bucket.s3.ap-northeast-2.amazonaws.com/uuid_shared_profile.png";
+        String externalKey = "b".repeat(64) + ".png";
+        storedFileRepository.saveAndFlush(new StoredFile(externalKey, "b".repeat(64)));
+
+        var career = new InstructorDto.InstructorCreateRequest.CareerHistoryRequest();
+        career.setPeriod("2023");
+        career.setTeamName("OWCS");
+        career.setRoleType(RoleType.COACH);
+        career.setLogoImgUrl(GameType.OVERWATCH_2.getLogoUrl());
+
+        var request = new InstructorDto.InstructorCreateRequest();
+        request.setName("서재원");
+        request.setNickname("Rexi");
+        request.setProfileImgUrl(sharedOldUrl);
+        request.setSgeaLogoImgUrl("https://cdn.example.com/" + externalKey);
+        request.setContent("메이저 리그 출신...");
+        request.setCareers(List.of(career));
+        request.setGameNames(List.of("Overwatch 2"));
+        Long instructorId = instructorService.createInstructor(request).getId();
+        em.flush();
+        em.clear();
+
+        // --- When: 세 이미지를 모두 빼고 수정 ---
+        career.setLogoImgUrl(null);
+        request.setProfileImgUrl(null);
+        request.setSgeaLogoImgUrl(null);
+        instructorService.updateInstructor(instructorId, request);
+        em.flush();
+
+        // --- Then: 삭제 예약 없음 ---
+        assertThat(s3DeleteOutboxRepository.findAll()).isEmpty();
+        assertThat(storedFileRepository.findByFileKey(externalKey).orElseThrow().isDeleted()).isFalse();
+    }
+}
@@ -0,0 +1,65 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.lease.JobLeaseService;
+import com.web.coreclass.global.lease.repository.JobLeaseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class JobLeaseServiceTest {
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Test
+    @DisplayName("작업 점유권: 점유 중에는 다시 획득할 수 없고, 반납하면 다시 획득할 수 있다")
+    void acquireAndReleaseTest() {
+        Duration ttl = Duration.ofMinutes(5);
+
+        // 1. 첫 획득 성공
+        Optional<JobLeaseService.Lease> first = jobLeaseService.tryAcquire("test-job", ttl);
+        assertThat(first).isPresent();
+        assertThat(first.get().isHeld()).isTrue();
+
+        // 2. 점유 중에는 실패 (다른 서버 / 같은 서버의 다른 스레드 모두)
+        assertThat(jobLeaseService.tryAcquire("test-job", ttl)).isEmpty();
+
+        // 3. 반납 후에는 다시 획득 가능
+        first.get().close();
+        assertThat(first.get().isHeld()).isFalse();
+
+        Optional<JobLeaseService.Lease> second = jobLeaseService.tryAcquire("test-job", ttl);
+        assertThat(second).isPresent();
+        second.get().close();
+    }
+
+    @Test
+    @DisplayName("작업 점유권 생성: 다른 서버가 먼저 만든 행은 덮어쓰지 않는다 (INSERT 영향 행 0)")
+    void insertRaceTest() {
+        // Given: 다른 서버가 방금 행을 만들고 점유 중
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(jobLeaseRepository.insertIfAbsent("race-job", "other-node", now, now.plusMinutes(5))).isEqualTo(1);
+
+        // When
+        int inserted = jobLeaseRepository.insertIfAbsent("race-job", "this-node", now, now.plusMinutes(5));
+        Optional<JobLeaseService.Lease> lease = jobLeaseService.tryAcquire("race-job", Duration.ofMinutes(5));
+
+        // Then
+        assertThat(inserted).isZero();
+        assertThat(lease).isEmpty();
+        assertThat(jobLeaseRepository.findById("race-job").orElseThrow().getOwner()).isEqualTo("other-node");
+    }
+}
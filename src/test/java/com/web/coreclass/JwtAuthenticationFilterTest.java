@@ -0,0 +1,94 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.jwt.JwtAuthenticationFilter;
+import com.web.coreclass.global.jwt.JwtProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 💡 JwtProvider는 mock - 필터가 토큰을 꺼내서 검증을 요청하는지만 확인합니다.
+class JwtAuthenticationFilterTest {
+
+    private JwtProvider jwtProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = mock(JwtProvider.class);
+        when(jwtProvider.resolveToken(any())).thenReturn("token");
+        when(jwtProvider.authenticate("token")).thenReturn(new UsernamePasswordAuthenticationToken("admin", "token", List.of()));
+        filter = new JwtAuthenticationFilter(jwtProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "GET {0}")
+    @ValueSource(strings = {"/api/article", "/api/article/3", "/api/instructor/7", "/img/2026/10/19/logo.png", "/actuator/health"})
+    @DisplayName("공개 조회 요청: 토큰이 있어도 꺼내거나 검증하지 않고 다음 필터로 넘긴다")
+    void publicGetSkipTest(String uri) throws Exception {
+        // Given
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("GET", uri), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+        verify(jwtProvider, never()).resolveToken(any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            "POST, /api/article",
+            "PUT, /api/instructor/7",
+            "GET, /api/admin/cleanup/status",
+            "GET, /actuator/metrics"
+    })
+    @DisplayName("그 외 요청: 토큰을 검증해서 인증 정보를 저장한다")
+    void protectedRequestTest(String method, String uri) throws Exception {
+        // When
+        filter.doFilter(request(method, uri), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        verify(jwtProvider).authenticate("token");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("공개 경로와 이름만 비슷한 경로는 건너뛰지 않는다")
+    void similarPathTest() throws Exception {
+        // When
+        filter.doFilter(request("GET", "/api/articles-admin"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        verify(jwtProvider).authenticate("token");
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
@@ -0,0 +1,255 @@
+package com.web.coreclass;
+
+import com.web.coreclass.domain.admin.repository.AdminRepository;
+import com.web.coreclass.domain.admin.service.AdminStatusCache;
+import com.web.coreclass.global.jwt.JwtProvider;
+import com.web.coreclass.global.jwt.TokenRevocationList;
+import com.web.coreclass.global.jwt.repository.RevokedTokenRepository;
+import com.web.coreclass.global.lease.JobLeaseService;
+import io.jsonwebtoken.JwtParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 💡 스프링 컨텍스트 없이 JwtProvider만 만들고, 파서를 spy로 감싸서 서명 검증 횟수를 셉니다.
+// 💡 AdminRepository, RevokedTokenRepository는 mock (DB 조회 횟수 확인용)
+class JwtProviderTest {
+
+    private static final String SECRET = "VGVzdFNlY3JldEtleUZvclVuaXRUZXN0aW5nTXVzdEJlTG9uZ0Vub3VnaFRvUHJldmVudEVycm9yczEyMzQ1Njc4OTA=";
+
+    private AdminRepository adminRepository;
+    private RevokedTokenRepository revokedTokenRepository;
+    private JwtProvider jwtProvider;
+    private JwtParser parser;
+
+    @BeforeEach
+    void setUp() {
+        adminRepository = mock(AdminRepository.class);
+        when(adminRepository.findTokenVersionByUsername(anyString())).thenReturn(Optional.of(0));
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        jwtProvider = create(new AdminStatusCache(adminRepository, Duration.ofMinutes(1)), 60_000, 2);
+        parser = spy((JwtParser) ReflectionTestUtils.getField(jwtProvider, "parser"));
+        ReflectionTestUtils.setField(jwtProvider, "parser", parser);
+    }
+
+    @Test
+    @DisplayName("토큰 검증: 같은 토큰은 서명 검증을 한 번만 하고, 이후 요청은 캐시된 Claims로 인증한다")
+    void verifyOnceTest() {
+        // Given
+        String token = jwtProvider.createToken(login("admin"));
+
+        // When
+        Authentication first = jwtProvider.authenticate(token);
+        Authentication second = jwtProvider.authenticate(token);
+
+        // Then
+        assertThat(first.getName()).isEqualTo("admin");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(parser, times(1)).parseSignedClaims(token);
+    }
+
+    @Test
+    @DisplayName("토큰 검증: 서명이 다른 토큰은 캐시와 관계없이 거절한다")
+    void tamperedTokenTest() {
+        // Given: 정상 토큰을 한 번 사용해서 캐시에 들어간 상태
+        String token = jwtProvider.createToken(login("admin"));
+        jwtProvider.authenticate(token);
+
+        // When: 서명 중간 글자 하나만 바꿈 (마지막 글자는 패딩 비트라 바꿔도 같은 값일 수 있음)
+        int index = token.length() - 10;
+        String tampered = token.substring(0, index) + (token.charAt(index) == 'A' ? 'B' : 'A') + token.substring(index + 1);
+
+        // Then
+        assertThat(jwtProvider.authenticate(tampered)).isNull();
+        assertThat(jwtProvider.authenticate("not-a-jwt")).isNull();
+    }
+
+    @Test
+    @DisplayName("토큰 검증: 캐시된 토큰도 만료 시각이 지나면 거절한다")
+    void expiredTokenTest() throws Exception {
+        // Given: 1.5초 뒤 만료되는 토큰 (JWT 만료 시각은 초 단위로 잘림)
+        JwtProvider shortLived = create(new AdminStatusCache(adminRepository, Duration.ofMinutes(1)), 1_500, 10);
+        String token = shortLived.createToken(login("admin"));
+        assertThat(shortLived.authenticate(token)).isNotNull();
+
+        // When
+        Thread.sleep(2_500);
+
+        // Then
+        assertThat(shortLived.authenticate(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("토큰 검증: 캐시 크기를 넘으면 가장 오래 사용하지 않은 토큰부터 밀려나서 다시 검증한다")
+    void boundedCacheTest() {
+        // Given: 캐시 2개, 서로 다른 토큰 3개
+        String first = jwtProvider.createToken(login("admin1"));
+        String second = jwtProvider.createToken(login("admin2"));
+        String third = jwtProvider.createToken(login("admin3"));
+
+        // When
+        jwtProvider.authenticate(first);
+        jwtProvider.authenticate(second);
+        jwtProvider.authenticate(third);
+        jwtProvider.authenticate(third);
+        jwtProvider.authenticate(first);
+
+        // Then: first만 밀려났다가 다시 검증
+        verify(parser, times(2)).parseSignedClaims(first);
+        verify(parser, times(1)).parseSignedClaims(second);
+        verify(parser, times(1)).parseSignedClaims(third);
+    }
+
+    @Test
+    @DisplayName("토큰 인증: 권한은 토큰의 roles 클레임으로 만들고, 요청마다 DB를 조회하지 않는다")
+    void noDbLookupTest() {
+        // Given: 발급 시 토큰 버전 조회 1번
+        String token = jwtProvider.createToken(login("admin"));
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            Authentication authentication = jwtProvider.authenticate(token);
+            assertThat(authentication.getName()).isEqualTo("admin");
+            assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        }
+
+        // Then: 인증 100번 동안 추가 조회 없음
+        verify(adminRepository, times(1)).findTokenVersionByUsername("admin");
+        verify(adminRepository, never()).findByUsername(anyString());
+        verify(revokedTokenRepository, never()).existsByTokenId(anyString());
+    }
+
+    @Test
+    @DisplayName("로그아웃: 무효화한 토큰만 거절하고, 같은 관리자의 다른 토큰은 그대로 통과한다")
+    void revokeTokenTest() {
+        // Given: 같은 관리자의 토큰 2개 (토큰 ID가 달라서 내용도 다름)
+        String loggedOut = jwtProvider.createToken(login("admin"));
+        String other = jwtProvider.createToken(login("admin"));
+        assertThat(loggedOut).isNotEqualTo(other);
+
+        // When
+        jwtProvider.revokeToken(loggedOut);
+        when(revokedTokenRepository.existsByTokenId(anyString())).thenReturn(true); // 저장된 기록 (Bloom 필터에 걸린 것만 조회됨)
+
+        // Then
+        assertThat(jwtProvider.authenticate(loggedOut)).isNull();
+        assertThat(jwtProvider.authenticate(other)).isNotNull();
+        verify(revokedTokenRepository, times(1)).existsByTokenId(anyString());
+    }
+
+    @Test
+    @DisplayName("토큰 무효화: 토큰 버전을 올리면 이전 토큰은 거절하고, 다시 로그인한 토큰은 통과한다")
+    void revokeTest() {
+        // Given
+        AtomicInteger version = new AtomicInteger();
+        when(adminRepository.findTokenVersionByUsername("admin")).thenAnswer(invocation -> Optional.of(version.get()));
+        AdminStatusCache adminStatusCache = new AdminStatusCache(adminRepository, Duration.ofMinutes(1));
+        JwtProvider provider = create(adminStatusCache, 60_000, 10);
+        String oldToken = provider.createToken(login("admin"));
+        assertThat(provider.authenticate(oldToken)).isNotNull();
+
+        // When: 이 서버에서 무효화 (버전 +1, 캐시 삭제)
+        version.incrementAndGet();
+        adminStatusCache.evict("admin");
+
+        // Then
+        assertThat(provider.authenticate(oldToken)).isNull();
+        String newToken = provider.createToken(login("admin"));
+        assertThat(provider.authenticate(newToken)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("토큰 무효화: 다른 서버에서 올린 버전이나 삭제된 계정도 캐시 TTL이 지나면 거절한다")
+    void statusTtlTest() throws Exception {
+        // Given: 캐시 TTL 200ms
+        AtomicInteger version = new AtomicInteger();
+        when(adminRepository.findTokenVersionByUsername("admin")).thenAnswer(invocation -> Optional.of(version.get()));
+        JwtProvider provider = create(new AdminStatusCache(adminRepository, Duration.ofMillis(200)), 60_000, 10);
+        String token = provider.createToken(login("admin"));
+
+        // When 1: 다른 서버에서 버전을 올림 (이 서버의 캐시는 그대로)
+        version.incrementAndGet();
+
+        // Then 1: TTL 안에서는 통과, 지나면 거절
+        assertThat(provider.authenticate(token)).isNotNull();
+        Thread.sleep(300);
+        assertThat(provider.authenticate(token)).isNull();
+
+        // When 2: 새로 발급받은 뒤 계정 삭제
+        String newToken = provider.createToken(login("admin"));
+        when(adminRepository.findTokenVersionByUsername("admin")).thenReturn(Optional.empty());
+        Thread.sleep(300);
+
+        // Then 2
+        assertThat(provider.authenticate(newToken)).isNull();
+    }
+
+    @Test
+    @DisplayName("관리자 상태 캐시: DB 조회는 Map 잠금 밖에서 하고, evict() 전에 시작한 느린 조회 결과는 캐시에 남기지 않는다")
+    void statusLoadOutsideLockTest() throws Exception {
+        // Given: "slow" 조회는 latch가 풀릴 때까지 멈춤 (이전 버전 0을 읽은 상태)
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger version = new AtomicInteger();
+        when(adminRepository.findTokenVersionByUsername("slow")).thenAnswer(invocation -> {
+            int read = version.get();
+            entered.countDown();
+            release.await();
+            return Optional.of(read);
+        });
+        when(adminRepository.findTokenVersionByUsername("admin")).thenReturn(Optional.of(7));
+        AdminStatusCache adminStatusCache = new AdminStatusCache(adminRepository, Duration.ofMinutes(1));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> slow = executor.submit(() -> adminStatusCache.tokenVersionOf("slow"));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When: 조회 중에 다른 username 조회 + 버전을 올리고 evict (기다리지 않음)
+            assertThat(executor.submit(() -> adminStatusCache.tokenVersionOf("admin")).get(1, TimeUnit.SECONDS)).isEqualTo(7);
+            version.incrementAndGet();
+            executor.submit(() -> adminStatusCache.evict("slow")).get(1, TimeUnit.SECONDS);
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then: 늦게 끝난 이전 조회(0)는 캐시에 남지 않고 다음 요청은 DB에서 새 버전을 읽음
+        assertThat(adminStatusCache.tokenVersionOf("slow")).isEqualTo(1);
+        verify(adminRepository, times(2)).findTokenVersionByUsername("slow");
+    }
+
+    private JwtProvider create(AdminStatusCache adminStatusCache, long validityMs, int cacheSize) {
+        JwtProvider provider = new JwtProvider(adminStatusCache, new TokenRevocationList(revokedTokenRepository, mock(JobLeaseService.class), 1000, 0.001));
+        ReflectionTestUtils.setField(provider, "secretString", SECRET);
+        ReflectionTestUtils.setField(provider, "tokenValidityInMilliseconds", validityMs);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    private static Authentication login(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+}
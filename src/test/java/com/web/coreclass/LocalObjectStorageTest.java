@@ -0,0 +1,93 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.storage.LocalFileController;
+import com.web.coreclass.global.storage.LocalObjectStorage;
+import com.web.coreclass.global.storage.ObjectStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 💡 임시 디렉터리를 저장소로 사용합니다. (테스트가 끝나면 JUnit이 삭제)
+class LocalObjectStorageTest extends ObjectStorageContractTest {
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStorage localStorage;
+
+    @Override
+    protected ObjectStorage createStorage() {
+        localStorage = new LocalObjectStorage(root.toString(), "http://localhost:8080/");
+        return localStorage;
+    }
+
+    @Test
+    @DisplayName("Key 검증: 저장소 디렉터리 밖을 가리키는 Key는 거부하고, 쓰는 중인 임시 파일은 목록에 보이지 않는다")
+    void pathTest() throws Exception {
+        assertThatThrownBy(() -> localStorage.pathOf("../secret.txt")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> localStorage.pathOf("/etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> localStorage.pathOf("2026//a.png")).isInstanceOf(IllegalArgumentException.class);
+
+        Files.createDirectories(root.resolve("2026/10/19"));
+        Files.write(root.resolve("2026/10/19/.0f1e.uploading"), new byte[]{1});
+        assertThat(localStorage.list(null, null, null).getObjects()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("내려받기: 전체 요청은 200, Range 요청은 206 + 해당 구간만, 범위를 벗어나면 416")
+    void downloadTest() throws Exception {
+        // Given
+        localStorage.put("2026/10/19/한글.txt", "0123456789".getBytes(StandardCharsets.UTF_8), "text/plain");
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LocalFileController(localStorage)).build();
+        // (이미 인코딩된 경로라 URI로 넘겨서 다시 인코딩되지 않도록 함)
+        URI url = URI.create(localStorage.urlOf("2026/10/19/한글.txt").substring("http://localhost:8080".length()));
+
+        // When & Then 1: 전체
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().string("0123456789"));
+
+        // When & Then 2: 구간
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+
+        // When & Then 3: 마지막 N바이트
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+        // 끝이 파일 길이를 넘으면 마지막 바이트까지로 자름
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=8-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-9/10"))
+                .andExpect(content().string("89"));
+
+        // When & Then 4: 범위 밖 / 없는 파일
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-10"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        mockMvc.perform(get("/files/2026/10/19/none.txt"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,135 @@
+package com.web.coreclass;
+
+import com.web.coreclass.domain.admin.entity.Admin;
+import com.web.coreclass.domain.admin.repository.AdminRepository;
+import com.web.coreclass.domain.admin.service.AdminDetailService;
+import com.web.coreclass.global.security.AdaptiveBCryptPasswordEncoder;
+import com.web.coreclass.global.security.LoginBusyException;
+import com.web.coreclass.global.security.LoginExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 💡 스프링 컨텍스트 없이 로그인 스레드 풀, BCrypt 비용 보정, 로그인 시 해시 갱신을 확인합니다.
+class LoginExecutorTest {
+
+    @Test
+    @DisplayName("로그인 스레드 풀: 스레드와 대기열이 모두 차면 기다리지 않고 LoginBusyException")
+    void busyTest() throws Exception {
+        // Given: 스레드 1개, 대기열 1개 / 비밀번호 확인이 끝나지 않는 상태
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        LoginExecutor loginExecutor = new LoginExecutor(authenticationManager, 0.0001, 1);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When: 1개 실행 중 + 1개 대기 중에 3번째 로그인
+            Future<Authentication> running = requests.submit(() -> loginExecutor.authenticate(login("a")));
+            started.await();
+            Future<Authentication> queued = requests.submit(() -> loginExecutor.authenticate(login("b")));
+            Thread.sleep(100);
+            long start = System.nanoTime();
+
+            // Then: 3번째는 바로 실패, 앞의 2개는 정상 완료
+            assertThatThrownBy(() -> loginExecutor.authenticate(login("c")))
+                    .isInstanceOf(LoginBusyException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+            release.countDown();
+            assertThat(running.get().getName()).isEqualTo("a");
+            assertThat(queued.get().getName()).isEqualTo("b");
+        } finally {
+            loginExecutor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("로그인 스레드 풀: 인증 실패는 같은 예외로 요청 스레드에 전달한다 (401 처리 유지)")
+    void authenticationFailureTest() {
+        // Given
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("자격 증명 실패"));
+        LoginExecutor loginExecutor = new LoginExecutor(authenticationManager, 0.25, 4);
+
+        // When & Then
+        assertThatThrownBy(() -> loginExecutor.authenticate(login("admin")))
+                .isInstanceOf(BadCredentialsException.class);
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("BCrypt 비용 보정: 목표 시간에 맞춰 비용을 고르되 최소/최대 비용을 벗어나지 않는다")
+    void calibrationTest() {
+        // When
+        AdaptiveBCryptPasswordEncoder fastest = AdaptiveBCryptPasswordEncoder.calibrated(Duration.ZERO, 4, 8);
+        AdaptiveBCryptPasswordEncoder slowest = AdaptiveBCryptPasswordEncoder.calibrated(Duration.ofHours(1), 4, 8);
+
+        // Then
+        assertThat(fastest.getCost()).isEqualTo(4);
+        assertThat(slowest.getCost()).isEqualTo(8);
+        assertThat(slowest.encode("admin1234!")).startsWith("$2a$08$");
+    }
+
+    @Test
+    @DisplayName("BCrypt 비용 보정: 저장된 해시의 비용이 지금 비용보다 낮을 때만 다시 해시 대상 (높은 비용은 낮추지 않음)")
+    void upgradeEncodingTest() {
+        // Given
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        // When & Then
+        assertThat(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(6).encode("pw"))).isFalse();
+        assertThat(encoder.upgradeEncoding(encoder.encode("pw"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-bcrypt")).isFalse();
+    }
+
+    @Test
+    @DisplayName("로그인 시 해시 갱신: 예전 비용으로 저장된 비밀번호는 로그인 성공 후 지금 비용으로 다시 저장된다")
+    void rehashOnLoginTest() {
+        // Given: 비용 4로 저장된 관리자, 지금 비용은 5
+        Admin admin = new Admin("admin", new AdaptiveBCryptPasswordEncoder(4).encode("admin1234!"), "ROLE_ADMIN");
+        AdminRepository adminRepository = mock(AdminRepository.class);
+        when(adminRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        AdminDetailService adminDetailService = new AdminDetailService(adminRepository);
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(adminDetailService);
+        provider.setUserDetailsPasswordService(adminDetailService);
+        provider.setPasswordEncoder(encoder);
+
+        // When
+        Authentication authentication = provider.authenticate(login("admin"));
+
+        // Then: 인증 성공 + 비용 5 해시로 교체 (같은 비밀번호로 계속 로그인 가능)
+        assertThat(authentication.getAuthorities()).extracting("authority").isEqualTo(List.of("ROLE_ADMIN"));
+        assertThat(admin.getPassword()).startsWith("$2a$05$");
+        assertThat(encoder.matches("admin1234!", admin.getPassword())).isTrue();
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String username) {
+        return new UsernamePasswordAuthenticationToken(username, "admin1234!");
+    }
+}
@@ -0,0 +1,285 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.MultipartUploadService;
+import com.web.coreclass.global.s3.S3Keys;
+import com.web.coreclass.global.s3.dto.MultipartUploadDto;
+import com.web.coreclass.global.s3.entity.MultipartUploadStatus;
+import com.web.coreclass.global.s3.repository.MultipartUploadPartRepository;
+import com.web.coreclass.global.s3.repository.MultipartUploadRepository;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.ChecksumMismatchException;
+import com.web.coreclass.global.storage.ObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 💡 조각은 워커 스레드에서 각자 트랜잭션으로 기록되므로 @Transactional 없이 실행하고 끝나면 직접 정리합니다.
+@SpringBootTest(properties = {
+        "storage.type=local",
+        "storage.local.root=build/multipart-test-storage",
+        "media.part-size=5MB"
+})
+class MultipartUploadServiceTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @Autowired
+    private MultipartUploadService multipartUploadService;
+
+    @Autowired
+    private MultipartUploadRepository multipartUploadRepository;
+
+    @Autowired
+    private MultipartUploadPartRepository multipartUploadPartRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @SpyBean
+    private ObjectStorage objectStorage;
+
+    @MockBean
+    private S3Client s3Client;
+
+    private final List<String> keys = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        multipartUploadPartRepository.deleteAll();
+        multipartUploadRepository.deleteAll();
+        keys.forEach(key -> storedFileRepository.findByFileKey(key).ifPresent(storedFileRepository::delete));
+        keys.forEach(objectStorage::delete);
+    }
+
+    @Test
+    @DisplayName("이어 올리기: 연결이 끊기면 다 받은 조각까지만 남고, nextOffset부터 다시 보내면 완료된다 (실패한 조각은 다시 시도)")
+    void resumeTest() throws Exception {
+        // Given: 11MB 파일 (5MB + 5MB + 1MB 조각)
+        byte[] video = randomBytes(11 * MB);
+        MultipartUploadDto.Progress started = multipartUploadService.start(startRequest(video));
+        keys.add(started.getKey());
+        assertThat(started.getStatus()).isEqualTo(MultipartUploadStatus.IN_PROGRESS);
+
+        // When 1: 7MB까지 보내고 연결 끊김
+        InputStream cut = new SequenceInputStream(new ByteArrayInputStream(video, 0, 7 * MB), failingStream());
+        MultipartUploadDto.Progress interrupted = multipartUploadService.receive(started.getUploadId(), 0, cut, video.length);
+
+        // Then 1: 첫 조각(5MB)만 올라감
+        assertThat(interrupted.getStatus()).isEqualTo(MultipartUploadStatus.IN_PROGRESS);
+        assertThat(interrupted.getUploadedBytes()).isEqualTo(5L * MB);
+        assertThat(interrupted.getNextOffset()).isEqualTo(5L * MB);
+        assertThat(objectStorage.exists(started.getKey())).isFalse();
+
+        // When 2: 2번 조각은 처음 한 번 실패 -> 다시 시도, nextOffset부터 끝까지 전송
+        doThrow(new UncheckedIOException(new IOException("일시적인 오류")))
+                .doCallRealMethod()
+                .when(objectStorage).uploadPart(anyString(), anyString(), eq(2), any());
+        int offset = (int) interrupted.getNextOffset();
+        MultipartUploadDto.Progress completed = multipartUploadService.receive(started.getUploadId(), offset,
+                new ByteArrayInputStream(video, offset, video.length - offset), video.length - offset);
+
+        // Then 2: 완료 + 내용 동일 + 업로드 기록
+        assertThat(completed.getStatus()).isEqualTo(MultipartUploadStatus.COMPLETED);
+        assertThat(completed.getUrl()).isNotNull();
+        verify(objectStorage, times(2)).uploadPart(anyString(), anyString(), eq(2), any());
+        assertThat(objectStorage.getBytes(started.getKey())).isEqualTo(video);
+        assertThat(storedFileRepository.findByFileKey(started.getKey())).isPresent();
+        assertThat(multipartUploadPartRepository.findAllByUploadIdOrderByPartNumber(started.getUploadId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("SHA-256 불일치: 받은 내용이 시작할 때 보낸 값과 다르면 합치지 않고 업로드를 취소한다")
+    void checksumMismatchTest() throws Exception {
+        // Given
+        byte[] video = randomBytes(6 * MB);
+        MultipartUploadDto.Progress started = multipartUploadService.start(startRequest(video));
+        keys.add(started.getKey());
+        byte[] tampered = video.clone();
+        tampered[tampered.length - 1] ^= 1;
+
+        // When & Then
+        assertThatThrownBy(() -> multipartUploadService.receive(started.getUploadId(), 0,
+                new ByteArrayInputStream(tampered), tampered.length))
+                .isInstanceOf(ChecksumMismatchException.class);
+        assertThat(multipartUploadService.progress(started.getUploadId()).getStatus()).isEqualTo(MultipartUploadStatus.ABORTED);
+        assertThat(objectStorage.exists(started.getKey())).isFalse();
+        assertThat(S3Keys.isContentAddressed(started.getKey())).isTrue();
+    }
+
+    @Test
+    @DisplayName("이어 올린 내용이 다르면: 합친 파일을 다시 읽어 SHA-256을 확인하고, 다르면 합친 파일을 지우고 취소한다")
+    void resumedChecksumMismatchTest() throws Exception {
+        // Given: 첫 조각까지 올라간 상태 (이어 올릴 때는 받으면서 계산한 SHA-256 상태가 없음)
+        byte[] video = randomBytes(11 * MB);
+        MultipartUploadDto.Progress started = multipartUploadService.start(startRequest(video));
+        keys.add(started.getKey());
+        InputStream cut = new SequenceInputStream(new ByteArrayInputStream(video, 0, 5 * MB), failingStream());
+        multipartUploadService.receive(started.getUploadId(), 0, cut, video.length);
+        byte[] tampered = video.clone();
+        tampered[tampered.length - 1] ^= 1;
+
+        // When & Then
+        int offset = 5 * MB;
+        assertThatThrownBy(() -> multipartUploadService.receive(started.getUploadId(), offset,
+                new ByteArrayInputStream(tampered, offset, tampered.length - offset), tampered.length - offset))
+                .isInstanceOf(ChecksumMismatchException.class);
+        assertThat(multipartUploadService.progress(started.getUploadId()).getStatus()).isEqualTo(MultipartUploadStatus.ABORTED);
+        assertThat(objectStorage.exists(started.getKey())).isFalse();
+    }
+
+    @Test
+    @DisplayName("이어 올린 내용이 다르면: 그사이 다른 업로드가 같은 Key에 올린 정상 파일은 덮어쓰거나 지우지 않는다")
+    void resumedMismatchKeepsExistingTest() throws Exception {
+        // Given: 첫 조각까지 올라간 상태에서 같은 내용을 다른 업로드가 먼저 완료
+        byte[] video = randomBytes(11 * MB);
+        MultipartUploadDto.Progress started = multipartUploadService.start(startRequest(video));
+        keys.add(started.getKey());
+        InputStream cut = new SequenceInputStream(new ByteArrayInputStream(video, 0, 5 * MB), failingStream());
+        multipartUploadService.receive(started.getUploadId(), 0, cut, video.length);
+        objectStorage.put(started.getKey(), video, "video/mp4");
+        byte[] tampered = video.clone();
+        tampered[tampered.length - 1] ^= 1;
+
+        // When
+        int offset = 5 * MB;
+        assertThatThrownBy(() -> multipartUploadService.receive(started.getUploadId(), offset,
+                new ByteArrayInputStream(tampered, offset, tampered.length - offset), tampered.length - offset))
+                .isInstanceOf(ChecksumMismatchException.class);
+
+        // Then: 이 업로드만 취소, 먼저 올라간 파일은 그대로
+        assertThat(multipartUploadService.progress(started.getUploadId()).getStatus()).isEqualTo(MultipartUploadStatus.ABORTED);
+        assertThat(objectStorage.getBytes(started.getKey())).isEqualTo(video);
+        assertThat(objectStorage.exists(S3Keys.multipartStaging(started.getUploadId(), started.getKey()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("동시 수신 방지: 다른 요청(다른 서버 포함)이 점유 중인 업로드는 받지 않고, 점유 시간이 지나면 이어 받는다")
+    void receiveClaimTest() throws Exception {
+        // Given: 다른 서버의 요청이 본문을 받는 중
+        byte[] video = randomBytes(6 * MB);
+        MultipartUploadDto.Progress started = multipartUploadService.start(startRequest(video));
+        keys.add(started.getKey());
+        LocalDateTime now = LocalDateTime.now();
+        multipartUploadRepository.claimReceive(started.getUploadId(), MultipartUploadStatus.IN_PROGRESS, "other-node",
+                now, now.plusMinutes(5));
+
+        // When & Then 1: 점유 중이면 거절
+        assertThatThrownBy(() -> multipartUploadService.receive(started.getUploadId(), 0,
+                new ByteArrayInputStream(video), video.length))
+                .isInstanceOf(IllegalStateException.class);
+
+        // When & Then 2: 받던 서버가 죽어서 점유 시간이 지나면 이어 받을 수 있음
+        multipartUploadRepository.extendReceive(started.getUploadId(), "other-node", now.minusSeconds(1));
+        MultipartUploadDto.Progress completed = multipartUploadService.receive(started.getUploadId(), 0,
+                new ByteArrayInputStream(video), video.length);
+        assertThat(completed.getStatus()).isEqualTo(MultipartUploadStatus.COMPLETED);
+        assertThat(multipartUploadRepository.findById(started.getUploadId()).orElseThrow().getReceiver()).isNull();
+    }
+
+    @Test
+    @DisplayName("느린 클라이언트: 조각을 다 받기 전에는 조각 업로드 자리를 차지하지 않는다")
+    void slowClientTest() throws Exception {
+        // Given: 1MB를 보내고 멈춘 클라이언트
+        byte[] video = randomBytes(6 * MB);
+        MultipartUploadDto.Progress started = multipartUploadService.start(startRequest(video));
+        keys.add(started.getKey());
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        InputStream slow = new SequenceInputStream(new ByteArrayInputStream(video, 0, MB), new InputStream() {
+            private final InputStream rest = new ByteArrayInputStream(video, MB, video.length - MB);
+
+            @Override
+            public int read() throws IOException {
+                awaitResume();
+                return rest.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                awaitResume();
+                return rest.read(b, off, len);
+            }
+
+            private void awaitResume() throws IOException {
+                stalled.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        });
+        Semaphore partBuffers = (Semaphore) ReflectionTestUtils.getField(multipartUploadService, "partBuffers");
+        int permits = partBuffers.availablePermits();
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            Future<MultipartUploadDto.Progress> receiving = requests.submit(() ->
+                    multipartUploadService.receive(started.getUploadId(), 0, slow, video.length));
+            stalled.await();
+
+            // Then: 받는 중에는 자리 그대로, 다 받으면 완료
+            assertThat(partBuffers.availablePermits()).isEqualTo(permits);
+            resume.countDown();
+            assertThat(receiving.get().getStatus()).isEqualTo(MultipartUploadStatus.COMPLETED);
+            assertThat(partBuffers.availablePermits()).isEqualTo(permits);
+        }
+    }
+
+    private static MultipartUploadDto.StartRequest startRequest(byte[] data) throws Exception {
+        MultipartUploadDto.StartRequest request = new MultipartUploadDto.StartRequest();
+        request.setContentType("video/mp4");
+        request.setContentLength(data.length);
+        request.setSha256(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)));
+        return request;
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        return data;
+    }
+
+    // 읽으면 연결 끊김(IOException)
+    private static InputStream failingStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("연결 끊김");
+            }
+        };
+    }
+}
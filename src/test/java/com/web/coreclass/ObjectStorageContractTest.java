@@ -0,0 +1,222 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.S3Keys;
+import com.web.coreclass.global.storage.ChecksumMismatchException;
+import com.web.coreclass.global.storage.ObjectListing;
+import com.web.coreclass.global.storage.ObjectNotFoundException;
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 파일 저장소 공통 동작 (업로드/삭제/목록)
+ * 저장소 구현마다 이 클래스를 상속해서 같은 테스트를 실행합니다. (S3ObjectStorageTest, LocalObjectStorageTest)
+ */
+abstract class ObjectStorageContractTest {
+
+    private ObjectStorage storage;
+
+    // 테스트마다 비어 있는 새 저장소
+    protected abstract ObjectStorage createStorage() throws Exception;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = createStorage();
+    }
+
+    @Test
+    @DisplayName("업로드: 바이트/스트림으로 저장하면 HEAD와 내용 조회로 같은 파일을 돌려준다")
+    void putTest() throws Exception {
+        // Given
+        byte[] png = "png-bytes".getBytes(StandardCharsets.UTF_8);
+        byte[] gif = "gif-bytes-stream".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        storage.put("2026/10/19/a.png", png, "image/png");
+        storage.put("2026/10/19/b.gif", new ByteArrayInputStream(gif), gif.length, "image/gif");
+
+        // Then
+        StoredObject head = storage.head("2026/10/19/a.png").orElseThrow();
+        assertThat(head.getSize()).isEqualTo(png.length);
+        assertThat(head.getContentType()).isEqualTo("image/png");
+        assertThat(head.getLastModified()).isNotNull();
+        assertThat(storage.getBytes("2026/10/19/a.png")).isEqualTo(png);
+        assertThat(storage.getBytes("2026/10/19/b.gif")).isEqualTo(gif);
+        assertThat(storage.getFirstBytes("2026/10/19/b.gif", 3)).isEqualTo("gif".getBytes(StandardCharsets.UTF_8));
+        assertThat(storage.getFirstBytes("2026/10/19/b.gif", 100)).isEqualTo(gif);
+        try (InputStream in = storage.get("2026/10/19/b.gif")) {
+            assertThat(in.readAllBytes()).isEqualTo(gif);
+        }
+
+        // 같은 Key로 다시 올리면 덮어씀
+        storage.put("2026/10/19/a.png", gif, "image/png");
+        assertThat(storage.getBytes("2026/10/19/a.png")).isEqualTo(gif);
+    }
+
+    @Test
+    @DisplayName("체크섬: SHA-256이 맞으면 저장하고, 다르면 ChecksumMismatchException을 던지고 저장하지 않는다")
+    void checksumTest() throws Exception {
+        // Given
+        byte[] data = "streamed-bytes".getBytes(StandardCharsets.UTF_8);
+        byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(data);
+        byte[] wrong = MessageDigest.getInstance("SHA-256").digest("other".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        storage.put("2026/10/19/ok.png", new ByteArrayInputStream(data), data.length, "image/png", sha256);
+        assertThat(storage.getBytes("2026/10/19/ok.png")).isEqualTo(data);
+
+        assertThatThrownBy(() -> storage.put("2026/10/19/bad.png", new ByteArrayInputStream(data), data.length, "image/png", wrong))
+                .isInstanceOf(ChecksumMismatchException.class);
+        assertThat(storage.exists("2026/10/19/bad.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("멀티파트: 조각을 순서 없이/다시 올려도 완료 시 번호 순서대로 합치고, 완료 전에는 보이지 않는다")
+    void multipartTest() {
+        // Given
+        String key = "2026/10/19/video.mp4";
+        String uploadId = storage.createMultipartUpload(key, "video/mp4");
+
+        // When: 2번 먼저, 1번은 두 번 (재시도)
+        String etag2 = storage.uploadPart(key, uploadId, 2, "world".getBytes(StandardCharsets.UTF_8));
+        storage.uploadPart(key, uploadId, 1, "broken".getBytes(StandardCharsets.UTF_8));
+        String etag1 = storage.uploadPart(key, uploadId, 1, "hello ".getBytes(StandardCharsets.UTF_8));
+
+        // Then: 완료 전에는 조회/목록에 없음
+        assertThat(storage.exists(key)).isFalse();
+        assertThat(storage.list(null, null, null).getObjects()).isEmpty();
+
+        storage.completeMultipartUpload(key, uploadId, new TreeMap<>(Map.of(1, etag1, 2, etag2)));
+        assertThat(storage.getBytes(key)).isEqualTo("hello world".getBytes(StandardCharsets.UTF_8));
+        assertThat(storage.list(null, null, null).getObjects()).extracting(StoredObject::getKey).containsExactly(key);
+
+        // 취소: 올린 조각은 사라지고, 두 번 취소해도 성공
+        String abortedId = storage.createMultipartUpload("2026/10/19/aborted.mp4", "video/mp4");
+        storage.uploadPart("2026/10/19/aborted.mp4", abortedId, 1, new byte[]{1});
+        storage.abortMultipartUpload("2026/10/19/aborted.mp4", abortedId);
+        storage.abortMultipartUpload("2026/10/19/aborted.mp4", abortedId);
+        assertThat(storage.exists("2026/10/19/aborted.mp4")).isFalse();
+        assertThat(storage.list(null, null, null).getObjects()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("없는 파일: HEAD는 비어 있고, 내용 조회/복사는 ObjectNotFoundException, 삭제는 성공한다")
+    void missingTest() {
+        assertThat(storage.head("2026/10/19/none.png")).isEmpty();
+        assertThat(storage.exists("2026/10/19/none.png")).isFalse();
+        assertThatThrownBy(() -> storage.getBytes("2026/10/19/none.png")).isInstanceOf(ObjectNotFoundException.class);
+        assertThatThrownBy(() -> storage.get("2026/10/19/none.png")).isInstanceOf(ObjectNotFoundException.class);
+        assertThatThrownBy(() -> storage.getFirstBytes("2026/10/19/none.png", 12)).isInstanceOf(ObjectNotFoundException.class);
+        assertThatThrownBy(() -> storage.copy("2026/10/19/none.png", "2026/10/20/none.png"))
+                .isInstanceOf(ObjectNotFoundException.class);
+
+        storage.delete("2026/10/19/none.png");
+        assertThat(storage.deleteAll(List.of("2026/10/19/none.png"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("삭제: 단건/다건 삭제 후에는 조회되지 않는다")
+    void deleteTest() {
+        // Given
+        for (String key : List.of("uuid_a.png", "uuid_b.png", "uuid_c.png")) {
+            storage.put(key, new byte[]{1, 2, 3}, "image/png");
+        }
+
+        // When
+        storage.delete("uuid_a.png");
+        Map<String, String> failures = storage.deleteAll(List.of("uuid_b.png", "uuid_c.png"));
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(storage.exists("uuid_a.png")).isFalse();
+        assertThat(storage.exists("uuid_b.png")).isFalse();
+        assertThat(storage.exists("uuid_c.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("복사: 원본은 그대로 두고 같은 내용의 새 Key를 만든다")
+    void copyTest() {
+        storage.put("uuid_a.png", new byte[]{1, 2, 3}, "image/png");
+
+        storage.copy("uuid_a.png", "2026/10/19/uuid_a.png");
+
+        assertThat(storage.getBytes("2026/10/19/uuid_a.png")).containsExactly(1, 2, 3);
+        assertThat(storage.exists("uuid_a.png")).isTrue();
+    }
+
+    @Test
+    @DisplayName("목록: Key 오름차순, prefix/delimiter로 범위를 좁히고 continuationToken으로 이어서 조회한다")
+    void listTest() {
+        // Given
+        byte[] data = {1};
+        storage.put("2026/10/20/b.png", data, "image/png");
+        storage.put("2026/10/19/a.png", data, "image/png");
+        storage.put("2026/10/19/a_thumb.png", data, "image/png");
+        storage.put("uuid_legacy.png", data, "image/png");
+
+        // When & Then 1: 전체 (하위 경로 포함)
+        ObjectListing all = storage.list(null, null, null);
+        assertThat(all.getObjects()).extracting(StoredObject::getKey)
+                .containsExactly("2026/10/19/a.png", "2026/10/19/a_thumb.png", "2026/10/20/b.png", "uuid_legacy.png");
+        assertThat(all.getObjects()).allSatisfy(object -> {
+            assertThat(object.getSize()).isEqualTo(1);
+            assertThat(object.getLastModified()).isNotNull();
+        });
+        assertThat(all.isTruncated()).isFalse();
+
+        // When & Then 2: 날짜 접두사
+        assertThat(storage.list("2026/10/19/", null, null).getObjects()).extracting(StoredObject::getKey)
+                .containsExactly("2026/10/19/a.png", "2026/10/19/a_thumb.png");
+
+        // When & Then 3: 최상위 파일만
+        assertThat(storage.list(null, "/", null).getObjects()).extracting(StoredObject::getKey)
+                .containsExactly("uuid_legacy.png");
+    }
+
+    @Test
+    @DisplayName("목록 페이지: MAX_KEYS개씩 나눠서 빠짐없이, 겹치지 않게 조회한다")
+    void listPagingTest() {
+        // Given
+        int total = ObjectStorage.MAX_KEYS + 5;
+        for (int i = 0; i < total; i++) {
+            storage.put(String.format("2026/10/19/%05d.png", i), new byte[]{1}, "image/png");
+        }
+
+        // When
+        List<String> keys = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String token = null;
+        do {
+            ObjectListing page = storage.list("2026/10/19/", null, token);
+            page.getObjects().forEach(object -> keys.add(object.getKey()));
+            pageSizes.add(page.getObjects().size());
+            token = page.getNextContinuationToken();
+        } while (token != null);
+
+        // Then
+        assertThat(pageSizes).containsExactly(ObjectStorage.MAX_KEYS, 5);
+        assertThat(keys).hasSize(total).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    @DisplayName("URL: 공개 URL에서 다시 Key를 꺼내면 원래 Key와 같다 (한글/공백 파일명 포함)")
+    void urlRoundTripTest() {
+        for (String key : List.of("2026/10/19/" + "a".repeat(64) + ".png", "uuid_한글 이미지.png")) {
+            assertThat(S3Keys.fromUrl(storage.urlOf(key))).isEqualTo(key);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.PresignedUploadService;
+import com.web.coreclass.global.s3.S3Uploader;
+import com.web.coreclass.global.s3.dto.ImageDto;
+import com.web.coreclass.global.s3.image.ImageFormat;
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 💡 저장소/업로더는 mock으로 두고, 직접 업로드 완료 처리의 검증만 확인합니다.
+class PresignedUploadServiceTest {
+
+    private static final String KEY = "2026/10/19/" + "a".repeat(64) + ".png";
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+
+    private final ObjectStorage objectStorage = mock(ObjectStorage.class);
+    private final S3Uploader s3Uploader = mock(S3Uploader.class);
+    private PresignedUploadService presignedUploadService;
+
+    @BeforeEach
+    void setUp() {
+        presignedUploadService = new PresignedUploadService(null, objectStorage, s3Uploader);
+        ReflectionTestUtils.setField(presignedUploadService, "maxFileSize", DataSize.ofMegabytes(10));
+        when(objectStorage.head(KEY)).thenReturn(Optional.of(new StoredObject(KEY, 1024, "image/png", Instant.now())));
+        when(s3Uploader.getUrl(KEY)).thenReturn("https://test-bucket.s3.ap-northeast-2.amazonaws.com/" + KEY);
+    }
+
+    @Test
+    @DisplayName("직접 업로드 완료: 앞 12byte만 받아서 선언한 형식(PNG)이 맞으면 등록하고 URL을 돌려준다")
+    void completeTest() {
+        // Given
+        when(objectStorage.getFirstBytes(KEY, ImageFormat.MAGIC_BYTES)).thenReturn(PNG_MAGIC);
+
+        // When
+        String url = presignedUploadService.complete(request(KEY));
+
+        // Then
+        assertThat(url).endsWith(KEY);
+        verify(objectStorage, never()).getBytes(anyString());
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("직접 업로드 완료: Content-Type만 image/png이고 내용은 다른 파일이면 삭제하고 거절한다")
+    void contentMismatchTest() {
+        // Given: PNG로 선언했지만 실제로는 HTML
+        when(objectStorage.getFirstBytes(KEY, ImageFormat.MAGIC_BYTES))
+                .thenReturn("<html><script".getBytes(StandardCharsets.US_ASCII));
+
+        // When & Then
+        assertThatThrownBy(() -> presignedUploadService.complete(request(KEY)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(objectStorage).delete(KEY);
+        verify(s3Uploader, never()).getUrl(anyString());
+    }
+
+    private static ImageDto.PresignCompleteRequest request(String key) {
+        ImageDto.PresignCompleteRequest request = new ImageDto.PresignCompleteRequest();
+        request.setKey(key);
+        return request;
+    }
+}
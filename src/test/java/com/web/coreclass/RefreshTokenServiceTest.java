@@ -0,0 +1,126 @@
+package com.web.coreclass;
+
+import com.web.coreclass.domain.admin.entity.RefreshToken;
+import com.web.coreclass.domain.admin.repository.RefreshTokenRepository;
+import com.web.coreclass.domain.admin.service.RefreshTokenService;
+import com.web.coreclass.global.lease.JobLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 💡 RefreshTokenRepository는 메모리 Map으로 흉내 냅니다. (토큰 해시 -> 엔티티)
+class RefreshTokenServiceTest {
+
+    private final Map<String, RefreshToken> stored = new ConcurrentHashMap<>();
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong();
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            ReflectionTestUtils.setField(token, "id", ids.incrementAndGet());
+            stored.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        when(repository.markUsed(anyLong())).thenAnswer(invocation -> {
+            RefreshToken token = stored.values().stream().filter(t -> t.getId().equals(invocation.getArgument(0))).findFirst().orElseThrow();
+            if (token.isUsed()) {
+                return 0;
+            }
+            ReflectionTestUtils.setField(token, "used", true);
+            return 1;
+        });
+        when(repository.deleteByFamilyId(anyString())).thenAnswer(invocation -> {
+            stored.values().removeIf(token -> token.getFamilyId().equals(invocation.getArgument(0)));
+            return 1;
+        });
+
+        refreshTokenService = new RefreshTokenService(repository, mock(JobLeaseService.class));
+        ReflectionTestUtils.setField(refreshTokenService, "refreshValidity", Duration.ofDays(14));
+    }
+
+    @Test
+    @DisplayName("발급: DB에는 토큰 원문이 아닌 SHA-256만 저장한다")
+    void issueTest() {
+        // When
+        String refreshToken = refreshTokenService.issue("admin");
+
+        // Then
+        RefreshToken saved = stored.values().iterator().next();
+        assertThat(saved.getTokenHash()).hasSize(64).isNotEqualTo(refreshToken);
+        assertThat(saved.getUsername()).isEqualTo("admin");
+        assertThat(saved.isUsed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("교체: 쓴 토큰은 새 토큰으로 바뀌고, 같은 로그인 묶음으로 이어진다")
+    void rotateTest() {
+        // Given
+        String first = refreshTokenService.issue("admin");
+
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+        RefreshTokenService.Rotation next = refreshTokenService.rotate(rotation.refreshToken());
+
+        // Then
+        assertThat(rotation.username()).isEqualTo("admin");
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(next.refreshToken()).isNotEqualTo(rotation.refreshToken());
+        assertThat(stored.values()).extracting(RefreshToken::getFamilyId).containsOnly(stored.values().iterator().next().getFamilyId());
+    }
+
+    @Test
+    @DisplayName("재사용 감지: 이미 교체된 토큰이 다시 쓰이면 거절하고, 그 로그인에서 이어진 토큰도 모두 폐기한다")
+    void reuseDetectionTest() {
+        // Given: 정상 사용자가 한 번 교체한 상태, 다른 로그인 1개
+        String stolen = refreshTokenService.issue("admin");
+        String current = refreshTokenService.rotate(stolen).refreshToken();
+        String otherLogin = refreshTokenService.issue("admin");
+
+        // When: 탈취된 예전 토큰 사용
+        assertThatThrownBy(() -> refreshTokenService.rotate(stolen))
+                .isInstanceOf(BadCredentialsException.class);
+
+        // Then: 정상 사용자의 최신 토큰도 폐기, 다른 로그인은 그대로
+        assertThatThrownBy(() -> refreshTokenService.rotate(current))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(refreshTokenService.rotate(otherLogin).username()).isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("만료/없는 토큰/로그아웃한 토큰은 교체할 수 없다")
+    void invalidTokenTest() {
+        // Given
+        ReflectionTestUtils.setField(refreshTokenService, "refreshValidity", Duration.ofSeconds(-1));
+        String expired = refreshTokenService.issue("admin");
+        ReflectionTestUtils.setField(refreshTokenService, "refreshValidity", Duration.ofDays(14));
+        String loggedOut = refreshTokenService.issue("admin");
+
+        // When
+        refreshTokenService.revoke(loggedOut);
+
+        // Then
+        assertThatThrownBy(() -> refreshTokenService.rotate(expired)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown")).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(loggedOut)).isInstanceOf(BadCredentialsException.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.S3BatchDeleter;
+import com.web.coreclass.global.storage.BlockingAsyncObjectStorage;
+import com.web.coreclass.global.storage.S3Guard;
+import com.web.coreclass.global.storage.S3ObjectStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 💡 스프링 컨텍스트 없이 S3Client만 Mock으로 만들어서 테스트합니다.
+class S3BatchDeleterTest {
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private final S3ObjectStorage s3ObjectStorage = new S3ObjectStorage(s3Client,
+            new S3Guard(Duration.ofSeconds(3), Duration.ofSeconds(10), Duration.ofMinutes(2), 50, Duration.ofMillis(100), 5, Duration.ofSeconds(30)));
+    private final S3BatchDeleter s3BatchDeleter = new S3BatchDeleter(new BlockingAsyncObjectStorage(s3ObjectStorage));
+
+    @Test
+    @DisplayName("다건 삭제: 1,000개씩 묶어서 요청하고, 응답의 Key별 실패를 모아서 돌려준다")
+    void deleteInBatchesTest() {
+        // Given: 2,500개의 Key, S3는 "key-7" 하나만 삭제 실패로 응답
+        ReflectionTestUtils.setField(s3ObjectStorage, "bucket", "test-bucket");
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            boolean containsFailedKey = request.delete().objects().stream()
+                    .anyMatch(object -> object.key().equals("key-7"));
+            return DeleteObjectsResponse.builder()
+                    .errors(containsFailedKey
+                            ? List.of(S3Error.builder().key("key-7").code("AccessDenied").message("Access Denied").build())
+                            : List.of())
+                    .build();
+        });
+
+        // When
+        S3BatchDeleter.Result result;
+        try (S3BatchDeleter.Session session = s3BatchDeleter.open()) {
+            for (int i = 0; i < 2500; i++) {
+                session.add("key-" + i);
+            }
+            result = session.finish();
+        }
+
+        // Then: 요청은 3번 (1000 + 1000 + 500), 실패한 Key만 따로 보고됨
+        ArgumentCaptor<DeleteObjectsRequest> captor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(3)).deleteObjects(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(request -> request.delete().objects().size())
+                .containsExactlyInAnyOrder(1000, 1000, 500);
+
+        assertThat(result.getDeletedCount()).isEqualTo(2499);
+        assertThat(result.getFailures()).containsOnlyKeys("key-7");
+        assertThat(result.getFailures().get("key-7")).startsWith("AccessDenied");
+    }
+}
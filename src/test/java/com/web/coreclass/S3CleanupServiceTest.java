@@ -0,0 +1,184 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.S3CleanupService;
+import com.web.coreclass.global.s3.entity.CleanupKeyResult;
+import com.web.coreclass.global.s3.entity.CleanupKind;
+import com.web.coreclass.global.s3.entity.CleanupRun;
+import com.web.coreclass.global.s3.entity.CleanupStatus;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.repository.CleanupRunRepository;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.DiskLruCache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+class S3CleanupServiceTest {
+
+    @Autowired
+    private S3CleanupService s3CleanupService;
+
+    @Autowired
+    private CleanupRunRepository cleanupRunRepository;
+
+    @SpyBean
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private EntityManager em; // 영속성 컨텍스트 관리 (캐시 비우기용)
+
+    @MockBean
+    private S3Client s3Client;
+
+    @MockBean
+    private DiskLruCache diskLruCache;
+
+    @Test
+    @DisplayName("SWEEP: S3 목록을 조회하지 않고 업로드 기록에서 고아 파일을 찾아 삭제한다")
+    void sweepTest() {
+        // Given: 참조 카운트 0 + 유예 시간 지남(삭제 대상) / 방금 업로드됨 / 참조 중
+        LocalDateTime twoDaysAgo = LocalDateTime.now().minusDays(2);
+        String orphanKey = "2026/10/01/" + "a".repeat(64) + ".png";
+        String recentKey = "2026/10/01/" + "b".repeat(64) + ".png";
+        String retainedKey = "2026/10/01/" + "c".repeat(64) + ".png";
+        storedFileRepository.save(new StoredFile(orphanKey, "a".repeat(64), 10L, "image/png", twoDaysAgo));
+        storedFileRepository.save(new StoredFile(recentKey, "b".repeat(64), 10L, "image/png", LocalDateTime.now()));
+        storedFileRepository.save(new StoredFile(retainedKey, "c".repeat(64), 10L, "image/png", twoDaysAgo));
+        storedFileRepository.increaseRefCount(retainedKey, 1, LocalDateTime.now());
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder().build());
+
+        // When
+        CleanupRun run = s3CleanupService.run(CleanupKind.SWEEP, false);
+        em.clear();
+
+        // Then: 원본 + 리사이즈 버전 3개 삭제, 기록은 남기고 삭제 표시
+        assertThat(run.getStatus()).isEqualTo(CleanupStatus.COMPLETED);
+        assertThat(run.getOrphanCount()).isEqualTo(1);
+        assertThat(run.getDeletedCount()).isEqualTo(4);
+        assertThat(s3CleanupService.getRunKeys(run.getId(), CleanupKeyResult.DELETED, 0, 100))
+                .extracting("fileKey")
+                .contains(orphanKey);
+        assertThat(storedFileRepository.findByFileKey(orphanKey).orElseThrow().isDeleted()).isTrue();
+        assertThat(storedFileRepository.findByFileKey(recentKey).orElseThrow().isDeleted()).isFalse();
+        assertThat(storedFileRepository.findByFileKey(retainedKey).orElseThrow().isDeleted()).isFalse();
+        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+        verify(diskLruCache).evict(orphanKey); // 이 서버의 이미지 캐시에서도 삭제
+    }
+
+    @Test
+    @DisplayName("SWEEP: 후보 조회 뒤에 다시 참조된 파일은 S3에서 삭제하지 않는다")
+    void sweepSkipsRetainedAfterReadTest() {
+        // Given: 후보로 조회된 직후 다른 요청이 참조 카운트를 올림
+        String racedKey = "2026/10/01/" + "e".repeat(64) + ".png";
+        storedFileRepository.save(new StoredFile(racedKey, "e".repeat(64), 10L, "image/png", LocalDateTime.now().minusDays(2)));
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<StoredFile> page = (List<StoredFile>) invocation.callRealMethod();
+            page.stream()
+                    .filter(file -> file.getFileKey().equals(racedKey))
+                    .forEach(file -> storedFileRepository.increaseRefCount(racedKey, 1, LocalDateTime.now()));
+            return page;
+        }).when(storedFileRepository).findSweepCandidates(anyLong(), any(), any());
+
+        // When
+        CleanupRun run = s3CleanupService.run(CleanupKind.SWEEP, false);
+        em.clear();
+
+        // Then: 삭제 표시도, S3 삭제 요청도 없음
+        assertThat(run.getOrphanCount()).isZero();
+        assertThat(storedFileRepository.findByFileKey(racedKey).orElseThrow().isDeleted()).isFalse();
+        verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+    }
+
+    @Test
+    @DisplayName("SWEEP: S3 삭제에 실패한 파일은 삭제 표시를 되돌려 다음 청소 때 다시 시도한다")
+    void sweepFailureUnmarksTest() {
+        // Given
+        String failingKey = "2026/10/01/" + "f".repeat(64) + ".png";
+        storedFileRepository.save(new StoredFile(failingKey, "f".repeat(64), 10L, "image/png", LocalDateTime.now().minusDays(2)));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key(failingKey).code("AccessDenied").message("Access Denied").build())
+                .build());
+
+        // When
+        s3CleanupService.run(CleanupKind.SWEEP, false);
+        em.clear();
+
+        // Then
+        assertThat(storedFileRepository.findByFileKey(failingKey).orElseThrow().isDeleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("RECONCILE 이어서 실행: 저장된 continuationToken부터 조회하고, 기록 누락과 S3에 없는 파일을 보정한다")
+    void reconcileResumeTest() {
+        // Given: 첫 페이지까지 처리하고 멈춘 점검 + S3에는 없는데 기록만 남은 파일
+        CleanupRun interrupted = new CleanupRun(CleanupKind.RECONCILE, false);
+        interrupted.begin();
+        interrupted.checkpoint("token-2", 2, 0, 0, 0, 0);
+        cleanupRunRepository.save(interrupted);
+
+        String missingKey = "2026/10/01/" + "d".repeat(64) + ".png";
+        storedFileRepository.save(new StoredFile(missingKey, "d".repeat(64), 10L, "image/png", LocalDateTime.now().minusDays(2)));
+
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(page(null));
+        when(s3Client.listObjectsV2(argThat((ListObjectsV2Request r) -> r != null && "token-2".equals(r.continuationToken()))))
+                .thenReturn(page(null, "uuid_legacy.png"));
+
+        // When
+        CleanupRun run = s3CleanupService.run(CleanupKind.RECONCILE, false);
+        em.clear();
+
+        // Then: 같은 실행을 이어서 완료, 첫 페이지는 다시 조회하지 않음
+        assertThat(run.getId()).isEqualTo(interrupted.getId());
+        assertThat(run.getAttempts()).isEqualTo(2);
+        assertThat(run.getScannedCount()).isEqualTo(3);
+        assertThat(run.getDriftCount()).isEqualTo(2);
+        verify(s3Client, never()).listObjectsV2(argThat((ListObjectsV2Request r) -> r != null && r.continuationToken() == null));
+
+        // 기록 없던 기존 Key는 추가, S3에 없는 파일은 삭제 표시
+        StoredFile legacy = storedFileRepository.findByFileKey("uuid_legacy.png").orElseThrow();
+        assertThat(legacy.getSha256()).isNull();
+        assertThat(legacy.getLastSeenAt()).isNotNull();
+        assertThat(storedFileRepository.findByFileKey(missingKey).orElseThrow().isDeleted()).isTrue();
+    }
+
+    private static ListObjectsV2Response page(String nextToken, String... keys) {
+        Instant lastModified = Instant.now().minus(2, ChronoUnit.DAYS);
+        return ListObjectsV2Response.builder()
+                .contents(Arrays.stream(keys)
+                        .map(key -> S3Object.builder().key(key).size(10L).lastModified(lastModified).build())
+                        .toList())
+                .isTruncated(nextToken != null)
+                .nextContinuationToken(nextToken)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.web.coreclass;
+
+import com.sun.net.httpserver.HttpServer;
+import com.web.coreclass.global.storage.S3AsyncObjectStorage;
+import com.web.coreclass.global.storage.S3Guard;
+import com.web.coreclass.global.storage.S3ObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동기(S3Client + 스레드) vs 비동기(S3AsyncClient) 업로드 비교 - 동시 업로드 200개
+ * S3 대신 로컬 HTTP 서버(응답 50ms 지연)를 띄워서, 네트워크 대기 동안 필요한 스레드 수와 처리량을 비교합니다.
+ * 기본 test 태스크에서는 제외되며, ./gradlew benchmark 로 실행합니다.
+ * (스레드 수는 플랫폼 스레드 기준 - 클라이언트/스레드 풀을 만들기 전 대비 최대 증가분, 가상 스레드는 캐리어 스레드만 셈)
+ */
+@Tag("benchmark")
+class S3ClientBenchmarkTest {
+
+    private static final int CONCURRENCY = 200;
+    private static final int UPLOADS = 4_000;
+    private static final long LATENCY_MILLIS = 50;
+    private static final byte[] DATA = new byte[16 * 1024];
+
+    // 벤치마크에서는 동시 호출 상한이 결과를 가리지 않도록 넉넉하게
+    private final S3Guard s3Guard = new S3Guard(Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(10),
+            CONCURRENCY * 4, Duration.ofSeconds(10), 5, Duration.ofSeconds(30));
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final AtomicInteger received = new AtomicInteger();
+    private HttpServer server;
+    private URI endpoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // S3 대역: 모든 PUT에 50ms 뒤 200 + ETag(본문 MD5, SDK가 검증함)
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+                exchange.getResponseHeaders().add("ETag", "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(body)) + "\"");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            received.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("동기 vs 비동기 S3 클라이언트: 동시 업로드 200개의 스레드 수와 처리량")
+    void compareTest() throws Exception {
+        // 1. 동기 클라이언트 + 업로드마다 플랫폼 스레드 (기존 방식을 스레드 풀로 돌릴 때)
+        int baseline = threads.getThreadCount();
+        try (S3Client s3Client = S3Client.builder()
+                .endpointOverride(endpoint)
+                .forcePathStyle(true)
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(CONCURRENCY))
+                .build()) {
+            S3ObjectStorage storage = new S3ObjectStorage(s3Client, s3Guard);
+            ReflectionTestUtils.setField(storage, "bucket", "benchmark");
+            runSync("동기 (S3Client + 플랫폼 스레드 " + CONCURRENCY + "개)", storage, Executors.newFixedThreadPool(CONCURRENCY), baseline);
+            runSync("동기 (S3Client + 가상 스레드)", storage, Executors.newVirtualThreadPerTaskExecutor(), baseline);
+        }
+
+        // 2. 비동기 클라이언트 (요청은 한 스레드에서 보내고, 응답은 Netty 이벤트 루프가 받음)
+        baseline = threads.getThreadCount();
+        try (S3AsyncClient s3AsyncClient = S3AsyncClient.builder()
+                .endpointOverride(endpoint)
+                .forcePathStyle(true)
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(CONCURRENCY))
+                .build()) {
+            runAsync("비동기 (S3AsyncClient)", new S3AsyncObjectStorage(s3AsyncClient, s3Guard, "benchmark"), baseline);
+        }
+
+        // 워밍업 포함 모든 업로드가 서버에 도착
+        assertThat(received.get()).isEqualTo(UPLOADS * 3 * 2);
+    }
+
+    private void runSync(String name, S3ObjectStorage storage, ExecutorService executor, int baseline) throws Exception {
+        try (executor) {
+            for (int round = 0; round < 2; round++) { // 1회차는 워밍업 (연결/클래스 로딩)
+                threads.resetPeakThreadCount();
+                long start = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>(UPLOADS);
+                for (int i = 0; i < UPLOADS; i++) {
+                    String key = "sync/" + round + "/" + i + ".png";
+                    futures.add(executor.submit(() -> storage.put(key, DATA, "image/png")));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                report(round, name, baseline, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void runAsync(String name, S3AsyncObjectStorage storage, int baseline) {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        for (int round = 0; round < 2; round++) {
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>(UPLOADS);
+            for (int i = 0; i < UPLOADS; i++) {
+                inFlight.acquireUninterruptibly();
+                futures.add(storage.put("async/" + round + "/" + i + ".png", DATA, "image/png")
+                        .whenComplete((ignored, e) -> inFlight.release()));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            report(round, name, baseline, System.nanoTime() - start);
+        }
+    }
+
+    private void report(int round, String name, int baseline, long nanos) {
+        if (round == 0) {
+            return;
+        }
+        System.out.printf("[%s] 업로드 %,d건: %,d건/초, 스레드 최대 +%d개%n",
+                name, UPLOADS, UPLOADS * 1_000_000_000L / nanos, threads.getPeakThreadCount() - baseline);
+    }
+}
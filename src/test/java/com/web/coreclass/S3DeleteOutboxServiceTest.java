@@ -0,0 +1,119 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.S3DeleteOutboxService;
+import com.web.coreclass.global.s3.entity.S3DeleteOutbox;
+import com.web.coreclass.global.s3.entity.StoredFile;
+import com.web.coreclass.global.s3.repository.S3DeleteOutboxRepository;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+class S3DeleteOutboxServiceTest {
+
+    @Autowired
+    private S3DeleteOutboxService s3DeleteOutboxService;
+
+    @Autowired
+    private S3DeleteOutboxRepository s3DeleteOutboxRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private EntityManager em; // 영속성 컨텍스트 관리 (캐시 비우기용)
+
+    @MockBean
+    private S3Client s3Client;
+
+    @Test
+    @DisplayName("삭제 예약: 트랜잭션 안에서는 예약만 저장하고, 워커가 묶어서 삭제한 뒤 실패한 예약만 나중에 다시 시도한다")
+    void enqueueAndDrainTest() {
+        // Given: 예약 2개 (그중 하나는 S3 삭제 실패)
+        storedFileRepository.save(new StoredFile("uuid_a.png", null, 10L, "image/png", LocalDateTime.now().minusDays(2)));
+        s3DeleteOutboxService.enqueue("uuid_a.png");
+        s3DeleteOutboxService.enqueue("uuid_b.png");
+        em.flush();
+        em.clear();
+
+        // 예약 시점에는 S3 요청 없음, 업로드 기록은 삭제 표시
+        verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+        assertThat(storedFileRepository.findByFileKey("uuid_a.png").orElseThrow().isDeleted()).isTrue();
+
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("uuid_b.png").code("AccessDenied").message("denied").build())
+                .build());
+
+        // When
+        s3DeleteOutboxService.retryDue();
+        em.clear();
+
+        // Then: 원본 + 리사이즈 버전을 한 번에 삭제 요청, 성공한 예약은 지워지고 실패한 예약은 백오프 후 재시도
+        verify(s3Client).deleteObjects(any(DeleteObjectsRequest.class));
+        List<S3DeleteOutbox> remaining = s3DeleteOutboxRepository.findAll();
+        assertThat(remaining).hasSize(1);
+        S3DeleteOutbox failed = remaining.get(0);
+        assertThat(failed.getFileKey()).isEqualTo("uuid_b.png");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(failed.getClaimToken()).isNull();
+        assertThat(failed.getLastError()).contains("AccessDenied");
+    }
+
+    @Test
+    @DisplayName("삭제 예약 취소: 예약 뒤에 같은 파일이 다시 업로드되거나 다시 참조되면 S3에서 지우지 않고 예약만 정리한다")
+    void revivedTest() {
+        // Given: 삭제 예약된 파일 3개
+        String reuploaded = "2026/10/19/" + "a".repeat(64) + ".png";
+        String referenced = "2026/10/19/" + "b".repeat(64) + ".png";
+        String unused = "2026/10/19/" + "c".repeat(64) + ".png";
+        LocalDateTime uploadedAt = LocalDateTime.now().minusDays(2);
+        storedFileRepository.save(new StoredFile(reuploaded, "a".repeat(64), 10L, "image/png", uploadedAt));
+        storedFileRepository.save(new StoredFile(referenced, "b".repeat(64), 10L, "image/png", uploadedAt));
+        storedFileRepository.save(new StoredFile(unused, "c".repeat(64), 10L, "image/png", uploadedAt));
+        s3DeleteOutboxService.enqueue(reuploaded);
+        s3DeleteOutboxService.enqueue(referenced);
+        s3DeleteOutboxService.enqueue(unused);
+        em.flush();
+
+        // 워커가 처리하기 전에 같은 내용 재업로드(삭제 표시 해제) / 다시 참조(refCount 증가)
+        storedFileRepository.touch(reuploaded, LocalDateTime.now());
+        storedFileRepository.increaseRefCount(referenced, 1, LocalDateTime.now());
+        em.clear();
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder().build());
+
+        // When
+        s3DeleteOutboxService.retryDue();
+        em.clear();
+
+        // Then: 쓰이지 않는 파일만 S3에서 삭제, 예약은 모두 정리
+        ArgumentCaptor<DeleteObjectsRequest> request = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client).deleteObjects(request.capture());
+        assertThat(request.getValue().delete().objects()).extracting(ObjectIdentifier::key)
+                .contains(unused)
+                .doesNotContain(reuploaded, referenced);
+        assertThat(s3DeleteOutboxRepository.findAll()).isEmpty();
+        assertThat(storedFileRepository.findByFileKey(reuploaded).orElseThrow().isDeleted()).isFalse();
+    }
+}
@@ -0,0 +1,273 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.ImageProxyController;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.DiskLruCache;
+import com.web.coreclass.global.storage.S3Guard;
+import com.web.coreclass.global.storage.S3ObjectStorage;
+import com.web.coreclass.global.storage.StorageUnavailableException;
+import com.web.coreclass.global.storage.UploadBodyReadException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 💡 장애를 흉내 내는 로컬 S3(HTTP)에 실제 SDK 클라이언트로 요청해서 타임아웃/벌크헤드/서킷 브레이커를 확인합니다.
+class S3GuardTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private FaultyS3Server server;
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FaultyS3Server();
+        s3Client = server.client();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("타임아웃: S3 응답이 늦으면 호출 종류별 시간이 지나면 끊고 StorageUnavailableException")
+    void timeoutTest() {
+        // Given: 응답이 2초 늦는 S3, 조회 타임아웃 200ms
+        S3ObjectStorage storage = storage(guard(5, 3, Duration.ofSeconds(30)));
+        server.latency(Duration.ofSeconds(2));
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> storage.exists("2026/10/19/logo.png"))
+                .isInstanceOf(StorageUnavailableException.class)
+                .hasCauseInstanceOf(ApiCallTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("서킷 브레이커: 연속 실패하면 S3를 호출하지 않고 바로 실패하고, 시간이 지나면 시험 요청으로 복구한다")
+    void circuitBreakerTest() throws Exception {
+        // Given: 5xx로 응답하는 S3, 연속 3번 실패하면 300ms 동안 OPEN
+        S3Guard guard = guard(5, 3, Duration.ofMillis(300));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        guard.bindTo(registry);
+        S3ObjectStorage storage = storage(guard);
+        server.failWith(503);
+
+        // When 1: 3번 실패
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> storage.put("a.png", new byte[]{1}, "image/png"))
+                    .isInstanceOf(StorageUnavailableException.class);
+        }
+
+        // Then 1: OPEN -> 요청을 보내지 않고 바로 실패, 지표에 상태 표시
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.OPEN);
+        assertThat(registry.get("s3.circuit.state").gauge().value()).isEqualTo(2);
+        int requests = server.requestCount();
+        assertThatThrownBy(() -> storage.put("a.png", new byte[]{1}, "image/png"))
+                .isInstanceOf(StorageUnavailableException.class);
+        assertThat(server.requestCount()).isEqualTo(requests);
+        assertThat(registry.get("s3.calls").tag("result", "rejected").functionCounter().count()).isEqualTo(1);
+
+        // When 2: S3 복구 후 OPEN 시간이 지남
+        server.heal();
+        Thread.sleep(400);
+        storage.put("a.png", new byte[]{1}, "image/png");
+
+        // Then 2: 시험 요청 성공 -> CLOSED
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.CLOSED);
+        assertThat(registry.get("s3.circuit.state").gauge().value()).isEqualTo(0);
+        assertThat(storage.exists("a.png")).isTrue();
+    }
+
+    @Test
+    @DisplayName("서킷 브레이커: 없는 파일(404) 같은 정상 응답은 실패로 세지 않는다")
+    void clientErrorTest() {
+        // Given
+        S3Guard guard = guard(5, 1, Duration.ofSeconds(30));
+        S3ObjectStorage storage = storage(guard);
+
+        // When & Then
+        assertThat(storage.exists("none.png")).isFalse();
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("서킷 브레이커: 업로드 본문을 클라이언트에게서 받지 못한 실패(연결 끊김, 느린 업로드)는 S3 실패로 세지 않는다")
+    void clientBodyFailureTest() {
+        // Given: 한 번만 실패해도 OPEN
+        S3Guard guard = guard(5, 1, Duration.ofSeconds(30));
+        S3ObjectStorage storage = storage(guard);
+
+        // When & Then 1: 10byte 보낸 뒤 연결이 끊긴 클라이언트
+        assertThatThrownBy(() -> storage.put("a.png", new ClientBody(10, Duration.ZERO), 100, "image/png", null))
+                .isInstanceOf(UploadBodyReadException.class);
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.CLOSED);
+
+        // When & Then 2: 업로드 타임아웃(1초)보다 느리게 보내는 클라이언트
+        assertThatThrownBy(() -> storage.put("b.png", new ClientBody(Integer.MAX_VALUE, Duration.ofSeconds(3)), 100, "image/png", null))
+                .isInstanceOf(UploadBodyReadException.class);
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.CLOSED);
+
+        // S3 자체는 정상
+        storage.put("c.png", new byte[]{1}, "image/png");
+        assertThat(storage.exists("c.png")).isTrue();
+    }
+
+    @Test
+    @DisplayName("벌크헤드: S3 응답을 기다리는 호출이 상한에 닿으면 추가 호출은 기다리지 않고 실패한다")
+    void bulkheadTest() throws Exception {
+        // Given: 응답이 500ms 늦는 S3, 동시 호출 2개까지 (타임아웃은 넉넉하게)
+        S3Guard guard = new S3Guard(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5),
+                2, Duration.ZERO, 5, Duration.ofSeconds(30));
+        S3ObjectStorage storage = storage(guard);
+        server.latency(Duration.ofMillis(500));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When: 2개가 응답을 기다리는 중에 3번째 호출
+            List<Future<Boolean>> running = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                running.add(executor.submit(() -> storage.exists("a.png")));
+            }
+            while (server.requestCount() < 2) {
+                Thread.sleep(10);
+            }
+            long start = System.nanoTime();
+
+            // Then: 3번째는 바로 실패, 앞의 2개는 정상 완료 (서킷은 열리지 않음)
+            assertThatThrownBy(() -> storage.exists("b.png"))
+                    .isInstanceOf(StorageUnavailableException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+            for (Future<Boolean> future : running) {
+                assertThat(future.get()).isFalse();
+            }
+        }
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.CLOSED);
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("S3 장애 중 이미지 프록시: 캐시된 이미지는 지연 없이 내려주고, 캐시에 없는 이미지는 오래 기다리지 않고 503")
+    void brownoutTest() throws Exception {
+        // Given: 정상일 때 올려서 캐시해 둔 이미지 1개
+        S3Guard guard = guard(4, 3, Duration.ofSeconds(30));
+        S3ObjectStorage storage = storage(guard);
+        storage.put("2026/10/19/cached.png", new byte[]{1, 2, 3}, "image/png");
+        StoredFileRepository storedFileRepository = mock(StoredFileRepository.class);
+        when(storedFileRepository.findActiveKeys(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        DiskLruCache cache = new DiskLruCache(storage, cacheDir.toString(), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ImageProxyController(cache, storedFileRepository)).build();
+        mockMvc.perform(get("/img/2026/10/19/cached.png")).andExpect(status().isOk()); // 캐시 + MockMvc 첫 요청 초기화
+
+        // When: S3 응답이 5초씩 늦어진 상태에서 캐시에 없는 이미지 20개를 동시에 요청
+        server.latency(Duration.ofSeconds(5));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> uncached = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                String key = "2026/10/19/uncached-" + i + ".png";
+                uncached.add(executor.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    mockMvc.perform(get("/img/" + key))
+                            .andExpect(status().isServiceUnavailable())
+                            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+                    return System.nanoTime() - begin;
+                }));
+            }
+            start.countDown();
+
+            // Then 1: 그동안 캐시된 이미지는 계속 바로 내려줌
+            for (int i = 0; i < 20; i++) {
+                long begin = System.nanoTime();
+                mockMvc.perform(get("/img/2026/10/19/cached.png")).andExpect(status().isOk());
+                assertThat(Duration.ofNanos(System.nanoTime() - begin)).isLessThan(Duration.ofMillis(200));
+            }
+
+            // Then 2: 캐시에 없는 요청은 S3 응답(5초)을 기다리지 않음 (동시 호출 상한 초과는 바로, 나머지는 타임아웃 후 실패)
+            for (Future<Long> latency : uncached) {
+                assertThat(Duration.ofNanos(latency.get())).isLessThan(Duration.ofSeconds(1));
+            }
+        }
+
+        // Then 3: 실패가 쌓여 서킷 OPEN -> 이후 요청은 S3로 보내지 않고 바로 503
+        assertThat(guard.getState()).isEqualTo(S3Guard.State.OPEN);
+        int requests = server.requestCount();
+        mockMvc.perform(get("/img/2026/10/19/uncached-0.png")).andExpect(status().isServiceUnavailable());
+        assertThat(server.requestCount()).isEqualTo(requests);
+    }
+
+    // 조회 타임아웃 200ms, 업로드 타임아웃 1초
+    private static S3Guard guard(int maxConcurrent, int failureThreshold, Duration openDuration) {
+        return new S3Guard(Duration.ofMillis(200), Duration.ofMillis(200), Duration.ofSeconds(1),
+                maxConcurrent, Duration.ZERO, failureThreshold, openDuration);
+    }
+
+    private S3ObjectStorage storage(S3Guard guard) {
+        S3ObjectStorage storage = new S3ObjectStorage(s3Client, guard);
+        ReflectionTestUtils.setField(storage, "bucket", FaultyS3Server.BUCKET);
+        return storage;
+    }
+
+    // 클라이언트가 보내는 업로드 본문 흉내 (failAfter byte를 보낸 뒤 연결 끊김, 읽을 때마다 delay만큼 기다림)
+    private static class ClientBody extends InputStream {
+
+        private final int failAfter;
+        private final Duration delay;
+        private int sent;
+
+        private ClientBody(int failAfter, Duration delay) {
+            this.failAfter = failAfter;
+            this.delay = delay;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (sent >= failAfter) {
+                throw new IOException("Connection reset by peer");
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("업로드 본문 대기 중 중단");
+            }
+            sent++;
+            return 'x';
+        }
+    }
+}
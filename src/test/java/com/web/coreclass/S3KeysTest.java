@@ -0,0 +1,39 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.S3Keys;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class S3KeysTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String HOST = "https://bucket.s3.ap-northeast-2.amazonaws.com/";
+
+    @Test
+    @DisplayName("URL -> Key: 최상위 Key와 날짜 접두사 Key 모두 호스트 뒤 경로 전체를 Key로 추출한다")
+    void fromUrlTest() {
+        assertThat(S3Keys.fromUrl(HOST + "uuid_%ED%94%84%EB%A1%9C%ED%95%84.png")).isEqualTo("uuid_프로필.png");
+        assertThat(S3Keys.fromUrl(HOST + "2026/10/19/" + HASH + ".png")).isEqualTo("2026/10/19/" + HASH + ".png");
+        assertThat(S3Keys.fromUrl(HOST + "2026/10/19/" + HASH + ".png?v=1")).isEqualTo("2026/10/19/" + HASH + ".png");
+        assertThat(S3Keys.fromUrl(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("날짜 접두사 Key: 내용 기반 Key로 인식되고, 리사이즈 버전 Key도 같은 접두사 아래 만들어진다")
+    void datePartitionedKeyTest() {
+        String key = S3Keys.datePrefix(LocalDate.of(2026, 10, 19)) + HASH + ".png";
+
+        assertThat(key).isEqualTo("2026/10/19/" + HASH + ".png");
+        assertThat(S3Keys.isContentAddressed(key)).isTrue();
+        assertThat(S3Keys.isContentAddressed(HASH + ".png")).isTrue(); // 기존 최상위 Key
+        assertThat(S3Keys.isContentAddressed("2026/10/19/uuid_image.png")).isFalse();
+        assertThat(S3Keys.sha256Of(key)).isEqualTo(HASH);
+        assertThat(ImageVariant.THUMBNAIL.keyOf(key)).isEqualTo("2026/10/19/" + HASH + "_thumb.png");
+        assertThat(ImageVariant.originalKeyOf("2026/10/19/" + HASH + "_thumb.png")).isEqualTo(key);
+    }
+}
@@ -0,0 +1,20 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.S3Guard;
+import com.web.coreclass.global.storage.S3ObjectStorage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+// 💡 실제 S3 대신 메모리에 저장하는 S3Client로 S3ObjectStorage의 요청/응답 변환을 확인합니다.
+class S3ObjectStorageTest extends ObjectStorageContractTest {
+
+    @Override
+    protected ObjectStorage createStorage() {
+        S3ObjectStorage storage = new S3ObjectStorage(new InMemoryS3Client(),
+                new S3Guard(Duration.ofSeconds(3), Duration.ofSeconds(10), Duration.ofMinutes(2), 50, Duration.ofMillis(100), 5, Duration.ofSeconds(30)));
+        ReflectionTestUtils.setField(storage, "bucket", "test-bucket");
+        return storage;
+    }
+}
@@ -0,0 +1,215 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.S3Uploader;
+import com.web.coreclass.global.s3.dto.ImageDto;
+import com.web.coreclass.global.s3.image.ImageProcessor;
+import com.web.coreclass.global.s3.repository.StoredFileRepository;
+import com.web.coreclass.global.storage.BlockingAsyncObjectStorage;
+import com.web.coreclass.global.storage.ObjectStorage;
+import com.web.coreclass.global.storage.S3Guard;
+import com.web.coreclass.global.storage.S3ObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+// 💡 저장소는 메모리 S3Client, DB/캐시는 mock으로 두고 S3Uploader 자체의 업로드 흐름을 확인합니다.
+class S3UploaderTest {
+
+    private final SlowS3Client s3Client = new SlowS3Client();
+    private ObjectStorage objectStorage;
+    private ImageProcessor imageProcessor;
+    private BlockingAsyncObjectStorage asyncObjectStorage;
+    private S3Uploader s3Uploader;
+
+    @BeforeEach
+    void setUp() {
+        S3ObjectStorage storage = new S3ObjectStorage(s3Client,
+                new S3Guard(Duration.ofSeconds(3), Duration.ofSeconds(10), Duration.ofMinutes(2), 50, Duration.ofMillis(100), 5, Duration.ofSeconds(30)));
+        ReflectionTestUtils.setField(storage, "bucket", "test-bucket");
+        objectStorage = storage;
+        imageProcessor = new ImageProcessor();
+        asyncObjectStorage = new BlockingAsyncObjectStorage(objectStorage);
+        s3Uploader = new S3Uploader(objectStorage, imageProcessor, mock(StoredFileRepository.class), asyncObjectStorage);
+        ReflectionTestUtils.setField(s3Uploader, "maxFileSize", DataSize.ofMegabytes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Uploader.shutdown();
+        asyncObjectStorage.close();
+        imageProcessor.shutdown();
+    }
+
+    @Test
+    @DisplayName("가공하지 않는 파일: 메모리로 읽지 않고(getBytes 없음) 스트림으로 해시/업로드한다")
+    void uploadWithoutBufferingTest() throws Exception {
+        // Given
+        byte[] pdf = "%PDF-1.7 not an image".getBytes(StandardCharsets.US_ASCII);
+        MockMultipartFile file = spy(new MockMultipartFile("file", "guide.pdf", "application/pdf", pdf));
+
+        // When
+        String url = s3Uploader.upload(file);
+
+        // Then: Key는 내용의 SHA-256, 저장된 내용은 원본 그대로
+        String key = url.substring(url.indexOf(".com/") + ".com/".length());
+        assertThat(key).endsWith(sha256Hex(pdf) + ".pdf");
+        assertThat(objectStorage.getBytes(key)).isEqualTo(pdf);
+        verify(file, never()).getBytes();
+    }
+
+    @Test
+    @DisplayName("JPEG 업로드: 메타데이터를 지운 뒤 해시 -> 저장된 내용의 SHA-256이 Key와 같다")
+    void uploadStripsBeforeHashingTest() throws Exception {
+        // Given: 민감 정보 문자열이 든 COM 세그먼트를 붙인 JPEG
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), "jpg", jpeg);
+        byte[] secret = "GPS-SECRET".getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream withComment = new ByteArrayOutputStream();
+        withComment.write(jpeg.toByteArray(), 0, 2);
+        withComment.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xFE, 0, (byte) (secret.length + 2)});
+        withComment.writeBytes(secret);
+        withComment.write(jpeg.toByteArray(), 2, jpeg.size() - 2);
+        byte[] original = withComment.toByteArray();
+
+        // When
+        String url = s3Uploader.upload(new MockMultipartFile("file", "photo.jpg", "image/jpeg", original));
+
+        // Then: 저장된 내용에는 민감 정보가 없고, Key는 저장된 내용의 해시 (원본 해시가 아님)
+        String key = url.substring(url.indexOf(".com/") + ".com/".length());
+        byte[] stored = objectStorage.getBytes(key);
+        assertThat(new String(stored, StandardCharsets.ISO_8859_1)).doesNotContain("GPS-SECRET");
+        assertThat(key).endsWith(sha256Hex(stored) + ".jpg");
+        assertThat(key).doesNotContain(sha256Hex(original));
+    }
+
+    @Test
+    @DisplayName("스트리밍 업로드: 앞 12byte가 선언한 형식(GIF)이면 본문 전체를 그대로 저장한다")
+    void uploadStreamTest() {
+        // Given
+        byte[] gif = "GIF89a-streamed-body".getBytes(StandardCharsets.US_ASCII);
+
+        // When
+        String url = s3Uploader.uploadStream(new ByteArrayInputStream(gif), gif.length, "image/gif", sha256Hex(gif));
+
+        // Then: 미리 읽은 12byte도 빠짐없이 저장됨
+        String key = url.substring(url.indexOf(".com/") + ".com/".length());
+        assertThat(objectStorage.getBytes(key)).isEqualTo(gif);
+    }
+
+    @Test
+    @DisplayName("스트리밍 업로드: 내용이 선언한 형식이 아니면 저장소에 PUT하지 않고 거절한다")
+    void uploadStreamMismatchTest() {
+        // Given: image/gif로 선언했지만 실제로는 HTML
+        byte[] html = "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.US_ASCII);
+
+        // When & Then
+        assertThatThrownBy(() -> s3Uploader.uploadStream(new ByteArrayInputStream(html), html.length, "image/gif", sha256Hex(html)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(objectStorage.list("", null, null).getObjects()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 파일 업로드: 결과는 요청 순서대로, 한 파일이 실패해도 나머지는 업로드되고, 동시 PUT은 8개를 넘지 않는다")
+    void uploadAllAsyncTest() {
+        // Given: 파일 20개 (PUT 1번에 50ms), 7번 파일은 저장소가 거부
+        List<byte[]> contents = new ArrayList<>();
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            byte[] content = ("document #" + i).getBytes(StandardCharsets.US_ASCII);
+            contents.add(content);
+            files.add(new MockMultipartFile("files", "doc" + i + ".txt", "text/plain", content));
+        }
+        s3Client.failWhenKeyContains(sha256Hex(contents.get(7)));
+
+        // When
+        List<ImageDto.UploadResult> results = s3Uploader.uploadAllAsync(files).join();
+
+        // Then: 순서 유지 + 실패는 7번만
+        assertThat(results).extracting(ImageDto.UploadResult::getIndex).containsExactly(
+                IntStream.range(0, 20).boxed().toArray(Integer[]::new));
+        for (int i = 0; i < 20; i++) {
+            ImageDto.UploadResult result = results.get(i);
+            assertThat(result.getFileName()).isEqualTo("doc" + i + ".txt");
+            if (i == 7) {
+                assertThat(result.getUrl()).isNull();
+                assertThat(result.getError()).isNotNull();
+            } else {
+                assertThat(result.getError()).isNull();
+                assertThat(result.getUrl()).endsWith(sha256Hex(contents.get(i)) + ".txt");
+            }
+        }
+
+        // Then: 동시에 올라간 PUT은 여러 개지만 8개 이하
+        assertThat(s3Client.peakConcurrentPuts()).isBetween(2, 8);
+    }
+
+    // PUT마다 잠시 기다리는 메모리 S3 (동시에 진행 중인 PUT 최대 개수 기록, 지정한 Key는 거부)
+    private static class SlowS3Client extends InMemoryS3Client {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private volatile String failingKeyPart;
+
+        void failWhenKeyContains(String keyPart) {
+            this.failingKeyPart = keyPart;
+        }
+
+        int peakConcurrentPuts() {
+            return peak.get();
+        }
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                if (failingKeyPart != null && request.key().contains(failingKeyPart)) {
+                    throw (S3Exception) S3Exception.builder().statusCode(403).message("Access Denied").build();
+                }
+                return super.putObject(request, body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
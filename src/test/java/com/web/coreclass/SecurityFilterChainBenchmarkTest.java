@@ -0,0 +1,150 @@
+package com.web.coreclass;
+
+import com.web.coreclass.domain.admin.repository.AdminRepository;
+import com.web.coreclass.domain.admin.service.AdminStatusCache;
+import com.web.coreclass.domain.googleForm.GoogleFormController;
+import com.web.coreclass.domain.googleForm.service.GoogleFormService;
+import com.web.coreclass.global.config.SecurityConfig;
+import com.web.coreclass.global.jwt.JwtAuthenticationFilter;
+import com.web.coreclass.global.jwt.JwtProvider;
+import com.web.coreclass.global.jwt.TokenRevocationList;
+import com.web.coreclass.global.jwt.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 보안 필터 체인 요청당 비용 비교 (실제 SecurityConfig + JwtAuthenticationFilter + JwtProvider)
+ * 컨트롤러는 거치지 않고 FilterChainProxy만 호출해서, 공개 조회 요청이 JWT 검증을 건너뛴 효과만 봅니다.
+ * - 토큰 재사용: 같은 토큰 (검증된 토큰 캐시 적중)
+ * - 매번 새 토큰: 서로 다른 토큰 (HS512 서명 검증 - 캐시 크기보다 많이)
+ * 기본 test 태스크에서는 제외되며, ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@WebMvcTest(controllers = GoogleFormController.class, properties = {
+        "jwt.secret=VGVzdFNlY3JldEtleUZvclVuaXRUZXN0aW5nTXVzdEJlTG9uZ0Vub3VnaFRvUHJldmVudEVycm9yczEyMzQ1Njc4OTA=",
+        "jwt.expiration-ms=3600000"
+})
+@Import({SecurityConfig.class, JwtAuthenticationFilter.class, JwtProvider.class, AdminStatusCache.class, TokenRevocationList.class})
+class SecurityFilterChainBenchmarkTest {
+
+    private static final int REQUESTS = 20_000;
+    private static final String PUBLIC_GET = "/api/article/3";
+    private static final String PROTECTED_GET = "/api/admin/cleanup/status";
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @MockBean
+    private GoogleFormService googleFormService;
+
+    @MockBean
+    private AdminRepository adminRepository;
+
+    @MockBean
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final List<String> tokens = new ArrayList<>(REQUESTS);
+
+    @BeforeEach
+    void setUp() {
+        when(adminRepository.findTokenVersionByUsername(anyString())).thenReturn(Optional.of(0));
+        // 서로 다른 토큰 (검증된 토큰 캐시 크기보다 많이)
+        for (int i = 0; i < REQUESTS; i++) {
+            tokens.add(jwtProvider.createToken(new UsernamePasswordAuthenticationToken(
+                    "admin" + i, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")))));
+        }
+    }
+
+    @Test
+    @DisplayName("공개 조회 API: 토큰이 붙어 있어도 JWT 검증을 건너뛰어서 익명 요청과 비용이 같다")
+    void publicRouteTest() throws Exception {
+        String token = tokens.get(0);
+
+        long anonymous = measure(i -> request(PUBLIC_GET, null));
+        long publicReused = measure(i -> request(PUBLIC_GET, token));
+        long publicFresh = measure(i -> request(PUBLIC_GET, tokens.get(i)));
+        long protectedReused = measure(i -> request(PROTECTED_GET, token));
+        long protectedFresh = measure(i -> request(PROTECTED_GET, tokens.get(i)));
+
+        System.out.printf("[공개 GET %s] 익명 %,dns | 토큰 재사용 %,dns | 매번 새 토큰 %,dns%n",
+                PUBLIC_GET, anonymous, publicReused, publicFresh);
+        System.out.printf("[보호 GET %s] 토큰 재사용 %,dns | 매번 새 토큰 %,dns (공개 경로도 검증하던 이전 비용)%n",
+                PROTECTED_GET, protectedReused, protectedFresh);
+
+        // 새 토큰마다 하던 서명 검증이 공개 경로에서는 사라짐
+        assertThat(publicFresh).isLessThan(protectedFresh);
+    }
+
+    @Test
+    @DisplayName("Swagger 문서: 보안 필터 체인을 아예 거치지 않는다")
+    void swaggerTest() throws Exception {
+        // Given
+        String swagger = "/swagger-ui/index.html";
+
+        // When
+        long ignored = measure(i -> request(swagger, null));
+        long anonymous = measure(i -> request(PUBLIC_GET, null));
+        System.out.printf("[보안 필터] Swagger %,dns (필터 %d개) | 공개 GET %,dns (필터 %d개)%n",
+                ignored, filters(swagger).size(), anonymous, filters(PUBLIC_GET).size());
+
+        // Then
+        assertThat(filters(swagger)).isEmpty();
+        assertThat(filters("/api-docs/json/swagger-config")).isEmpty();
+        assertThat(filters(PUBLIC_GET)).isNotEmpty();
+    }
+
+    // 워밍업 1회 후 측정 (요청당 평균 ns)
+    private long measure(IntFunction<MockHttpServletRequest> requests) throws Exception {
+        long elapsed = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                filterChainProxy.doFilter(requests.apply(i), new MockHttpServletResponse(), new MockFilterChain());
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        return elapsed / REQUESTS;
+    }
+
+    private List<?> filters(String uri) {
+        MockHttpServletRequest request = request(uri, null);
+        return filterChainProxy.getFilterChains().stream()
+                .filter(chain -> chain.matches(request))
+                .findFirst()
+                .map(SecurityFilterChain::getFilters)
+                .orElse(List.of());
+    }
+
+    private static MockHttpServletRequest request(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.SortedKeySet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HashSet vs SortedKeySet 메모리/조회 비용 비교 (청소 스케줄러의 "사용 중인 Key" 목록)
+ * 기본 test 태스크에서는 제외되며, ./gradlew benchmark 로 실행합니다.
+ * (힙 사용량은 GC 후 used 메모리 차이로 측정하는 대략적인 값입니다)
+ */
+@Tag("benchmark")
+class SortedKeySetBenchmarkTest {
+
+    private static final int LOOKUPS = 1_000_000;
+
+    @ParameterizedTest(name = "Key {0}개")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    @DisplayName("HashSet vs SortedKeySet: 메모리 사용량과 조회 시간")
+    void compareTest(int size) {
+        // 실제 Key와 같은 형태 (SHA-256.확장자) - 절반은 조회 대상에 있고 절반은 없음
+        List<String> lookups = new ArrayList<>(LOOKUPS);
+        Random random = new Random(size);
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups.add(i % 2 == 0 ? key(random.nextInt(size)) : key(size + random.nextInt(size)));
+        }
+
+        // 1. HashSet (기존 방식)
+        long before = usedMemory();
+        Set<String> hashSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            hashSet.add(key(i));
+        }
+        long hashSetBytes = usedMemory() - before;
+        long hashSetNanos = measure(hashSet::contains, lookups);
+
+        // 2. SortedKeySet
+        before = usedMemory();
+        SortedKeySet.Builder builder = SortedKeySet.builder();
+        for (int i = 0; i < size; i++) {
+            builder.add(key(i));
+        }
+        SortedKeySet sortedKeySet = builder.build();
+        builder = null;
+        long sortedKeySetBytes = usedMemory() - before;
+        long sortedKeySetNanos = measure(sortedKeySet::contains, lookups);
+
+        System.out.printf("[Key %,d개] HashSet: %,dKB, 조회 %dns/건 | SortedKeySet: %,dKB (데이터 %,dKB), 조회 %dns/건%n",
+                size,
+                hashSetBytes / 1024, hashSetNanos / LOOKUPS,
+                sortedKeySetBytes / 1024, sortedKeySet.sizeInBytes() / 1024, sortedKeySetNanos / LOOKUPS);
+
+        // 결과가 같아야 함
+        assertThat(sortedKeySet.size()).isEqualTo(hashSet.size());
+        for (String key : lookups.subList(0, 10_000)) {
+            assertThat(sortedKeySet.contains(key)).isEqualTo(hashSet.contains(key));
+        }
+    }
+
+    private static String key(int i) {
+        byte[] hash = new byte[32];
+        new Random(i).nextBytes(hash);
+        return HexFormat.of().formatHex(hash) + ".png";
+    }
+
+    // 워밍업 1회 후 측정
+    private static long measure(Predicate<String> contains, List<String> lookups) {
+        int hits = 0;
+        for (String key : lookups) {
+            if (contains.test(key)) hits++;
+        }
+        long start = System.nanoTime();
+        for (String key : lookups) {
+            if (contains.test(key)) hits--;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(hits).isZero();
+        return elapsed;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,45 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.SortedKeySet;
+import com.web.coreclass.global.s3.image.ImageVariant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 💡 스프링 컨텍스트 없이 SortedKeySet만 직접 생성해서 테스트합니다.
+class SortedKeySetTest {
+
+    @Test
+    @DisplayName("Key 조회: 중복은 한 번만 저장되고, 한글 파일명도 그대로 찾는다")
+    void containsTest() {
+        // Given
+        SortedKeySet keys = SortedKeySet.builder()
+                .add("b.png")
+                .add("a.png")
+                .add("uuid_프로필.png")
+                .add("a.png")
+                .add(null)
+                .build();
+
+        // Then
+        assertThat(keys.size()).isEqualTo(3);
+        assertThat(keys.contains("a.png")).isTrue();
+        assertThat(keys.contains("b.png")).isTrue();
+        assertThat(keys.contains("uuid_프로필.png")).isTrue();
+        assertThat(keys.contains("c.png")).isFalse();
+        assertThat(keys.contains("a.pn")).isFalse();
+        assertThat(SortedKeySet.builder().build().contains("a.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("리사이즈 버전 Key에서 원본 Key를 찾는다 (원본이 사용 중이면 버전도 보호)")
+    void originalKeyOfTest() {
+        String original = "a".repeat(64) + ".jpg";
+
+        assertThat(ImageVariant.originalKeyOf(ImageVariant.THUMBNAIL.keyOf(original))).isEqualTo(original);
+        assertThat(ImageVariant.originalKeyOf(ImageVariant.FULL.keyOf(original))).isEqualTo(original);
+        assertThat(ImageVariant.originalKeyOf(original)).isNull();
+        assertThat(ImageVariant.originalKeyOf("uuid_my_thumb.png")).isNull(); // 파이프라인 이전 파일명
+    }
+}
@@ -0,0 +1,170 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.jwt.RevocationBloomFilter;
+import com.web.coreclass.global.jwt.TokenRevocationList;
+import com.web.coreclass.global.jwt.entity.RevokedToken;
+import com.web.coreclass.global.jwt.repository.RevokedTokenRepository;
+import com.web.coreclass.global.lease.JobLeaseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 💡 RevokedTokenRepository는 mock (DB 조회 여부 확인용)
+class TokenRevocationListTest {
+
+    @Test
+    @DisplayName("Bloom 필터: 넣은 토큰 ID는 항상 찾고, 넣지 않은 ID의 오탐률은 설정값 근처")
+    void bloomFilterTest() {
+        // Given: 1만 개 기준 오탐률 1%
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        revoked.forEach(filter::put);
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Then: 놓치는 것은 없음 (false negative 0), 오탐률 ~1% (약 12KB)
+        assertThat(revoked).allMatch(filter::mightContain);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.sizeInBytes()).isLessThan(16 * 1024);
+    }
+
+    @Test
+    @DisplayName("무효화 확인: Bloom 필터에 없는 토큰은 DB를 조회하지 않고, 걸린 토큰만 DB로 확인한다")
+    void isRevokedTest() {
+        // Given
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.existsByTokenId(anyString())).thenReturn(false);
+        TokenRevocationList revocationList = new TokenRevocationList(repository, mock(JobLeaseService.class), 1000, 0.001);
+        String loggedOut = UUID.randomUUID().toString();
+        String active = UUID.randomUUID().toString();
+
+        // When
+        revocationList.revoke(loggedOut, Instant.now().plusSeconds(900));
+        when(repository.existsByTokenId(loggedOut)).thenReturn(true);
+
+        // Then
+        assertThat(revocationList.isRevoked(loggedOut)).isTrue();
+        assertThat(revocationList.isRevoked(active)).isFalse();
+        verify(repository).save(any(RevokedToken.class));
+        verify(repository, never()).existsByTokenId(active);
+    }
+
+    @Test
+    @DisplayName("시작 시 재구성: DB에 남은(만료 전) 기록으로 필터를 만들고, 이후 다른 서버가 추가한 기록도 반영한다")
+    void rebuildAndSyncTest() {
+        // Given: DB에 다른 서버가 저장한 기록 1개
+        List<RevokedToken> table = new CopyOnWriteArrayList<>();
+        RevokedTokenRepository repository = repositoryOf(table);
+        String existing = UUID.randomUUID().toString();
+        table.add(revoked(1L, existing));
+        TokenRevocationList revocationList = new TokenRevocationList(repository, mock(JobLeaseService.class), 1000, 0.001);
+
+        // When 1: 시작
+        revocationList.rebuild();
+
+        // Then 1
+        assertThat(revocationList.isRevoked(existing)).isTrue();
+
+        // When 2: 다른 서버가 기록 추가 후 동기화
+        String added = UUID.randomUUID().toString();
+        assertThat(revocationList.isRevoked(added)).isFalse();
+        table.add(revoked(2L, added));
+        revocationList.sync();
+
+        // Then 2
+        assertThat(revocationList.isRevoked(added)).isTrue();
+        verify(repository, never()).findActive(eq(2L), any(), any()); // 읽은 개수가 한 번에 읽는 양보다 적으면 더 읽지 않음
+    }
+
+    @Test
+    @DisplayName("동기화: id를 먼저 받은 기록이 늦게 커밋되어도 (마지막으로 읽은 id보다 작아도) 다음 동기화에서 반영한다")
+    void outOfOrderCommitTest() {
+        // Given: id 1, 3은 커밋됨 / id 2는 아직 커밋 전 (동기화에서 보이지 않음)
+        List<RevokedToken> table = new CopyOnWriteArrayList<>();
+        String late = UUID.randomUUID().toString();
+        table.add(revoked(1L, UUID.randomUUID().toString()));
+        table.add(revoked(3L, UUID.randomUUID().toString()));
+        TokenRevocationList revocationList = new TokenRevocationList(repositoryOf(table), mock(JobLeaseService.class), 1000, 0.001);
+        revocationList.rebuild();
+
+        // When: id 2가 늦게 커밋된 뒤 동기화
+        table.add(revoked(2L, late));
+        revocationList.sync();
+
+        // Then
+        assertThat(revocationList.isRevoked(late)).isTrue();
+    }
+
+    @Test
+    @DisplayName("만료 기록 삭제: 점유권을 얻은 서버만 DELETE하고, 필터 재구성은 모든 서버가 한다")
+    void purgeExpiredTest() {
+        // Given: 점유권을 얻는 서버 / 얻지 못하는 서버
+        List<RevokedToken> table = new CopyOnWriteArrayList<>();
+        table.add(revoked(1L, UUID.randomUUID().toString()));
+        RevokedTokenRepository leaderRepository = repositoryOf(table);
+        RevokedTokenRepository followerRepository = repositoryOf(table);
+        JobLeaseService leader = mock(JobLeaseService.class);
+        when(leader.tryAcquire(anyString(), any())).thenReturn(Optional.of(mock(JobLeaseService.Lease.class)));
+        JobLeaseService follower = mock(JobLeaseService.class);
+        when(follower.tryAcquire(anyString(), any())).thenReturn(Optional.empty());
+
+        // When
+        new TokenRevocationList(leaderRepository, leader, 1000, 0.001).purgeExpired();
+        new TokenRevocationList(followerRepository, follower, 1000, 0.001).purgeExpired();
+
+        // Then
+        verify(leaderRepository).deleteExpired(any());
+        verify(followerRepository, never()).deleteExpired(any());
+        verify(followerRepository, atLeastOnce()).findActive(anyLong(), any(), any());
+    }
+
+    // 메모리 목록을 테이블처럼 조회하는 mock (findActive: afterId 다음부터 id 순)
+    private static RevokedTokenRepository repositoryOf(List<RevokedToken> table) {
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.countByExpiresAtAfter(any())).thenAnswer(invocation -> (long) table.size());
+        when(repository.findActive(anyLong(), any(), any())).thenAnswer(invocation -> table.stream()
+                .filter(token -> token.getId() > invocation.<Long>getArgument(0))
+                .sorted(Comparator.comparing(RevokedToken::getId))
+                .limit(invocation.<Pageable>getArgument(2).getPageSize())
+                .toList());
+        when(repository.existsByTokenId(anyString())).thenAnswer(invocation -> table.stream()
+                .anyMatch(token -> token.getTokenId().equals(invocation.getArgument(0))));
+        return repository;
+    }
+
+    private static RevokedToken revoked(long id, String tokenId) {
+        RevokedToken revokedToken = new RevokedToken(tokenId, LocalDateTime.now().plusMinutes(15));
+        ReflectionTestUtils.setField(revokedToken, "id", id);
+        return revokedToken;
+    }
+}
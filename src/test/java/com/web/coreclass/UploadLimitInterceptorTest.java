@@ -0,0 +1,81 @@
+package com.web.coreclass;
+
+import com.web.coreclass.global.s3.UploadLimitInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadLimitInterceptorTest {
+
+    // 전체 한도 100byte, Content-Length 없는 요청은 60byte로 계산
+    private final UploadLimitInterceptor interceptor =
+            new UploadLimitInterceptor(DataSize.ofBytes(100), DataSize.ofBytes(60));
+
+    @Test
+    @DisplayName("업로드 한도: 합계가 한도를 넘는 요청은 503으로 거절하고, 앞 요청이 끝나면 다시 받는다")
+    void inFlightLimitTest() throws Exception {
+        // Given: 70byte 요청 처리 중
+        MockHttpServletRequest first = upload(70);
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), null)).isTrue();
+
+        // When: 40byte 요청이 추가로 들어옴
+        MockHttpServletRequest second = upload(40);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        boolean accepted = interceptor.preHandle(second, rejected, null);
+
+        // Then: 본문을 읽기 전에 503 + Retry-After
+        assertThat(accepted).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+
+        // 첫 요청이 끝나면 (실패해도) 자리 반납 -> 다시 받음
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), null, new RuntimeException("업로드 실패"));
+        assertThat(interceptor.availableBytes()).isEqualTo(100);
+        assertThat(interceptor.preHandle(second, new MockHttpServletResponse(), null)).isTrue();
+        interceptor.afterCompletion(second, new MockHttpServletResponse(), null, null);
+        assertThat(interceptor.availableBytes()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("업로드 한도: 한도보다 큰 요청은 413, Content-Length가 없으면 최대 요청 크기만큼 자리를 잡는다")
+    void requestSizeTest() throws Exception {
+        // When & Then 1: 한 요청이 전체 한도보다 큼
+        MockHttpServletResponse tooLarge = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(upload(101), tooLarge, null)).isFalse();
+        assertThat(tooLarge.getStatus()).isEqualTo(413);
+
+        // When & Then 2: 길이를 모르는 요청 (chunked)
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/api/image/upload");
+        assertThat(interceptor.preHandle(chunked, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.availableBytes()).isEqualTo(40);
+        interceptor.afterCompletion(chunked, new MockHttpServletResponse(), null, null);
+        assertThat(interceptor.availableBytes()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("업로드 한도: 비동기 응답의 두 번째 디스패치는 자리를 다시 잡지 않고, 끝나면 한 번만 반납한다")
+    void asyncDispatchTest() throws Exception {
+        // Given: 70byte 요청이 자리를 잡고 비동기 처리 시작
+        MockHttpServletRequest request = upload(70);
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+
+        // When: 업로드가 끝나고 같은 요청으로 다시 디스패치
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+
+        // Then
+        assertThat(interceptor.availableBytes()).isEqualTo(30);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        assertThat(interceptor.availableBytes()).isEqualTo(100);
+    }
+
+    private static MockHttpServletRequest upload(int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/image/upload/stream");
+        request.setContent(new byte[size]);
+        return request;
+    }
+}